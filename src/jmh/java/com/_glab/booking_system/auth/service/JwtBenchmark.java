@@ -0,0 +1,89 @@
+package com._glab.booking_system.auth.service;
+
+import com._glab.booking_system.auth.cache.VerifiedTokenCache;
+import com._glab.booking_system.auth.config.JwtKeyProvider;
+import com._glab.booking_system.auth.config.JwtProperties;
+import com._glab.booking_system.user.model.Role;
+import com._glab.booking_system.user.model.RoleName;
+import com._glab.booking_system.user.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token signing and verification on every authenticated request: a full RS256 verify and parse,
+ * and a repeat request answered by {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        JwtKeyProvider keyProvider = new JwtKeyProvider(null, null) {
+            @Override
+            public void init() {
+                // Keys are generated above
+            }
+
+            @Override
+            public PrivateKey getPrivateKey() {
+                return keyPair.getPrivate();
+            }
+
+            @Override
+            public PublicKey getPublicKey() {
+                return keyPair.getPublic();
+            }
+        };
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtService = new JwtService(keyProvider, jwtProperties,
+                new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry()));
+
+        Role role = new Role();
+        role.setName(RoleName.PROFESSOR);
+        user = new User();
+        user.setId(7);
+        user.setEmail("professor@example.com");
+        user.setRole(role);
+        token = jwtService.generateAccessToken(user);
+        jwtService.parseOnce(token);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims verifyAndParse() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtService.TokenClaims cachedVerification() {
+        return jwtService.parseOnce(token);
+    }
+}
@@ -0,0 +1,124 @@
+package com._glab.booking_system.booking.response;
+
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the weekly lab and building availability responses, with an object mapper
+ * configured like the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AvailabilitySerializationBenchmark {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2030, 1, 7);
+
+    @Param({"1", "10", "50"})
+    private int labs;
+
+    @Param({"8", "32", "128"})
+    private int workstations;
+
+    @Param({"50", "500", "5000"})
+    private int reservationsPerWeek;
+
+    private ObjectMapper objectMapper;
+    private LabAvailabilityResponse labWeek;
+    private BuildingAvailabilityResponse buildingWeek;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+
+        List<ReservationSummaryResponse> reservations = new ArrayList<>(reservationsPerWeek);
+        for (int i = 0; i < reservationsPerWeek; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(15L * random.nextInt(36));
+            reservations.add(ReservationSummaryResponse.builder()
+                    .id(UUID.randomUUID())
+                    .date(WEEK_START.plusDays(random.nextInt(5)))
+                    .startTime(start)
+                    .endTime(start.plusHours(1 + random.nextInt(3)))
+                    .status(random.nextBoolean() ? ReservationStatus.APPROVED : ReservationStatus.PENDING)
+                    .wholeLab(false)
+                    .workstationIds(List.of(1 + random.nextInt(workstations), 1 + random.nextInt(workstations)))
+                    .userName("User " + random.nextInt(200))
+                    .build());
+        }
+        List<OperatingHoursResponse> operatingHours = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            operatingHours.add(OperatingHoursResponse.builder()
+                    .dayOfWeek(day)
+                    .open(LocalTime.of(8, 0))
+                    .close(LocalTime.of(20, 0))
+                    .closed(day == 0)
+                    .build());
+        }
+        labWeek = LabAvailabilityResponse.builder()
+                .labId(1)
+                .labName("Lab 1")
+                .weekStart(WEEK_START)
+                .weekEnd(WEEK_START.plusDays(6))
+                .operatingHours(operatingHours)
+                .closedDays(List.of(ClosedDayResponse.builder().date(WEEK_START.plusDays(6)).reason("Sunday").build()))
+                .reservations(reservations)
+                .build();
+
+        List<LabOccupancyResponse> labOccupancy = new ArrayList<>(labs);
+        for (int labId = 1; labId <= labs; labId++) {
+            List<DayOccupancyResponse> days = new ArrayList<>();
+            for (int day = 0; day < 7; day++) {
+                int booked = reservationsPerWeek / 5;
+                days.add(DayOccupancyResponse.builder()
+                        .date(WEEK_START.plusDays(day))
+                        .open(day < 5)
+                        .openTime(LocalTime.of(8, 0))
+                        .closeTime(LocalTime.of(20, 0))
+                        .reservations(day < 5 ? booked : 0)
+                        .occupancyPercent(day < 5 ? Math.min(100, booked * 100 / (workstations * 12)) : 0)
+                        .build());
+            }
+            labOccupancy.add(LabOccupancyResponse.builder()
+                    .labId(labId)
+                    .labName("Lab " + labId)
+                    .activeWorkstations(workstations)
+                    .days(days)
+                    .build());
+        }
+        buildingWeek = BuildingAvailabilityResponse.builder()
+                .buildingId(1)
+                .weekStart(WEEK_START)
+                .weekEnd(WEEK_START.plusDays(6))
+                .labs(labOccupancy)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] labWeek() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(labWeek);
+    }
+
+    @Benchmark
+    public byte[] buildingWeek() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(buildingWeek);
+    }
+}
@@ -0,0 +1,86 @@
+package com._glab.booking_system.booking.schedule;
+
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed days of a lab between two dates, as listed by the weekly and building availability views.
+ * Recurring closures are expanded day by day, so cost grows with closures times range length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClosedDayExpansionBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int labs;
+
+    @Param({"0", "2", "7"})
+    private int recurringClosures;
+
+    @Param({"0", "20", "200"})
+    private int specificClosures;
+
+    @Param({"7", "91"})
+    private int rangeDays;
+
+    private final LocalDate from = LocalDate.of(2030, 1, 7);
+    private LocalDate to;
+    private List<LabSchedule> schedules;
+
+    @Setup
+    public void setUp() {
+        to = from.plusDays(rangeDays - 1);
+        schedules = new ArrayList<>(labs);
+        for (int labId = 1; labId <= labs; labId++) {
+            Lab lab = new Lab();
+            lab.setId(labId);
+            lab.setDefaultOpenTime(LocalTime.of(8, 0));
+            lab.setDefaultCloseTime(LocalTime.of(20, 0));
+
+            List<LabClosedDay> recurring = new ArrayList<>();
+            for (int i = 0; i < recurringClosures; i++) {
+                LabClosedDay closure = new LabClosedDay();
+                closure.setRecurringDayOfWeek(i % 7);
+                closure.setReason("Weekly closure " + i);
+                recurring.add(closure);
+            }
+            List<LabClosedDay> specific = new ArrayList<>();
+            for (int i = 0; i < specificClosures; i++) {
+                LabClosedDay closure = new LabClosedDay();
+                // Spread over a year around the queried range
+                closure.setSpecificDate(from.minusDays(180).plusDays((i * 3L) % 365));
+                closure.setReason("Closure " + i);
+                specific.add(closure);
+            }
+            schedules.add(new LabSchedule(lab, List.of(), recurring, specific));
+        }
+    }
+
+    @Benchmark
+    public List<LabSchedule.ClosedDay> singleLab() {
+        return schedules.get(0).getClosedDaysBetween(from, to);
+    }
+
+    @Benchmark
+    public void building(Blackhole blackhole) {
+        for (LabSchedule schedule : schedules) {
+            blackhole.consume(schedule.getClosedDaysBetween(from, to));
+        }
+    }
+}
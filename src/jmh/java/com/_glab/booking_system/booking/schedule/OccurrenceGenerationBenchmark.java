@@ -0,0 +1,45 @@
+package com._glab.booking_system.booking.schedule;
+
+import com._glab.booking_system.booking.model.RecurrenceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Occurrence dates of a recurring reservation request, as generated by {@link RecurrenceDates}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OccurrenceGenerationBenchmark {
+
+    @Param({"WEEKLY", "MONTHLY", "CUSTOM"})
+    private RecurrenceType patternType;
+
+    @Param({"4", "52", "365"})
+    private int occurrences;
+
+    private final LocalDate startDate = LocalDate.of(2030, 1, 7);
+
+    @Benchmark
+    public List<LocalDate> byCount() {
+        return RecurrenceDates.of(startDate, patternType, 3, null, occurrences);
+    }
+
+    /**
+     * Same series bounded by an end date, which is checked on every step.
+     */
+    @Benchmark
+    public List<LocalDate> byEndDate() {
+        LocalDate endDate = startDate.plusDays((long) occurrences * RecurrenceDates.intervalDays(patternType, 3));
+        return RecurrenceDates.of(startDate, patternType, 3, endDate, occurrences);
+    }
+}
@@ -0,0 +1,134 @@
+package com._glab.booking_system.booking.service;
+
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationOccupancy;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.schedule.OccupancyBitmap;
+import com._glab.booking_system.booking.service.ReservationConflictService.Conflict;
+import com._glab.booking_system.booking.service.ReservationConflictService.TimeRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict detection of {@link ReservationConflictService} against a week of existing bookings in one lab,
+ * with the repositories answering from memory so only the in-process work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OverlapDetectionBenchmark {
+
+    private static final Integer LAB_ID = 1;
+    private static final OffsetDateTime WEEK_START = OffsetDateTime.of(2030, 1, 7, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Param({"8", "32", "128"})
+    private int workstations;
+
+    @Param({"50", "500", "5000"})
+    private int reservationsPerWeek;
+
+    private List<ReservationOccupancy> occupancy;
+    private ReservationConflictService conflictService;
+    private TimeRange singleRange;
+    private List<TimeRange> weeklyRanges;
+    private List<Integer> requestedWorkstations;
+
+    private record Row(UUID reservationId, OffsetDateTime startTime, OffsetDateTime endTime,
+                       Boolean wholeLab, Integer workstationId) implements ReservationOccupancy {
+
+        public UUID getReservationId() { return reservationId; }
+        public OffsetDateTime getStartTime() { return startTime; }
+        public OffsetDateTime getEndTime() { return endTime; }
+        public Boolean getWholeLab() { return wholeLab; }
+        public Integer getWorkstationId() { return workstationId; }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        occupancy = new ArrayList<>();
+        for (int i = 0; i < reservationsPerWeek; i++) {
+            UUID id = UUID.randomUUID();
+            // Weekdays between 08:00 and 20:00, 1 to 3 hours on quarter-hour boundaries
+            OffsetDateTime start = WEEK_START.plusDays(random.nextInt(5))
+                    .plusHours(8).plusMinutes(15L * random.nextInt(36));
+            OffsetDateTime end = start.plusMinutes(60 + 15L * random.nextInt(9));
+            if (random.nextInt(20) == 0) {
+                occupancy.add(new Row(id, start, end, true, null));
+            } else {
+                int count = 1 + random.nextInt(3);
+                for (int w = 0; w < count; w++) {
+                    occupancy.add(new Row(id, start, end, false, 1 + random.nextInt(workstations)));
+                }
+            }
+        }
+
+        ReservationRepository reservationRepository = inMemory(ReservationRepository.class,
+                Map.of("findOccupancyInRange", occupancy));
+        RecurringPatternRepository patternRepository = inMemory(RecurringPatternRepository.class,
+                Map.of("findExpandableForLabs", List.of()));
+        RecurrenceExceptionDateRepository exceptionDateRepository = inMemory(RecurrenceExceptionDateRepository.class,
+                Map.of());
+        ReservationWorkstationRepository workstationRepository = inMemory(ReservationWorkstationRepository.class,
+                Map.of());
+        conflictService = new ReservationConflictService(reservationRepository, workstationRepository,
+                new RecurringOccurrenceExpander(patternRepository, exceptionDateRepository));
+
+        singleRange = new TimeRange(WEEK_START.plusDays(2).plusHours(13), WEEK_START.plusDays(2).plusHours(15));
+        weeklyRanges = new ArrayList<>();
+        for (int week = 0; week < 52; week++) {
+            weeklyRanges.add(new TimeRange(singleRange.start().plusWeeks(week), singleRange.end().plusWeeks(week)));
+        }
+        requestedWorkstations = List.of(1, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T inMemory(Class<T> repository, Map<String, Object> results) {
+        return (T) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return results.get(method.getName());
+                });
+    }
+
+    @Benchmark
+    public OccupancyBitmap buildBitmap() {
+        return conflictService.loadOccupancy(LAB_ID, WEEK_START, WEEK_START.plusDays(7));
+    }
+
+    @Benchmark
+    public Optional<Conflict> singleReservation() {
+        return conflictService.findFirstConflict(LAB_ID, List.of(singleRange), false, requestedWorkstations, List.of());
+    }
+
+    @Benchmark
+    public Optional<Conflict> wholeLabReservation() {
+        return conflictService.findFirstConflict(LAB_ID, List.of(singleRange), true, List.of(), List.of());
+    }
+
+    @Benchmark
+    public Optional<Conflict> weeklySeries() {
+        return conflictService.findFirstConflict(LAB_ID, weeklyRanges, false, requestedWorkstations, List.of());
+    }
+}
@@ -0,0 +1,125 @@
+package com._glab.booking_system.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects response times per endpoint and turns them into a p50/p99/throughput report.
+ *
+ * Samples are only kept once {@link #startMeasuring()} was called, so warm-up traffic (JIT, connection
+ * pools, caches filling up) does not skew the numbers. Every sample is kept; a minute of traffic is a few
+ * hundred thousand longs at most.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentSkipListMap<>();
+    private volatile long measuringSince;
+
+    void startMeasuring() {
+        endpoints.clear();
+        measuringSince = System.nanoTime();
+    }
+
+    void record(String endpoint, int status, long nanos) {
+        if (measuringSince == 0) {
+            return;
+        }
+        endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(status, nanos);
+    }
+
+    long serverErrors() {
+        return endpoints.values().stream()
+                .flatMap(s -> s.statuses.entrySet().stream())
+                .filter(e -> e.getKey() >= 500)
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+    }
+
+    /**
+     * One line per endpoint: requests, throughput, p50, p99 and max latency, and the status codes seen.
+     */
+    String report() {
+        double seconds = Duration.ofNanos(System.nanoTime() - measuringSince).toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-40s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "statuses"));
+        endpoints.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            report.append(String.format(Locale.ROOT, "%-40s %9d %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    endpoint, sorted.length, sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]), samples.statusCounts()));
+        });
+        return report.toString();
+    }
+
+    /**
+     * The same figures as {@link #report()} as CSV, for comparing runs.
+     */
+    void writeCsv(Path file) throws IOException {
+        double seconds = Duration.ofNanos(System.nanoTime() - measuringSince).toMillis() / 1000.0;
+        StringBuilder csv = new StringBuilder("endpoint,requests,throughput_per_s,p50_ms,p99_ms,max_ms,errors\n");
+        endpoints.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            long errors = samples.statuses.entrySet().stream()
+                    .filter(e -> e.getKey() >= 400)
+                    .mapToLong(e -> e.getValue().sum())
+                    .sum();
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.2f,%.2f,%.2f,%.2f,%d%n",
+                    endpoint, sorted.length, sorted.length / seconds, millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                    errors));
+        });
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, csv);
+    }
+
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(int status, long elapsed) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            synchronized (this) {
+                if (size == nanos.length) {
+                    nanos = Arrays.copyOf(nanos, size * 2);
+                }
+                nanos[size++] = elapsed;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        Map<Integer, Long> statusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
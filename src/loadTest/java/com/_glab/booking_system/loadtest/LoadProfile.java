@@ -0,0 +1,51 @@
+package com._glab.booking_system.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Size of the seeded data set and of the workload, read from {@code loadtest.*} system properties
+ * (the Gradle task forwards {@code -Ploadtest.*} project properties).
+ *
+ * The defaults describe a peak registration week: a dozen labs spread over three buildings, two thousand
+ * professors, and eight weeks of half-booked workstations with recurring series on top.
+ */
+record LoadProfile(
+        int buildings,
+        int labsPerBuilding,
+        int workstationsPerLab,
+        int professors,
+        int weeks,
+        double occupancy,
+        double pendingShare,
+        int seriesPerLab,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int availabilityUsers,
+        int bookingUsers,
+        int authUsers,
+        long seed) {
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("loadtest.buildings", 3),
+                Integer.getInteger("loadtest.labsPerBuilding", 4),
+                Integer.getInteger("loadtest.workstationsPerLab", 24),
+                Integer.getInteger("loadtest.professors", 2000),
+                Integer.getInteger("loadtest.weeks", 8),
+                Double.parseDouble(System.getProperty("loadtest.occupancy", "0.5")),
+                Double.parseDouble(System.getProperty("loadtest.pendingShare", "0.3")),
+                Integer.getInteger("loadtest.seriesPerLab", 20),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60)),
+                Duration.ofMillis(Integer.getInteger("loadtest.thinkTimeMs", 250)),
+                Integer.getInteger("loadtest.availabilityUsers", 200),
+                Integer.getInteger("loadtest.bookingUsers", 40),
+                Integer.getInteger("loadtest.authUsers", 20),
+                Long.getLong("loadtest.seed", 42L));
+    }
+
+    int labs() {
+        return buildings * labsPerBuilding;
+    }
+}
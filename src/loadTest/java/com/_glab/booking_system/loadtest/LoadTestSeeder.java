@@ -0,0 +1,261 @@
+package com._glab.booking_system.loadtest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seeds buildings, labs, workstations, users and reservations with PostgreSQL COPY, bypassing the
+ * application so tens of thousands of rows load in seconds.
+ *
+ * Reservations fill a grid of two-hour slots (08:00-20:00 UTC, Monday to Friday) over the coming weeks.
+ * Every cell of the grid holds at most one reservation, so the seeded data never double-books a workstation
+ * and seeded pending reservations can be approved. Recurring series claim the same cell every week.
+ *
+ * Seeded IDs start at {@link #ID_OFFSET}, far above what the Hibernate sequences hand out during the run.
+ */
+final class LoadTestSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    static final int ID_OFFSET = 1_000_000;
+    static final String PASSWORD = "LoadTest-Password-1";
+
+    static final LocalTime FIRST_SLOT = LocalTime.of(8, 0);
+    static final int SLOT_HOURS = 2;
+    static final int SLOTS_PER_DAY = 6;
+    static final int DAYS_PER_WEEK = 5;
+
+    private static final String SLOT_BACKFILL =
+            "INSERT INTO reservation_slot (reservation_id, workstation_id, during) " +
+            "SELECT rw.reservation_id, rw.workstation_id, tstzrange(r.start_time, r.end_time) " +
+            "FROM reservation r JOIN reservation_workstation rw ON rw.reservation_id = r.id " +
+            "WHERE r.status = 'APPROVED'";
+
+    private final DataSource dataSource;
+    private final LoadProfile profile;
+    private final String passwordHash;
+    private final int professorRoleId;
+    private final int managerRoleId;
+    private final Random random;
+
+    LoadTestSeeder(DataSource dataSource, LoadProfile profile, String passwordHash,
+                   int professorRoleId, int managerRoleId) {
+        this.dataSource = dataSource;
+        this.profile = profile;
+        this.passwordHash = passwordHash;
+        this.professorRoleId = professorRoleId;
+        this.managerRoleId = managerRoleId;
+        this.random = new Random(profile.seed());
+    }
+
+    /**
+     * The seeded data the workloads pick their targets from.
+     *
+     * @param firstWeek Monday of the first seeded week
+     * @param workstationsByLab workstation IDs of each lab, in lab order
+     * @param managerByLab user ID of each lab's manager
+     * @param pendingByLab seeded single reservations awaiting approval
+     */
+    record SeededData(
+            LocalDate firstWeek,
+            List<Integer> buildingIds,
+            Map<Integer, List<Integer>> workstationsByLab,
+            List<String> professorEmails,
+            Map<Integer, Integer> managerByLab,
+            Map<Integer, List<UUID>> pendingByLab,
+            int reservations,
+            int series) {
+    }
+
+    SeededData seed() throws SQLException, IOException {
+        long started = System.nanoTime();
+        LocalDate firstWeek = LocalDate.now(ZoneOffset.UTC).plusWeeks(1)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        StringBuilder buildings = new StringBuilder();
+        StringBuilder labs = new StringBuilder();
+        StringBuilder workstations = new StringBuilder();
+        List<Integer> buildingIds = new ArrayList<>();
+        Map<Integer, List<Integer>> workstationsByLab = new LinkedHashMap<>();
+
+        int labId = ID_OFFSET;
+        int workstationId = ID_OFFSET;
+        for (int b = 0; b < profile.buildings(); b++) {
+            int buildingId = ID_OFFSET + b;
+            buildingIds.add(buildingId);
+            row(buildings, buildingId, "Building " + (b + 1), "Campus road " + (b + 1), "Poznan");
+            for (int l = 0; l < profile.labsPerBuilding(); l++, labId++) {
+                row(labs, labId, buildingId, "Lab " + (b + 1) + "." + (l + 1), profile.workstationsPerLab(),
+                        "07:00", "21:00");
+                List<Integer> ids = new ArrayList<>();
+                for (int w = 0; w < profile.workstationsPerLab(); w++, workstationId++) {
+                    row(workstations, workstationId, labId, "WS-" + (w + 1), true);
+                    ids.add(workstationId);
+                }
+                workstationsByLab.put(labId, ids);
+            }
+        }
+
+        StringBuilder users = new StringBuilder();
+        StringBuilder labManagers = new StringBuilder();
+        List<String> professorEmails = new ArrayList<>();
+        Map<Integer, Integer> managerByLab = new LinkedHashMap<>();
+        int userId = ID_OFFSET;
+        for (int p = 0; p < profile.professors(); p++, userId++) {
+            String email = "professor" + p + "@loadtest.example";
+            row(users, userId, "professor" + p, passwordHash, email, "Professor", String.valueOf(p),
+                    professorRoleId, true, 0, false);
+            professorEmails.add(email);
+        }
+        int labManagerId = ID_OFFSET;
+        for (Integer lab : workstationsByLab.keySet()) {
+            row(users, userId, "manager" + lab, passwordHash, "manager" + lab + "@loadtest.example", "Manager",
+                    String.valueOf(lab), managerRoleId, true, 0, false);
+            row(labManagers, labManagerId++, userId, lab, true);
+            managerByLab.put(lab, userId++);
+        }
+
+        StringBuilder patterns = new StringBuilder();
+        StringBuilder reservations = new StringBuilder();
+        StringBuilder links = new StringBuilder();
+        Map<Integer, List<UUID>> pendingByLab = new LinkedHashMap<>();
+        int reservationCount = 0;
+        int seriesCount = 0;
+        int linkId = ID_OFFSET;
+        OffsetDateTime createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+
+        for (Map.Entry<Integer, List<Integer>> lab : workstationsByLab.entrySet()) {
+            List<Integer> labWorkstations = lab.getValue();
+            boolean[][][][] taken = new boolean[labWorkstations.size()][profile.weeks()][DAYS_PER_WEEK][SLOTS_PER_DAY];
+            List<UUID> pending = new ArrayList<>();
+
+            // Weekly series first: one workstation, the same weekday and slot every week
+            for (int s = 0; s < profile.seriesPerLab(); s++) {
+                int ws = random.nextInt(labWorkstations.size());
+                int day = random.nextInt(DAYS_PER_WEEK);
+                int slot = random.nextInt(SLOTS_PER_DAY);
+                if (taken[ws][0][day][slot]) {
+                    continue;
+                }
+                UUID groupId = UUID.randomUUID();
+                String status = random.nextDouble() < profile.pendingShare() ? "PENDING" : "APPROVED";
+                String professor = String.valueOf(ID_OFFSET + random.nextInt(profile.professors()));
+                row(patterns, UUID.randomUUID(), groupId, "WEEKLY", 7, profile.weeks(), lab.getKey(),
+                        firstWeek.plusDays(day), null);
+                for (int week = 0; week < profile.weeks(); week++) {
+                    taken[ws][week][day][slot] = true;
+                    UUID id = UUID.randomUUID();
+                    OffsetDateTime start = slotStart(firstWeek, week, day, slot);
+                    row(reservations, id, lab.getKey(), professor, start, start.plusHours(SLOT_HOURS),
+                            "Weekly class", status, false, groupId, createdAt);
+                    row(links, linkId++, id, labWorkstations.get(ws));
+                    reservationCount++;
+                }
+                seriesCount++;
+            }
+
+            for (int ws = 0; ws < labWorkstations.size(); ws++) {
+                for (int week = 0; week < profile.weeks(); week++) {
+                    for (int day = 0; day < DAYS_PER_WEEK; day++) {
+                        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                            if (taken[ws][week][day][slot] || random.nextDouble() >= profile.occupancy()) {
+                                continue;
+                            }
+                            taken[ws][week][day][slot] = true;
+                            UUID id = UUID.randomUUID();
+                            boolean isPending = random.nextDouble() < profile.pendingShare();
+                            OffsetDateTime start = slotStart(firstWeek, week, day, slot);
+                            row(reservations, id, lab.getKey(),
+                                    ID_OFFSET + random.nextInt(profile.professors()), start,
+                                    start.plusHours(SLOT_HOURS), "Project work", isPending ? "PENDING" : "APPROVED",
+                                    false, null, createdAt.minusMinutes(random.nextInt(60 * 24 * 14)));
+                            row(links, linkId++, id, labWorkstations.get(ws));
+                            if (isPending) {
+                                pending.add(id);
+                            }
+                            reservationCount++;
+                        }
+                    }
+                }
+            }
+            pendingByLab.put(lab.getKey(), pending);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            copy(copy, "building (id, name, address, city)", buildings);
+            copy(copy, "lab (id, building_id, name, capacity, default_open_time, default_close_time)", labs);
+            copy(copy, "workstation (id, lab_id, identifier, active)", workstations);
+            copy(copy, "account (id, username, password, email, first_name, last_name, role_id, enabled, " +
+                    "failed_login_count, mfa_enabled)", users);
+            copy(copy, "lab_manager (id, user_id, lab_id, is_primary)", labManagers);
+            copy(copy, "recurring_pattern (id, recurring_group_id, pattern_type, interval_days, occurrences, " +
+                    "lab_id, first_occurrence, materialized_until)", patterns);
+            copy(copy, "reservation (id, lab_id, user_id, start_time, end_time, description, status, whole_lab, " +
+                    "recurring_group_id, created_at)", reservations);
+            copy(copy, "reservation_workstation (id, reservation_id, workstation_id)", links);
+
+            try (Statement statement = connection.createStatement()) {
+                // Slots are only tracked when the table could be created at startup
+                statement.execute("DO $$ BEGIN IF to_regclass('reservation_slot') IS NOT NULL THEN " +
+                        SLOT_BACKFILL + "; END IF; END $$");
+                statement.execute("ANALYZE");
+            }
+        }
+
+        log.info("Seeded {} labs, {} users, {} reservations ({} recurring series) in {} ms",
+                workstationsByLab.size(), professorEmails.size() + managerByLab.size(), reservationCount,
+                seriesCount, (System.nanoTime() - started) / 1_000_000);
+
+        return new SeededData(firstWeek, buildingIds, workstationsByLab, professorEmails, managerByLab,
+                pendingByLab, reservationCount, seriesCount);
+    }
+
+    static OffsetDateTime slotStart(LocalDate firstWeek, int week, int day, int slot) {
+        return firstWeek.plusWeeks(week).plusDays(day)
+                .atTime(FIRST_SLOT.plusHours((long) slot * SLOT_HOURS))
+                .atOffset(ZoneOffset.UTC);
+    }
+
+    private static void copy(CopyManager copy, String target, StringBuilder rows) throws SQLException, IOException {
+        long copied = copy.copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)", new StringReader(rows.toString()));
+        log.debug("Copied {} rows into {}", copied, target.substring(0, target.indexOf(' ')));
+    }
+
+    /**
+     * Append one CSV row; null becomes an unquoted empty field, which COPY reads as NULL.
+     */
+    private static void row(StringBuilder rows, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            if (values[i] != null) {
+                rows.append(values[i]);
+            }
+        }
+        rows.append('\n');
+    }
+}
@@ -0,0 +1,387 @@
+package com._glab.booking_system.loadtest;
+
+import com._glab.booking_system.auth.config.TestJwtConfig;
+import com._glab.booking_system.auth.config.TestMailConfig;
+import com._glab.booking_system.auth.service.JwtService;
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.cache.LabVersions;
+import com._glab.booking_system.booking.cache.ReservationIntervalIndex;
+import com._glab.booking_system.booking.request.BulkReservationActionRequest;
+import com._glab.booking_system.booking.request.CreateReservationRequest;
+import com._glab.booking_system.user.model.Role;
+import com._glab.booking_system.user.model.RoleName;
+import com._glab.booking_system.user.model.User;
+import com._glab.booking_system.user.repository.RoleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Replays a peak registration week against the running application: seeded labs and reservations, then
+ * professors polling weekly availability, bursts of new bookings, managers working through their approval
+ * queues, and sessions logging in and refreshing their tokens, all at once on virtual threads.
+ *
+ * Runs with {@code ./gradlew loadTest}; sizes and durations come from {@link LoadProfile}. The per-endpoint
+ * report is printed and written to {@code build/reports/loadtest/peak-week.csv}. Unlike the integration
+ * tests, the caches stay enabled, so the numbers reflect production settings.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.principal-cache.enabled=true",
+        "booking.reservation-index.enabled=true",
+        "booking.schedule-cache.enabled=true"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@Import({TestJwtConfig.class, TestMailConfig.class})
+class PeakWeekLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PeakWeekLoadTest.class);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReservationIntervalIndex reservationIntervalIndex;
+
+    @Autowired
+    private LabScheduleCache labScheduleCache;
+
+    @Autowired
+    private LabVersions labVersions;
+
+    private final LoadProfile profile = LoadProfile.fromSystemProperties();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadTestSeeder.SeededData data;
+    private Role professorRole;
+    private Role managerRole;
+
+    @Test
+    void peakWeek() throws Exception {
+        professorRole = saveRole(RoleName.PROFESSOR);
+        managerRole = saveRole(RoleName.LAB_MANAGER);
+
+        // One hash for every seeded user: BCrypt is deliberately slow and would dominate seeding
+        data = new LoadTestSeeder(dataSource, profile, passwordEncoder.encode(LoadTestSeeder.PASSWORD),
+                professorRole.getId(), managerRole.getId()).seed();
+
+        // The rows were copied behind the application's back, so rebuild what it keeps in memory
+        reservationIntervalIndex.load();
+        labScheduleCache.evictAll();
+        labVersions.bumpAll();
+
+        log.info("Running {} availability, {} booking, {} auth and {} manager users for {}s after {}s warm-up",
+                profile.availabilityUsers(), profile.bookingUsers(), profile.authUsers(),
+                data.managerByLab().size(), profile.duration().toSeconds(), profile.warmup().toSeconds());
+
+        long warmupEnds = System.nanoTime() + profile.warmup().toNanos();
+        long deadline = warmupEnds + profile.duration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < profile.availabilityUsers(); i++) {
+                String token = professorToken(i);
+                executor.submit(() -> pollAvailability(token, deadline));
+            }
+            for (int i = 0; i < profile.bookingUsers(); i++) {
+                String token = professorToken(profile.availabilityUsers() + i);
+                executor.submit(() -> bookSlots(token, deadline));
+            }
+            for (int i = 0; i < profile.authUsers(); i++) {
+                String email = data.professorEmails().get(i % data.professorEmails().size());
+                executor.submit(() -> loginAndRefresh(email, deadline));
+            }
+            data.managerByLab().forEach((labId, managerId) -> {
+                Queue<UUID> pending = new ConcurrentLinkedQueue<>(data.pendingByLab().get(labId));
+                String token = managerToken(managerId, labId);
+                executor.submit(() -> workApprovalQueue(token, labId, pending, deadline));
+            });
+
+            Thread.sleep(profile.warmup().toMillis());
+            recorder.startMeasuring();
+        }
+
+        String report = recorder.report();
+        log.info("Peak week load test ({} reservations, {} series, {} professors):\n{}",
+                data.reservations(), data.series(), data.professorEmails().size(), report);
+        recorder.writeCsv(Path.of(System.getProperty("loadtest.reportFile", "build/reports/loadtest/peak-week.csv")));
+
+        assertEquals(0, recorder.serverErrors(), "Server errors under load:\n" + report);
+    }
+
+    // === Workloads ===
+
+    /**
+     * A professor with the booking page open: re-fetches a lab's week, sending the ETag it got last time,
+     * and now and then looks at the building overview.
+     */
+    private void pollAvailability(String token, long deadline) {
+        Map<String, String> etags = new HashMap<>();
+        List<Integer> labs = new ArrayList<>(data.workstationsByLab().keySet());
+        while (System.nanoTime() < deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDate week = data.firstWeek().plusWeeks(random.nextInt(profile.weeks()));
+            if (random.nextInt(10) == 0) {
+                Integer buildingId = data.buildingIds().get(random.nextInt(data.buildingIds().size()));
+                send("GET /buildings/{id}/availability",
+                        get("/api/v1/buildings/" + buildingId + "/availability?week=" + week, token));
+            } else {
+                String path = "/api/v1/labs/" + labs.get(random.nextInt(labs.size())) + "/availability?week=" + week;
+                HttpRequest.Builder request = get(path, token);
+                String etag = etags.get(path);
+                if (etag != null) {
+                    request.header("If-None-Match", etag);
+                }
+                HttpResponse<String> response = send("GET /labs/{id}/availability", request);
+                if (response != null) {
+                    response.headers().firstValue("ETag").ifPresent(value -> etags.put(path, value));
+                }
+            }
+            think();
+        }
+    }
+
+    /**
+     * A professor booking a random slot; most slots are popular, so conflicts (409) are part of the mix.
+     * Every tenth request asks for a short weekly series instead.
+     */
+    private void bookSlots(String token, long deadline) {
+        List<Integer> labs = new ArrayList<>(data.workstationsByLab().keySet());
+        while (System.nanoTime() < deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Integer labId = labs.get(random.nextInt(labs.size()));
+            List<Integer> workstations = data.workstationsByLab().get(labId);
+            boolean recurring = random.nextInt(10) == 0;
+            OffsetDateTime start = LoadTestSeeder.slotStart(data.firstWeek(),
+                    random.nextInt(recurring ? Math.max(1, profile.weeks() - 4) : profile.weeks()),
+                    random.nextInt(LoadTestSeeder.DAYS_PER_WEEK), random.nextInt(LoadTestSeeder.SLOTS_PER_DAY));
+
+            CreateReservationRequest request = CreateReservationRequest.builder()
+                    .labId(labId)
+                    .startTime(start)
+                    .endTime(start.plusHours(LoadTestSeeder.SLOT_HOURS))
+                    .description("Load test booking")
+                    .workstationIds(List.of(workstations.get(random.nextInt(workstations.size()))))
+                    .recurring(recurring
+                            ? CreateReservationRequest.RecurringConfig.builder().patternType("WEEKLY").occurrences(4).build()
+                            : null)
+                    .build();
+            send(recurring ? "POST /reservations (recurring)" : "POST /reservations",
+                    post("/api/v1/reservations", token, json(request)));
+            think();
+        }
+    }
+
+    /**
+     * A lab manager paging through the pending queue and approving one request at a time, with an
+     * occasional bulk approval of several.
+     */
+    private void workApprovalQueue(String token, Integer labId, Queue<UUID> pending, long deadline) {
+        while (System.nanoTime() < deadline) {
+            send("GET /manager/reservations/pending/queue",
+                    get("/api/v1/manager/reservations/pending/queue?labId=" + labId + "&limit=50", token));
+
+            if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                List<UUID> batch = new ArrayList<>();
+                for (UUID id; batch.size() < 10 && (id = pending.poll()) != null; ) {
+                    batch.add(id);
+                }
+                if (!batch.isEmpty()) {
+                    send("POST /manager/reservations/bulk", post("/api/v1/manager/reservations/bulk", token,
+                            json(BulkReservationActionRequest.builder()
+                                    .reservationIds(batch)
+                                    .action(BulkReservationActionRequest.Action.APPROVE)
+                                    .build())));
+                }
+            } else {
+                UUID id = pending.poll();
+                if (id != null) {
+                    send("POST /manager/reservations/{id}/approve",
+                            post("/api/v1/manager/reservations/" + id + "/approve", token, ""));
+                }
+            }
+            think();
+        }
+    }
+
+    /**
+     * A session starting in a new browser: log in with the password, then refresh with the cookie a few
+     * times as the access token would expire.
+     */
+    private void loginAndRefresh(String email, long deadline) {
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> login = send("POST /auth/login", post("/api/v1/auth/login", null,
+                    json(Map.of("email", email, "password", LoadTestSeeder.PASSWORD))));
+            String cookie = login == null ? null : refreshCookie(login);
+            for (int i = 0; i < 3 && cookie != null && System.nanoTime() < deadline; i++) {
+                think();
+                HttpResponse<String> refresh = send("POST /auth/refresh",
+                        post("/api/v1/auth/refresh", null, "").header("Cookie", cookie));
+                cookie = refresh == null ? null : refreshCookie(refresh);
+            }
+            think();
+        }
+    }
+
+    // === Helpers ===
+
+    private Role saveRole(RoleName name) {
+        Role role = new Role();
+        role.setName(name);
+        return roleRepository.save(role);
+    }
+
+    /**
+     * Access token of the n-th seeded professor. Minted directly, as the integration tests do, so the
+     * workloads other than login do not each pay for a BCrypt check first.
+     */
+    private String professorToken(int n) {
+        List<String> emails = data.professorEmails();
+        User user = new User();
+        user.setId(LoadTestSeeder.ID_OFFSET + n % emails.size());
+        user.setEmail(emails.get(n % emails.size()));
+        user.setRole(professorRole);
+        return jwtService.generateAccessToken(user);
+    }
+
+    /**
+     * Lab managers must use MFA, which a password login cannot complete, so their tokens are minted too.
+     */
+    private String managerToken(Integer managerId, Integer labId) {
+        User user = new User();
+        user.setId(managerId);
+        user.setEmail("manager" + labId + "@loadtest.example");
+        user.setRole(managerRole);
+        return jwtService.generateAccessToken(user);
+    }
+
+    private HttpRequest.Builder get(String path, String token) {
+        return request(path, token).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String token, String body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Send a request and record its latency under the endpoint's name; transport failures count as 599.
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, response.statusCode(), System.nanoTime() - started);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            recorder.record(endpoint, 599, System.nanoTime() - started);
+            log.debug("{} failed: {}", endpoint, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String refreshCookie(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(value -> value.startsWith("refreshToken="))
+                .map(value -> value.substring(0, value.indexOf(';')))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize " + body, e);
+        }
+    }
+
+    private void think() {
+        long pause = profile.thinkTime().toMillis();
+        if (pause <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(pause / 2, pause * 3 / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
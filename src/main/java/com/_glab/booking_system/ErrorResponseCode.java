@@ -47,6 +47,8 @@ public enum ErrorResponseCode {
     BOOKING_WORKSTATION_NOT_IN_LAB,
     BOOKING_WORKSTATION_INACTIVE,
     BOOKING_NO_WORKSTATIONS_SELECTED,
+    BOOKING_RESERVATION_CONFLICT,
+    BOOKING_INVALID_CURSOR,
 
     // Booking - Recurring
     BOOKING_INVALID_RECURRING_PATTERN,
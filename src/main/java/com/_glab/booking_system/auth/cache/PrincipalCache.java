@@ -0,0 +1,147 @@
+package com._glab.booking_system.auth.cache;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com._glab.booking_system.auth.config.JwtProperties;
+import com._glab.booking_system.auth.model.AuthenticatedUser;
+import com._glab.booking_system.auth.service.CustomUserDetailsService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived cache of authenticated principals keyed by email (the JWT subject), so bearer-token
+ * requests do not load the account and its role on every call.
+ *
+ * Entries are evicted by {@link PrincipalCacheInvalidationListener} whenever an account is written
+ * (lockout, disable, role or password change, ...), here or on another instance ({@link UserChangedEvent}),
+ * and expire after {@code jwt.principal-cache.ttl}. Bounded by {@code jwt.principal-cache.max-size}: once
+ * full, each new principal evicts the least recently used one. Lookups reorder the entries, so every access
+ * holds the cache's lock, which is only ever held for a map operation. Cached principals never hold the
+ * password hash. Password logins go through
+ * {@link CustomUserDetailsService} directly and are never served from this cache.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final JwtProperties jwtProperties;
+
+    /** Access-ordered, so the eldest entry is the least recently used. Guarded by itself. */
+    private final Map<String, Entry> principals = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > jwtProperties.getPrincipalCache().getMaxSize();
+        }
+    };
+    /** Bumped on every eviction so loads racing with an eviction are not cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private record Entry(AuthenticatedUser principal, Instant loadedAt) {
+    }
+
+    public PrincipalCache(CustomUserDetailsService userDetailsService,
+                          JwtProperties jwtProperties,
+                          MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.jwtProperties = jwtProperties;
+        this.hits = Counter.builder("auth.principal.cache")
+                .description("Authenticated principal lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache")
+                .description("Authenticated principal lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.principal.cache.size", this, PrincipalCache::size);
+    }
+
+    /**
+     * The principal of the account with the given email, loaded from the database on a miss.
+     *
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if no such account exists
+     */
+    public AuthenticatedUser get(String email) {
+        JwtProperties.PrincipalCache config = jwtProperties.getPrincipalCache();
+        if (config.isEnabled()) {
+            Entry entry;
+            synchronized (principals) {
+                entry = principals.get(email);
+            }
+            if (entry != null && entry.loadedAt().plus(config.getTtl()).isAfter(Instant.now())) {
+                hits.increment();
+                return entry.principal();
+            }
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        AuthenticatedUser principal = userDetailsService.loadUserByUsername(email);
+        principal.eraseCredentials();
+        if (config.isEnabled()) {
+            synchronized (principals) {
+                // Checked under the lock, as evictions bump the generation while holding it
+                if (generation.get() == loadGeneration) {
+                    principals.put(email, new Entry(principal, Instant.now()));
+                }
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Drop the cached principal of an account, whatever email it was cached under.
+     */
+    public void evict(Integer userId) {
+        boolean evicted;
+        synchronized (principals) {
+            generation.incrementAndGet();
+            evicted = principals.values().removeIf(entry -> entry.principal().getUserId().equals(userId));
+        }
+        if (evicted) {
+            log.debug("Evicted cached principal of user {}", userId);
+        }
+    }
+
+    /**
+     * Drop every cached principal.
+     */
+    public void evictAll() {
+        synchronized (principals) {
+            generation.incrementAndGet();
+            principals.clear();
+        }
+    }
+
+    /**
+     * Drop principals whose accounts were written on another instance.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        if (event.userId() != null) {
+            evict(event.userId());
+        } else {
+            evictAll();
+        }
+    }
+
+    public int size() {
+        synchronized (principals) {
+            return principals.size();
+        }
+    }
+}
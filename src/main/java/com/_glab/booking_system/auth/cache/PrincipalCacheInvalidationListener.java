@@ -0,0 +1,55 @@
+package com._glab.booking_system.auth.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com._glab.booking_system.user.model.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener evicting {@link PrincipalCache} entries when an account is written.
+ *
+ * Evicts immediately and again once the transaction completes, so a principal loaded while the write
+ * was still uncommitted is not kept. Every write is also published as a {@link UserChangedEvent} within
+ * the writing transaction, which carries it to the other instances. Instantiated by Hibernate through Spring's bean container; the
+ * cache is looked up lazily because entity listeners are created while the EntityManagerFactory is
+ * still being built.
+ */
+public class PrincipalCacheInvalidationListener {
+
+    private final ObjectProvider<PrincipalCache> cacheProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PrincipalCacheInvalidationListener(ObjectProvider<PrincipalCache> cacheProvider,
+                                              ApplicationEventPublisher eventPublisher) {
+        this.cacheProvider = cacheProvider;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        PrincipalCache cache = cacheProvider.getIfAvailable();
+        if (cache == null || user.getId() == null) {
+            return;
+        }
+
+        Integer userId = user.getId();
+        cache.evict(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(userId);
+                }
+            });
+        }
+    }
+}
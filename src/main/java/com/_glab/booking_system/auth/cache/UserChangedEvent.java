@@ -0,0 +1,17 @@
+package com._glab.booking_system.auth.cache;
+
+/**
+ * Published whenever an account is written (lockout, disable, role or password change, ...), within the
+ * writing transaction. The local {@link PrincipalCache} is evicted by {@link PrincipalCacheInvalidationListener};
+ * this event carries the change to other application instances.
+ *
+ * @param userId ID of the changed account, or null if any account may have changed (e.g. after changes of
+ *               other instances were missed)
+ * @param remote whether the change was committed by another application instance
+ */
+public record UserChangedEvent(Integer userId, boolean remote) {
+
+    public UserChangedEvent(Integer userId) {
+        this(userId, false);
+    }
+}
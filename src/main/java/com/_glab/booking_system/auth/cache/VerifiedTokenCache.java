@@ -0,0 +1,92 @@
+package com._glab.booking_system.auth.cache;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com._glab.booking_system.auth.config.JwtProperties;
+import com._glab.booking_system.auth.service.JwtService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Claims of recently verified JWTs keyed by the exact token string, kept until the token expires,
+ * so repeat requests with the same bearer token skip RSA signature verification.
+ *
+ * Only tokens that passed verification are stored; any change to a token (including its signature)
+ * misses the cache and is verified in full. Bounded by {@code jwt.verified-token-cache.max-size}: once full,
+ * each new token evicts the least recently used one. Lookups reorder the entries, so every access holds the
+ * cache's lock, which is only ever held for a map operation.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtProperties jwtProperties;
+    /** Access-ordered, so the eldest entry is the least recently used. Guarded by itself. */
+    private final Map<String, JwtService.TokenClaims> tokens = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JwtService.TokenClaims> eldest) {
+            return size() > jwtProperties.getVerifiedTokenCache().getMaxSize();
+        }
+    };
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.hits = Counter.builder("auth.jwt.verification.cache")
+                .description("JWT signature verifications answered from cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.jwt.verification.cache")
+                .description("JWT signature verifications answered from cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.jwt.verification.cache.size", this, VerifiedTokenCache::size);
+    }
+
+    /**
+     * The claims of a previously verified, not yet expired token, or null.
+     */
+    public JwtService.TokenClaims get(String token) {
+        if (!jwtProperties.getVerifiedTokenCache().isEnabled()) {
+            return null;
+        }
+        JwtService.TokenClaims claims;
+        synchronized (tokens) {
+            claims = tokens.get(token);
+            if (claims != null && !claims.expiresAt().isAfter(Instant.now())) {
+                tokens.remove(token);
+                claims = null;
+            }
+        }
+        if (claims != null) {
+            hits.increment();
+            return claims;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Remember a token whose signature, issuer and expiry have just been verified.
+     */
+    public void put(String token, JwtService.TokenClaims claims) {
+        if (!jwtProperties.getVerifiedTokenCache().isEnabled() || claims.expiresAt() == null) {
+            return;
+        }
+        synchronized (tokens) {
+            tokens.put(token, claims);
+        }
+    }
+
+    public int size() {
+        synchronized (tokens) {
+            return tokens.size();
+        }
+    }
+}
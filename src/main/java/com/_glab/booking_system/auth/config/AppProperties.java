@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Application-wide configuration properties.
  */
@@ -26,6 +28,44 @@ public class AppProperties {
          * The "from" email address for outgoing emails.
          */
         private String from = "noreply@example.com";
+
+        private Outbox outbox = new Outbox();
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+        /**
+         * Whether this instance drains the email outbox. Emails are always written to the outbox.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between outbox polls.
+         */
+        private Duration pollInterval = Duration.ofSeconds(2);
+
+        /**
+         * Messages sent over one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Attempts before a message is marked FAILED.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry; doubled for each further attempt up to maxBackoff.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * How long sent messages are kept before being purged.
+         */
+        private Duration retention = Duration.ofDays(7);
     }
 
     @Getter
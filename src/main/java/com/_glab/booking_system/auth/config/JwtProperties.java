@@ -18,5 +18,43 @@ public class JwtProperties {
 	private Duration accessTokenExpiry = Duration.ofMinutes(15);
 	private Duration refreshTokenExpiry = Duration.ofDays(7);
 	private String issuer = "booking-system";
-}
+	private PrincipalCache principalCache = new PrincipalCache();
+	private VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+
+	/**
+	 * Cache of authenticated principals used by the JWT filter.
+	 */
+	@Getter
+	@Setter
+	public static class PrincipalCache {
+
+		private boolean enabled = true;
+
+		/**
+		 * How long a principal is reused before the account is read again.
+		 * Writes to an account evict it immediately; the TTL only bounds changes made outside the application.
+		 */
+		private Duration ttl = Duration.ofSeconds(60);
 
+		/**
+		 * Maximum number of cached principals. Once the cache is full, the least recently used one is evicted.
+		 */
+		private int maxSize = 10_000;
+	}
+
+	/**
+	 * Cache of verified token claims, letting repeat requests skip signature verification.
+	 */
+	@Getter
+	@Setter
+	public static class VerifiedTokenCache {
+
+		private boolean enabled = true;
+
+		/**
+		 * Maximum number of cached tokens. Entries are kept until the token expires or, once the cache is full,
+		 * until they are the least recently used.
+		 */
+		private int maxSize = 10_000;
+	}
+}
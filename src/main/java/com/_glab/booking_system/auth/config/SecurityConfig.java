@@ -2,7 +2,9 @@ package com._glab.booking_system.auth.config;
 
 import com._glab.booking_system.auth.filter.JwtAuthenticationFilter;
 import com._glab.booking_system.auth.service.CustomUserDetailsService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +36,7 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ManagementServerProperties managementServerProperties;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -80,6 +83,8 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
+                        // Metrics scraping, only on the management port that stays off the public ingress
+                        .requestMatchers(this::isPrometheusScrape).permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form.disable())
@@ -89,6 +94,15 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
-
 
+    /**
+     * A Prometheus scrape that arrived on the separate management port. Without one (or on the public port)
+     * the endpoint needs a JWT like any other request.
+     */
+    private boolean isPrometheusScrape(HttpServletRequest request) {
+        Integer managementPort = managementServerProperties.getPort();
+        return managementPort != null && managementPort > 0
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+}
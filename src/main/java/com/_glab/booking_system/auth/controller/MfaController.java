@@ -11,6 +11,7 @@ import com._glab.booking_system.auth.response.LoginResponse;
 import com._glab.booking_system.auth.response.MfaChallengeResponse;
 import com._glab.booking_system.auth.response.MfaSetupCompleteResponse;
 import com._glab.booking_system.auth.response.MfaSetupResponse;
+import com._glab.booking_system.auth.service.CurrentUser;
 import com._glab.booking_system.auth.service.EmailOtpService;
 import com._glab.booking_system.auth.service.JwtService;
 import com._glab.booking_system.auth.service.MfaService;
@@ -50,6 +51,7 @@ public class MfaController {
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
     private final RefreshTokenRepository refreshTokenRepository;
     private final ObjectMapper objectMapper;
 
@@ -268,8 +270,7 @@ public class MfaController {
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestBody MfaDisableRequest request) {
 
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new AuthenticationFailedException("User not found"));
+        User user = currentUser.get();
 
         // Check if MFA is required for this role
         if (mfaService.isMfaRequired(user)) {
@@ -310,8 +311,7 @@ public class MfaController {
      */
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getMfaStatus(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new AuthenticationFailedException("User not found"));
+        User user = currentUser.get();
 
         log.debug("MFA status check for user {}", user.getEmail());
 
@@ -337,8 +337,7 @@ public class MfaController {
     private User resolveUserForSetup(UserDetails userDetails, String mfaToken) {
         // Try regular authentication first
         if (userDetails != null) {
-            return userRepository.findByEmail(userDetails.getUsername())
-                    .orElseThrow(() -> new AuthenticationFailedException("User not found"));
+            return currentUser.get();
         }
         
         // Fall back to MFA token
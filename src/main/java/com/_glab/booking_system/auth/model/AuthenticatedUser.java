@@ -0,0 +1,27 @@
+package com._glab.booking_system.auth.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Spring Security principal for an account, carrying the account ID so the
+ * {@link com._glab.booking_system.user.model.User} can be resolved by primary key.
+ * The username is the user's email.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Integer userId;
+
+    public AuthenticatedUser(Integer userId, String email, String password,
+                             boolean enabled, boolean accountNonLocked,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, enabled, true, true, accountNonLocked, authorities);
+        this.userId = userId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,74 @@
+package com._glab.booking_system.auth.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * An email written in the same transaction as the change it reports, sent later by
+ * {@link com._glab.booking_system.auth.service.EmailOutboxDispatcher}.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    /**
+     * Number of delivery attempts made so far.
+     */
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    /**
+     * Earliest time of the next delivery attempt.
+     */
+    @Column(nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    /**
+     * Error of the last failed attempt, if any.
+     */
+    @Column(length = 1000)
+    private String lastError;
+
+    private OffsetDateTime sentAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private OffsetDateTime createdAt;
+
+    public EmailOutboxMessage(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.nextAttemptAt = OffsetDateTime.now();
+    }
+}
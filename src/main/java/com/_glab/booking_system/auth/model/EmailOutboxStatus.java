@@ -0,0 +1,7 @@
+package com._glab.booking_system.auth.model;
+
+public enum EmailOutboxStatus {
+	PENDING,
+	SENT,
+	FAILED
+}
@@ -0,0 +1,33 @@
+package com._glab.booking_system.auth.repository;
+
+import com._glab.booking_system.auth.model.EmailOutboxMessage;
+import com._glab.booking_system.auth.model.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+
+    /**
+     * Locks the oldest pending messages that are due. Rows locked by another dispatcher are skipped,
+     * so several instances can drain the outbox without sending a message twice.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutboxMessage> lockDueMessages(OffsetDateTime now, int limit);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com._glab.booking_system.auth.model.EmailOutboxStatus.SENT AND m.sentAt < :cutoff")
+    int deleteSentBefore(OffsetDateTime cutoff);
+}
@@ -0,0 +1,60 @@
+package com._glab.booking_system.auth.service;
+
+import com._glab.booking_system.auth.exception.AuthenticationFailedException;
+import com._glab.booking_system.auth.model.AuthenticatedUser;
+import com._glab.booking_system.user.model.User;
+import com._glab.booking_system.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The authenticated {@link User} of the current request, loaded at most once per request.
+ *
+ * Resolved by primary key when the principal came from the JWT filter, otherwise by email.
+ * The entity itself is never shared between requests.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    private User user;
+
+    /**
+     * @throws AuthenticationFailedException if the request is not authenticated or the account no longer exists
+     */
+    public User get() {
+        if (user == null) {
+            user = resolve();
+        }
+        return user;
+    }
+
+    private User resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return userRepository.findById(authenticatedUser.getUserId())
+                    .orElseThrow(() -> notFound(authenticatedUser.getUsername()));
+        }
+        if (principal instanceof UserDetails userDetails) {
+            return userRepository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> notFound(userDetails.getUsername()));
+        }
+        throw new AuthenticationFailedException("Not authenticated");
+    }
+
+    private static AuthenticationFailedException notFound(String email) {
+        log.error("Authenticated user not found: {}", email);
+        return new AuthenticationFailedException("Authenticated user not found");
+    }
+}
@@ -1,15 +1,17 @@
 package com._glab.booking_system.auth.service;
 
+import com._glab.booking_system.auth.model.AuthenticatedUser;
 import com._glab.booking_system.user.model.Role;
 import com._glab.booking_system.user.model.User;
 import com._glab.booking_system.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -22,29 +24,23 @@ public class CustomUserDetailsService implements UserDetailsService {
      * We treat the \"username\" parameter as the user's email.
      */
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found for email: " + email));
 
         boolean enabled = Boolean.TRUE.equals(user.getEnabled());
         boolean accountNonLocked = user.getLockedUntil() == null
                 || user.getLockedUntil().isBefore(OffsetDateTime.now());
-        boolean accountNonExpired = true;
-        boolean credentialsNonExpired = true;
 
         Role role = user.getRole();
         String roleName = role != null ? role.getName().name() : "PROFESSOR";
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .roles(roleName)
-                .accountLocked(!accountNonLocked)
-                .disabled(!enabled)
-                .accountExpired(!accountNonExpired)
-                .credentialsExpired(!credentialsNonExpired)
-                .build();
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword() != null ? user.getPassword() : "",
+                enabled,
+                accountNonLocked,
+                List.of(new SimpleGrantedAuthority("ROLE_" + roleName)));
     }
 }
-
-
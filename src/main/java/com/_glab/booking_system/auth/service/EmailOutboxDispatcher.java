@@ -0,0 +1,243 @@
+package com._glab.booking_system.auth.service;
+
+import com._glab.booking_system.auth.config.AppProperties;
+import com._glab.booking_system.auth.model.EmailOutboxMessage;
+import com._glab.booking_system.auth.model.EmailOutboxStatus;
+import com._glab.booking_system.auth.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in the background.
+ *
+ * Each batch of due messages is locked, sent over a single SMTP connection and marked SENT in one
+ * transaction. Failed messages are retried with exponential backoff and marked FAILED after
+ * {@code app.mail.outbox.max-attempts}. Queue depth, batch latency and outcomes are published as
+ * {@code mail.outbox.*} metrics.
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    /** Outbox depth as of the last dispatch cycle, so scraping the gauge does not query the database. */
+    private final AtomicLong pending = new AtomicLong();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 AppProperties appProperties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sendTimer = Timer.builder("mail.outbox.send")
+                .description("Time to send one outbox batch over SMTP")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.outbox.delivery")
+                .description("Time from queueing an email to sending it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting in the outbox, as of the last dispatch cycle")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mail.outbox.messages")
+                .description("Outbox delivery attempts by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send due messages until the outbox has no full batch left.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:2s}")
+    public void dispatch() {
+        if (!appProperties.getMail().getOutbox().isEnabled()) {
+            return;
+        }
+        int batchSize = appProperties.getMail().getOutbox().getBatchSize();
+        int processed;
+        do {
+            processed = dispatchBatch();
+        } while (processed == batchSize);
+        pending.set(outboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    }
+
+    /**
+     * Send one batch of due messages.
+     *
+     * @return number of messages attempted
+     */
+    public int dispatchBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            AppProperties.Outbox config = appProperties.getMail().getOutbox();
+            List<EmailOutboxMessage> batch = outboxRepository.lockDueMessages(OffsetDateTime.now(), config.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            SimpleMailMessage[] messages = batch.stream().map(this::toMailMessage).toArray(OutboxMailMessage[]::new);
+            Map<Object, Exception> failures = sendTimer.record(() -> send(messages));
+
+            OffsetDateTime now = OffsetDateTime.now();
+            for (int i = 0; i < batch.size(); i++) {
+                Exception failure = failures.get(messages[i]);
+                if (failure == null) {
+                    markSent(batch.get(i), now);
+                } else {
+                    markFailed(batch.get(i), failure, now, config);
+                }
+            }
+            outboxRepository.saveAll(batch);
+            log.debug("Dispatched {} outbox emails ({} failed)", batch.size(), failures.size());
+            return batch.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    /**
+     * Purge sent messages past their retention period.
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeSent() {
+        if (!appProperties.getMail().getOutbox().isEnabled()) {
+            return;
+        }
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(appProperties.getMail().getOutbox().getRetention());
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(cutoff));
+        log.debug("Purged {} sent outbox emails", deleted);
+    }
+
+    /**
+     * Sends all messages over one connection. Returns the messages that failed, keyed by message instance.
+     */
+    private Map<Object, Exception> send(SimpleMailMessage[] messages) {
+        try {
+            mailSender.send(messages);
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                return new IdentityHashMap<>(e.getFailedMessages());
+            }
+            return allFailed(messages, e);
+        } catch (MailException e) {
+            return allFailed(messages, e);
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] messages, Exception e) {
+        log.warn("Failed to send outbox batch of {} emails: {}", messages.length, e.getMessage());
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, e);
+        }
+        return failures;
+    }
+
+    private OutboxMailMessage toMailMessage(EmailOutboxMessage outboxMessage) {
+        OutboxMailMessage message = new OutboxMailMessage();
+        message.setFrom(appProperties.getMail().getFrom());
+        message.setTo(outboxMessage.getRecipient());
+        message.setSubject(outboxMessage.getSubject());
+        message.setText(outboxMessage.getBody());
+        return message;
+    }
+
+    private void markSent(EmailOutboxMessage message, OffsetDateTime now) {
+        message.setStatus(EmailOutboxStatus.SENT);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setSentAt(now);
+        message.setLastError(null);
+        sent.increment();
+        if (message.getCreatedAt() != null) {
+            deliveryTimer.record(Duration.between(message.getCreatedAt(), now));
+        }
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception failure, OffsetDateTime now, AppProperties.Outbox config) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(String.valueOf(failure.getMessage())));
+
+        if (attempts >= config.getMaxAttempts()) {
+            message.setStatus(EmailOutboxStatus.FAILED);
+            failed.increment();
+            log.error("Giving up on email to {} after {} attempts: {}", message.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+
+        message.setNextAttemptAt(now.plus(backoff(attempts, config)));
+        retried.increment();
+        log.warn("Email to {} failed (attempt {}), retrying at {}: {}",
+                message.getRecipient(), attempts, message.getNextAttemptAt(), failure.getMessage());
+    }
+
+    /**
+     * initialBackoff * 2^(attempts - 1), capped at maxBackoff.
+     */
+    static Duration backoff(int attempts, AppProperties.Outbox config) {
+        Duration delay = config.getInitialBackoff();
+        for (int i = 1; i < attempts && delay.compareTo(config.getMaxBackoff()) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : delay;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * A mail message equal only to itself. The sender reports failures in a map keyed by message, and
+     * {@link SimpleMailMessage} compares by value, so two identical emails in a batch (e.g. a repeated
+     * notification) would share one entry and a failure of either would be blamed on both.
+     */
+    private static final class OutboxMailMessage extends SimpleMailMessage {
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com._glab.booking_system.auth.service;
 
 import com._glab.booking_system.auth.config.AppProperties;
+import com._glab.booking_system.auth.model.EmailOutboxMessage;
+import com._glab.booking_system.auth.repository.EmailOutboxRepository;
 import com._glab.booking_system.user.model.User;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Centralized email service for all email sending operations.
+ * Emails are written to the outbox in the caller's transaction and sent by {@link EmailOutboxDispatcher}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
     private final AppProperties appProperties;
+    private final Timer enqueueTimer;
+
+    public EmailService(EmailOutboxRepository outboxRepository, AppProperties appProperties,
+                        MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.appProperties = appProperties;
+        this.enqueueTimer = Timer.builder("mail.outbox.enqueue")
+                .description("Time callers spend queueing an email in the outbox")
+                .register(meterRegistry);
+    }
 
     /**
      * Send account setup email with password setup link.
@@ -27,7 +39,6 @@ public class EmailService {
      * @param user  The user to send the email to
      * @param token The password setup token
      */
-    @Async
     public void sendAccountSetupEmail(User user, String token) {
         String setupUrl = buildSetupUrl(token);
         String subject = "5GLab Booking - Complete Your Account Setup";
@@ -46,7 +57,7 @@ public class EmailService {
         );
 
         sendEmail(user.getEmail(), subject, body);
-        log.info("Account setup email sent to {}", user.getEmail());
+        log.info("Account setup email queued for {}", user.getEmail());
     }
 
     /**
@@ -56,7 +67,6 @@ public class EmailService {
      * @param otp   The OTP code
      * @param expiryMinutes How long the OTP is valid
      */
-    @Async
     public void sendOtpEmail(String email, String otp, long expiryMinutes) {
         String subject = "5GLab Booking - Your Verification Code";
         String body = String.format(
@@ -68,30 +78,20 @@ public class EmailService {
         );
 
         sendEmail(email, subject, body);
-        log.debug("OTP email sent to {}", email);
+        log.debug("OTP email queued for {}", email);
     }
 
     /**
-     * Send a generic email.
+     * Send a generic email. The email is queued in the outbox and only sent once the
+     * surrounding transaction commits.
      *
      * @param to      Recipient email address
      * @param subject Email subject
      * @param body    Email body (plain text)
      */
     public void sendEmail(String to, String subject, String body) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(appProperties.getMail().getFrom());
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-
-            mailSender.send(message);
-            log.debug("Email sent to {} with subject: {}", to, subject);
-        } catch (MailException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            throw e;
-        }
+        enqueueTimer.record(() -> outboxRepository.save(new EmailOutboxMessage(to, subject, body)));
+        log.debug("Email to {} queued with subject: {}", to, subject);
     }
 
     // ==================== Reservation Emails ====================
@@ -107,7 +107,6 @@ public class EmailService {
      * @param isRecurring   Whether this is a recurring reservation
      * @param occurrenceCount Number of occurrences (for recurring)
      */
-    @Async
     public void sendReservationSubmittedEmail(String userEmail, String userName, String labName,
                                                String startTime, String endTime, 
                                                boolean isRecurring, int occurrenceCount, java.util.UUID reservationId) {
@@ -129,7 +128,7 @@ public class EmailService {
         );
 
         sendEmail(userEmail, subject, body);
-        log.info("Reservation submitted email sent to {}", userEmail);
+        log.info("Reservation submitted email queued for {}", userEmail);
     }
 
     /**
@@ -144,7 +143,6 @@ public class EmailService {
      * @param isRecurring   Whether this is a recurring reservation
      * @param occurrenceCount Number of occurrences (for recurring)
      */
-    @Async
     public void sendNewReservationRequestEmail(String managerEmail, String managerName, String labName,
                                                 String requesterName, String startTime, String endTime,
                                                 boolean isRecurring, int occurrenceCount, java.util.UUID reservationId) {
@@ -165,7 +163,7 @@ public class EmailService {
         );
 
         sendEmail(managerEmail, subject, body);
-        log.info("New reservation request email sent to manager {}", managerEmail);
+        log.info("New reservation request email queued for manager {}", managerEmail);
     }
 
     /**
@@ -179,7 +177,6 @@ public class EmailService {
      * @param newStatus   New status (APPROVED, REJECTED, CANCELLED)
      * @param reason      Optional reason for the status change
      */
-    @Async
     public void sendReservationStatusChangeEmail(String userEmail, String userName, String labName,
                                                   String startTime, String endTime, 
                                                   String newStatus, String reason) {
@@ -205,7 +202,128 @@ public class EmailService {
         );
 
         sendEmail(userEmail, subject, body);
-        log.info("Reservation status change ({}) email sent to {}", newStatus, userEmail);
+        log.info("Reservation status change ({}) email queued for {}", newStatus, userEmail);
+    }
+
+    /**
+     * Send one notification email when the status of several occurrences of a recurring reservation changes.
+     *
+     * @param userEmail       User's email address
+     * @param userName        User's full name
+     * @param labName         Name of the lab
+     * @param seriesStartTime Start time of the series' first occurrence (formatted)
+     * @param occurrenceCount Number of occurrences whose status changed
+     * @param newStatus       New status (APPROVED, REJECTED)
+     * @param reason          Optional reason for the status change
+     * @param leftPending     Occurrences that kept their PENDING status because they overlap other bookings,
+     *                        one line each (times, formatted)
+     */
+    public void sendRecurringGroupStatusChangeEmail(String userEmail, String userName, String labName,
+                                                    String seriesStartTime, int occurrenceCount,
+                                                    String newStatus, String reason, List<String> leftPending) {
+        String subject = String.format("5GLab Booking - Recurring Reservation %s", newStatus);
+
+        String statusMessage = switch (newStatus.toUpperCase()) {
+            case "APPROVED" -> "has been approved!";
+            case "REJECTED" -> "has unfortunately been rejected.";
+            default -> "has been updated to: " + newStatus;
+        };
+
+        String reasonInfo = (reason != null && !reason.isBlank())
+                ? String.format("\nReason: %s", reason)
+                : "";
+
+        String leftPendingInfo = leftPending.isEmpty()
+                ? ""
+                : String.format("The following %d occurrence(s) overlap other bookings and are still pending:\n%s\n\n",
+                        leftPending.size(),
+                        leftPending.stream().map(line -> "- " + line).collect(Collectors.joining("\n")));
+
+        String body = String.format(
+                "Hello %s,\n\n" +
+                "Your recurring reservation in %s starting %s (%d occurrence(s)) %s%s\n\n" +
+                "%s" +
+                "View all reservations: %s/reservations\n\n" +
+                "Best regards,\n" +
+                "5GLab Booking System",
+                userName, labName, seriesStartTime, occurrenceCount, statusMessage, reasonInfo,
+                leftPendingInfo, appProperties.getFrontend().getUrl()
+        );
+
+        sendEmail(userEmail, subject, body);
+        log.info("Recurring reservation status change ({}, {} occurrences) email queued for {}",
+                newStatus, occurrenceCount, userEmail);
+    }
+
+    /**
+     * Send one notification email when a manager changes the status of several reservations of a user at once.
+     *
+     * @param userEmail    User's email address
+     * @param userName     User's full name
+     * @param reservations One line per reservation (lab and times, formatted)
+     * @param newStatus    New status (APPROVED, REJECTED)
+     * @param reason       Optional reason for the status change
+     */
+    public void sendReservationsStatusChangeEmail(String userEmail, String userName, List<String> reservations,
+                                                  String newStatus, String reason) {
+        String subject = String.format("5GLab Booking - Reservations %s", newStatus);
+
+        String statusMessage = switch (newStatus.toUpperCase()) {
+            case "APPROVED" -> "have been approved!";
+            case "REJECTED" -> "have unfortunately been rejected.";
+            default -> "have been updated to: " + newStatus;
+        };
+
+        String reasonInfo = (reason != null && !reason.isBlank())
+                ? String.format("\nReason: %s", reason)
+                : "";
+
+        String body = String.format(
+                "Hello %s,\n\n" +
+                "The following %d reservations %s%s\n\n" +
+                "%s\n\n" +
+                "View all reservations: %s/reservations\n\n" +
+                "Best regards,\n" +
+                "5GLab Booking System",
+                userName, reservations.size(), statusMessage, reasonInfo,
+                reservations.stream().map(line -> "- " + line).collect(Collectors.joining("\n")),
+                appProperties.getFrontend().getUrl()
+        );
+
+        sendEmail(userEmail, subject, body);
+        log.info("Reservations status change ({}, {} reservations) email queued for {}",
+                newStatus, reservations.size(), userEmail);
+    }
+
+    /**
+     * Send notification email when occurrences of a recurring reservation could not be booked.
+     *
+     * @param userEmail User's email address
+     * @param userName  User's full name
+     * @param labName   Name of the lab
+     * @param skipped   One line per skipped occurrence (times and reason, formatted)
+     */
+    public void sendRecurringOccurrencesSkippedEmail(String userEmail, String userName, String labName,
+                                                     List<String> skipped) {
+        String subject = "5GLab Booking - Recurring Reservation Occurrences Skipped";
+
+        String body = String.format(
+                "Hello %s,\n\n" +
+                "The following %d occurrence(s) of your recurring reservation in %s could not be booked " +
+                "and have been skipped:\n\n" +
+                "%s\n\n" +
+                "The rest of the series is not affected. You can book these times separately if the lab " +
+                "becomes available.\n\n" +
+                "View all reservations: %s/reservations\n\n" +
+                "Best regards,\n" +
+                "5GLab Booking System",
+                userName, skipped.size(), labName,
+                skipped.stream().map(line -> "- " + line).collect(Collectors.joining("\n")),
+                appProperties.getFrontend().getUrl()
+        );
+
+        sendEmail(userEmail, subject, body);
+        log.info("Recurring reservation skipped occurrences ({}) email queued for {}", skipped.size(), userEmail);
     }
 
     // ==================== Edit Proposal Emails ====================
@@ -219,7 +337,6 @@ public class EmailService {
      * @param labName       Name of the lab
      * @param reservationId Reservation ID
      */
-    @Async
     public void sendReservationEditProposalEmailToProfessor(String professorEmail, String professorName,
                                                              String managerName, String labName,
                                                              java.util.UUID reservationId) {
@@ -240,7 +357,7 @@ public class EmailService {
         );
 
         sendEmail(professorEmail, subject, body);
-        log.info("Edit proposal email sent to professor {}", professorEmail);
+        log.info("Edit proposal email queued for professor {}", professorEmail);
     }
 
     /**
@@ -252,7 +369,6 @@ public class EmailService {
      * @param labName        Name of the lab
      * @param reservationId  Reservation ID
      */
-    @Async
     public void sendReservationEditProposalEmailToManager(String managerEmail, String managerName,
                                                            String professorName, String labName,
                                                            java.util.UUID reservationId) {
@@ -273,7 +389,7 @@ public class EmailService {
         );
 
         sendEmail(managerEmail, subject, body);
-        log.info("Edit proposal email sent to manager {}", managerEmail);
+        log.info("Edit proposal email queued for manager {}", managerEmail);
     }
 
     /**
@@ -285,7 +401,6 @@ public class EmailService {
      * @param labName       Name of the lab
      * @param reservationId Reservation ID
      */
-    @Async
     public void sendReservationUpdatedEmailToManager(String managerEmail, String managerName,
                                                       String professorName, String labName,
                                                       java.util.UUID reservationId) {
@@ -306,7 +421,7 @@ public class EmailService {
         );
 
         sendEmail(managerEmail, subject, body);
-        log.info("Reservation updated email sent to manager {}", managerEmail);
+        log.info("Reservation updated email queued for manager {}", managerEmail);
     }
 
     /**
@@ -318,7 +433,6 @@ public class EmailService {
      * @param labName       Name of the lab
      * @param reservationId Reservation ID
      */
-    @Async
     public void sendEditApprovedByProfessorEmail(String managerEmail, String managerName,
                                                   String professorName, String labName,
                                                   java.util.UUID reservationId) {
@@ -337,7 +451,7 @@ public class EmailService {
         );
 
         sendEmail(managerEmail, subject, body);
-        log.info("Edit approved by professor email sent to manager {}", managerEmail);
+        log.info("Edit approved by professor email queued for manager {}", managerEmail);
     }
 
     /**
@@ -350,7 +464,6 @@ public class EmailService {
      * @param reservationId Reservation ID
      * @param reason        Optional reason for rejection
      */
-    @Async
     public void sendEditRejectedByProfessorEmail(String managerEmail, String managerName,
                                                   String professorName, String labName,
                                                   java.util.UUID reservationId, String reason) {
@@ -373,7 +486,7 @@ public class EmailService {
         );
 
         sendEmail(managerEmail, subject, body);
-        log.info("Edit rejected by professor email sent to manager {}", managerEmail);
+        log.info("Edit rejected by professor email queued for manager {}", managerEmail);
     }
 
     /**
@@ -385,7 +498,6 @@ public class EmailService {
      * @param labName        Name of the lab
      * @param reservationId  Reservation ID
      */
-    @Async
     public void sendEditApprovedByManagerEmail(String professorEmail, String professorName,
                                                String managerName, String labName,
                                                java.util.UUID reservationId) {
@@ -404,7 +516,7 @@ public class EmailService {
         );
 
         sendEmail(professorEmail, subject, body);
-        log.info("Edit approved by manager email sent to professor {}", professorEmail);
+        log.info("Edit approved by manager email queued for professor {}", professorEmail);
     }
 
     /**
@@ -417,7 +529,6 @@ public class EmailService {
      * @param reservationId  Reservation ID
      * @param reason         Optional reason for rejection
      */
-    @Async
     public void sendEditRejectedByManagerEmail(String professorEmail, String professorName,
                                                String managerName, String labName,
                                                java.util.UUID reservationId, String reason) {
@@ -440,7 +551,7 @@ public class EmailService {
         );
 
         sendEmail(professorEmail, subject, body);
-        log.info("Edit rejected by manager email sent to professor {}", professorEmail);
+        log.info("Edit rejected by manager email queued for professor {}", professorEmail);
     }
 
     /**
@@ -454,7 +565,6 @@ public class EmailService {
      * @param endTime        Reservation end time
      * @param reservationId  Reservation ID
      */
-    @Async
     public void sendReservationRemovedEmail(String professorEmail, String professorName,
                                             String managerName, String labName,
                                             String startTime, String endTime,
@@ -473,7 +583,7 @@ public class EmailService {
         );
 
         sendEmail(professorEmail, subject, body);
-        log.info("Reservation removed email sent to professor {}", professorEmail);
+        log.info("Reservation removed email queued for professor {}", professorEmail);
     }
 
     // ==================== Helper Methods ====================
@@ -1,5 +1,6 @@
 package com._glab.booking_system.auth.service;
 
+import com._glab.booking_system.auth.cache.VerifiedTokenCache;
 import com._glab.booking_system.auth.config.JwtKeyProvider;
 import com._glab.booking_system.auth.config.JwtProperties;
 import com._glab.booking_system.auth.exception.ExpiredJwtTokenException;
@@ -8,11 +9,13 @@ import com._glab.booking_system.user.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
@@ -23,6 +26,9 @@ public class JwtService {
 
 	private final JwtKeyProvider keyProvider;
 	private final JwtProperties jwtProperties;
+	private final VerifiedTokenCache verifiedTokenCache;
+
+	private volatile JwtParser parser;
 
 	/**
 	 * Generates an access token for the given user.
@@ -71,12 +77,7 @@ public class JwtService {
 	 */
 	public Claims parseToken(String token) {
 		try {
-			return Jwts.parser()
-					.verifyWith(keyProvider.getPublicKey())
-					.requireIssuer(jwtProperties.getIssuer())
-					.build()
-					.parseSignedClaims(token)
-					.getPayload();
+			return parser().parseSignedClaims(token).getPayload();
 		} catch (ExpiredJwtException e) {
 			log.debug("JWT token expired: {}", e.getMessage());
 			throw new ExpiredJwtTokenException("JWT token expired", e);
@@ -86,34 +87,77 @@ public class JwtService {
 		}
 	}
 
+	/**
+	 * Verifies a token once and returns all claims the application uses.
+	 * Tokens verified before are answered from {@link VerifiedTokenCache} until they expire.
+	 */
+	public TokenClaims parseOnce(String token) {
+		TokenClaims cached = verifiedTokenCache.get(token);
+		if (cached != null) {
+			return cached;
+		}
+
+		Claims claims = parseToken(token);
+		TokenClaims result = new TokenClaims(
+				claims.getSubject(),
+				claims.get("userId", Integer.class),
+				claims.get("role", String.class),
+				claims.getId(),
+				claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+		verifiedTokenCache.put(token, result);
+		return result;
+	}
+
 	/**
 	 * Extracts email (subject) from a valid token.
 	 */
 	public String extractEmail(String token) {
-		return parseToken(token).getSubject();
+		return parseOnce(token).email();
 	}
 
 	/**
 	 * Extracts token ID (jti) from a valid token.
 	 */
 	public String extractTokenId(String token) {
-		return parseToken(token).getId();
+		return parseOnce(token).tokenId();
 	}
 
 	/**
 	 * Extracts user ID from a valid token.
 	 */
 	public Integer extractUserId(String token) {
-		return parseToken(token).get("userId", Integer.class);
+		return parseOnce(token).userId();
 	}
 
 	/**
 	 * Extracts role from a valid token.
 	 */
 	public String extractRole(String token) {
-		return parseToken(token).get("role", String.class);
+		return parseOnce(token).role();
 	}
 
+	/**
+	 * Access and refresh tokens share key and issuer, so one parser serves both.
+	 * Parsers are immutable and thread-safe; built on first use because the keys are loaded at startup.
+	 */
+	private JwtParser parser() {
+		JwtParser result = parser;
+		if (result == null) {
+			result = Jwts.parser()
+					.verifyWith(keyProvider.getPublicKey())
+					.requireIssuer(jwtProperties.getIssuer())
+					.build();
+			parser = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Verified claims of an access or refresh token.
+	 * role is null for refresh tokens, tokenId is null for access tokens.
+	 */
+	public record TokenClaims(String email, Integer userId, String role, String tokenId, Instant expiresAt) {}
+
 	/**
 	 * Result of refresh token generation.
 	 */
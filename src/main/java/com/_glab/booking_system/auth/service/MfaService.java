@@ -16,6 +16,7 @@ import dev.samstevens.totp.time.TimeProvider;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +46,8 @@ public class MfaService {
     private final JwtProperties jwtProperties;
     private final PasswordEncoder passwordEncoder;
 
+    private volatile JwtParser mfaTokenParser;
+
     private final SecretGenerator secretGenerator = new DefaultSecretGenerator();
     private final TimeProvider timeProvider = new SystemTimeProvider();
     private final CodeGenerator codeGenerator = new DefaultCodeGenerator();
@@ -249,10 +252,7 @@ public class MfaService {
      */
     public MfaTokenClaims parseMfaToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(keyProvider.getPublicKey())
-                    .requireIssuer(MFA_TOKEN_ISSUER)
-                    .build()
+            Claims claims = mfaTokenParser()
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -274,6 +274,21 @@ public class MfaService {
         }
     }
 
+    /**
+     * Immutable, thread-safe parser for MFA tokens, built on first use because the keys are loaded at startup.
+     */
+    private JwtParser mfaTokenParser() {
+        JwtParser parser = mfaTokenParser;
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(keyProvider.getPublicKey())
+                    .requireIssuer(MFA_TOKEN_ISSUER)
+                    .build();
+            mfaTokenParser = parser;
+        }
+        return parser;
+    }
+
     // ==================== Result Records ====================
 
     public record BackupCodesResult(List<String> plainCodes, List<String> hashedCodes) {}
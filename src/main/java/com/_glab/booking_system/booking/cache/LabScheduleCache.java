@@ -0,0 +1,204 @@
+package com._glab.booking_system.booking.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.LabChangedEvent;
+import com._glab.booking_system.booking.event.LabChangesResyncEvent;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.LabOperatingHours;
+import com._glab.booking_system.booking.repository.LabClosedDayRepository;
+import com._glab.booking_system.booking.repository.LabOperatingHoursRepository;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-lab cache of {@link LabSchedule} snapshots (operating hours plus lab-specific and global closures).
+ *
+ * Entries are evicted by {@link LabScheduleInvalidationListener} whenever a lab, its operating hours or
+ * a closure is written, when another instance reports such a write ({@link LabChangedEvent}) and, since
+ * those reports may have been missed, on {@link LabChangesResyncEvent}. They expire after
+ * {@code booking.schedule-cache.ttl} to pick up changes made directly in the database. Hits and misses are published as {@code booking.schedule.cache} counters.
+ */
+@Component
+@Slf4j
+public class LabScheduleCache {
+
+    private final LabOperatingHoursRepository operatingHoursRepository;
+    private final LabClosedDayRepository closedDayRepository;
+    private final BookingProperties bookingProperties;
+
+    private final Map<Integer, Entry> schedules = new ConcurrentHashMap<>();
+    /** Bumped on every eviction so loads racing with an eviction are not cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private record Entry(LabSchedule schedule, Instant loadedAt) {
+    }
+
+    public LabScheduleCache(LabOperatingHoursRepository operatingHoursRepository,
+                            LabClosedDayRepository closedDayRepository,
+                            BookingProperties bookingProperties,
+                            MeterRegistry meterRegistry) {
+        this.operatingHoursRepository = operatingHoursRepository;
+        this.closedDayRepository = closedDayRepository;
+        this.bookingProperties = bookingProperties;
+        this.hits = Counter.builder("booking.schedule.cache")
+                .description("Lab schedule lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("booking.schedule.cache")
+                .description("Lab schedule lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("booking.schedule.cache.evictions")
+                .description("Lab schedule cache evictions")
+                .register(meterRegistry);
+        meterRegistry.gauge("booking.schedule.cache.size", schedules, Map::size);
+    }
+
+    /**
+     * The schedule of a lab, loaded from the database on a miss.
+     */
+    public LabSchedule get(Lab lab) {
+        LabSchedule cached = cached(lab.getId());
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        LabSchedule schedule = load(lab);
+        store(schedule, loadGeneration);
+        return schedule;
+    }
+
+    /**
+     * The schedules of several labs keyed by lab ID. All misses are loaded together with one
+     * operating hours query and one closures query.
+     */
+    public Map<Integer, LabSchedule> getAll(Collection<Lab> labs) {
+        Map<Integer, LabSchedule> result = new HashMap<>();
+        List<Lab> missing = new ArrayList<>();
+        for (Lab lab : labs) {
+            LabSchedule cached = cached(lab.getId());
+            if (cached != null) {
+                hits.increment();
+                result.put(lab.getId(), cached);
+            } else {
+                missing.add(lab);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.increment(missing.size());
+        long loadGeneration = generation.get();
+        List<Integer> labIds = missing.stream().map(Lab::getId).toList();
+        log.debug("Loading schedules of labs {}", labIds);
+        Map<Integer, List<LabOperatingHours>> hoursByLab = operatingHoursRepository.findByLabIdIn(labIds).stream()
+                .collect(Collectors.groupingBy(hours -> hours.getLab().getId()));
+        List<LabClosedDay> closures = closedDayRepository.findClosuresForLabs(labIds);
+
+        for (Lab lab : missing) {
+            // Global closures have no lab
+            List<LabClosedDay> labClosures = closures.stream()
+                    .filter(closure -> closure.getLab() == null || lab.getId().equals(closure.getLab().getId()))
+                    .toList();
+            LabSchedule schedule = new LabSchedule(lab,
+                    hoursByLab.getOrDefault(lab.getId(), List.of()), labClosures, labClosures);
+            store(schedule, loadGeneration);
+            result.put(lab.getId(), schedule);
+        }
+        return result;
+    }
+
+    /**
+     * Drop the cached schedule of one lab.
+     */
+    public void evict(Integer labId) {
+        generation.incrementAndGet();
+        if (schedules.remove(labId) != null) {
+            evictions.increment();
+            log.debug("Evicted cached schedule of lab {}", labId);
+        }
+    }
+
+    /**
+     * Drop every cached schedule, e.g. after a global closure changed.
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        int size = schedules.size();
+        schedules.clear();
+        evictions.increment(size);
+        log.debug("Evicted all {} cached lab schedules", size);
+    }
+
+    @EventListener
+    public void onLabChanged(LabChangedEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        if (event.labId() != null) {
+            evict(event.labId());
+        } else {
+            evictAll();
+        }
+    }
+
+    @EventListener
+    public void onResync(LabChangesResyncEvent event) {
+        evictAll();
+    }
+
+    public int size() {
+        return schedules.size();
+    }
+
+    private LabSchedule cached(Integer labId) {
+        BookingProperties.ScheduleCache config = bookingProperties.getScheduleCache();
+        if (!config.isEnabled()) {
+            return null;
+        }
+        Entry entry = schedules.get(labId);
+        if (entry != null && entry.loadedAt().plus(config.getTtl()).isAfter(Instant.now())) {
+            return entry.schedule();
+        }
+        return null;
+    }
+
+    private void store(LabSchedule schedule, long loadGeneration) {
+        if (bookingProperties.getScheduleCache().isEnabled() && generation.get() == loadGeneration) {
+            schedules.put(schedule.getLabId(), new Entry(schedule, Instant.now()));
+        }
+    }
+
+    private LabSchedule load(Lab lab) {
+        log.debug("Loading schedule of lab {}", lab.getId());
+        return new LabSchedule(lab,
+                operatingHoursRepository.findByLabId(lab.getId()),
+                closedDayRepository.findRecurringClosures(lab.getId()),
+                closedDayRepository.findSpecificClosures(lab.getId()));
+    }
+}
@@ -0,0 +1,67 @@
+package com._glab.booking_system.booking.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.LabOperatingHours;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener evicting {@link LabScheduleCache} entries when labs, operating hours or closures change.
+ *
+ * Evicts immediately, so the writing transaction sees its own change, and again once the transaction
+ * completes, so no other request can keep a schedule it loaded in between (or one that was rolled back).
+ * Instantiated by Hibernate through Spring's bean container; the cache is looked up lazily because
+ * entity listeners are created while the EntityManagerFactory is still being built.
+ */
+public class LabScheduleInvalidationListener {
+
+    private final ObjectProvider<LabScheduleCache> cacheProvider;
+
+    public LabScheduleInvalidationListener(ObjectProvider<LabScheduleCache> cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        LabScheduleCache cache = cacheProvider.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+
+        Runnable evict = evictionFor(cache, entity);
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private static Runnable evictionFor(LabScheduleCache cache, Object entity) {
+        if (entity instanceof Lab lab) {
+            return () -> cache.evict(lab.getId());
+        }
+        if (entity instanceof LabOperatingHours hours && hours.getLab() != null) {
+            Integer labId = hours.getLab().getId();
+            return () -> cache.evict(labId);
+        }
+        if (entity instanceof LabClosedDay closure && closure.getLab() != null) {
+            Integer labId = closure.getLab().getId();
+            return () -> cache.evict(labId);
+        }
+        // Global closure (or unknown owner): affects every lab
+        return cache::evictAll;
+    }
+}
@@ -0,0 +1,79 @@
+package com._glab.booking_system.booking.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com._glab.booking_system.booking.event.LabChangedEvent;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.LabOperatingHours;
+import com._glab.booking_system.booking.model.Workstation;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener bumping {@link LabVersions} when labs, operating hours, closures or workstations change.
+ *
+ * Bumps immediately and again once the transaction completes, so an ETag handed out while the change
+ * was still uncommitted is not mistaken for the committed state. Every change is also published as a
+ * {@link LabChangedEvent} within the writing transaction, which carries it to the other instances.
+ */
+public class LabVersionInvalidationListener {
+
+    private final ObjectProvider<LabVersions> versionsProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LabVersionInvalidationListener(ObjectProvider<LabVersions> versionsProvider,
+                                          ApplicationEventPublisher eventPublisher) {
+        this.versionsProvider = versionsProvider;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        LabVersions versions = versionsProvider.getIfAvailable();
+        if (versions == null) {
+            return;
+        }
+
+        Runnable bump = bumpFor(versions, entity);
+        bump.run();
+        eventPublisher.publishEvent(new LabChangedEvent(labIdOf(entity)));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump.run();
+                }
+            });
+        }
+    }
+
+    private static Runnable bumpFor(LabVersions versions, Object entity) {
+        Integer labId = labIdOf(entity);
+        // Global closure (or unknown owner): affects every lab
+        return labId != null ? () -> versions.bump(labId) : versions::bumpAll;
+    }
+
+    private static Integer labIdOf(Object entity) {
+        if (entity instanceof Lab lab) {
+            return lab.getId();
+        }
+        if (entity instanceof LabOperatingHours hours && hours.getLab() != null) {
+            return hours.getLab().getId();
+        }
+        if (entity instanceof LabClosedDay closure && closure.getLab() != null) {
+            return closure.getLab().getId();
+        }
+        if (entity instanceof Workstation workstation && workstation.getLab() != null) {
+            return workstation.getLab().getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package com._glab.booking_system.booking.cache;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.LabChangedEvent;
+import com._glab.booking_system.booking.event.LabChangesResyncEvent;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory version counter per lab, used to build strong ETags for lab availability responses.
+ *
+ * A lab's version is bumped after every committed {@link ReservationChangedEvent} and, through
+ * {@link LabVersionInvalidationListener}, whenever the lab, its operating hours, closures or workstations
+ * are written, here or on another instance ({@link LabChangedEvent}). Global closures, and changes of other instances that may have been missed
+ * ({@link LabChangesResyncEvent}), bump every lab. ETags also carry a startup epoch, so they never survive a
+ * restart, and a time bucket of {@code booking.lab-versions.max-age}, which bounds how long changes made
+ * directly in the database can go unnoticed. Conditional request outcomes are published as
+ * {@code booking.availability.conditional} counters.
+ */
+@Component
+@Slf4j
+public class LabVersions {
+
+    private final BookingProperties bookingProperties;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+    /** Bumped by changes that affect every lab. */
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final Counter notModified;
+    private final Counter modified;
+
+    public LabVersions(BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+        this.bookingProperties = bookingProperties;
+        this.notModified = Counter.builder("booking.availability.conditional")
+                .description("Conditional availability requests")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("booking.availability.conditional")
+                .description("Conditional availability requests")
+                .tag("result", "modified")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return bookingProperties.getLabVersions().isEnabled();
+    }
+
+    /**
+     * Current version of a lab.
+     */
+    public long version(Integer labId) {
+        AtomicLong version = versions.get(labId);
+        return version != null ? version.get() : 0;
+    }
+
+    public void bump(Integer labId) {
+        versions.computeIfAbsent(labId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void bumpAll() {
+        globalVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        bump(event.labId());
+    }
+
+    @EventListener
+    public void onLabChanged(LabChangedEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        if (event.labId() != null) {
+            bump(event.labId());
+        } else {
+            bumpAll();
+        }
+    }
+
+    @EventListener
+    public void onResync(LabChangesResyncEvent event) {
+        bumpAll();
+    }
+
+    /**
+     * Strong ETag for a representation of a lab.
+     *
+     * @param labId ID of the lab
+     * @param variant what else the representation depends on (e.g. the week shown), or null
+     */
+    public String etag(Integer labId, String variant) {
+        long bucket = Instant.now().toEpochMilli() / bookingProperties.getLabVersions().getMaxAge().toMillis();
+        StringBuilder etag = new StringBuilder("\"")
+                .append(epoch).append('-')
+                .append(globalVersion.get()).append('-')
+                .append(version(labId)).append('-')
+                .append(Long.toString(bucket, 36));
+        if (variant != null) {
+            etag.append('-').append(variant);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current ETag, i.e. the client's copy is still current.
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        boolean matches = ifNoneMatch != null && matchesAny(ifNoneMatch, etag);
+        if (ifNoneMatch != null) {
+            (matches ? notModified : modified).increment();
+        }
+        return matches;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,484 @@
+package com._glab.booking_system.booking.cache;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.LabChangeRelay;
+import com._glab.booking_system.booking.event.LabChangesResyncEvent;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationLink;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of PENDING and APPROVED reservations, including the unwritten occurrences of recurring
+ * series expanded by {@link RecurringOccurrenceExpander}, kept per lab as an array sorted by start time.
+ *
+ * The index is loaded once the application is ready and refreshed from the database after every
+ * committed {@link ReservationChangedEvent}, including those of other instances relayed by
+ * {@link LabChangeRelay}. It is reloaded whenever such changes may have been missed
+ * ({@link LabChangesResyncEvent}) and, as a backstop, every {@code booking.reservation-index.reload-interval}.
+ * Each load builds a new snapshot while lookups are still answered from the previous one, then swaps it in;
+ * changes committed in the meantime are applied to both. Lookups return {@link Optional#empty()} whenever
+ * the index cannot answer them (disabled, not loaded yet, or asking for a range older than what was loaded)
+ * so callers can fall back to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationIntervalIndex {
+
+    public static final Set<ReservationStatus> INDEXED_STATUSES =
+            EnumSet.of(ReservationStatus.PENDING, ReservationStatus.APPROVED);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationWorkstationRepository reservationWorkstationRepository;
+    private final BookingProperties bookingProperties;
+    private final RecurringOccurrenceExpander occurrenceExpander;
+
+    /** Replaced as a whole by every load, updated in place by change events. */
+    private volatile Snapshot snapshot = new Snapshot();
+    /** Reservations changed while a load was reading, re-read once its snapshot is in place. Guarded by itself. */
+    private final Set<UUID> changedWhileLoading = new HashSet<>();
+    /** Guarded by {@link #changedWhileLoading}. */
+    private boolean loading;
+    private volatile Instant coveredFrom;
+
+    /**
+     * A reservation as stored in the index, holding everything needed for availability summaries.
+     */
+    public record IndexedReservation(
+            UUID id,
+            Integer labId,
+            OffsetDateTime startTime,
+            OffsetDateTime endTime,
+            ReservationStatus status,
+            boolean wholeLab,
+            List<Integer> workstationIds,
+            String userName) {
+
+        public IndexedReservation {
+            workstationIds = List.copyOf(workstationIds);
+        }
+
+        public static IndexedReservation from(Reservation reservation, List<Integer> workstationIds) {
+            return new IndexedReservation(
+                    reservation.getId(),
+                    reservation.getLab().getId(),
+                    reservation.getStartTime(),
+                    reservation.getEndTime(),
+                    reservation.getStatus(),
+                    Boolean.TRUE.equals(reservation.getWholeLab()),
+                    workstationIds,
+                    reservation.getUser().getFirstName() + " " + reservation.getUser().getLastName());
+        }
+
+        public static IndexedReservation from(ExpandedOccurrence occurrence) {
+            return new IndexedReservation(
+                    occurrence.id(),
+                    occurrence.labId(),
+                    occurrence.startTime(),
+                    occurrence.endTime(),
+                    occurrence.status(),
+                    occurrence.wholeLab(),
+                    occurrence.workstationIds(),
+                    occurrence.userName());
+        }
+
+        long startMillis() {
+            return startTime.toInstant().toEpochMilli();
+        }
+
+        long endMillis() {
+            return endTime.toInstant().toEpochMilli();
+        }
+    }
+
+    // === Lookups ===
+
+    /**
+     * Whether lookups starting at the given point in time can be answered from memory.
+     */
+    public boolean covers(OffsetDateTime from) {
+        Instant covered = coveredFrom;
+        return bookingProperties.getReservationIndex().isEnabled()
+                && covered != null
+                && !from.toInstant().isBefore(covered);
+    }
+
+    /**
+     * PENDING and APPROVED reservations of a lab overlapping [from, to), ordered by start time.
+     */
+    public Optional<List<IndexedReservation>> findOverlapping(Integer labId, OffsetDateTime from, OffsetDateTime to) {
+        if (!covers(from)) {
+            return Optional.empty();
+        }
+        LabIntervals intervals = snapshot.labs.get(labId);
+        if (intervals == null) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(intervals.overlapping(from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli()));
+    }
+
+    /**
+     * Reservations of a lab with the given status that are in progress at the given instant.
+     */
+    public Optional<List<IndexedReservation>> findActiveAt(Integer labId, OffsetDateTime at, ReservationStatus status) {
+        if (!INDEXED_STATUSES.contains(status)) {
+            return Optional.empty();
+        }
+        OffsetDateTime justAfter = at.plus(1, ChronoUnit.MILLIS);
+        return findOverlapping(labId, at, justAfter)
+                .map(found -> found.stream()
+                        .filter(r -> r.status() == status)
+                        .toList());
+    }
+
+    public int size() {
+        return snapshot.entries.size();
+    }
+
+    // === Loading and maintenance ===
+
+    /**
+     * Load all current and future PENDING/APPROVED reservations once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        if (!bookingProperties.getReservationIndex().isEnabled()) {
+            log.info("Reservation interval index is disabled");
+            return;
+        }
+
+        synchronized (changedWhileLoading) {
+            loading = true;
+            changedWhileLoading.clear();
+        }
+        Set<UUID> changed;
+        try {
+            Instant from = Instant.now().minus(bookingProperties.getReservationIndex().getHistoryDays(), ChronoUnit.DAYS);
+            OffsetDateTime fromTime = from.atOffset(ZoneOffset.UTC);
+
+            List<Reservation> reservations = reservationRepository.findWithUserEndingAfter(fromTime, INDEXED_STATUSES);
+            Map<UUID, List<Integer>> workstationIds = groupByReservation(
+                    reservationWorkstationRepository.findLinksForReservationsEndingAfter(fromTime, INDEXED_STATUSES));
+
+            Map<Integer, List<IndexedReservation>> byLab = new HashMap<>();
+            for (Reservation reservation : reservations) {
+                IndexedReservation entry = IndexedReservation.from(
+                        reservation, workstationIds.getOrDefault(reservation.getId(), List.of()));
+                byLab.computeIfAbsent(entry.labId(), k -> new ArrayList<>()).add(entry);
+            }
+            List<ExpandedOccurrence> expanded = occurrenceExpander.expandAll(fromTime);
+            for (ExpandedOccurrence occurrence : expanded) {
+                IndexedReservation entry = IndexedReservation.from(occurrence);
+                byLab.computeIfAbsent(entry.labId(), k -> new ArrayList<>()).add(entry);
+            }
+
+            Snapshot loaded = new Snapshot();
+            byLab.forEach((labId, entries) -> {
+                loaded.labs.put(labId, LabIntervals.of(entries));
+                entries.forEach(e -> loaded.entries.put(e.id(), e));
+            });
+
+            synchronized (changedWhileLoading) {
+                snapshot = loaded;
+                coveredFrom = from;
+                loading = false;
+                changed = new HashSet<>(changedWhileLoading);
+                changedWhileLoading.clear();
+            }
+
+            log.info("Loaded {} reservations and {} unwritten occurrences across {} labs into the interval index "
+                    + "(from {})", reservations.size(), expanded.size(), byLab.size(), fromTime);
+        } catch (RuntimeException e) {
+            synchronized (changedWhileLoading) {
+                loading = false;
+                changedWhileLoading.clear();
+            }
+            coveredFrom = null;
+            log.error("Failed to load reservation interval index, availability will be served from the database", e);
+            return;
+        }
+
+        if (!changed.isEmpty()) {
+            refresh(null, changed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.reservation-index.reload-interval:10m}",
+            initialDelayString = "${booking.reservation-index.reload-interval:10m}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        if (bookingProperties.getReservationIndex().isEnabled()) {
+            load();
+        }
+    }
+
+    /**
+     * Reload after changes of other instances may have been missed.
+     */
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onResync(LabChangesResyncEvent event) {
+        reload();
+    }
+
+    /**
+     * Re-read the affected reservations after their transaction committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.reservationIds().isEmpty()) {
+            return;
+        }
+        synchronized (changedWhileLoading) {
+            if (loading) {
+                // The load may have read these before they changed; the snapshot being served is refreshed below
+                changedWhileLoading.addAll(event.reservationIds());
+            }
+        }
+        if (coveredFrom == null) {
+            return;
+        }
+        refresh(event.labId(), event.reservationIds());
+    }
+
+    /**
+     * Re-read the given reservations, or the given unwritten occurrences of the lab's recurring series.
+     *
+     * @param labId lab of the reservations, or null if unknown
+     */
+    private void refresh(Integer labId, Collection<UUID> reservationIds) {
+        Snapshot current = snapshot;
+        try {
+            List<Reservation> reservations = reservationRepository.findWithUserByIdIn(reservationIds);
+            Map<UUID, List<Integer>> workstationIds = reservationWorkstationRepository
+                    .findWorkstationIdsGroupedByReservationId(reservationIds);
+
+            Set<UUID> seen = new HashSet<>();
+            for (Reservation reservation : reservations) {
+                seen.add(reservation.getId());
+                if (INDEXED_STATUSES.contains(reservation.getStatus())) {
+                    current.put(IndexedReservation.from(reservation,
+                            workstationIds.getOrDefault(reservation.getId(), List.of())));
+                } else {
+                    current.remove(reservation.getId());
+                }
+            }
+            List<UUID> unwritten = reservationIds.stream().filter(id -> !seen.contains(id)).toList();
+            for (ExpandedOccurrence occurrence : occurrenceExpander.findByIds(labId, unwritten)) {
+                seen.add(occurrence.id());
+                current.put(IndexedReservation.from(occurrence));
+            }
+            unwritten.stream().filter(id -> !seen.contains(id)).forEach(current::remove);
+
+            log.debug("Refreshed {} reservations in the interval index", reservationIds.size());
+        } catch (RuntimeException e) {
+            // A stale index is worse than a slow one: stop answering from memory until the next load
+            coveredFrom = null;
+            log.error("Failed to refresh reservation interval index, falling back to the database", e);
+        }
+    }
+
+    /**
+     * Insert or replace a reservation in the index.
+     */
+    public void put(IndexedReservation entry) {
+        snapshot.put(entry);
+    }
+
+    /**
+     * Remove a reservation from the index, if present.
+     */
+    public void remove(UUID reservationId) {
+        snapshot.remove(reservationId);
+    }
+
+    /**
+     * Mark the index as covering everything from the given instant, without loading anything.
+     * Used by tests that populate the index through {@link #put(IndexedReservation)}.
+     */
+    void markLoaded(Instant from) {
+        coveredFrom = from;
+    }
+
+    private static Map<UUID, List<Integer>> groupByReservation(List<ReservationWorkstationLink> links) {
+        Map<UUID, List<Integer>> result = new HashMap<>();
+        for (ReservationWorkstationLink link : links) {
+            result.computeIfAbsent(link.getReservationId(), k -> new ArrayList<>()).add(link.getWorkstationId());
+        }
+        return result;
+    }
+
+    /**
+     * Indexed reservations per lab, plus each reservation's current entry so updates can find the old one.
+     */
+    private static final class Snapshot {
+
+        final Map<Integer, LabIntervals> labs = new ConcurrentHashMap<>();
+        final Map<UUID, IndexedReservation> entries = new ConcurrentHashMap<>();
+
+        void put(IndexedReservation entry) {
+            IndexedReservation previous = entries.put(entry.id(), entry);
+            if (previous != null && !previous.labId().equals(entry.labId())) {
+                labs.computeIfPresent(previous.labId(), (k, intervals) -> intervals.without(previous));
+            }
+            IndexedReservation replaced = previous != null && previous.labId().equals(entry.labId()) ? previous : null;
+            labs.compute(entry.labId(), (k, intervals) ->
+                    (intervals == null ? LabIntervals.EMPTY : intervals).with(entry, replaced));
+        }
+
+        void remove(UUID reservationId) {
+            IndexedReservation previous = entries.remove(reservationId);
+            if (previous != null) {
+                labs.computeIfPresent(previous.labId(), (k, intervals) -> intervals.without(previous));
+            }
+        }
+    }
+
+    /**
+     * Immutable, start-ordered reservations of one lab. Updates copy the arrays, inserting or deleting at the
+     * binary-search position, which keeps reads lock-free. {@code maxDurationMillis} bounds how far before a
+     * query window an overlapping reservation can start.
+     */
+    private record LabIntervals(IndexedReservation[] byStart, long[] starts, long maxDurationMillis) {
+
+        static final LabIntervals EMPTY = new LabIntervals(new IndexedReservation[0], new long[0], 0);
+
+        static LabIntervals of(List<IndexedReservation> entries) {
+            IndexedReservation[] sorted = entries.toArray(IndexedReservation[]::new);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a.startMillis(), b.startMillis()));
+            long[] starts = new long[sorted.length];
+            long maxDuration = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = sorted[i].startMillis();
+                maxDuration = Math.max(maxDuration, sorted[i].endMillis() - starts[i]);
+            }
+            return new LabIntervals(sorted, starts, maxDuration);
+        }
+
+        List<IndexedReservation> overlapping(long from, long to) {
+            int lo = lowerBound(starts, from - maxDurationMillis);
+            int hi = lowerBound(starts, to);
+            List<IndexedReservation> result = new ArrayList<>();
+            for (int i = lo; i < hi; i++) {
+                if (byStart[i].endMillis() > from) {
+                    result.add(byStart[i]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Inserts an entry after those starting at the same time, replacing the given earlier entry of the
+         * same reservation.
+         */
+        LabIntervals with(IndexedReservation entry, IndexedReservation replaced) {
+            LabIntervals base = replaced != null ? without(replaced) : this;
+            long start = entry.startMillis();
+            int at = lowerBound(base.starts, start + 1);
+            int length = base.byStart.length;
+
+            IndexedReservation[] entries = new IndexedReservation[length + 1];
+            long[] newStarts = new long[length + 1];
+            System.arraycopy(base.byStart, 0, entries, 0, at);
+            System.arraycopy(base.starts, 0, newStarts, 0, at);
+            entries[at] = entry;
+            newStarts[at] = start;
+            System.arraycopy(base.byStart, at, entries, at + 1, length - at);
+            System.arraycopy(base.starts, at, newStarts, at + 1, length - at);
+            return new LabIntervals(entries, newStarts, Math.max(base.maxDurationMillis, entry.endMillis() - start));
+        }
+
+        LabIntervals without(IndexedReservation removed) {
+            int at = indexOf(removed);
+            if (at < 0) {
+                return this;
+            }
+            int length = byStart.length;
+            IndexedReservation[] entries = new IndexedReservation[length - 1];
+            long[] newStarts = new long[length - 1];
+            System.arraycopy(byStart, 0, entries, 0, at);
+            System.arraycopy(starts, 0, newStarts, 0, at);
+            System.arraycopy(byStart, at + 1, entries, at, length - at - 1);
+            System.arraycopy(starts, at + 1, newStarts, at, length - at - 1);
+
+            long maxDuration = maxDurationMillis;
+            if (byStart[at].endMillis() - starts[at] >= maxDuration) {
+                // The longest reservation is gone, tighten the bound; removing a shorter one leaves it valid
+                maxDuration = 0;
+                for (int i = 0; i < entries.length; i++) {
+                    maxDuration = Math.max(maxDuration, entries[i].endMillis() - newStarts[i]);
+                }
+            }
+            return new LabIntervals(entries, newStarts, maxDuration);
+        }
+
+        /**
+         * Position of a reservation's entry, looked up by its start time. Falls back to a scan should an
+         * update racing on the same reservation have left a different entry in place.
+         */
+        private int indexOf(IndexedReservation entry) {
+            long start = entry.startMillis();
+            for (int i = lowerBound(starts, start); i < starts.length && starts[i] == start; i++) {
+                if (byStart[i].id().equals(entry.id())) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < byStart.length; i++) {
+                if (byStart[i].id().equals(entry.id())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /** First index whose start is >= value. */
+        private static int lowerBound(long[] values, long value) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com._glab.booking_system.booking.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Tuning knobs for the booking domain.
+ */
+@Component
+@ConfigurationProperties(prefix = "booking")
+@Getter
+@Setter
+public class BookingProperties {
+
+    private ReservationIndex reservationIndex = new ReservationIndex();
+    private ScheduleCache scheduleCache = new ScheduleCache();
+    private Pagination pagination = new Pagination();
+    private LabVersions labVersions = new LabVersions();
+    private LiveUpdates liveUpdates = new LiveUpdates();
+    private LabChanges labChanges = new LabChanges();
+    private Recurring recurring = new Recurring();
+    private ReservationSlots reservationSlots = new ReservationSlots();
+    private SqlStatements sqlStatements = new SqlStatements();
+
+    @Getter
+    @Setter
+    public static class ReservationIndex {
+        /**
+         * Whether availability lookups are answered from the in-memory reservation index.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How many days of past reservations are loaded into the index at startup.
+         * Lookups reaching further back fall back to the database.
+         */
+        private int historyDays = 35;
+
+        /**
+         * How often the index is reloaded from the database, which bounds how long changes it was not told
+         * about (e.g. made directly in the database) can go unnoticed.
+         */
+        private Duration reloadInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class ScheduleCache {
+        /**
+         * Whether lab operating hours and closures are cached between requests.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a cached schedule is used before being reloaded. Changes made through the
+         * application evict immediately; this bounds staleness for changes made directly in the database.
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Pagination {
+        /**
+         * Number of reservations per page of paginated lists when the client does not ask for a limit.
+         */
+        private int defaultPageSize = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class LabVersions {
+        /**
+         * Whether lab availability responses carry ETags and answer matching If-None-Match requests with 304.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Longest time an ETag stays valid. Changes made through the application invalidate ETags
+         * immediately; this bounds staleness for changes made directly in the database.
+         */
+        private Duration maxAge = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class LiveUpdates {
+        /**
+         * How long a live availability stream stays open before the client has to reconnect.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * How often idle streams receive a comment, so proxies keep them open and dead clients are detected.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class LabChanges {
+        /**
+         * Whether reservation, lab and account changes are relayed between application instances through
+         * PostgreSQL LISTEN/NOTIFY, so live updates, the reservation index, the lab schedule cache, lab versions
+         * and the principal cache see changes made on other instances.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long to wait before reconnecting the listener after its connection failed.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Recurring {
+        /**
+         * Whether new recurring series only write occurrences within the horizon, leaving the rest to be
+         * expanded from their pattern on read and written as their dates approach.
+         */
+        private boolean lazyExpansion = false;
+
+        /**
+         * How many days ahead occurrences of lazily expanded series exist as reservation rows.
+         */
+        private int horizonDays = 56;
+    }
+
+    @Getter
+    @Setter
+    public static class ReservationSlots {
+        /**
+         * Whether approved bookings claim their workstation time slots in the reservation_slot table, whose
+         * PostgreSQL exclusion constraint rejects overlapping approvals even across application instances.
+         * When enabled, startup fails if the table cannot be created.
+         */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class SqlStatements {
+        /**
+         * Whether SQL statements are counted and timed per HTTP request and published as metrics.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Requests running more statements than this are logged with their most repeated statement.
+         * Zero disables the log.
+         */
+        private int budget = 25;
+
+        /**
+         * Whether responses carry X-SQL-Statements and X-SQL-Time headers. Meant for development:
+         * they reveal how much work an endpoint does.
+         */
+        private boolean responseHeaders = false;
+    }
+}
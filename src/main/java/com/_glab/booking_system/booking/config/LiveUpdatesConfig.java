@@ -0,0 +1,40 @@
+package com._glab.booking_system.booking.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executor used to push live availability updates to subscribers.
+ */
+@Configuration
+@Slf4j
+public class LiveUpdatesConfig {
+
+    public static final String LAB_EVENT_EXECUTOR = "labEventExecutor";
+
+    /**
+     * One virtual thread per subscriber with events queued, so a slow subscriber only parks its own
+     * thread. Runtimes without virtual threads fall back to a small bounded pool.
+     */
+    @Bean(LAB_EVENT_EXECUTOR)
+    public Executor labEventExecutor() {
+        if (Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("lab-events-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        log.info("Virtual threads unavailable, pushing live availability updates from a thread pool");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("lab-events-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(10_000);
+        return executor;
+    }
+}
@@ -1,15 +1,25 @@
 package com._glab.booking_system.booking.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com._glab.booking_system.booking.event.LabEventBroadcaster;
+import com._glab.booking_system.booking.exception.BuildingNotFoundException;
 import com._glab.booking_system.booking.model.Building;
 import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.response.BuildingAvailabilityResponse;
+import com._glab.booking_system.booking.service.AvailabilityService;
 import com._glab.booking_system.booking.service.BuildingService;
 import com._glab.booking_system.booking.service.LabService;
 
@@ -24,6 +34,8 @@ public class BuildingController {
 
     private final BuildingService buildingService;
     private final LabService labService;
+    private final AvailabilityService availabilityService;
+    private final LabEventBroadcaster labEventBroadcaster;
 
     /**
      * GET /api/v1/buildings - List all buildings
@@ -46,4 +58,35 @@ public class BuildingController {
         log.debug("Found {} labs in building {}", labs.size(), buildingId);
         return ResponseEntity.ok(labs);
     }
+
+    /**
+     * GET /api/v1/buildings/{buildingId}/availability?week=2026-01-19 - Weekly occupancy summary of all labs in a building
+     */
+    @GetMapping("/{buildingId}/availability")
+    public ResponseEntity<BuildingAvailabilityResponse> getBuildingAvailability(
+            @PathVariable Integer buildingId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+        if (!buildingService.buildingExists(buildingId)) {
+            log.warn("Building not found: {}", buildingId);
+            throw new BuildingNotFoundException(buildingId);
+        }
+        log.info("Getting availability for building {} starting week {}", buildingId, week);
+        return ResponseEntity.ok(availabilityService.getBuildingAvailability(buildingId, week));
+    }
+
+    /**
+     * GET /api/v1/buildings/{buildingId}/availability/stream - Live reservation changes in all labs of a building (SSE)
+     */
+    @GetMapping(value = "/{buildingId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBuildingAvailability(
+            @PathVariable Integer buildingId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (!buildingService.buildingExists(buildingId)) {
+            log.warn("Building not found: {}", buildingId);
+            throw new BuildingNotFoundException(buildingId);
+        }
+        List<Integer> labIds = labService.getLabsByBuildingId(buildingId).stream().map(Lab::getId).toList();
+        log.info("Opening live availability stream for building {} ({} labs)", buildingId, labIds.size());
+        return labEventBroadcaster.subscribeToLabs(labIds, lastEventId != null);
+    }
 }
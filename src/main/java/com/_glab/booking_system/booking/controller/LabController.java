@@ -1,23 +1,39 @@
 package com._glab.booking_system.booking.controller;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.function.Supplier;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com._glab.booking_system.booking.cache.LabVersions;
+import com._glab.booking_system.booking.event.LabEventBroadcaster;
 import com._glab.booking_system.booking.exception.LabNotFoundException;
 import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.request.FreeSlotRequest;
 import com._glab.booking_system.booking.response.CurrentAvailabilityResponse;
+import com._glab.booking_system.booking.response.FreeSlotsResponse;
 import com._glab.booking_system.booking.response.LabAvailabilityResponse;
 import com._glab.booking_system.booking.response.LabWorkstationsResponse;
 import com._glab.booking_system.booking.service.AvailabilityService;
+import com._glab.booking_system.booking.service.FreeSlotService;
 import com._glab.booking_system.booking.service.LabService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,6 +45,9 @@ public class LabController {
 
     private final LabService labService;
     private final AvailabilityService availabilityService;
+    private final FreeSlotService freeSlotService;
+    private final LabVersions labVersions;
+    private final LabEventBroadcaster labEventBroadcaster;
 
     /**
      * GET /api/v1/labs/{labId} - Get lab details
@@ -53,30 +72,92 @@ public class LabController {
     @GetMapping("/{labId}/availability")
     public ResponseEntity<LabAvailabilityResponse> getWeeklyAvailability(
             @PathVariable Integer labId,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
-        log.info("Getting weekly availability for lab {} starting week {}", labId, week);
-        LabAvailabilityResponse response = availabilityService.getWeeklyAvailability(labId, week);
-        return ResponseEntity.ok(response);
+        // Without a week the response follows the calendar, so the ETag names the week it shows
+        LocalDate weekStart = (week != null ? week : LocalDate.now())
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return conditional(labId, "w" + weekStart, ifNoneMatch, () -> {
+            log.info("Getting weekly availability for lab {} starting week {}", labId, week);
+            return availabilityService.getWeeklyAvailability(labId, week);
+        });
     }
 
     /**
      * GET /api/v1/labs/{labId}/availability/current - Get current availability
      */
     @GetMapping("/{labId}/availability/current")
-    public ResponseEntity<CurrentAvailabilityResponse> getCurrentAvailability(@PathVariable Integer labId) {
-        log.info("Getting current availability for lab {}", labId);
-        CurrentAvailabilityResponse response = availabilityService.getCurrentAvailability(labId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CurrentAvailabilityResponse> getCurrentAvailability(
+            @PathVariable Integer labId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Reservations start and end as time passes, so the ETag changes every minute
+        long minute = Instant.now().getEpochSecond() / 60;
+        return conditional(labId, "m" + Long.toString(minute, 36), ifNoneMatch, () -> {
+            log.info("Getting current availability for lab {}", labId);
+            return availabilityService.getCurrentAvailability(labId);
+        });
+    }
+
+    /**
+     * GET /api/v1/labs/{labId}/availability/stream - Live reservation changes in a lab (SSE)
+     */
+    @GetMapping(value = "/{labId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @PathVariable Integer labId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (labService.getLabById(labId).isEmpty()) {
+            log.warn("Lab not found: {}", labId);
+            throw new LabNotFoundException(labId);
+        }
+        log.info("Opening live availability stream for lab {}", labId);
+        return labEventBroadcaster.subscribeToLab(labId, lastEventId != null);
+    }
+
+    /**
+     * GET /api/v1/labs/{labId}/free-slots?durationMinutes=120&workstations=2 - Find free reservation slots
+     */
+    @GetMapping("/{labId}/free-slots")
+    public ResponseEntity<FreeSlotsResponse> getFreeSlots(
+            @PathVariable Integer labId,
+            @Valid FreeSlotRequest request) {
+        log.info("Finding free slots in lab {}: {}", labId, request);
+        return ResponseEntity.ok(freeSlotService.findFreeSlots(labId, request));
     }
 
     /**
      * GET /api/v1/labs/{labId}/workstations - Get all workstations for a lab
      */
     @GetMapping("/{labId}/workstations")
-    public ResponseEntity<LabWorkstationsResponse> getLabWorkstations(@PathVariable Integer labId) {
-        log.info("Getting workstations for lab {}", labId);
-        LabWorkstationsResponse response = availabilityService.getLabWorkstations(labId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<LabWorkstationsResponse> getLabWorkstations(
+            @PathVariable Integer labId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(labId, "ws", ifNoneMatch, () -> {
+            log.info("Getting workstations for lab {}", labId);
+            return availabilityService.getLabWorkstations(labId);
+        });
+    }
+
+    /**
+     * Answer with 304 when the client's ETag matches the lab's current version, without touching the
+     * database; otherwise build the response and tag it with that version.
+     */
+    private <T> ResponseEntity<T> conditional(Integer labId, String variant, String ifNoneMatch, Supplier<T> body) {
+        if (!labVersions.isEnabled()) {
+            return ResponseEntity.ok(body.get());
+        }
+        // Read the version before building the body, so a concurrent change yields a newer ETag next time
+        String etag = labVersions.etag(labId, variant);
+        if (labVersions.matches(ifNoneMatch, etag)) {
+            log.debug("Lab {} unchanged for ETag {}", labId, etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body.get());
     }
 }
@@ -14,16 +14,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com._glab.booking_system.auth.exception.AuthenticationFailedException;
+import com._glab.booking_system.auth.service.CurrentUser;
 import com._glab.booking_system.booking.request.ApproveReservationRequest;
+import com._glab.booking_system.booking.request.BulkReservationActionRequest;
 import com._glab.booking_system.booking.request.DeclineReservationRequest;
 import com._glab.booking_system.booking.request.EditReservationRequest;
+import com._glab.booking_system.booking.request.PendingReservationQueueRequest;
 import com._glab.booking_system.booking.request.RejectEditRequest;
+import com._glab.booking_system.booking.response.BulkReservationActionResponse;
+import com._glab.booking_system.booking.response.RecurringGroupActionResponse;
+import com._glab.booking_system.booking.response.ReservationPageResponse;
 import com._glab.booking_system.booking.response.ReservationResponse;
 import com._glab.booking_system.booking.service.ReservationEditService;
 import com._glab.booking_system.booking.service.ReservationManagementService;
 import com._glab.booking_system.user.model.User;
-import com._glab.booking_system.user.repository.UserRepository;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,24 +41,36 @@ public class LabManagerReservationController {
     
     private final ReservationManagementService reservationManagementService;
     private final ReservationEditService reservationEditService;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
     
     @GetMapping("/pending")
     public ResponseEntity<List<ReservationResponse>> getPendingReservations(
             @AuthenticationPrincipal UserDetails userDetails) {
         log.debug("Fetching pending reservations for manager: {}", userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         List<ReservationResponse> reservations = reservationManagementService.getPendingReservationsForManager(user);
         log.debug("Found {} pending reservations for manager {}", reservations.size(), user.getEmail());
         return ResponseEntity.ok(reservations);
     }
 
+    /**
+     * Get one page of the pending-reservation queue, oldest first.
+     * Filters by lab, start time range and recurring group; pass the returned cursor to get the next page.
+     */
+    @GetMapping("/pending/queue")
+    public ResponseEntity<ReservationPageResponse> getPendingReservationQueue(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid PendingReservationQueueRequest request) {
+        log.debug("Fetching pending reservation queue for manager: {}", userDetails.getUsername());
+
+        User user = currentUser.get();
+
+        ReservationPageResponse page = reservationManagementService.getPendingReservationQueue(user, request);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ReservationResponse> getReservation(@PathVariable UUID id) {
         log.debug("Fetching reservation by ID: {}", id);
@@ -75,11 +91,7 @@ public class LabManagerReservationController {
         log.info("Approval request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationManagementService.approveReservation(reservationId, user, reason);
@@ -101,11 +113,7 @@ public class LabManagerReservationController {
         log.info("Decline request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationManagementService.declineReservation(reservationId, user, reason);
@@ -114,6 +122,29 @@ public class LabManagerReservationController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    /**
+     * Approve or decline several reservations at once.
+     * Returns an outcome per reservation; reservations the user cannot manage or that are no longer
+     * pending are reported instead of failing the request.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkReservationActionResponse> applyBulkAction(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody BulkReservationActionRequest request) {
+
+        log.info("Bulk {} request received for {} reservations by user {}",
+                request.getAction(), request.getReservationIds().size(), userDetails.getUsername());
+
+        User user = currentUser.get();
+
+        BulkReservationActionResponse response = reservationManagementService.applyBulkAction(
+                request.getReservationIds(), request.getAction(), user, request.getReason());
+
+        log.info("Bulk {} updated {} reservations for manager {}",
+                request.getAction(), response.getUpdatedCount(), user.getEmail());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Lab manager/admin edits a reservation.
      * Creates an edit proposal requiring professor approval.
@@ -127,11 +158,7 @@ public class LabManagerReservationController {
         log.info("Edit request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.editReservationByManager(reservationId, request, user);
         
@@ -150,11 +177,7 @@ public class LabManagerReservationController {
         log.info("Edit approval request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.approveEditByManager(reservationId, user);
         
@@ -174,11 +197,7 @@ public class LabManagerReservationController {
         log.info("Edit rejection request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationEditService.rejectEditByManager(reservationId, user, reason);
@@ -189,10 +208,11 @@ public class LabManagerReservationController {
 
     /**
      * Approve all reservations in a recurring group.
+     * Occurrences that overlap other bookings stay pending and are listed in the response.
      * Requires: User must be a lab manager for the reservations' lab or an admin.
      */
     @PostMapping("/recurring/{groupId}/approve")
-    public ResponseEntity<Void> approveRecurringGroup(
+    public ResponseEntity<RecurringGroupActionResponse> approveRecurringGroup(
             @PathVariable("groupId") UUID recurringGroupId,
             @AuthenticationPrincipal UserDetails userDetails,
             @Valid @RequestBody(required = false) ApproveReservationRequest request) {
@@ -200,17 +220,14 @@ public class LabManagerReservationController {
         log.info("Recurring group approval request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
-        reservationManagementService.approveRecurringGroup(recurringGroupId, user, reason);
+        RecurringGroupActionResponse response =
+                reservationManagementService.approveRecurringGroup(recurringGroupId, user, reason);
         
         log.info("Recurring group {} approved successfully by manager {}", recurringGroupId, user.getEmail());
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -218,7 +235,7 @@ public class LabManagerReservationController {
      * Requires: User must be a lab manager for the reservations' lab or an admin.
      */
     @PostMapping("/recurring/{groupId}/decline")
-    public ResponseEntity<Void> declineRecurringGroup(
+    public ResponseEntity<RecurringGroupActionResponse> declineRecurringGroup(
             @PathVariable("groupId") UUID recurringGroupId,
             @AuthenticationPrincipal UserDetails userDetails,
             @Valid @RequestBody(required = false) DeclineReservationRequest request) {
@@ -226,17 +243,14 @@ public class LabManagerReservationController {
         log.info("Recurring group decline request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
-        reservationManagementService.declineRecurringGroup(recurringGroupId, user, reason);
+        RecurringGroupActionResponse response =
+                reservationManagementService.declineRecurringGroup(recurringGroupId, user, reason);
         
         log.info("Recurring group {} declined successfully by manager {}", recurringGroupId, user.getEmail());
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -251,11 +265,7 @@ public class LabManagerReservationController {
         log.info("Recurring group edit request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.editRecurringGroupByManager(recurringGroupId, request, user);
         
@@ -274,11 +284,7 @@ public class LabManagerReservationController {
         log.info("Recurring group edit approval request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.approveRecurringGroupEditByManager(recurringGroupId, user);
         
@@ -298,11 +304,7 @@ public class LabManagerReservationController {
         log.info("Recurring group edit rejection request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationEditService.rejectRecurringGroupEditByManager(recurringGroupId, user, reason);
@@ -325,11 +327,7 @@ public class LabManagerReservationController {
         log.info("Occurrence approval request received for occurrence {} in group {} by user {}", 
                 occurrenceId, recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationManagementService.approveReservation(occurrenceId, user, reason);
@@ -352,11 +350,7 @@ public class LabManagerReservationController {
         log.info("Occurrence decline request received for occurrence {} in group {} by user {}", 
                 occurrenceId, recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationManagementService.declineReservation(occurrenceId, user, reason);
@@ -378,11 +372,7 @@ public class LabManagerReservationController {
         log.info("Occurrence edit request received for occurrence {} in group {} by user {}", 
                 occurrenceId, recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.editRecurringGroupOccurrenceByManager(occurrenceId, request, user);
         
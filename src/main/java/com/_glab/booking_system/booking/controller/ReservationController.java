@@ -1,6 +1,5 @@
 package com._glab.booking_system.booking.controller;
 
-import java.util.List;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
@@ -14,17 +13,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com._glab.booking_system.auth.exception.AuthenticationFailedException;
+import com._glab.booking_system.auth.service.CurrentUser;
 import com._glab.booking_system.booking.exception.ReservationNotFoundException;
 import com._glab.booking_system.booking.request.CreateReservationRequest;
 import com._glab.booking_system.booking.request.EditReservationRequest;
+import com._glab.booking_system.booking.request.MyReservationsRequest;
 import com._glab.booking_system.booking.request.RejectEditRequest;
 import com._glab.booking_system.booking.response.RecurringReservationResponse;
+import com._glab.booking_system.booking.response.ReservationPageResponse;
 import com._glab.booking_system.booking.response.ReservationResponse;
 import com._glab.booking_system.booking.service.ReservationEditService;
 import com._glab.booking_system.booking.service.ReservationService;
 import com._glab.booking_system.user.model.User;
-import com._glab.booking_system.user.repository.UserRepository;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -38,7 +38,7 @@ public class ReservationController {
 
     private final ReservationService reservationService;
     private final ReservationEditService reservationEditService;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
 
     /**
      * Create a new reservation (single or recurring).
@@ -52,13 +52,7 @@ public class ReservationController {
         log.info("Reservation creation request received for lab {} by user {}", 
                 request.getLabId(), userDetails.getUsername());
         
-        // Note: getUsername() returns the email address in this app
-        // (see CustomUserDetailsService which loads users by email)
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         // If recurring, return full recurring response
         if (request.getRecurring() != null) {
@@ -93,23 +87,21 @@ public class ReservationController {
     }
 
     /**
-     * Get current user's reservations.
+     * Get one page of the current user's reservations, upcoming first by default.
+     * Filters by time range and status; pass the returned cursor to get the next page.
      */
     @GetMapping("/me")
-    public ResponseEntity<List<ReservationResponse>> getMyReservations(
-            @AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<ReservationPageResponse> getMyReservations(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid MyReservationsRequest request) {
         
         log.debug("Fetching reservations for user: {}", userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
-        List<ReservationResponse> reservations = reservationService.getUserReservations(user.getId());
-        log.debug("Found {} reservations for user {}", reservations.size(), user.getUsername());
-        return ResponseEntity.ok(reservations);
+        ReservationPageResponse page = reservationService.getUserReservationPage(user.getId(), request);
+        log.debug("Found {} reservations for user {}", page.getReservations().size(), user.getUsername());
+        return ResponseEntity.ok(page);
     }
 
     /**
@@ -126,11 +118,7 @@ public class ReservationController {
         log.info("Edit request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.editReservationByProfessor(reservationId, request, user);
         
@@ -149,11 +137,7 @@ public class ReservationController {
         log.info("Edit approval request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.approveEditByProfessor(reservationId, user);
         
@@ -173,11 +157,7 @@ public class ReservationController {
         log.info("Edit rejection request received for reservation {} by user {}", 
                 reservationId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationEditService.rejectEditByProfessor(reservationId, user, reason);
@@ -200,11 +180,7 @@ public class ReservationController {
         log.info("Recurring group edit request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.editRecurringGroupByProfessor(recurringGroupId, request, user);
         
@@ -223,11 +199,7 @@ public class ReservationController {
         log.info("Recurring group edit approval request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         reservationEditService.approveRecurringGroupEditByProfessor(recurringGroupId, user);
         
@@ -247,11 +219,7 @@ public class ReservationController {
         log.info("Recurring group edit rejection request received for group {} by user {}", 
                 recurringGroupId, userDetails.getUsername());
         
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> {
-                    log.error("Authenticated user not found: {}", userDetails.getUsername());
-                    return new AuthenticationFailedException("Authenticated user not found");
-                });
+        User user = currentUser.get();
         
         String reason = (request != null) ? request.getReason() : null;
         reservationEditService.rejectRecurringGroupEditByProfessor(recurringGroupId, user, reason);
@@ -0,0 +1,282 @@
+package com._glab.booking_system.booking.event;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com._glab.booking_system.auth.cache.UserChangedEvent;
+import com._glab.booking_system.booking.config.BookingProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays {@link ReservationChangedEvent}s, {@link LabChangedEvent}s and {@link UserChangedEvent}s between
+ * application instances through PostgreSQL LISTEN/NOTIFY.
+ *
+ * Every local change is sent with {@code pg_notify} on the writing transaction's connection, so other
+ * instances only hear about it once it commits and never about rolled back changes. Each instance listens
+ * on a dedicated connection and republishes the changes of the others as remote events: the live
+ * availability streams and the reservation index handle reservation changes like their own, and the lab
+ * schedule cache and lab versions drop what they hold for a changed lab, and the principal cache drops
+ * changed accounts. Notifications sent while the listener is disconnected are lost, so once it reconnects
+ * a {@link LabChangesResyncEvent} and a {@link UserChangedEvent} for every account are published.
+ *
+ * Payloads start with the sending instance's ID, followed by either a lab ID and the changed reservation
+ * IDs, {@code lab} and a lab ID ({@code *} for every lab), or {@code user} and a user ID.
+ */
+@Component
+@Slf4j
+public class LabChangeRelay {
+
+    static final String CHANNEL = "lab_changes";
+    /** Keeps each payload well below PostgreSQL's 8000 byte limit. */
+    static final int MAX_IDS_PER_NOTIFICATION = 100;
+
+    static final String LAB_CHANGE = "lab";
+    static final String USER_CHANGE = "user";
+    private static final String ALL = "*";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+    /** A listening connection only reads, so a dead server would go unnoticed without an explicit check. */
+    private static final long VALIDATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingProperties bookingProperties;
+
+    /** Identifies this instance's notifications, so it does not relay its own changes back to itself. */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public LabChangeRelay(JdbcTemplate jdbcTemplate,
+                          DataSource dataSource,
+                          ApplicationEventPublisher eventPublisher,
+                          BookingProperties bookingProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+        this.bookingProperties = bookingProperties;
+    }
+
+    /**
+     * Sends a local change to the other instances, in the publishing transaction if there is one.
+     */
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.remote() || !bookingProperties.getLabChanges().isEnabled()) {
+            return;
+        }
+        List<UUID> ids = event.reservationIds();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_NOTIFICATION) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_NOTIFICATION));
+            notify(payload(instanceId, event.labId(), chunk));
+        }
+    }
+
+    /**
+     * Sends a local change of lab data to the other instances. Repeated changes of one lab in a transaction
+     * send identical payloads, which PostgreSQL delivers only once.
+     */
+    @EventListener
+    public void onLabChanged(LabChangedEvent event) {
+        if (event.remote() || !bookingProperties.getLabChanges().isEnabled()) {
+            return;
+        }
+        String labId = event.labId() != null ? event.labId().toString() : ALL;
+        notify(instanceId + " " + LAB_CHANGE + " " + labId);
+    }
+
+    /**
+     * Sends a local account change to the other instances.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.remote() || event.userId() == null || !bookingProperties.getLabChanges().isEnabled()) {
+            return;
+        }
+        notify(instanceId + " " + USER_CHANGE + " " + event.userId());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    /**
+     * Starts listening before the reservation index loads, so no change committed after the load is missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        if (!bookingProperties.getLabChanges().isEnabled()) {
+            return;
+        }
+        running = true;
+        Connection connection = connect();
+        listener = new Thread(() -> listen(connection), "lab-changes-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen(Connection initial) {
+        Connection connection = initial;
+        while (running) {
+            if (connection == null) {
+                sleep();
+                connection = connect();
+                if (connection == null) {
+                    continue;
+                }
+                log.info("Reservation change listener reconnected, resynchronizing");
+                eventPublisher.publishEvent(new LabChangesResyncEvent());
+                eventPublisher.publishEvent(new UserChangedEvent(null, true));
+            }
+            try {
+                receive(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Reservation change listener failed, reconnecting in {}: {}",
+                            bookingProperties.getLabChanges().getReconnectDelay(), e.getMessage());
+                }
+            } finally {
+                release(connection);
+                connection = null;
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long validated = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    relay(notification.getParameter());
+                }
+            }
+            if (System.nanoTime() - validated > VALIDATION_INTERVAL_NANOS) {
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Listening connection is no longer valid");
+                }
+                validated = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Republishes another instance's change; this instance's own notifications are ignored.
+     */
+    void relay(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length < 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        try {
+            if (parts[1].equals(LAB_CHANGE)) {
+                Integer labId = parts[2].equals(ALL) ? null : Integer.valueOf(parts[2]);
+                eventPublisher.publishEvent(new LabChangedEvent(labId, true));
+                return;
+            }
+            if (parts[1].equals(USER_CHANGE)) {
+                eventPublisher.publishEvent(new UserChangedEvent(Integer.valueOf(parts[2]), true));
+                return;
+            }
+            List<UUID> ids = new ArrayList<>();
+            for (String id : parts[2].split(",")) {
+                ids.add(UUID.fromString(id));
+            }
+            eventPublisher.publishEvent(new ReservationChangedEvent(Integer.valueOf(parts[1]), ids, true));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed lab change notification '{}': {}", payload, e.getMessage());
+        }
+    }
+
+    static String payload(String instanceId, Integer labId, List<UUID> reservationIds) {
+        StringBuilder payload = new StringBuilder(instanceId).append(' ').append(labId).append(' ');
+        for (int i = 0; i < reservationIds.size(); i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append(reservationIds.get(i));
+        }
+        return payload.toString();
+    }
+
+    private Connection connect() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            log.debug("Listening for reservation changes of other instances");
+            return connection;
+        } catch (SQLException e) {
+            log.warn("Could not listen for reservation changes of other instances: {}", e.getMessage());
+            close(connection);
+            return null;
+        }
+    }
+
+    /**
+     * Stops listening before the connection goes back to the pool, so its next borrower does not
+     * collect notifications nobody reads.
+     */
+    private static void release(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException e) {
+            log.debug("Failed to stop listening for reservation changes: {}", e.getMessage());
+        }
+        close(connection);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(bookingProperties.getLabChanges().getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close the reservation change listener connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com._glab.booking_system.booking.event;
+
+/**
+ * Published whenever a lab, its operating hours, closures or workstations are written, within the writing
+ * transaction. Local caches of lab data are evicted by JPA entity listeners; this event carries the change
+ * to other application instances.
+ *
+ * @param labId ID of the changed lab, or null if every lab is affected (e.g. a global closure)
+ * @param remote whether the change was committed by another application instance and relayed by
+ *               {@link LabChangeRelay}
+ */
+public record LabChangedEvent(Integer labId, boolean remote) {
+
+    public LabChangedEvent(Integer labId) {
+        this(labId, false);
+    }
+}
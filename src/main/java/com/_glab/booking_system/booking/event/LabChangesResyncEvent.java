@@ -0,0 +1,9 @@
+package com._glab.booking_system.booking.event;
+
+/**
+ * Published when reservation changes committed by other application instances may have been missed,
+ * e.g. after {@link LabChangeRelay} lost its connection. Listeners holding reservation state should
+ * reload it from the database.
+ */
+public record LabChangesResyncEvent() {
+}
@@ -0,0 +1,203 @@
+package com._glab.booking_system.booking.event;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.config.LiveUpdatesConfig;
+import com._glab.booking_system.booking.response.LabReservationChangesResponse;
+import com._glab.booking_system.booking.response.ReservationSummaryResponse;
+import com._glab.booking_system.booking.service.AvailabilityService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of live availability streams (Server-Sent Events) per lab.
+ *
+ * Idle streams hold no thread: emitters are parked in the servlet container's async support until
+ * something is sent. After each committed {@link ReservationChangedEvent} for a lab with subscribers,
+ * the changed reservations are loaded once and pushed to every subscriber as a {@code reservations}
+ * event. Changes of one lab are loaded in commit order, and each subscriber has its own queue on the lab
+ * event executor, so a slow subscriber only delays itself and every stream receives its events in the
+ * order they were sent. Streams that fail to send are dropped,
+ * and idle streams receive a heartbeat comment every {@code booking.live-updates.heartbeat-interval}.
+ * Changes committed on other instances arrive through {@link LabChangeRelay}. Whenever changes may have
+ * been missed, i.e. after the relay reconnects or when a client resumes a stream with {@code Last-Event-ID}
+ * (possibly served by another instance before), a {@code resync} event tells clients to reload availability.
+ * The number of open streams is published as the {@code booking.live.subscribers} gauge.
+ */
+@Component
+@Slf4j
+public class LabEventBroadcaster {
+
+    static final String RESERVATIONS_EVENT = "reservations";
+    static final String RESYNC_EVENT = "resync";
+
+    private final AvailabilityService availabilityService;
+    private final BookingProperties bookingProperties;
+    private final Executor executor;
+
+    private final Map<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    /** Open streams, each with the queue its events are sent from. */
+    private final Map<SseEmitter, SerialExecutor> emitters = new ConcurrentHashMap<>();
+    /** Loads the changes of each lab one event at a time. */
+    private final Map<Integer, SerialExecutor> labQueues = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LabEventBroadcaster(AvailabilityService availabilityService,
+                               BookingProperties bookingProperties,
+                               @Qualifier(LiveUpdatesConfig.LAB_EVENT_EXECUTOR) Executor executor,
+                               MeterRegistry meterRegistry) {
+        this.availabilityService = availabilityService;
+        this.bookingProperties = bookingProperties;
+        this.executor = executor;
+        meterRegistry.gauge("booking.live.subscribers", emitters, Map::size);
+    }
+
+    /**
+     * Open a stream of reservation changes in one lab.
+     *
+     * @param resumed whether the client reconnected after an earlier stream, and may have missed changes
+     */
+    public SseEmitter subscribeToLab(Integer labId, boolean resumed) {
+        return subscribe(List.of(labId), newEmitter(), resumed);
+    }
+
+    /**
+     * Open a stream of reservation changes in the given labs of a building.
+     *
+     * @param resumed whether the client reconnected after an earlier stream, and may have missed changes
+     */
+    public SseEmitter subscribeToLabs(Collection<Integer> labIds, boolean resumed) {
+        return subscribe(labIds, newEmitter(), resumed);
+    }
+
+    SseEmitter subscribe(Collection<Integer> labIds, SseEmitter emitter, boolean resumed) {
+        emitters.put(emitter, new SerialExecutor(executor));
+        for (Integer labId : labIds) {
+            subscribers.computeIfAbsent(labId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        }
+        emitter.onCompletion(() -> remove(emitter));
+        emitter.onTimeout(() -> remove(emitter));
+        emitter.onError(e -> remove(emitter));
+
+        // Flush the response headers right away, so clients see the stream is open
+        send(emitter, resumed ? resyncEvent() : SseEmitter.event().comment("subscribed"));
+        log.debug("Live availability subscriber added for labs {} ({} open)", labIds, emitters.size());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return emitters.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        Set<SseEmitter> labSubscribers = subscribers.get(event.labId());
+        if (labSubscribers == null || labSubscribers.isEmpty()) {
+            return;
+        }
+        labQueues.computeIfAbsent(event.labId(), id -> new SerialExecutor(executor))
+                .execute(() -> broadcast(event, labSubscribers));
+    }
+
+    @EventListener
+    public void onResync(LabChangesResyncEvent event) {
+        log.info("Asking {} live availability subscribers to reload", emitters.size());
+        for (SseEmitter emitter : emitters.keySet()) {
+            send(emitter, resyncEvent());
+        }
+    }
+
+    private void broadcast(ReservationChangedEvent event, Set<SseEmitter> labSubscribers) {
+        List<ReservationSummaryResponse> reservations;
+        try {
+            reservations = availabilityService.getReservationSummaries(event.labId(), event.reservationIds());
+        } catch (RuntimeException e) {
+            log.warn("Failed to load changed reservations of lab {}: {}", event.labId(), e.getMessage());
+            return;
+        }
+        Set<UUID> remaining = reservations.stream().map(ReservationSummaryResponse::getId).collect(Collectors.toSet());
+        List<UUID> removed = event.reservationIds().stream().filter(id -> !remaining.contains(id)).toList();
+
+        LabReservationChangesResponse changes = LabReservationChangesResponse.builder()
+                .labId(event.labId())
+                .reservations(reservations)
+                .removedReservationIds(removed)
+                .build();
+        String id = Long.toString(sequence.incrementAndGet());
+        for (SseEmitter emitter : labSubscribers) {
+            send(emitter, SseEmitter.event().id(id).name(RESERVATIONS_EVENT).data(changes));
+        }
+        log.debug("Pushed {} reservation changes of lab {} to {} subscribers",
+                event.reservationIds().size(), event.labId(), labSubscribers.size());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.live-updates.heartbeat-interval:30s}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters.keySet()) {
+            send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        emitters.keySet().forEach(SseEmitter::complete);
+        emitters.clear();
+        subscribers.clear();
+    }
+
+    private SseEmitter.SseEventBuilder resyncEvent() {
+        return SseEmitter.event().id(Long.toString(sequence.incrementAndGet())).name(RESYNC_EVENT).data(RESYNC_EVENT);
+    }
+
+    private SseEmitter newEmitter() {
+        return new SseEmitter(bookingProperties.getLiveUpdates().getTimeout().toMillis());
+    }
+
+    /**
+     * Queues an event for one stream, behind the events queued for it before.
+     */
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        SerialExecutor queue = emitters.get(emitter);
+        if (queue != null) {
+            queue.execute(() -> deliver(emitter, event));
+        }
+    }
+
+    private void deliver(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        if (!emitters.containsKey(emitter)) {
+            return;
+        }
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already completed; the container completes the emitter
+            log.debug("Dropping live availability subscriber: {}", e.getMessage());
+            remove(emitter);
+        }
+    }
+
+    private void remove(SseEmitter emitter) {
+        if (emitters.remove(emitter) != null) {
+            subscribers.values().forEach(labSubscribers -> labSubscribers.remove(emitter));
+        }
+    }
+}
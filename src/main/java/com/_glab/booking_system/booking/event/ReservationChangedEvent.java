@@ -0,0 +1,28 @@
+package com._glab.booking_system.booking.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published whenever reservations of a lab are created, change status or are edited.
+ * Listeners are expected to react after the surrounding transaction commits.
+ *
+ * @param labId ID of the lab the reservations belong to
+ * @param reservationIds IDs of the affected reservations
+ * @param remote whether the change was committed by another application instance and relayed by
+ *               {@link LabChangeRelay}
+ */
+public record ReservationChangedEvent(Integer labId, List<UUID> reservationIds, boolean remote) {
+
+    public ReservationChangedEvent {
+        reservationIds = List.copyOf(reservationIds);
+    }
+
+    public ReservationChangedEvent(Integer labId, List<UUID> reservationIds) {
+        this(labId, reservationIds, false);
+    }
+
+    public static ReservationChangedEvent of(Integer labId, UUID reservationId) {
+        return new ReservationChangedEvent(labId, List.of(reservationId));
+    }
+}
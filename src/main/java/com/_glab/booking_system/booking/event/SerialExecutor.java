@@ -0,0 +1,50 @@
+package com._glab.booking_system.booking.event;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs tasks one at a time and in submission order on a shared executor.
+ *
+ * At most one drain task is on the shared executor at any time; it runs queued tasks until the queue is
+ * empty and is started again by the next submission. An idle instance holds no thread.
+ */
+@Slf4j
+class SerialExecutor implements Executor {
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // Keep draining, a failed task must not stall the ones queued behind it
+                    log.warn("Live update task failed: {}", e.getMessage(), e);
+                }
+            }
+            draining.set(false);
+            // A task queued after the last poll but before the flag was cleared found the drain still running
+        } while (!tasks.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,7 @@
+package com._glab.booking_system.booking.exception;
+
+public class ReservationConflictException extends RuntimeException {
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
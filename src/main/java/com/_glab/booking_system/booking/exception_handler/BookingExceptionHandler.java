@@ -3,14 +3,18 @@ package com._glab.booking_system.booking.exception_handler;
 import com._glab.booking_system.ErrorResponse;
 import com._glab.booking_system.ErrorResponseCode;
 import com._glab.booking_system.booking.exception.*;
+import com._glab.booking_system.booking.repository.ReservationSlotRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.sql.SQLException;
+
 @ControllerAdvice
 @Slf4j
 public class BookingExceptionHandler {
@@ -89,6 +93,35 @@ public class BookingExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(ReservationConflictException.class)
+    public ResponseEntity<ErrorResponse> handleReservationConflict(ReservationConflictException e) {
+        log.warn("Reservation conflict: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(ErrorResponseCode.BOOKING_RESERVATION_CONFLICT, e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Another instance approved an overlapping booking first; the reservation_slot exclusion constraint refused ours.
+     * Other integrity violations are not booking errors and are left to the default handling.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        if (!isReservationSlotOverlap(e)) {
+            throw e;
+        }
+        log.warn("Reservation slot already taken: {}", e.getMostSpecificCause().getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(ErrorResponseCode.BOOKING_RESERVATION_CONFLICT,
+                "A requested workstation has just been booked for an overlapping time");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException e) {
+        log.warn("Invalid cursor: {}", e.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(ErrorResponseCode.BOOKING_INVALID_CURSOR, e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     // ==================== Recurring Errors ====================
 
     @ExceptionHandler(InvalidRecurringPatternException.class)
@@ -159,4 +192,15 @@ public class BookingExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse(ErrorResponseCode.BOOKING_INVALID_STATE, e.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+
+    private static boolean isReservationSlotOverlap(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // 23P01: exclusion_violation
+            if (cause instanceof SQLException sqlException && "23P01".equals(sqlException.getSQLState())
+                    && String.valueOf(sqlException.getMessage()).contains(ReservationSlotRepository.NO_OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,138 @@
+package com._glab.booking_system.booking.metrics;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com._glab.booking_system.booking.exception.InvalidEditException;
+import com._glab.booking_system.booking.exception.InvalidRecurringPatternException;
+import com._glab.booking_system.booking.exception.InvalidReservationTimeException;
+import com._glab.booking_system.booking.exception.LabClosedException;
+import com._glab.booking_system.booking.exception.NoValidOccurrencesException;
+import com._glab.booking_system.booking.exception.NoWorkstationsSelectedException;
+import com._glab.booking_system.booking.exception.OutsideOperatingHoursException;
+import com._glab.booking_system.booking.exception.ReservationConflictException;
+import com._glab.booking_system.booking.exception.WorkstationInactiveException;
+import com._glab.booking_system.booking.exception.WorkstationNotFoundException;
+import com._glab.booking_system.booking.exception.WorkstationNotInLabException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters for the booking hot paths, published as {@code booking.*}.
+ *
+ * Tags are kept to bounded sets: operation and view names are constants of the calling services, labs are
+ * few, and outcomes are "success" or the simple name of the thrown exception. Rejections by one of the
+ * booking rules (times, hours, closures, workstations, conflicts) are also counted per rule.
+ */
+@Component
+public class BookingMetrics {
+
+    private static final Set<Class<? extends RuntimeException>> VALIDATION_FAILURES = Set.of(
+            InvalidReservationTimeException.class,
+            OutsideOperatingHoursException.class,
+            LabClosedException.class,
+            NoWorkstationsSelectedException.class,
+            WorkstationNotFoundException.class,
+            WorkstationNotInLabException.class,
+            WorkstationInactiveException.class,
+            ReservationConflictException.class,
+            InvalidRecurringPatternException.class,
+            NoValidOccurrencesException.class,
+            InvalidEditException.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time a reservation request as {@code booking.reservation.create}.
+     *
+     * @param type "single" or "recurring"
+     */
+    public <T> T timeCreation(String type, Integer labId, Supplier<T> creation) {
+        return time("booking.reservation.create", "Latency of reservation requests",
+                Tags.of("type", type, "lab", lab(labId)), "create", creation);
+    }
+
+    /**
+     * Time an approval, decline or edit as {@code booking.reservation.operation}.
+     */
+    public <T> T timeOperation(String operation, Supplier<T> action) {
+        return time("booking.reservation.operation", "Latency of reservation approvals, declines and edits",
+                Tags.of("operation", operation), operation, action);
+    }
+
+    /**
+     * Like {@link #timeOperation(String, Supplier)} for operations without a result.
+     */
+    public void timeOperation(String operation, Runnable action) {
+        timeOperation(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record how many occurrences one recurring request generated.
+     */
+    public void recordOccurrences(Integer labId, int occurrences) {
+        DistributionSummary.builder("booking.reservation.occurrences")
+                .description("Occurrences generated per recurring reservation request")
+                .tag("lab", lab(labId))
+                .register(meterRegistry)
+                .record(occurrences);
+    }
+
+    /**
+     * Record how many reservations an availability response carries.
+     *
+     * @param view which availability endpoint answered, e.g. "week" or "building"
+     */
+    public void recordAvailabilitySize(String view, int reservations) {
+        DistributionSummary.builder("booking.availability.response.size")
+                .description("Reservations returned per availability response")
+                .tag("view", view)
+                .register(meterRegistry)
+                .record(reservations);
+    }
+
+    private <T> T time(String name, String description, Tags tags, String operation, Supplier<T> action) {
+        long started = System.nanoTime();
+        String exception = "none";
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            if (VALIDATION_FAILURES.contains(e.getClass())) {
+                Counter.builder("booking.validation.failures")
+                        .description("Booking requests rejected by a booking rule")
+                        .tags("operation", operation, "rule", exception)
+                        .register(meterRegistry)
+                        .increment();
+            }
+            throw e;
+        } finally {
+            Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String lab(Integer labId) {
+        return labId == null ? "none" : labId.toString();
+    }
+}
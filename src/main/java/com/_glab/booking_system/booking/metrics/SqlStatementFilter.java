@@ -0,0 +1,131 @@
+package com._glab.booking_system.booking.metrics;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts and times the SQL statements of each HTTP request (see {@link SqlStatementStats}).
+ *
+ * Per endpoint, the counts are published as {@code http.server.requests.sql.statements} and the JDBC time
+ * as {@code http.server.requests.sql.time}. Requests over the configured budget are logged with their most
+ * repeated statement and counted as {@code http.server.requests.sql.over.budget}. In development the
+ * figures are also returned as response headers; a response committed while the handler is still running
+ * (e.g. a live update stream) carries the figures up to that point.
+ *
+ * Runs before the security filters, so the statements of authenticating the caller are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time";
+
+    private final BookingProperties bookingProperties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementFilter(BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+        this.bookingProperties = bookingProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !bookingProperties.getSqlStatements().isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        HeaderWritingResponse headerWriting = bookingProperties.getSqlStatements().isResponseHeaders()
+                ? new HeaderWritingResponse(response, stats)
+                : null;
+        try {
+            filterChain.doFilter(request, headerWriting != null ? headerWriting : response);
+        } finally {
+            SqlStatementStats.stop();
+            if (headerWriting != null && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements run per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = bookingProperties.getSqlStatements().getBudget();
+        if (budget > 0 && stats.getStatements() > budget) {
+            Counter.builder("http.server.requests.sql.over.budget")
+                    .description("HTTP requests that ran more SQL statements than the budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            Map.Entry<String, Integer> repeated = stats.mostRepeated().orElse(Map.entry("", 0));
+            log.warn("{} {} ran {} SQL statements in {} ms, over the budget of {}; most repeated ({}x): {}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getExecutionNanos()), budget,
+                    repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlStatementStats stats) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3fms", stats.getExecutionNanos() / 1_000_000.0));
+    }
+
+    /**
+     * Adds the headers just before the response is committed, while headers can still be set.
+     */
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementStats stats;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com._glab.booking_system.booking.metrics;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts every SQL statement Hibernate prepares, including native queries, into the current request's
+ * {@link SqlStatementStats}, and registers {@link SqlTimingListener} to time their execution.
+ *
+ * Statements issued through JdbcTemplate (the reservation_slot schema setup) bypass Hibernate and are not
+ * counted. A JDBC batch is prepared once and counts as one statement.
+ */
+@Component
+public class SqlStatementInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+    }
+}
@@ -0,0 +1,73 @@
+package com._glab.booking_system.booking.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SQL statements run by Hibernate on behalf of one HTTP request, bound to the request's thread between
+ * {@link #start()} and {@link #stop()}.
+ *
+ * Statements are counted by {@link SqlStatementInspector} and timed by {@link SqlTimingListener}; outside a
+ * request (schedulers, startup) nothing is bound and both do nothing. Repetitions are tracked per distinct
+ * SQL string so an N+1 pattern shows up as one statement with a high count.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Distinct SQL strings tracked per request; statements beyond that are still counted and timed.
+     */
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private final Map<String, Integer> repetitions = new HashMap<>();
+    private int statements;
+    private long executionNanos;
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * The stats of the request running on this thread, or null outside a request.
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        if (repetitions.size() < MAX_DISTINCT_STATEMENTS || repetitions.containsKey(sql)) {
+            repetitions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Time spent executing statements and batches over JDBC.
+     */
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * The statement run most often, with how often it ran.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return repetitions.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+}
@@ -0,0 +1,43 @@
+package com._glab.booking_system.booking.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time each JDBC statement and batch takes to execute to the current request's
+ * {@link SqlStatementStats}.
+ *
+ * Hibernate creates one instance per session, and a session is used by one thread at a time, so the start
+ * timestamps need no synchronization.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long statementStarted;
+    private long batchStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStarted);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStarted);
+    }
+
+    private static void record(long started) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null && started != 0) {
+            stats.recordExecution(System.nanoTime() - started);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com._glab.booking_system.booking.cache.LabScheduleInvalidationListener;
+import com._glab.booking_system.booking.cache.LabVersionInvalidationListener;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.*;
@@ -16,7 +18,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "lab")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, LabScheduleInvalidationListener.class, LabVersionInvalidationListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
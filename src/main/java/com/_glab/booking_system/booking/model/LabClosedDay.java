@@ -2,6 +2,9 @@ package com._glab.booking_system.booking.model;
 
 import java.time.LocalDate;
 
+import com._glab.booking_system.booking.cache.LabScheduleInvalidationListener;
+import com._glab.booking_system.booking.cache.LabVersionInvalidationListener;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,7 @@ import lombok.Setter;
     @Index(name = "idx_lab_closed_day_lab", columnList = "lab_id"),
     @Index(name = "idx_lab_closed_day_date", columnList = "specific_date")
 })
+@EntityListeners({LabScheduleInvalidationListener.class, LabVersionInvalidationListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,9 @@ package com._glab.booking_system.booking.model;
 
 import java.time.LocalTime;
 
+import com._glab.booking_system.booking.cache.LabScheduleInvalidationListener;
+import com._glab.booking_system.booking.cache.LabVersionInvalidationListener;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,6 +14,7 @@ import lombok.Setter;
 @Table(name = "lab_operating_hours", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"lab_id", "day_of_week"})
 })
+@EntityListeners({LabScheduleInvalidationListener.class, LabVersionInvalidationListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
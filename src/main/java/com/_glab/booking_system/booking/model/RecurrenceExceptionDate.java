@@ -0,0 +1,56 @@
+package com._glab.booking_system.booking.model;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A date of a recurring series that no longer follows the series' template, so it is never expanded
+ * from it.
+ */
+@Entity
+@Table(name = "recurrence_exception", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"recurring_group_id", "occurrence_date"})
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecurrenceExceptionDate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Integer id;
+
+    @Column(name = "recurring_group_id", nullable = false)
+    private UUID recurringGroupId;
+
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceExceptionType type;
+
+    private String reason;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private OffsetDateTime createdAt;
+
+    public RecurrenceExceptionDate(UUID recurringGroupId, LocalDate occurrenceDate, RecurrenceExceptionType type,
+                                   String reason) {
+        this.recurringGroupId = recurringGroupId;
+        this.occurrenceDate = occurrenceDate;
+        this.type = type;
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,8 @@
+package com._glab.booking_system.booking.model;
+
+public enum RecurrenceExceptionType {
+    /** The occurrence was not written, e.g. because the lab is closed that day. */
+    SKIPPED,
+    /** The occurrence was written and then changed on its own. */
+    MODIFIED
+}
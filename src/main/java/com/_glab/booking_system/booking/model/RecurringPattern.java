@@ -1,8 +1,17 @@
 package com._glab.booking_system.booking.model;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
+import com._glab.booking_system.user.model.User;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,7 +19,8 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "recurring_pattern", indexes = {
-    @Index(name = "idx_recurring_pattern_group", columnList = "recurring_group_id", unique = true)
+    @Index(name = "idx_recurring_pattern_group", columnList = "recurring_group_id", unique = true),
+    @Index(name = "idx_recurring_pattern_lab_materialized", columnList = "lab_id, materialized_until")
 })
 @Getter
 @Setter
@@ -51,4 +61,93 @@ public class RecurringPattern {
      * Either endDate or occurrences should be set, not both.
      */
     private Integer occurrences;
-}
\ No newline at end of file
+
+    /**
+     * Lab of the series. Null for series created before lazy expansion existed.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lab_id")
+    private Lab lab;
+
+    /**
+     * Date of the first occurrence, from which all occurrence dates are derived.
+     */
+    @Column(name = "first_occurrence")
+    private LocalDate firstOccurrence;
+
+    /**
+     * Occurrences up to this date (inclusive) exist as reservation rows; later ones are expanded on
+     * read and written as the date approaches. Null when every occurrence has been written.
+     */
+    @Column(name = "materialized_until")
+    private LocalDate materializedUntil;
+
+    // === Occurrence template ===
+    // Occurrences after materializedUntil are expanded from these fields. They are all null for series
+    // created before the template existed.
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    /**
+     * Local start time of every occurrence, at {@link #utcOffsetSeconds}.
+     */
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "utc_offset_seconds")
+    private Integer utcOffsetSeconds;
+
+    @Column(name = "length_seconds")
+    private Long lengthSeconds;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "whole_lab")
+    private Boolean wholeLab;
+
+    /**
+     * Workstations of every occurrence; empty for whole-lab series.
+     */
+    @ElementCollection
+    @CollectionTable(name = "recurring_pattern_workstation", joinColumns = @JoinColumn(name = "pattern_id"))
+    @Column(name = "workstation_id")
+    private Set<Integer> workstationIds = new HashSet<>();
+
+    /**
+     * Status of the occurrences that are not written yet. PENDING or APPROVED while the series is active.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 25)
+    private ReservationStatus status;
+
+    public boolean hasTemplate() {
+        return startTime != null;
+    }
+
+    /**
+     * Copy the times, description and workstations of one occurrence into the template.
+     */
+    public void applyTemplate(OffsetDateTime start, OffsetDateTime end, String description, Boolean wholeLab,
+                              Collection<Integer> workstationIds) {
+        this.startTime = start.toLocalTime();
+        this.utcOffsetSeconds = start.getOffset().getTotalSeconds();
+        this.lengthSeconds = Duration.between(start, end).getSeconds();
+        this.description = description;
+        this.wholeLab = Boolean.TRUE.equals(wholeLab);
+        this.workstationIds.clear();
+        if (!this.wholeLab && workstationIds != null) {
+            this.workstationIds.addAll(workstationIds);
+        }
+    }
+
+    public OffsetDateTime occurrenceStart(LocalDate date) {
+        return OffsetDateTime.of(date, startTime, ZoneOffset.ofTotalSeconds(utcOffsetSeconds));
+    }
+
+    public OffsetDateTime occurrenceEnd(LocalDate date) {
+        return occurrenceStart(date).plusSeconds(lengthSeconds);
+    }
+}
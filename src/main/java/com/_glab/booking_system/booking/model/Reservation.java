@@ -17,8 +17,10 @@ import lombok.Setter;
 @Entity
 @Table(name = "reservation", indexes = {
     @Index(name = "idx_reservation_lab_time", columnList = "lab_id, start_time, end_time"),
-    @Index(name = "idx_reservation_user", columnList = "user_id"),
-    @Index(name = "idx_reservation_recurring_group", columnList = "recurring_group_id")
+    @Index(name = "idx_reservation_user_start", columnList = "user_id, start_time, id"),
+    @Index(name = "idx_reservation_recurring_group", columnList = "recurring_group_id"),
+    @Index(name = "idx_reservation_status_lab_created", columnList = "status, lab_id, created_at, id"),
+    @Index(name = "idx_reservation_status_created", columnList = "status, created_at, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
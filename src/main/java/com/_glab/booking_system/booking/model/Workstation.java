@@ -6,6 +6,8 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com._glab.booking_system.booking.cache.LabVersionInvalidationListener;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,7 +17,7 @@ import lombok.Setter;
 @Table(name = "workstation", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"lab_id", "identifier"})
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, LabVersionInvalidationListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface LabClosedDayRepository extends JpaRepository<LabClosedDay, Integer> {
@@ -25,6 +26,13 @@ public interface LabClosedDayRepository extends JpaRepository<LabClosedDay, Inte
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Find all closures on specific dates for a lab, including global closures.
+     */
+    @Query("SELECT lcd FROM LabClosedDay lcd WHERE (lcd.lab.id = :labId OR lcd.lab IS NULL) " +
+           "AND lcd.specificDate IS NOT NULL")
+    List<LabClosedDay> findSpecificClosures(@Param("labId") Integer labId);
+
     /**
      * Find all recurring closures (by day of week) for a lab.
      */
@@ -32,6 +40,12 @@ public interface LabClosedDayRepository extends JpaRepository<LabClosedDay, Inte
            "AND lcd.recurringDayOfWeek IS NOT NULL")
     List<LabClosedDay> findRecurringClosures(@Param("labId") Integer labId);
 
+    /**
+     * Find all closures of several labs in one query, with their labs, including global closures.
+     */
+    @Query("SELECT lcd FROM LabClosedDay lcd LEFT JOIN FETCH lcd.lab l WHERE l.id IN :labIds OR l IS NULL")
+    List<LabClosedDay> findClosuresForLabs(@Param("labIds") Collection<Integer> labIds);
+
     /**
      * Check if a specific date is closed for a lab.
      */
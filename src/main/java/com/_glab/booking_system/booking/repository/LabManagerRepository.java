@@ -4,9 +4,12 @@ import com._glab.booking_system.booking.model.Lab;
 import com._glab.booking_system.booking.model.LabManager;
 import com._glab.booking_system.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface LabManagerRepository extends JpaRepository<LabManager, Integer> {
 
@@ -23,4 +26,7 @@ public interface LabManagerRepository extends JpaRepository<LabManager, Integer>
     Optional<LabManager> findByLabIdAndIsPrimaryTrue(Integer labId);
 
     boolean existsByLabAndUser(Lab lab, User user);
+
+    @Query("SELECT lm.lab.id FROM LabManager lm WHERE lm.user.id = :userId")
+    Set<Integer> findLabIdsByUserId(@Param("userId") Integer userId);
 }
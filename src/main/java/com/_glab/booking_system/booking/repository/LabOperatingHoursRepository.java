@@ -3,7 +3,10 @@ package com._glab.booking_system.booking.repository;
 import com._glab.booking_system.booking.model.Lab;
 import com._glab.booking_system.booking.model.LabOperatingHours;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +16,12 @@ public interface LabOperatingHoursRepository extends JpaRepository<LabOperatingH
 
     List<LabOperatingHours> findByLabId(Integer labId);
 
+    /**
+     * Find operating hours of several labs in one query, with their labs.
+     */
+    @Query("SELECT h FROM LabOperatingHours h JOIN FETCH h.lab WHERE h.lab.id IN :labIds")
+    List<LabOperatingHours> findByLabIdIn(@Param("labIds") Collection<Integer> labIds);
+
     Optional<LabOperatingHours> findByLabAndDayOfWeek(Lab lab, Integer dayOfWeek);
 
     Optional<LabOperatingHours> findByLabIdAndDayOfWeek(Integer labId, Integer dayOfWeek);
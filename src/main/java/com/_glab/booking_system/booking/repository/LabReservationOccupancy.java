@@ -0,0 +1,10 @@
+package com._glab.booking_system.booking.repository;
+
+/**
+ * {@link ReservationOccupancy} of a reservation together with the lab it belongs to, for queries
+ * spanning several labs.
+ */
+public interface LabReservationOccupancy extends ReservationOccupancy {
+
+    Integer getLabId();
+}
@@ -0,0 +1,11 @@
+package com._glab.booking_system.booking.repository;
+
+/**
+ * Lightweight projection of the number of workstations in a lab.
+ */
+public interface LabWorkstationCount {
+
+    Integer getLabId();
+
+    Long getWorkstations();
+}
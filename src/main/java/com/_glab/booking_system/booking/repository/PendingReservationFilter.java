@@ -0,0 +1,26 @@
+package com._glab.booking_system.booking.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Filter for a page of the pending-reservation queue. Null fields are not filtered on.
+ *
+ * @param labIds labs the caller may see, or null for every lab
+ * @param labId single lab to show
+ * @param from earliest reservation start time (inclusive)
+ * @param to latest reservation start time (exclusive)
+ * @param recurringGroupId recurring group to show
+ * @param after position after which the page starts
+ * @param limit maximum number of reservations to return
+ */
+public record PendingReservationFilter(
+        Collection<Integer> labIds,
+        Integer labId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        UUID recurringGroupId,
+        ReservationCursor after,
+        int limit) {
+}
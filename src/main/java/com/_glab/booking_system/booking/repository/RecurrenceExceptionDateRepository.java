@@ -0,0 +1,16 @@
+package com._glab.booking_system.booking.repository;
+
+import com._glab.booking_system.booking.model.RecurrenceExceptionDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface RecurrenceExceptionDateRepository extends JpaRepository<RecurrenceExceptionDate, Integer> {
+
+    List<RecurrenceExceptionDate> findByRecurringGroupIdIn(Collection<UUID> recurringGroupIds);
+
+    boolean existsByRecurringGroupIdAndOccurrenceDate(UUID recurringGroupId, LocalDate occurrenceDate);
+}
@@ -1,12 +1,58 @@
 package com._glab.booking_system.booking.repository;
 
 import com._glab.booking_system.booking.model.RecurringPattern;
+import com._glab.booking_system.booking.model.ReservationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RecurringPatternRepository extends JpaRepository<RecurringPattern, UUID> {
 
     Optional<RecurringPattern> findByRecurringGroupId(UUID recurringGroupId);
+
+    /**
+     * Find series of the given labs with unwritten occurrences in one of the given statuses, with their labs,
+     * requesters and template workstations.
+     */
+    @Query("SELECT DISTINCT p FROM RecurringPattern p JOIN FETCH p.lab JOIN FETCH p.user " +
+           "LEFT JOIN FETCH p.workstationIds " +
+           "WHERE p.lab.id IN :labIds AND p.materializedUntil IS NOT NULL AND p.status IN :statuses")
+    List<RecurringPattern> findExpandableForLabs(@Param("labIds") Collection<Integer> labIds,
+                                                 @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Like {@link #findExpandableForLabs} for the series of one requester.
+     */
+    @Query("SELECT DISTINCT p FROM RecurringPattern p JOIN FETCH p.lab JOIN FETCH p.user " +
+           "LEFT JOIN FETCH p.workstationIds " +
+           "WHERE p.user.id = :userId AND p.materializedUntil IS NOT NULL AND p.status IN :statuses")
+    List<RecurringPattern> findExpandableForUser(@Param("userId") Integer userId,
+                                                 @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Like {@link #findExpandableForLabs} for the series of all labs.
+     */
+    @Query("SELECT DISTINCT p FROM RecurringPattern p JOIN FETCH p.lab JOIN FETCH p.user " +
+           "LEFT JOIN FETCH p.workstationIds " +
+           "WHERE p.materializedUntil IS NOT NULL AND p.status IN :statuses")
+    List<RecurringPattern> findExpandable(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Find series of all labs with occurrences not yet written up to the given date, with their labs.
+     */
+    @Query("SELECT p FROM RecurringPattern p JOIN FETCH p.lab WHERE p.materializedUntil < :until")
+    List<RecurringPattern> findUnmaterializedBefore(@Param("until") LocalDate until);
+
+    /**
+     * Lock a series for extension. A series locked by another instance is skipped (empty result),
+     * so several instances running the nightly extension never write the same occurrences.
+     */
+    @Query(value = "SELECT * FROM recurring_pattern WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<RecurringPattern> lockForExtension(@Param("id") UUID id);
 }
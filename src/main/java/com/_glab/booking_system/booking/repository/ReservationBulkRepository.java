@@ -0,0 +1,47 @@
+package com._glab.booking_system.booking.repository;
+
+import com._glab.booking_system.booking.model.ReservationStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based reservation updates that need more than a derived or annotated query.
+ */
+public interface ReservationBulkRepository {
+
+    /**
+     * Move every PENDING occurrence of a recurring group to a new status in a single statement.
+     * Pending changes are flushed first and the persistence context is cleared afterwards,
+     * so reservations loaded before the update are detached rather than stale.
+     *
+     * @return IDs of the updated reservations
+     */
+    List<UUID> updatePendingStatusInRecurringGroup(UUID recurringGroupId, ReservationStatus status);
+
+    /**
+     * Approve every PENDING occurrence of a recurring group in a single statement, except those overlapping
+     * another blocking booking of the lab, which stay PENDING. The overlap check is the one of
+     * {@code ReservationConflictService}: whole-lab bookings and bookings without workstations overlap
+     * everything, others only bookings sharing a workstation.
+     * Flushes and clears the persistence context like {@link #updatePendingStatusInRecurringGroup}.
+     *
+     * @return IDs of the approved reservations
+     */
+    List<UUID> approvePendingInRecurringGroup(UUID recurringGroupId);
+
+    /**
+     * Move the given reservations to a new status in a single statement, skipping any that are no longer PENDING.
+     * Flushes and clears the persistence context like {@link #updatePendingStatusInRecurringGroup}.
+     *
+     * @return IDs of the updated reservations
+     */
+    List<UUID> updatePendingStatus(Collection<UUID> reservationIds, ReservationStatus status);
+
+    /**
+     * Move the given reservations to a new status in a single statement, whatever their current status.
+     * Flushes and clears the persistence context like {@link #updatePendingStatusInRecurringGroup}.
+     */
+    void updateStatus(Collection<UUID> reservationIds, ReservationStatus status);
+}
@@ -0,0 +1,86 @@
+package com._glab.booking_system.booking.repository;
+
+import com._glab.booking_system.booking.model.ReservationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+class ReservationBulkRepositoryImpl implements ReservationBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> updatePendingStatusInRecurringGroup(UUID recurringGroupId, ReservationStatus status) {
+        entityManager.flush();
+        List<UUID> updatedIds = entityManager.createNativeQuery(
+                        "UPDATE reservation SET status = :status, last_modified_at = now() " +
+                        "WHERE recurring_group_id = :recurringGroupId AND status = 'PENDING' " +
+                        "RETURNING id", UUID.class)
+                .setParameter("status", status.name())
+                .setParameter("recurringGroupId", recurringGroupId)
+                .getResultList();
+        entityManager.clear();
+        return updatedIds;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> approvePendingInRecurringGroup(UUID recurringGroupId) {
+        entityManager.flush();
+        List<UUID> approvedIds = entityManager.createNativeQuery(
+                        "UPDATE reservation r SET status = 'APPROVED', last_modified_at = now() " +
+                        "WHERE r.recurring_group_id = :recurringGroupId AND r.status = 'PENDING' " +
+                        "AND NOT EXISTS (SELECT 1 FROM reservation o " +
+                        "    WHERE o.lab_id = r.lab_id AND o.id <> r.id " +
+                        "    AND o.status IN ('PENDING', 'APPROVED', 'PENDING_EDIT_APPROVAL') " +
+                        "    AND o.start_time < r.end_time AND o.end_time > r.start_time " +
+                        "    AND (r.whole_lab IS TRUE OR o.whole_lab IS TRUE " +
+                        "        OR NOT EXISTS (SELECT 1 FROM reservation_workstation ow " +
+                        "            WHERE ow.reservation_id = o.id) " +
+                        "        OR EXISTS (SELECT 1 FROM reservation_workstation rw " +
+                        "            JOIN reservation_workstation ow ON ow.workstation_id = rw.workstation_id " +
+                        "            WHERE rw.reservation_id = r.id AND ow.reservation_id = o.id))) " +
+                        "RETURNING r.id", UUID.class)
+                .setParameter("recurringGroupId", recurringGroupId)
+                .getResultList();
+        entityManager.clear();
+        return approvedIds;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> updatePendingStatus(Collection<UUID> reservationIds, ReservationStatus status) {
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+        List<UUID> updatedIds = entityManager.createNativeQuery(
+                        "UPDATE reservation SET status = :status, last_modified_at = now() " +
+                        "WHERE id IN (:ids) AND status = 'PENDING' " +
+                        "RETURNING id", UUID.class)
+                .setParameter("status", status.name())
+                .setParameter("ids", reservationIds)
+                .getResultList();
+        entityManager.clear();
+        return updatedIds;
+    }
+
+    @Override
+    public void updateStatus(Collection<UUID> reservationIds, ReservationStatus status) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                        "UPDATE reservation SET status = :status, last_modified_at = now() WHERE id IN (:ids)")
+                .setParameter("status", status.name())
+                .setParameter("ids", reservationIds)
+                .executeUpdate();
+        entityManager.clear();
+    }
+}
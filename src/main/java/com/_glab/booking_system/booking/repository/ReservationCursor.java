@@ -0,0 +1,42 @@
+package com._glab.booking_system.booking.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com._glab.booking_system.booking.exception.InvalidCursorException;
+
+/**
+ * Position in a list of reservations ordered by a timestamp and ID.
+ * Clients receive it as an opaque URL-safe string and pass it back to fetch the next page.
+ *
+ * @param time timestamp the list is ordered by (e.g. creation or start time) of the last reservation on the previous page
+ * @param id ID of the last reservation on the previous page
+ */
+public record ReservationCursor(OffsetDateTime time, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = time.toInstant().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReservationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            OffsetDateTime time = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+            return new ReservationCursor(time, UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
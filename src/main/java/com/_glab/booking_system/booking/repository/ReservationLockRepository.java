@@ -0,0 +1,20 @@
+package com._glab.booking_system.booking.repository;
+
+/**
+ * Cross-node locks serializing the writers of a lab's bookings.
+ */
+public interface ReservationLockRepository {
+
+    /**
+     * First key of the two-key advisory locks taken by {@link #lockLab}, keeping them apart from other users
+     * of advisory locks on the same database.
+     */
+    int LAB_LOCK_NAMESPACE = 0x4C4142;
+
+    /**
+     * Block until this transaction holds the lab's PostgreSQL advisory lock. The lock is released when the
+     * transaction commits or rolls back, so conflict checks and the writes that follow them run as one step
+     * for the lab on every application instance.
+     */
+    void lockLab(Integer labId);
+}
@@ -0,0 +1,19 @@
+package com._glab.booking_system.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class ReservationLockRepositoryImpl implements ReservationLockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void lockLab(Integer labId) {
+        // pg_advisory_xact_lock returns void, which Hibernate cannot map; count its single row instead
+        entityManager.createNativeQuery("SELECT count(*) FROM pg_advisory_xact_lock(:namespace, :labId)")
+                .setParameter("namespace", LAB_LOCK_NAMESPACE)
+                .setParameter("labId", labId)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,21 @@
+package com._glab.booking_system.booking.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a reservation occupying a lab, one row per reserved workstation.
+ * Whole-lab reservations produce a single row with a null workstation ID.
+ */
+public interface ReservationOccupancy {
+
+    UUID getReservationId();
+
+    OffsetDateTime getStartTime();
+
+    OffsetDateTime getEndTime();
+
+    Boolean getWholeLab();
+
+    Integer getWorkstationId();
+}
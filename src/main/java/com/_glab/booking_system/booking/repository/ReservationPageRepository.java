@@ -0,0 +1,25 @@
+package com._glab.booking_system.booking.repository;
+
+import com._glab.booking_system.booking.model.Reservation;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated reservation lists.
+ * Pages start strictly after a {@link ReservationCursor}, so each page is an index range scan
+ * regardless of how deep into the list it is.
+ */
+public interface ReservationPageRepository {
+
+    /**
+     * Find PENDING reservations matching the filter, oldest first, with their labs.
+     * Pages are ordered by (createdAt, id).
+     */
+    List<Reservation> findPendingPage(PendingReservationFilter filter);
+
+    /**
+     * Find a user's reservations matching the filter as flat rows, without loading entities.
+     * Pages are ordered by (startTime, id), ascending for upcoming reservations and descending for past ones.
+     */
+    List<ReservationRow> findUserPage(UserReservationFilter filter);
+}
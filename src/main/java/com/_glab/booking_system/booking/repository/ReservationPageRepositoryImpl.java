@@ -0,0 +1,111 @@
+package com._glab.booking_system.booking.repository;
+
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+class ReservationPageRepositoryImpl implements ReservationPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Reservation> findPendingPage(PendingReservationFilter filter) {
+        if (filter.labIds() != null && filter.labIds().isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT r FROM Reservation r JOIN FETCH r.lab WHERE r.status = :status");
+        if (filter.labIds() != null) {
+            jpql.append(" AND r.lab.id IN :labIds");
+        }
+        if (filter.labId() != null) {
+            jpql.append(" AND r.lab.id = :labId");
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND r.startTime >= :from");
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND r.startTime < :to");
+        }
+        if (filter.recurringGroupId() != null) {
+            jpql.append(" AND r.recurringGroupId = :recurringGroupId");
+        }
+        if (filter.after() != null) {
+            jpql.append(" AND (r.createdAt, r.id) > (:afterTime, :afterId)");
+        }
+        jpql.append(" ORDER BY r.createdAt, r.id");
+
+        TypedQuery<Reservation> query = entityManager.createQuery(jpql.toString(), Reservation.class)
+                .setParameter("status", ReservationStatus.PENDING)
+                .setMaxResults(filter.limit());
+        if (filter.labIds() != null) {
+            query.setParameter("labIds", filter.labIds());
+        }
+        if (filter.labId() != null) {
+            query.setParameter("labId", filter.labId());
+        }
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (filter.recurringGroupId() != null) {
+            query.setParameter("recurringGroupId", filter.recurringGroupId());
+        }
+        setAfter(query, filter.after());
+        return query.getResultList();
+    }
+
+    @Override
+    public List<ReservationRow> findUserPage(UserReservationFilter filter) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com._glab.booking_system.booking.repository.ReservationRow(" +
+                "r.id, l.id, l.name, r.startTime, r.endTime, r.description, r.status, r.wholeLab, " +
+                "r.recurringGroupId, r.createdAt) " +
+                "FROM Reservation r JOIN r.lab l WHERE r.user.id = :userId");
+        if (filter.from() != null) {
+            jpql.append(" AND r.endTime > :from");
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND r.startTime < :to");
+        }
+        if (filter.status() != null) {
+            jpql.append(" AND r.status = :status");
+        }
+        String direction = filter.descending() ? "DESC" : "ASC";
+        if (filter.after() != null) {
+            jpql.append(filter.descending()
+                    ? " AND (r.startTime, r.id) < (:afterTime, :afterId)"
+                    : " AND (r.startTime, r.id) > (:afterTime, :afterId)");
+        }
+        jpql.append(" ORDER BY r.startTime ").append(direction).append(", r.id ").append(direction);
+
+        TypedQuery<ReservationRow> query = entityManager.createQuery(jpql.toString(), ReservationRow.class)
+                .setParameter("userId", filter.userId())
+                .setMaxResults(filter.limit());
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        setAfter(query, filter.after());
+        return query.getResultList();
+    }
+
+    private static void setAfter(TypedQuery<?> query, ReservationCursor after) {
+        if (after != null) {
+            query.setParameter("afterTime", after.time());
+            query.setParameter("afterId", after.id());
+        }
+    }
+}
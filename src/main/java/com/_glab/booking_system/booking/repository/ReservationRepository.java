@@ -4,20 +4,22 @@ import com._glab.booking_system.booking.model.Lab;
 import com._glab.booking_system.booking.model.Reservation;
 import com._glab.booking_system.booking.model.ReservationStatus;
 import com._glab.booking_system.user.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+public interface ReservationRepository extends JpaRepository<Reservation, UUID>, ReservationBulkRepository,
+        ReservationPageRepository, ReservationSlotRepository, ReservationLockRepository {
 
     List<Reservation> findByUser(User user);
 
-    List<Reservation> findByUserId(Integer userId);
-
     List<Reservation> findByLab(Lab lab);
 
     List<Reservation> findByLabId(Integer labId);
@@ -36,6 +38,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     /**
      * Find reservations for a lab within a time range filtered by status.
      */
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT r FROM Reservation r WHERE r.lab.id = :labId " +
            "AND r.startTime < :endTime AND r.endTime > :startTime " +
            "AND r.status IN :statuses " +
@@ -46,9 +49,41 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             @Param("endTime") OffsetDateTime endTime,
             @Param("statuses") List<ReservationStatus> statuses);
 
+    /**
+     * Find what occupies a lab within a time range: one row per reserved workstation,
+     * or a single row with a null workstation for whole-lab reservations.
+     */
+    @Query("SELECT r.id AS reservationId, r.startTime AS startTime, r.endTime AS endTime, " +
+           "r.wholeLab AS wholeLab, rw.workstation.id AS workstationId " +
+           "FROM Reservation r LEFT JOIN ReservationWorkstation rw ON rw.reservation = r " +
+           "WHERE r.lab.id = :labId " +
+           "AND r.startTime < :endTime AND r.endTime > :startTime " +
+           "AND r.status IN :statuses")
+    List<ReservationOccupancy> findOccupancyInRange(
+            @Param("labId") Integer labId,
+            @Param("startTime") OffsetDateTime startTime,
+            @Param("endTime") OffsetDateTime endTime,
+            @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Like {@link #findOccupancyInRange} for several labs at once, e.g. all labs of a building.
+     */
+    @Query("SELECT r.lab.id AS labId, r.id AS reservationId, r.startTime AS startTime, r.endTime AS endTime, " +
+           "r.wholeLab AS wholeLab, rw.workstation.id AS workstationId " +
+           "FROM Reservation r LEFT JOIN ReservationWorkstation rw ON rw.reservation = r " +
+           "WHERE r.lab.id IN :labIds " +
+           "AND r.startTime < :endTime AND r.endTime > :startTime " +
+           "AND r.status IN :statuses")
+    List<LabReservationOccupancy> findOccupancyInRangeForLabs(
+            @Param("labIds") Collection<Integer> labIds,
+            @Param("startTime") OffsetDateTime startTime,
+            @Param("endTime") OffsetDateTime endTime,
+            @Param("statuses") Collection<ReservationStatus> statuses);
+
     /**
      * Find current reservations (happening right now) for a lab.
      */
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT r FROM Reservation r WHERE r.lab.id = :labId " +
            "AND r.startTime <= :now AND r.endTime > :now " +
            "AND r.status = :status")
@@ -58,10 +93,59 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             @Param("status") ReservationStatus status);
 
     /**
-     * Find all reservations in a recurring group.
+     * Find all reservations with the given statuses ending after a point in time, with their users.
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user " +
+           "WHERE r.endTime > :from AND r.status IN :statuses")
+    List<Reservation> findWithUserEndingAfter(
+            @Param("from") OffsetDateTime from,
+            @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Find reservations by ID with their users.
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user WHERE r.id IN :ids")
+    List<Reservation> findWithUserByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Find reservations by ID with their users and labs.
      */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user JOIN FETCH r.lab WHERE r.id IN :ids")
+    List<Reservation> findWithUserAndLabByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Find all reservations in a recurring group with their labs and users.
+     */
+    @EntityGraph(attributePaths = {"lab", "user"})
     List<Reservation> findByRecurringGroupId(UUID recurringGroupId);
 
+    /**
+     * Find the earliest occurrence of a recurring group with its lab and user.
+     */
+    @EntityGraph(attributePaths = {"lab", "user"})
+    Optional<Reservation> findFirstByRecurringGroupIdOrderByStartTimeAsc(UUID recurringGroupId);
+
+    /**
+     * Find the latest occurrence with one of the given statuses in each of the recurring groups.
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.recurringGroupId IN :groupIds AND r.status IN :statuses " +
+           "AND r.startTime = (SELECT MAX(r2.startTime) FROM Reservation r2 " +
+           "WHERE r2.recurringGroupId = r.recurringGroupId AND r2.status IN :statuses)")
+    List<Reservation> findLatestInRecurringGroups(
+            @Param("groupIds") Collection<UUID> groupIds,
+            @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Recurring groups the given reservations belong to.
+     */
+    @Query("SELECT DISTINCT r.recurringGroupId FROM Reservation r WHERE r.id IN :ids AND r.recurringGroupId IS NOT NULL")
+    List<UUID> findRecurringGroupIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Whether any reservation in a recurring group has the given status.
+     */
+    boolean existsByRecurringGroupIdAndStatus(UUID recurringGroupId, ReservationStatus status);
+
     /**
      * Find reservations in a recurring group by status.
      */
@@ -73,20 +157,17 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     /**
      * Find pending reservations for labs managed by a user.
      */
+    @EntityGraph(attributePaths = "lab")
     @Query("SELECT r FROM Reservation r WHERE r.lab.id IN " +
            "(SELECT lm.lab.id FROM LabManager lm WHERE lm.user.id = :userId) " +
            "AND r.status = 'PENDING' " +
            "ORDER BY r.createdAt")
     List<Reservation> findPendingReservationsForManager(@Param("userId") Integer userId);
 
-    /**
-     * Find user's reservations with optional status filter.
-     */
-    List<Reservation> findByUserIdAndStatus(Integer userId, ReservationStatus status);
-
     /**
      * Find all reservations by status.
      */
+    @EntityGraph(attributePaths = "lab")
     List<Reservation> findByStatus(ReservationStatus status);
 
     /**
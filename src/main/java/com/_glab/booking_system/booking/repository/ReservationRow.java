@@ -0,0 +1,22 @@
+package com._glab.booking_system.booking.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com._glab.booking_system.booking.model.ReservationStatus;
+
+/**
+ * Flat projection of a reservation with its lab name, read without loading entities.
+ */
+public record ReservationRow(
+        UUID id,
+        Integer labId,
+        String labName,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime,
+        String description,
+        ReservationStatus status,
+        Boolean wholeLab,
+        UUID recurringGroupId,
+        OffsetDateTime createdAt) {
+}
@@ -0,0 +1,30 @@
+package com._glab.booking_system.booking.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Workstation time slots claimed by approved reservations in the {@code reservation_slot} table.
+ *
+ * Each APPROVED reservation holds one row per workstation it books (every workstation of the lab for
+ * whole-lab bookings). The table's exclusion constraint, {@value #NO_OVERLAP_CONSTRAINT}, rejects two
+ * rows for the same workstation with overlapping times, so conflicting approvals fail in the database
+ * however many application instances run.
+ */
+public interface ReservationSlotRepository {
+
+    String NO_OVERLAP_CONSTRAINT = "reservation_slot_no_overlap";
+
+    /**
+     * Claim the slots of the given reservations that are APPROVED, in a single statement.
+     * Pending changes are flushed first, so the statement sees current times and workstations.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException when a slot overlaps one already held
+     */
+    void holdSlots(Collection<UUID> reservationIds);
+
+    /**
+     * Give up all slots held by the given reservations, in a single statement.
+     */
+    void releaseSlots(Collection<UUID> reservationIds);
+}
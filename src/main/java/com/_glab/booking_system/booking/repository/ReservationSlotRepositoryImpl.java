@@ -0,0 +1,42 @@
+package com._glab.booking_system.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.UUID;
+
+class ReservationSlotRepositoryImpl implements ReservationSlotRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void holdSlots(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                        "INSERT INTO reservation_slot (reservation_id, workstation_id, during) " +
+                        "SELECT r.id, rw.workstation_id, tstzrange(r.start_time, r.end_time) " +
+                        "FROM reservation r JOIN reservation_workstation rw ON rw.reservation_id = r.id " +
+                        "WHERE r.id IN (:ids) AND r.status = 'APPROVED' AND r.whole_lab IS NOT TRUE " +
+                        "UNION ALL " +
+                        "SELECT r.id, w.id, tstzrange(r.start_time, r.end_time) " +
+                        "FROM reservation r JOIN workstation w ON w.lab_id = r.lab_id " +
+                        "WHERE r.id IN (:ids) AND r.status = 'APPROVED' AND r.whole_lab IS TRUE")
+                .setParameter("ids", reservationIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public void releaseSlots(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        entityManager.createNativeQuery("DELETE FROM reservation_slot WHERE reservation_id IN (:ids)")
+                .setParameter("ids", reservationIds)
+                .executeUpdate();
+    }
+}
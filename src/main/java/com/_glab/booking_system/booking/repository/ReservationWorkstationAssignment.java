@@ -0,0 +1,10 @@
+package com._glab.booking_system.booking.repository;
+
+/**
+ * Reservation/workstation assignment projection that also carries the assignment row ID,
+ * so assignments can be deleted by ID without loading the entities.
+ */
+public interface ReservationWorkstationAssignment extends ReservationWorkstationLink {
+
+    Integer getId();
+}
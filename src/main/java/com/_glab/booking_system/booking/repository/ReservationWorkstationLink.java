@@ -0,0 +1,13 @@
+package com._glab.booking_system.booking.repository;
+
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a reservation/workstation assignment.
+ */
+public interface ReservationWorkstationLink {
+
+    UUID getReservationId();
+
+    Integer getWorkstationId();
+}
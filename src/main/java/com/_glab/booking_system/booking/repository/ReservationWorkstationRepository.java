@@ -1,13 +1,19 @@
 package com._glab.booking_system.booking.repository;
 
 import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
 import com._glab.booking_system.booking.model.ReservationWorkstation;
 import com._glab.booking_system.booking.model.Workstation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ReservationWorkstationRepository extends JpaRepository<ReservationWorkstation, Integer> {
@@ -26,6 +32,47 @@ public interface ReservationWorkstationRepository extends JpaRepository<Reservat
     @Query("SELECT rw.workstation.id FROM ReservationWorkstation rw WHERE rw.reservation.id = :reservationId")
     List<Integer> findWorkstationIdsByReservationId(@Param("reservationId") UUID reservationId);
 
+    /**
+     * Find workstation assignments for a set of reservations in one query.
+     */
+    @Query("SELECT rw.reservation.id AS reservationId, rw.workstation.id AS workstationId " +
+           "FROM ReservationWorkstation rw WHERE rw.reservation.id IN :reservationIds")
+    List<ReservationWorkstationLink> findLinksByReservationIdIn(
+            @Param("reservationIds") Collection<UUID> reservationIds);
+
+    /**
+     * Find workstation assignments, including their row IDs, for a set of reservations in one query.
+     */
+    @Query("SELECT rw.id AS id, rw.reservation.id AS reservationId, rw.workstation.id AS workstationId " +
+           "FROM ReservationWorkstation rw WHERE rw.reservation.id IN :reservationIds")
+    List<ReservationWorkstationAssignment> findAssignmentsByReservationIdIn(
+            @Param("reservationIds") Collection<UUID> reservationIds);
+
+    /**
+     * Workstation IDs for a set of reservations, grouped by reservation ID, loaded with a single query.
+     * Reservations without workstations (e.g. whole-lab bookings) are absent from the map.
+     */
+    default Map<UUID, List<Integer>> findWorkstationIdsGroupedByReservationId(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<Integer>> result = new HashMap<>();
+        for (ReservationWorkstationLink link : findLinksByReservationIdIn(reservationIds)) {
+            result.computeIfAbsent(link.getReservationId(), k -> new ArrayList<>()).add(link.getWorkstationId());
+        }
+        return result;
+    }
+
+    /**
+     * Find workstation assignments of all reservations with the given statuses ending after a point in time.
+     */
+    @Query("SELECT rw.reservation.id AS reservationId, rw.workstation.id AS workstationId " +
+           "FROM ReservationWorkstation rw " +
+           "WHERE rw.reservation.endTime > :from AND rw.reservation.status IN :statuses")
+    List<ReservationWorkstationLink> findLinksForReservationsEndingAfter(
+            @Param("from") OffsetDateTime from,
+            @Param("statuses") Collection<ReservationStatus> statuses);
+
     /**
      * Delete all workstation assignments for a reservation.
      */
@@ -0,0 +1,26 @@
+package com._glab.booking_system.booking.repository;
+
+import java.time.OffsetDateTime;
+
+import com._glab.booking_system.booking.model.ReservationStatus;
+
+/**
+ * Filter for a page of one user's reservations. Null fields are not filtered on.
+ *
+ * @param userId owner of the reservations
+ * @param from only reservations ending after this time
+ * @param to only reservations starting before this time
+ * @param status only reservations with this status
+ * @param descending order by start time descending (most recent first) instead of ascending
+ * @param after position after which the page starts
+ * @param limit maximum number of reservations to return
+ */
+public record UserReservationFilter(
+        Integer userId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        ReservationStatus status,
+        boolean descending,
+        ReservationCursor after,
+        int limit) {
+}
@@ -3,8 +3,13 @@ package com._glab.booking_system.booking.repository;
 import com._glab.booking_system.booking.model.Lab;
 import com._glab.booking_system.booking.model.Workstation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface WorkstationRepository extends JpaRepository<Workstation, Integer> {
@@ -18,4 +23,23 @@ public interface WorkstationRepository extends JpaRepository<Workstation, Intege
     Optional<Workstation> findByLabAndIdentifier(Lab lab, String identifier);
 
     int countByLabIdAndActiveTrue(Integer labId);
+
+    @Query("SELECT w.lab.id AS labId, COUNT(w) AS workstations FROM Workstation w " +
+           "WHERE w.lab.id IN :labIds AND w.active = true GROUP BY w.lab.id")
+    List<LabWorkstationCount> countActiveGroupedByLabId(@Param("labIds") Collection<Integer> labIds);
+
+    /**
+     * Number of active workstations per lab, loaded with a single query. Labs without active
+     * workstations are absent from the map.
+     */
+    default Map<Integer, Integer> countActiveByLabIdIn(Collection<Integer> labIds) {
+        if (labIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, Integer> result = new HashMap<>();
+        for (LabWorkstationCount count : countActiveGroupedByLabId(labIds)) {
+            result.put(count.getLabId(), count.getWorkstations().intValue());
+        }
+        return result;
+    }
 }
@@ -1,5 +1,11 @@
 package com._glab.booking_system.booking.request;
 
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +17,21 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class BulkReservationActionRequest {
 
+    public enum Action {
+        APPROVE,
+        DECLINE
+    }
+
+    /**
+     * Reservations to act on.
+     */
+    @NotEmpty(message = "At least one reservation ID is required")
+    @Size(max = 500, message = "At most 500 reservations can be processed at once")
+    private List<UUID> reservationIds;
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
     /**
      * Optional reason for the action (approve/decline).
      */
@@ -0,0 +1,64 @@
+package com._glab.booking_system.booking.request;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for finding free reservation slots in a lab.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotRequest {
+
+    /**
+     * First day to search; defaults to today.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    /**
+     * Last day to search (inclusive); defaults to six days after from.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /**
+     * Length of the reservation in minutes.
+     */
+    @NotNull(message = "Duration is required")
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    @Max(value = 1440, message = "Duration must be at most 24 hours")
+    private Integer durationMinutes;
+
+    /**
+     * Number of workstations needed; ignored when booking the whole lab.
+     */
+    @Builder.Default
+    @Min(value = 1, message = "At least one workstation is required")
+    private Integer workstations = 1;
+
+    /**
+     * Whether the whole lab is needed.
+     */
+    @Builder.Default
+    private Boolean wholeLab = false;
+
+    /**
+     * Maximum number of slots to return.
+     */
+    @Builder.Default
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit must be at most 100")
+    private Integer limit = 10;
+}
@@ -0,0 +1,67 @@
+package com._glab.booking_system.booking.request;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com._glab.booking_system.booking.model.ReservationStatus;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for a page of the current user's reservations.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MyReservationsRequest {
+
+    public enum Order {
+        /**
+         * Soonest first, starting from reservations that have not ended by {@code from} (default: now).
+         */
+        UPCOMING,
+        /**
+         * Most recent first, starting from reservations that started before {@code to} (default: now).
+         */
+        PAST
+    }
+
+    /**
+     * Only show reservations ending after this time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime from;
+
+    /**
+     * Only show reservations starting before this time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime to;
+
+    /**
+     * Only show reservations with this status.
+     */
+    private ReservationStatus status;
+
+    @Builder.Default
+    private Order order = Order.UPCOMING;
+
+    /**
+     * Cursor returned with the previous page; omit for the first page.
+     */
+    private String cursor;
+
+    /**
+     * Page size; defaults to booking.pagination.default-page-size.
+     */
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 200, message = "Limit must be at most 200")
+    private Integer limit;
+}
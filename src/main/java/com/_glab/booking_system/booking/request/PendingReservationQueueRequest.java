@@ -0,0 +1,57 @@
+package com._glab.booking_system.booking.request;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for a page of the pending-reservation queue.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingReservationQueueRequest {
+
+    /**
+     * Only show reservations for this lab.
+     */
+    private Integer labId;
+
+    /**
+     * Only show reservations starting at or after this time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime from;
+
+    /**
+     * Only show reservations starting before this time.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime to;
+
+    /**
+     * Only show occurrences of this recurring group.
+     */
+    private UUID recurringGroupId;
+
+    /**
+     * Cursor returned with the previous page; omit for the first page.
+     */
+    private String cursor;
+
+    /**
+     * Page size; defaults to booking.pagination.default-page-size.
+     */
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 200, message = "Limit must be at most 200")
+    private Integer limit;
+}
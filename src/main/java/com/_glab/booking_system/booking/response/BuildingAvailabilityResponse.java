@@ -0,0 +1,21 @@
+package com._glab.booking_system.booking.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildingAvailabilityResponse {
+
+    private Integer buildingId;
+    private LocalDate weekStart;
+    private LocalDate weekEnd;
+    private List<LabOccupancyResponse> labs;
+}
@@ -0,0 +1,49 @@
+package com._glab.booking_system.booking.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationActionResponse {
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        NOT_AUTHORIZED,
+        NOT_PENDING,
+        /**
+         * Not approved because it overlaps another booking of the lab; it stays PENDING.
+         */
+        CONFLICT
+    }
+
+    /**
+     * One result per requested reservation ID, in request order.
+     */
+    private List<Result> results;
+
+    /**
+     * Number of reservations whose status was changed.
+     */
+    private Integer updatedCount;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+
+        private UUID reservationId;
+
+        private Outcome outcome;
+    }
+}
@@ -0,0 +1,25 @@
+package com._glab.booking_system.booking.response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayOccupancyResponse {
+
+    private LocalDate date;
+    private Boolean open;
+    private LocalTime openTime;
+    private LocalTime closeTime;
+    /** Reservations (PENDING or APPROVED) overlapping the day. */
+    private Integer reservations;
+    /** Share of workstation time within opening hours that is booked, 0 - 100. */
+    private Integer occupancyPercent;
+}
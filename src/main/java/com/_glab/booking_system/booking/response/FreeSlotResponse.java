@@ -0,0 +1,21 @@
+package com._glab.booking_system.booking.response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotResponse {
+
+    private OffsetDateTime startTime;
+    private OffsetDateTime endTime;
+    /** Workstations free for the whole slot; empty for whole-lab searches. */
+    private List<Integer> freeWorkstationIds;
+}
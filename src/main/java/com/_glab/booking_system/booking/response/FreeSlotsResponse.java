@@ -0,0 +1,22 @@
+package com._glab.booking_system.booking.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotsResponse {
+
+    private Integer labId;
+    private LocalDate from;
+    private LocalDate to;
+    private Integer durationMinutes;
+    private List<FreeSlotResponse> slots;
+}
@@ -0,0 +1,20 @@
+package com._glab.booking_system.booking.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabOccupancyResponse {
+
+    private Integer labId;
+    private String labName;
+    private Integer activeWorkstations;
+    private List<DayOccupancyResponse> days;
+}
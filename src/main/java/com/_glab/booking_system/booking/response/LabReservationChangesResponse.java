@@ -0,0 +1,25 @@
+package com._glab.booking_system.booking.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reservations of a lab that changed in one committed transaction, pushed to live availability subscribers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabReservationChangesResponse {
+
+    private Integer labId;
+    /** Current state of changed reservations that still block the lab (PENDING or APPROVED). */
+    private List<ReservationSummaryResponse> reservations;
+    /** Changed reservations that no longer block the lab (declined, cancelled or deleted). */
+    private List<UUID> removedReservationIds;
+}
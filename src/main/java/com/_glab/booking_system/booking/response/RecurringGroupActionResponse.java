@@ -0,0 +1,28 @@
+package com._glab.booking_system.booking.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringGroupActionResponse {
+
+    private UUID recurringGroupId;
+
+    /**
+     * Number of occurrences whose status was changed.
+     */
+    private Integer updatedCount;
+
+    /**
+     * Occurrences an approval left PENDING because they overlap other bookings of the lab.
+     */
+    private List<UUID> leftPendingReservationIds;
+}
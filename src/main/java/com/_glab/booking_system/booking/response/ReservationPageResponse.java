@@ -0,0 +1,30 @@
+package com._glab.booking_system.booking.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationPageResponse {
+
+    /**
+     * Reservations on this page, in the order requested.
+     */
+    private List<ReservationResponse> reservations;
+
+    /**
+     * Cursor to pass back for the next page, or null when this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Whether more reservations follow this page.
+     */
+    private boolean hasMore;
+}
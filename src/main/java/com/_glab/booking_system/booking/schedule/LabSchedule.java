@@ -0,0 +1,235 @@
+package com._glab.booking_system.booking.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com._glab.booking_system.booking.exception.LabClosedException;
+import com._glab.booking_system.booking.exception.OutsideOperatingHoursException;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.LabOperatingHours;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable snapshot of a lab's weekly operating hours and closures (including global closures),
+ * used to validate reservation times and build availability without touching the database.
+ *
+ * Holds plain values only, so it can be shared between requests by
+ * {@link com._glab.booking_system.booking.cache.LabScheduleCache}.
+ */
+@Slf4j
+public class LabSchedule {
+
+    /**
+     * Operating hours configured for one day of the week (0 = Sunday, ..., 6 = Saturday).
+     */
+    public record DayHours(int dayOfWeek, LocalTime openTime, LocalTime closeTime, boolean closed) {
+    }
+
+    /**
+     * A day on which the lab is closed.
+     */
+    public record ClosedDay(LocalDate date, String reason) {
+    }
+
+    private record RecurringClosure(int dayOfWeek, String reason) {
+    }
+
+    private final Integer labId;
+    private final LocalTime defaultOpenTime;
+    private final LocalTime defaultCloseTime;
+    /** Indexed by day of week; null where no specific hours are configured. */
+    private final DayHours[] days = new DayHours[7];
+    private final List<RecurringClosure> recurringClosures = new ArrayList<>();
+    private final boolean[] closedOnDayOfWeek = new boolean[7];
+    private final NavigableMap<LocalDate, List<String>> closedDates = new TreeMap<>();
+
+    /**
+     * @param operatingHours the lab's per-day operating hours
+     * @param recurringClosures closures by day of week (lab-specific and global)
+     * @param specificClosures closures on specific dates (lab-specific and global)
+     */
+    public LabSchedule(Lab lab,
+                       Collection<LabOperatingHours> operatingHours,
+                       Collection<LabClosedDay> recurringClosures,
+                       Collection<LabClosedDay> specificClosures) {
+        this.labId = lab.getId();
+        this.defaultOpenTime = lab.getDefaultOpenTime();
+        this.defaultCloseTime = lab.getDefaultCloseTime();
+        for (LabOperatingHours hours : operatingHours) {
+            days[hours.getDayOfWeek()] = new DayHours(hours.getDayOfWeek(), hours.getOpenTime(),
+                    hours.getCloseTime(), Boolean.TRUE.equals(hours.getIsClosed()));
+        }
+        for (LabClosedDay closure : recurringClosures) {
+            if (closure.getRecurringDayOfWeek() != null) {
+                this.recurringClosures.add(new RecurringClosure(closure.getRecurringDayOfWeek(), closure.getReason()));
+                closedOnDayOfWeek[closure.getRecurringDayOfWeek()] = true;
+            }
+        }
+        for (LabClosedDay closure : specificClosures) {
+            if (closure.getSpecificDate() != null) {
+                closedDates.computeIfAbsent(closure.getSpecificDate(), d -> new ArrayList<>()).add(closure.getReason());
+            }
+        }
+    }
+
+    /**
+     * Convert Java DayOfWeek (1=Mon to 7=Sun) to our format (0=Sun to 6=Sat).
+     */
+    public static int dayOfWeek(LocalDate date) {
+        int javaDayValue = date.getDayOfWeek().getValue();
+        return (javaDayValue == 7) ? 0 : javaDayValue;
+    }
+
+    public Integer getLabId() {
+        return labId;
+    }
+
+    public LocalTime getDefaultOpenTime() {
+        return defaultOpenTime;
+    }
+
+    public LocalTime getDefaultCloseTime() {
+        return defaultCloseTime;
+    }
+
+    /**
+     * Specifically configured operating hours, ordered by day of week. Empty when the lab uses its defaults.
+     */
+    public List<DayHours> getDayHours() {
+        List<DayHours> result = new ArrayList<>();
+        for (DayHours day : days) {
+            if (day != null) {
+                result.add(day);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether a specific or recurring closure applies to the date.
+     */
+    public boolean isClosedOn(LocalDate date) {
+        return closedDates.containsKey(date) || closedOnDayOfWeek[dayOfWeek(date)];
+    }
+
+    /**
+     * Closures between from and to (inclusive): specific dates in date order, then each recurring closure
+     * expanded to its matching dates.
+     */
+    public List<ClosedDay> getClosedDaysBetween(LocalDate from, LocalDate to) {
+        List<ClosedDay> result = new ArrayList<>();
+        closedDates.subMap(from, true, to, true).forEach((date, reasons) ->
+                reasons.forEach(reason -> result.add(new ClosedDay(date, reason))));
+
+        for (RecurringClosure recurring : recurringClosures) {
+            for (LocalDate current = from; !current.isAfter(to); current = current.plusDays(1)) {
+                if (dayOfWeek(current) == recurring.dayOfWeek()) {
+                    result.add(new ClosedDay(current, recurring.reason()));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether the lab is open at the given moment. Falls back to 08:00 - 20:00 (closed on Sundays)
+     * when neither specific hours nor lab defaults are configured.
+     */
+    public boolean isOpenAt(OffsetDateTime dateTime) {
+        LocalTime time = dateTime.toLocalTime();
+        return getOpeningHours(dateTime.toLocalDate())
+                .map(hours -> !time.isBefore(hours.openTime()) && time.isBefore(hours.closeTime()))
+                .orElse(false);
+    }
+
+    /**
+     * Effective opening hours on a date, or empty when the lab is closed all day. Uses the same
+     * fallbacks as {@link #isOpenAt(OffsetDateTime)}.
+     */
+    public Optional<DayHours> getOpeningHours(LocalDate date) {
+        if (isClosedOn(date)) {
+            return Optional.empty();
+        }
+
+        int dayOfWeek = dayOfWeek(date);
+        DayHours hours = days[dayOfWeek];
+        if (hours != null) {
+            return hours.closed() ? Optional.empty() : Optional.of(hours);
+        }
+
+        // Use lab defaults
+        if (dayOfWeek == 0) { // Sunday
+            return Optional.empty();
+        }
+
+        LocalTime openTime = defaultOpenTime != null ? defaultOpenTime : LocalTime.of(8, 0);
+        LocalTime closeTime = defaultCloseTime != null ? defaultCloseTime : LocalTime.of(20, 0);
+        return Optional.of(new DayHours(dayOfWeek, openTime, closeTime, false));
+    }
+
+    /**
+     * Validate that a reservation lies within operating hours and the lab is not closed on its date.
+     *
+     * @throws OutsideOperatingHoursException if the times are outside operating hours
+     * @throws LabClosedException if the lab is closed on that day
+     */
+    public void validate(OffsetDateTime startTime, OffsetDateTime endTime) {
+        validateOperatingHours(startTime, endTime);
+        validateNotClosed(startTime.toLocalDate());
+    }
+
+    private void validateOperatingHours(OffsetDateTime startTime, OffsetDateTime endTime) {
+        int dayOfWeek = dayOfWeek(startTime.toLocalDate());
+        LocalTime startLocalTime = startTime.toLocalTime();
+        LocalTime endLocalTime = endTime.toLocalTime();
+
+        DayHours operatingHours = days[dayOfWeek];
+        if (operatingHours != null) {
+            if (operatingHours.closed()) {
+                log.warn("Lab {} is closed on day {}", labId, dayOfWeek);
+                throw new LabClosedException("Lab is closed on this day");
+            }
+
+            if (startLocalTime.isBefore(operatingHours.openTime()) ||
+                endLocalTime.isAfter(operatingHours.closeTime())) {
+                log.warn("Reservation {} - {} is outside operating hours {} - {}",
+                        startLocalTime, endLocalTime, operatingHours.openTime(), operatingHours.closeTime());
+                throw new OutsideOperatingHoursException("Reservation time must be within operating hours ("
+                        + operatingHours.openTime() + " - " + operatingHours.closeTime() + ")");
+            }
+            return;
+        }
+
+        // No specific hours defined - use lab defaults if available
+        if (defaultOpenTime != null && defaultCloseTime != null) {
+            if (startLocalTime.isBefore(defaultOpenTime) || endLocalTime.isAfter(defaultCloseTime)) {
+                log.warn("Reservation {} - {} is outside default operating hours {} - {}",
+                        startLocalTime, endLocalTime, defaultOpenTime, defaultCloseTime);
+                throw new OutsideOperatingHoursException("Reservation time must be within operating hours ("
+                        + defaultOpenTime + " - " + defaultCloseTime + ")");
+            }
+        }
+
+        // Check if it's Sunday (default closed)
+        if (dayOfWeek == 0) {
+            log.warn("Lab {} is closed on Sundays by default", labId);
+            throw new LabClosedException("Lab is closed on Sundays by default");
+        }
+    }
+
+    private void validateNotClosed(LocalDate date) {
+        if (isClosedOn(date)) {
+            log.warn("Lab {} is closed on {}", labId, date);
+            throw new LabClosedException("Lab is closed on " + date);
+        }
+    }
+}
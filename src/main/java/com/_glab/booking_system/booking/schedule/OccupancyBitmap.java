@@ -0,0 +1,155 @@
+package com._glab.booking_system.booking.schedule;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of one lab over a time window, tracked per workstation as bitmaps of 15-minute slots.
+ *
+ * Slots are rounded outwards, so a set bit means "something may overlap this slot". Callers
+ * use the bitmap as a cheap filter and confirm hits against exact start/end times.
+ */
+public class OccupancyBitmap {
+
+    public static final Duration SLOT = Duration.ofMinutes(15);
+    private static final long SLOT_MILLIS = SLOT.toMillis();
+
+    private final long originMillis;
+    private final int slotCount;
+    private final long[] wholeLab;
+    private final long[] anyBooking;
+    private final Map<Integer, long[]> byWorkstation = new HashMap<>();
+
+    public OccupancyBitmap(OffsetDateTime from, OffsetDateTime to) {
+        long fromMillis = from.toInstant().toEpochMilli();
+        this.originMillis = Math.floorDiv(fromMillis, SLOT_MILLIS) * SLOT_MILLIS;
+        long toMillis = to.toInstant().toEpochMilli();
+        this.slotCount = (int) Math.max(0, -Math.floorDiv(originMillis - toMillis, SLOT_MILLIS));
+        this.wholeLab = newBits();
+        this.anyBooking = newBits();
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Mark the whole lab as occupied between start and end.
+     */
+    public void occupyWholeLab(OffsetDateTime start, OffsetDateTime end) {
+        int from = firstSlot(start);
+        int to = endSlot(end);
+        setRange(wholeLab, from, to);
+        setRange(anyBooking, from, to);
+    }
+
+    /**
+     * Mark a single workstation as occupied between start and end.
+     */
+    public void occupyWorkstation(Integer workstationId, OffsetDateTime start, OffsetDateTime end) {
+        int from = firstSlot(start);
+        int to = endSlot(end);
+        setRange(byWorkstation.computeIfAbsent(workstationId, k -> newBits()), from, to);
+        setRange(anyBooking, from, to);
+    }
+
+    /**
+     * Whether anything at all may be booked between start and end.
+     */
+    public boolean mayBeOccupied(OffsetDateTime start, OffsetDateTime end) {
+        return intersects(anyBooking, firstSlot(start), endSlot(end));
+    }
+
+    /**
+     * Whether any of the workstations (or the whole lab) may be booked between start and end.
+     */
+    public boolean mayBeOccupied(Collection<Integer> workstationIds, OffsetDateTime start, OffsetDateTime end) {
+        int from = firstSlot(start);
+        int to = endSlot(end);
+        if (intersects(wholeLab, from, to)) {
+            return true;
+        }
+        for (Integer workstationId : workstationIds) {
+            long[] bits = byWorkstation.get(workstationId);
+            if (bits != null && intersects(bits, from, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The workstations that are certainly free between start and end, in the given order.
+     * Empty when the whole lab may be booked. Occupancy is rounded outwards to whole slots,
+     * so a booking that only touches part of a slot keeps that slot's workstations out.
+     */
+    public List<Integer> freeWorkstations(Collection<Integer> workstationIds, OffsetDateTime start, OffsetDateTime end) {
+        int from = firstSlot(start);
+        int to = endSlot(end);
+        if (intersects(wholeLab, from, to)) {
+            return List.of();
+        }
+        List<Integer> free = new ArrayList<>();
+        for (Integer workstationId : workstationIds) {
+            long[] bits = byWorkstation.get(workstationId);
+            if (bits == null || !intersects(bits, from, to)) {
+                free.add(workstationId);
+            }
+        }
+        return free;
+    }
+
+    // === Slot arithmetic ===
+
+    private long[] newBits() {
+        return new long[(slotCount + 63) >>> 6];
+    }
+
+    private int firstSlot(OffsetDateTime time) {
+        long slot = Math.floorDiv(time.toInstant().toEpochMilli() - originMillis, SLOT_MILLIS);
+        return clamp(slot);
+    }
+
+    private int endSlot(OffsetDateTime time) {
+        long slot = -Math.floorDiv(originMillis - time.toInstant().toEpochMilli(), SLOT_MILLIS);
+        return clamp(slot);
+    }
+
+    private int clamp(long slot) {
+        return (int) Math.max(0, Math.min(slot, slotCount));
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        for (int slot = from; slot < to; ) {
+            int word = slot >>> 6;
+            int bitFrom = slot & 63;
+            int bitTo = Math.min(64, bitFrom + (to - slot));
+            bits[word] |= mask(bitFrom, bitTo);
+            slot += bitTo - bitFrom;
+        }
+    }
+
+    private static boolean intersects(long[] bits, int from, int to) {
+        for (int slot = from; slot < to; ) {
+            int word = slot >>> 6;
+            int bitFrom = slot & 63;
+            int bitTo = Math.min(64, bitFrom + (to - slot));
+            if ((bits[word] & mask(bitFrom, bitTo)) != 0) {
+                return true;
+            }
+            slot += bitTo - bitFrom;
+        }
+        return false;
+    }
+
+    /** Bits [from, to) of a 64-bit word. */
+    private static long mask(int from, int to) {
+        long upper = to == 64 ? -1L : (1L << to) - 1;
+        return upper & (-1L << from);
+    }
+}
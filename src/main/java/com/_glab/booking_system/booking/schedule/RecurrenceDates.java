@@ -0,0 +1,71 @@
+package com._glab.booking_system.booking.schedule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com._glab.booking_system.booking.model.RecurrenceType;
+import com._glab.booking_system.booking.model.RecurringPattern;
+
+/**
+ * Occurrence dates of a recurring series.
+ */
+public final class RecurrenceDates {
+
+    /**
+     * Series length when neither an occurrence count nor an end date limits it: a year of weekly occurrences.
+     */
+    public static final int DEFAULT_MAX_OCCURRENCES = 52;
+
+    private RecurrenceDates() {
+    }
+
+    /**
+     * All occurrence dates of a series, starting with startDate.
+     *
+     * @param endDate last possible date (inclusive), or null
+     * @param occurrences number of occurrences, or null for at most {@link #DEFAULT_MAX_OCCURRENCES}
+     */
+    public static List<LocalDate> of(LocalDate startDate, RecurrenceType patternType, Integer customIntervalDays,
+                                     LocalDate endDate, Integer occurrences) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate current = startDate;
+        int intervalDays = intervalDays(patternType, customIntervalDays);
+        int maxOccurrences = occurrences != null ? occurrences : DEFAULT_MAX_OCCURRENCES;
+
+        while (dates.size() < maxOccurrences) {
+            // Check end date constraint
+            if (endDate != null && current.isAfter(endDate)) {
+                break;
+            }
+
+            dates.add(current);
+
+            // Calculate next occurrence
+            if (patternType == RecurrenceType.MONTHLY) {
+                current = current.plusMonths(1);
+            } else {
+                current = current.plusDays(intervalDays);
+            }
+        }
+
+        return dates;
+    }
+
+    /**
+     * All occurrence dates of a stored pattern. Requires {@link RecurringPattern#getFirstOccurrence()}.
+     */
+    public static List<LocalDate> of(RecurringPattern pattern) {
+        return of(pattern.getFirstOccurrence(), pattern.getPatternType(), pattern.getIntervalDays(),
+                pattern.getEndDate(), pattern.getOccurrences());
+    }
+
+    public static int intervalDays(RecurrenceType patternType, Integer customIntervalDays) {
+        return switch (patternType) {
+            case WEEKLY -> 7;
+            case BIWEEKLY -> 14;
+            case MONTHLY -> 30; // Approximate, actual calculation uses plusMonths
+            case CUSTOM -> customIntervalDays != null ? customIntervalDays : 7;
+        };
+    }
+}
@@ -1,36 +1,48 @@
 package com._glab.booking_system.booking.service;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.cache.ReservationIntervalIndex;
+import com._glab.booking_system.booking.cache.ReservationIntervalIndex.IndexedReservation;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.Lab;
-import com._glab.booking_system.booking.model.LabClosedDay;
-import com._glab.booking_system.booking.model.LabOperatingHours;
 import com._glab.booking_system.booking.model.Reservation;
 import com._glab.booking_system.booking.model.ReservationStatus;
 import com._glab.booking_system.booking.model.Workstation;
-import com._glab.booking_system.booking.repository.LabClosedDayRepository;
-import com._glab.booking_system.booking.repository.LabOperatingHoursRepository;
 import com._glab.booking_system.booking.repository.LabRepository;
+import com._glab.booking_system.booking.repository.LabReservationOccupancy;
+import com._glab.booking_system.booking.repository.ReservationOccupancy;
 import com._glab.booking_system.booking.repository.ReservationRepository;
 import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
 import com._glab.booking_system.booking.repository.WorkstationRepository;
+import com._glab.booking_system.booking.response.BuildingAvailabilityResponse;
 import com._glab.booking_system.booking.response.ClosedDayResponse;
 import com._glab.booking_system.booking.response.CurrentAvailabilityResponse;
+import com._glab.booking_system.booking.response.DayOccupancyResponse;
 import com._glab.booking_system.booking.response.LabAvailabilityResponse;
+import com._glab.booking_system.booking.response.LabOccupancyResponse;
 import com._glab.booking_system.booking.response.LabWorkstationsResponse;
 import com._glab.booking_system.booking.response.OperatingHoursResponse;
 import com._glab.booking_system.booking.response.ReservationSummaryResponse;
 import com._glab.booking_system.booking.response.WorkstationResponse;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,11 +53,13 @@ import lombok.extern.slf4j.Slf4j;
 public class AvailabilityService {
 
     private final LabRepository labRepository;
-    private final LabOperatingHoursRepository operatingHoursRepository;
-    private final LabClosedDayRepository closedDayRepository;
+    private final LabScheduleCache labScheduleCache;
     private final ReservationRepository reservationRepository;
     private final ReservationWorkstationRepository reservationWorkstationRepository;
     private final WorkstationRepository workstationRepository;
+    private final ReservationIntervalIndex reservationIndex;
+    private final BookingMetrics bookingMetrics;
+    private final RecurringOccurrenceExpander occurrenceExpander;
 
     /**
      * Get weekly availability for a lab.
@@ -73,12 +87,14 @@ public class AvailabilityService {
         
         log.debug("Normalized week range: {} to {}", weekStart, weekEnd);
 
+        LabSchedule schedule = labScheduleCache.get(lab);
+
         // Get operating hours
-        List<OperatingHoursResponse> operatingHours = getOperatingHours(labId, lab);
+        List<OperatingHoursResponse> operatingHours = getOperatingHours(schedule);
         log.debug("Retrieved {} operating hours entries for lab {}", operatingHours.size(), labId);
 
         // Get closed days for this week
-        List<ClosedDayResponse> closedDays = getClosedDaysInRange(labId, weekStart, weekEnd);
+        List<ClosedDayResponse> closedDays = getClosedDaysInRange(schedule, weekStart, weekEnd);
         log.debug("Found {} closed days in range for lab {}", closedDays.size(), labId);
 
         // Get reservations for this week
@@ -87,6 +103,7 @@ public class AvailabilityService {
         
         List<ReservationSummaryResponse> reservations = getReservationsInRange(labId, startDateTime, endDateTime);
         log.debug("Found {} reservations in range for lab {}", reservations.size(), labId);
+        bookingMetrics.recordAvailabilitySize("week", reservations.size());
 
         return LabAvailabilityResponse.builder()
                 .labId(labId)
@@ -99,6 +116,71 @@ public class AvailabilityService {
                 .build();
     }
 
+    /**
+     * Get a compact weekly occupancy summary of every lab in a building.
+     *
+     * Loads all labs' schedules, active workstation counts and reservations with a fixed number of
+     * queries, however many labs the building has.
+     *
+     * @param buildingId ID of the building
+     * @param weekStart Start date of the week (Monday). If null, uses current week.
+     */
+    public BuildingAvailabilityResponse getBuildingAvailability(Integer buildingId, LocalDate weekStart) {
+        log.debug("Getting building availability for building {} starting week {}", buildingId, weekStart);
+
+        LocalDate start = (weekStart != null ? weekStart : LocalDate.now())
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate end = start.plusDays(6); // Sunday
+
+        List<Lab> labs = labRepository.findByBuildingId(buildingId);
+        List<Integer> labIds = labs.stream().map(Lab::getId).toList();
+        if (labs.isEmpty()) {
+            return BuildingAvailabilityResponse.builder()
+                    .buildingId(buildingId)
+                    .weekStart(start)
+                    .weekEnd(end)
+                    .labs(List.of())
+                    .build();
+        }
+
+        Map<Integer, LabSchedule> schedules = labScheduleCache.getAll(labs);
+        Map<Integer, Integer> workstationCounts = workstationRepository.countActiveByLabIdIn(labIds);
+        OffsetDateTime from = start.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = end.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        List<LabReservationOccupancy> rows = new ArrayList<>(reservationRepository.findOccupancyInRangeForLabs(
+                labIds, from, to, List.of(ReservationStatus.PENDING, ReservationStatus.APPROVED)));
+        occurrenceExpander.expand(labIds, from, to).forEach(occurrence -> rows.addAll(occurrence.occupancy()));
+        Map<Integer, List<LabReservationOccupancy>> occupancyByLab = rows.stream()
+                .collect(Collectors.groupingBy(LabReservationOccupancy::getLabId));
+        log.debug("Loaded availability of {} labs in building {}", labs.size(), buildingId);
+        bookingMetrics.recordAvailabilitySize("building",
+                occupancyByLab.values().stream().mapToInt(List::size).sum());
+
+        List<LabOccupancyResponse> labOccupancy = labs.stream()
+                .map(lab -> {
+                    int workstations = workstationCounts.getOrDefault(lab.getId(), 0);
+                    List<LabReservationOccupancy> occupancy = occupancyByLab.getOrDefault(lab.getId(), List.of());
+                    List<DayOccupancyResponse> days = new ArrayList<>();
+                    for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                        days.add(toDayOccupancy(schedules.get(lab.getId()), date, workstations, occupancy));
+                    }
+                    return LabOccupancyResponse.builder()
+                            .labId(lab.getId())
+                            .labName(lab.getName())
+                            .activeWorkstations(workstations)
+                            .days(days)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        return BuildingAvailabilityResponse.builder()
+                .buildingId(buildingId)
+                .weekStart(start)
+                .weekEnd(end)
+                .labs(labOccupancy)
+                .build();
+    }
+
     /**
      * Get current availability - what's happening right now.
      */
@@ -114,17 +196,26 @@ public class AvailabilityService {
         OffsetDateTime now = OffsetDateTime.now();
         
         // Check if lab is currently open
-        boolean isOpen = isLabOpenAt(labId, lab, now);
+        boolean isOpen = labScheduleCache.get(lab).isOpenAt(now);
         log.debug("Lab {} is currently {}", labId, isOpen ? "open" : "closed");
 
-        // Get current APPROVED reservations only
-        List<Reservation> currentReservations = reservationRepository.findCurrentReservations(
-                labId, now, ReservationStatus.APPROVED);
-        log.debug("Found {} current approved reservations for lab {}", currentReservations.size(), labId);
-
-        List<ReservationSummaryResponse> reservationSummaries = currentReservations.stream()
-                .map(this::toReservationSummary)
-                .collect(Collectors.toList());
+        // Get current APPROVED reservations only, from the in-memory index when it covers "now"
+        List<ReservationSummaryResponse> reservationSummaries = reservationIndex
+                .findActiveAt(labId, now, ReservationStatus.APPROVED)
+                .map(indexed -> indexed.stream()
+                        .map(this::toReservationSummary)
+                        .collect(Collectors.toList()))
+                .orElseGet(() -> {
+                    List<ReservationSummaryResponse> current = toReservationSummaries(
+                            reservationRepository.findCurrentReservations(labId, now, ReservationStatus.APPROVED));
+                    occurrenceExpander.expand(labId, now, now.plusNanos(1)).stream()
+                            .filter(occurrence -> occurrence.status() == ReservationStatus.APPROVED)
+                            .map(this::toReservationSummary)
+                            .forEach(current::add);
+                    return current;
+                });
+        log.debug("Found {} current approved reservations for lab {}", reservationSummaries.size(), labId);
+        bookingMetrics.recordAvailabilitySize("current", reservationSummaries.size());
 
         return CurrentAvailabilityResponse.builder()
                 .labId(labId)
@@ -167,8 +258,8 @@ public class AvailabilityService {
 
     // === Private helper methods ===
 
-    private List<OperatingHoursResponse> getOperatingHours(Integer labId, Lab lab) {
-        List<LabOperatingHours> hours = operatingHoursRepository.findByLabId(labId);
+    private List<OperatingHoursResponse> getOperatingHours(LabSchedule schedule) {
+        List<LabSchedule.DayHours> hours = schedule.getDayHours();
         
         // If no specific hours defined, use lab defaults for all days
         if (hours.isEmpty()) {
@@ -177,8 +268,8 @@ public class AvailabilityService {
                 boolean isSunday = (day == 0);
                 defaultHours.add(OperatingHoursResponse.builder()
                         .dayOfWeek(day)
-                        .open(isSunday ? null : lab.getDefaultOpenTime())
-                        .close(isSunday ? null : lab.getDefaultCloseTime())
+                        .open(isSunday ? null : schedule.getDefaultOpenTime())
+                        .close(isSunday ? null : schedule.getDefaultCloseTime())
                         .closed(isSunday)
                         .build());
             }
@@ -187,66 +278,133 @@ public class AvailabilityService {
 
         return hours.stream()
                 .map(h -> OperatingHoursResponse.builder()
-                        .dayOfWeek(h.getDayOfWeek())
-                        .open(h.getOpenTime())
-                        .close(h.getCloseTime())
-                        .closed(h.getIsClosed())
+                        .dayOfWeek(h.dayOfWeek())
+                        .open(h.openTime())
+                        .close(h.closeTime())
+                        .closed(h.closed())
                         .build())
                 .collect(Collectors.toList());
     }
 
-    private List<ClosedDayResponse> getClosedDaysInRange(Integer labId, LocalDate start, LocalDate end) {
-        List<LabClosedDay> specificClosures = closedDayRepository.findSpecificClosuresInRange(labId, start, end);
-        List<LabClosedDay> recurringClosures = closedDayRepository.findRecurringClosures(labId);
-
-        List<ClosedDayResponse> result = new ArrayList<>();
-
-        // Add specific closures
-        for (LabClosedDay closure : specificClosures) {
-            result.add(ClosedDayResponse.builder()
-                    .date(closure.getSpecificDate())
-                    .reason(closure.getReason())
-                    .build());
-        }
-
-        // Add recurring closures for each matching day in the range
-        for (LabClosedDay recurring : recurringClosures) {
-            LocalDate current = start;
-            while (!current.isAfter(end)) {
-                // Java DayOfWeek: MONDAY=1, SUNDAY=7. Our DB: SUNDAY=0, MONDAY=1
-                int javaDayValue = current.getDayOfWeek().getValue();
-                int ourDayValue = javaDayValue == 7 ? 0 : javaDayValue;
-                
-                if (ourDayValue == recurring.getRecurringDayOfWeek()) {
-                    result.add(ClosedDayResponse.builder()
-                            .date(current)
-                            .reason(recurring.getReason())
-                            .build());
-                }
-                current = current.plusDays(1);
-            }
-        }
-
-        return result;
+    private List<ClosedDayResponse> getClosedDaysInRange(LabSchedule schedule, LocalDate start, LocalDate end) {
+        return schedule.getClosedDaysBetween(start, end).stream()
+                .map(closure -> ClosedDayResponse.builder()
+                        .date(closure.date())
+                        .reason(closure.reason())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     private List<ReservationSummaryResponse> getReservationsInRange(
             Integer labId, OffsetDateTime start, OffsetDateTime end) {
         
-        // Get both PENDING and APPROVED reservations
+        Optional<List<IndexedReservation>> indexed = reservationIndex.findOverlapping(labId, start, end);
+        if (indexed.isPresent()) {
+            return indexed.get().stream()
+                    .map(this::toReservationSummary)
+                    .collect(Collectors.toList());
+        }
+
+        // Index miss: get both PENDING and APPROVED reservations from the database
         List<ReservationStatus> statuses = List.of(ReservationStatus.PENDING, ReservationStatus.APPROVED);
         List<Reservation> reservations = reservationRepository.findByLabIdAndTimeRangeAndStatusIn(
                 labId, start, end, statuses);
 
-        return reservations.stream()
+        // Plus the occurrences of recurring series that are not written yet
+        List<ReservationSummaryResponse> summaries = toReservationSummaries(reservations);
+        occurrenceExpander.expand(labId, start, end).stream()
                 .map(this::toReservationSummary)
-                .collect(Collectors.toList());
+                .forEach(summaries::add);
+        return summaries;
     }
 
-    private ReservationSummaryResponse toReservationSummary(Reservation reservation) {
-        List<Integer> workstationIds = reservationWorkstationRepository
-                .findWorkstationIdsByReservationId(reservation.getId());
+    /**
+     * Summaries of the given reservations that still block their lab (PENDING or APPROVED), including
+     * unwritten occurrences of the lab's recurring series. Reservations that are missing or no longer block
+     * the lab are left out.
+     *
+     * @param labId lab of the reservations, or null if unknown
+     */
+    public List<ReservationSummaryResponse> getReservationSummaries(Integer labId, Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+        List<Reservation> found = reservationRepository.findWithUserByIdIn(reservationIds);
+        List<Reservation> reservations = found.stream()
+                .filter(r -> r.getStatus() == ReservationStatus.PENDING || r.getStatus() == ReservationStatus.APPROVED)
+                .toList();
+        List<ReservationSummaryResponse> summaries = toReservationSummaries(reservations);
+
+        Set<UUID> written = found.stream().map(Reservation::getId).collect(Collectors.toSet());
+        List<UUID> unwritten = reservationIds.stream().filter(id -> !written.contains(id)).toList();
+        occurrenceExpander.findByIds(labId, unwritten).stream()
+                .map(this::toReservationSummary)
+                .forEach(summaries::add);
+        return summaries;
+    }
 
+    /**
+     * Reservation count and booked share of workstation time for one lab and day. Whole-lab bookings
+     * take every workstation; time outside opening hours does not count.
+     */
+    private DayOccupancyResponse toDayOccupancy(LabSchedule schedule, LocalDate date, int workstations,
+                                                List<LabReservationOccupancy> occupancy) {
+        OffsetDateTime dayStart = date.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime dayEnd = dayStart.plusDays(1);
+        long reservations = occupancy.stream()
+                .filter(o -> o.getStartTime().isBefore(dayEnd) && o.getEndTime().isAfter(dayStart))
+                .map(ReservationOccupancy::getReservationId)
+                .distinct()
+                .count();
+
+        Optional<LabSchedule.DayHours> hours = schedule.getOpeningHours(date);
+        if (hours.isEmpty()) {
+            return DayOccupancyResponse.builder()
+                    .date(date)
+                    .open(false)
+                    .reservations((int) reservations)
+                    .occupancyPercent(0)
+                    .build();
+        }
+
+        OffsetDateTime open = date.atTime(hours.get().openTime()).atOffset(ZoneOffset.UTC);
+        OffsetDateTime close = date.atTime(hours.get().closeTime()).atOffset(ZoneOffset.UTC);
+        int capacity = Math.max(workstations, 1);
+        long bookedMinutes = 0;
+        for (ReservationOccupancy o : occupancy) {
+            OffsetDateTime from = o.getStartTime().isAfter(open) ? o.getStartTime() : open;
+            OffsetDateTime to = o.getEndTime().isBefore(close) ? o.getEndTime() : close;
+            if (from.isBefore(to)) {
+                boolean wholeLab = Boolean.TRUE.equals(o.getWholeLab()) || o.getWorkstationId() == null;
+                bookedMinutes += Duration.between(from, to).toMinutes() * (wholeLab ? capacity : 1);
+            }
+        }
+        long capacityMinutes = Duration.between(open, close).toMinutes() * capacity;
+        int percent = capacityMinutes > 0 ? (int) Math.min(100, bookedMinutes * 100 / capacityMinutes) : 0;
+
+        return DayOccupancyResponse.builder()
+                .date(date)
+                .open(true)
+                .openTime(hours.get().openTime())
+                .closeTime(hours.get().closeTime())
+                .reservations((int) reservations)
+                .occupancyPercent(percent)
+                .build();
+    }
+
+    /**
+     * Map reservations (fetched with their users) to summaries, loading all workstation IDs in one query.
+     */
+    private List<ReservationSummaryResponse> toReservationSummaries(List<Reservation> reservations) {
+        Map<UUID, List<Integer>> workstationIds = reservationWorkstationRepository
+                .findWorkstationIdsGroupedByReservationId(reservations.stream().map(Reservation::getId).toList());
+
+        return reservations.stream()
+                .map(r -> toReservationSummary(r, workstationIds.getOrDefault(r.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private ReservationSummaryResponse toReservationSummary(Reservation reservation, List<Integer> workstationIds) {
         String userName = reservation.getUser().getFirstName() + " " + reservation.getUser().getLastName();
 
         return ReservationSummaryResponse.builder()
@@ -261,37 +419,29 @@ public class AvailabilityService {
                 .build();
     }
 
-    private boolean isLabOpenAt(Integer labId, Lab lab, OffsetDateTime dateTime) {
-        LocalDate date = dateTime.toLocalDate();
-        LocalTime time = dateTime.toLocalTime();
-        
-        // Check if it's a closed day
-        int javaDayValue = date.getDayOfWeek().getValue();
-        int dayOfWeek = javaDayValue == 7 ? 0 : javaDayValue;
-        
-        if (closedDayRepository.isLabClosedOnDate(labId, date, dayOfWeek)) {
-            return false;
-        }
-
-        // Check operating hours
-        LabOperatingHours hours = operatingHoursRepository.findByLabIdAndDayOfWeek(labId, dayOfWeek)
-                .orElse(null);
-
-        if (hours != null) {
-            if (hours.getIsClosed()) {
-                return false;
-            }
-            return !time.isBefore(hours.getOpenTime()) && time.isBefore(hours.getCloseTime());
-        }
+    private ReservationSummaryResponse toReservationSummary(ExpandedOccurrence occurrence) {
+        return ReservationSummaryResponse.builder()
+                .id(occurrence.id())
+                .date(occurrence.startTime().toLocalDate())
+                .startTime(occurrence.startTime().toLocalTime())
+                .endTime(occurrence.endTime().toLocalTime())
+                .status(occurrence.status())
+                .wholeLab(occurrence.wholeLab())
+                .workstationIds(occurrence.workstationIds())
+                .userName(occurrence.userName())
+                .build();
+    }
 
-        // Use lab defaults
-        if (dayOfWeek == 0) { // Sunday
-            return false;
-        }
-        
-        LocalTime openTime = lab.getDefaultOpenTime() != null ? lab.getDefaultOpenTime() : LocalTime.of(8, 0);
-        LocalTime closeTime = lab.getDefaultCloseTime() != null ? lab.getDefaultCloseTime() : LocalTime.of(20, 0);
-        
-        return !time.isBefore(openTime) && time.isBefore(closeTime);
+    private ReservationSummaryResponse toReservationSummary(IndexedReservation reservation) {
+        return ReservationSummaryResponse.builder()
+                .id(reservation.id())
+                .date(reservation.startTime().toLocalDate())
+                .startTime(reservation.startTime().toLocalTime())
+                .endTime(reservation.endTime().toLocalTime())
+                .status(reservation.status())
+                .wholeLab(reservation.wholeLab())
+                .workstationIds(reservation.workstationIds())
+                .userName(reservation.userName())
+                .build();
     }
 }
@@ -22,5 +22,8 @@ public class BuildingService {
         log.debug("Retrieved {} buildings", buildings.size());
         return buildings;
     }
-}
 
+    public boolean buildingExists(Integer buildingId) {
+        return buildingRepository.existsById(buildingId);
+    }
+}
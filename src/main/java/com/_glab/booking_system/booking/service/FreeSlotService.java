@@ -0,0 +1,135 @@
+package com._glab.booking_system.booking.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.exception.InvalidReservationTimeException;
+import com._glab.booking_system.booking.exception.LabNotFoundException;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.Workstation;
+import com._glab.booking_system.booking.repository.LabRepository;
+import com._glab.booking_system.booking.repository.WorkstationRepository;
+import com._glab.booking_system.booking.request.FreeSlotRequest;
+import com._glab.booking_system.booking.response.FreeSlotResponse;
+import com._glab.booking_system.booking.response.FreeSlotsResponse;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import com._glab.booking_system.booking.schedule.OccupancyBitmap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds start times at which a reservation would be accepted, so users don't have to probe with
+ * {@code POST /reservations}.
+ *
+ * The whole search window costs one occupancy query (see
+ * {@link ReservationConflictService#loadOccupancy}) plus the (cached) lab schedule and active
+ * workstations. Candidates are enumerated every {@link OccupancyBitmap#SLOT} within each day's opening
+ * hours and checked against an {@link OccupancyBitmap} in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FreeSlotService {
+
+    /**
+     * Longest window that can be searched at once, in days.
+     */
+    public static final int MAX_WINDOW_DAYS = 31;
+
+    private static final long SLOT_MINUTES = OccupancyBitmap.SLOT.toMinutes();
+
+    private final LabRepository labRepository;
+    private final LabScheduleCache labScheduleCache;
+    private final ReservationConflictService reservationConflictService;
+    private final WorkstationRepository workstationRepository;
+
+    /**
+     * First free slots in a lab, in chronological order.
+     *
+     * @throws LabNotFoundException if the lab does not exist
+     * @throws InvalidReservationTimeException if the window is reversed or too long
+     */
+    public FreeSlotsResponse findFreeSlots(Integer labId, FreeSlotRequest request) {
+        Lab lab = labRepository.findById(labId)
+                .orElseThrow(() -> {
+                    log.warn("Lab not found when searching free slots: {}", labId);
+                    return new LabNotFoundException(labId);
+                });
+
+        LocalDate from = request.getFrom() != null ? request.getFrom() : LocalDate.now(ZoneOffset.UTC);
+        LocalDate to = request.getTo() != null ? request.getTo() : from.plusDays(6);
+        if (to.isBefore(from)) {
+            throw new InvalidReservationTimeException("Search window must not end before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            throw new InvalidReservationTimeException("Search window must be at most " + MAX_WINDOW_DAYS + " days");
+        }
+
+        boolean wholeLab = Boolean.TRUE.equals(request.getWholeLab());
+        int needed = request.getWorkstations() != null ? request.getWorkstations() : 1;
+        int limit = request.getLimit() != null ? request.getLimit() : 10;
+        long durationMinutes = request.getDurationMinutes();
+
+        LabSchedule schedule = labScheduleCache.get(lab);
+        List<Integer> workstationIds = workstationRepository.findByLabIdAndActiveTrue(labId).stream()
+                .map(Workstation::getId)
+                .toList();
+
+        OffsetDateTime windowStart = from.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime windowEnd = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OccupancyBitmap bitmap = reservationConflictService.loadOccupancy(labId, windowStart, windowEnd);
+        OffsetDateTime earliest = OffsetDateTime.now(ZoneOffset.UTC);
+
+        List<FreeSlotResponse> slots = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to) && slots.size() < limit; date = date.plusDays(1)) {
+            LabSchedule.DayHours hours = schedule.getOpeningHours(date).orElse(null);
+            if (hours == null) {
+                continue;
+            }
+            OffsetDateTime dayStart = date.atStartOfDay().atOffset(ZoneOffset.UTC);
+            long openMinute = roundUpToSlot(hours.openTime().toSecondOfDay() / 60);
+            long closeMinute = hours.closeTime().toSecondOfDay() / 60;
+
+            for (long minute = openMinute; minute + durationMinutes <= closeMinute && slots.size() < limit;
+                 minute += SLOT_MINUTES) {
+                OffsetDateTime start = dayStart.plusMinutes(minute);
+                if (start.isBefore(earliest)) {
+                    continue;
+                }
+                OffsetDateTime end = start.plusMinutes(durationMinutes);
+                if (wholeLab) {
+                    if (!bitmap.mayBeOccupied(start, end)) {
+                        slots.add(new FreeSlotResponse(start, end, List.of()));
+                    }
+                    continue;
+                }
+                List<Integer> free = bitmap.freeWorkstations(workstationIds, start, end);
+                if (free.size() >= needed) {
+                    slots.add(new FreeSlotResponse(start, end, free));
+                }
+            }
+        }
+        log.debug("Found {} free slots of {} minutes in lab {} between {} and {}",
+                slots.size(), durationMinutes, labId, from, to);
+
+        return FreeSlotsResponse.builder()
+                .labId(labId)
+                .from(from)
+                .to(to)
+                .durationMinutes((int) durationMinutes)
+                .slots(slots)
+                .build();
+    }
+
+    private static long roundUpToSlot(long minute) {
+        return (minute + SLOT_MINUTES - 1) / SLOT_MINUTES * SLOT_MINUTES;
+    }
+}
@@ -0,0 +1,65 @@
+package com._glab.booking_system.booking.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com._glab.booking_system.booking.repository.ReservationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serializes conflict checks and booking writes per lab, across every application instance.
+ *
+ * Each lab is its own stripe: creating, approving and editing reservations in one lab wait for each other,
+ * while other labs are unaffected. The stripe is a PostgreSQL advisory lock held until the surrounding
+ * transaction ends, so callers lock first, then check for conflicts and write. Time spent waiting is
+ * published per lab as {@code booking.lab.lock.wait}.
+ */
+@Service
+@Slf4j
+public class LabLockService {
+
+    private final ReservationRepository reservationRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    public LabLockService(ReservationRepository reservationRepository, MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wait for the lab's lock; it is held until the current transaction ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Integer labId) {
+        long started = System.nanoTime();
+        reservationRepository.lockLab(labId);
+        long waited = System.nanoTime() - started;
+        waitTimer(labId).record(waited, TimeUnit.NANOSECONDS);
+        log.debug("Locked lab {} after {} ms", labId, waited / 1_000_000);
+    }
+
+    /**
+     * Lock several labs in ascending ID order, so two callers locking overlapping sets cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockAll(Collection<Integer> labIds) {
+        labIds.stream().distinct().sorted().forEach(this::lock);
+    }
+
+    private Timer waitTimer(Integer labId) {
+        return waitTimers.computeIfAbsent(labId, id -> Timer.builder("booking.lab.lock.wait")
+                .description("Time spent waiting for a lab's booking lock")
+                .tag("lab", String.valueOf(id))
+                .register(meterRegistry));
+    }
+}
@@ -1,6 +1,8 @@
 package com._glab.booking_system.booking.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -157,6 +159,39 @@ public class LabManagerAuthorizationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Build a check for whether the user may manage a lab, loading the user's managed labs once.
+     * Use this instead of {@link #isLabManagerForLab} when checking many reservations at a time.
+     *
+     * @param user The user
+     * @return Predicate accepting the IDs of labs the user can manage (every lab for admins)
+     */
+    public Predicate<Integer> managedLabFilter(User user) {
+        if (user == null) {
+            return labId -> false;
+        }
+        if (isAdmin(user)) {
+            return labId -> true;
+        }
+        Set<Integer> labIds = getAssignedLabIds(user);
+        log.debug("User {} manages labs {}", user.getEmail(), labIds);
+        return labIds::contains;
+    }
+
+    /**
+     * Get the IDs of labs the user is assigned to as a lab manager, in a single query.
+     * Admin rights are not taken into account.
+     *
+     * @param user The user
+     * @return IDs of the labs the user is assigned to
+     */
+    public Set<Integer> getAssignedLabIds(User user) {
+        if (user == null) {
+            return Set.of();
+        }
+        return labManagerRepository.findLabIdsByUserId(user.getId());
+    }
+
     /**
      * Get pending reservations for a user.
      * For admins: returns all pending reservations across all labs.
@@ -0,0 +1,323 @@
+package com._glab.booking_system.booking.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com._glab.booking_system.booking.model.RecurrenceExceptionDate;
+import com._glab.booking_system.booking.model.RecurrenceType;
+import com._glab.booking_system.booking.model.RecurringPattern;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.LabReservationOccupancy;
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.schedule.RecurrenceDates;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expands the occurrences of lazily expanded recurring series that are not written yet (see
+ * {@code booking.recurring.lazy-expansion}) from the template stored on their {@link RecurringPattern}.
+ *
+ * Every read path that lists or checks bookings adds these occurrences for the window it asks for.
+ * Each occurrence has a stable ID derived from its series and date ({@link #occurrenceId}), so it can be
+ * paged, sent in change events and replaced once {@link RecurringSeriesService} writes it. Dates in the
+ * series' exception table are not expanded. Series created before the template existed are not expanded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringOccurrenceExpander {
+
+    /**
+     * Statuses of series whose unwritten occurrences hold their time slot.
+     */
+    public static final List<ReservationStatus> EXPANDED_STATUSES = List.of(
+            ReservationStatus.PENDING,
+            ReservationStatus.APPROVED);
+
+    /** Distinct recurrence rules whose dates are kept; each is a list of at most a few hundred dates. */
+    private static final int MAX_CACHED_RULES = 1_000;
+
+    private final RecurringPatternRepository recurringPatternRepository;
+    private final RecurrenceExceptionDateRepository exceptionDateRepository;
+
+    /** Occurrence dates per rule, least recently used first. Guarded by itself. */
+    private final Map<Rule, List<LocalDate>> dates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Rule, List<LocalDate>> eldest) {
+            return size() > MAX_CACHED_RULES;
+        }
+    };
+
+    /**
+     * An occurrence of a series that is not written yet.
+     */
+    public record ExpandedOccurrence(
+            UUID id,
+            UUID recurringGroupId,
+            Integer labId,
+            String labName,
+            OffsetDateTime startTime,
+            OffsetDateTime endTime,
+            ReservationStatus status,
+            boolean wholeLab,
+            List<Integer> workstationIds,
+            String description,
+            Integer userId,
+            String userName) {
+
+        public ExpandedOccurrence {
+            workstationIds = List.copyOf(workstationIds);
+        }
+
+        /**
+         * The occurrence as occupancy rows, one per workstation or a single row for the whole lab.
+         */
+        public List<Occupancy> occupancy() {
+            if (wholeLab || workstationIds.isEmpty()) {
+                return List.of(new Occupancy(this, true, null));
+            }
+            return workstationIds.stream().map(workstationId -> new Occupancy(this, false, workstationId)).toList();
+        }
+    }
+
+    /**
+     * Occupancy row of an unwritten occurrence, carrying its series so it can be ignored with it.
+     */
+    public record Occupancy(ExpandedOccurrence occurrence, Boolean wholeLab, Integer workstationId)
+            implements LabReservationOccupancy {
+
+        @Override
+        public UUID getReservationId() {
+            return occurrence.id();
+        }
+
+        public UUID getRecurringGroupId() {
+            return occurrence.recurringGroupId();
+        }
+
+        @Override
+        public Integer getLabId() {
+            return occurrence.labId();
+        }
+
+        @Override
+        public OffsetDateTime getStartTime() {
+            return occurrence.startTime();
+        }
+
+        @Override
+        public OffsetDateTime getEndTime() {
+            return occurrence.endTime();
+        }
+
+        @Override
+        public Boolean getWholeLab() {
+            return wholeLab;
+        }
+
+        @Override
+        public Integer getWorkstationId() {
+            return workstationId;
+        }
+    }
+
+    private record Rule(LocalDate firstOccurrence, RecurrenceType patternType, Integer intervalDays,
+                        LocalDate endDate, Integer occurrences) {
+
+        static Rule of(RecurringPattern pattern) {
+            return new Rule(pattern.getFirstOccurrence(), pattern.getPatternType(), pattern.getIntervalDays(),
+                    pattern.getEndDate(), pattern.getOccurrences());
+        }
+    }
+
+    /**
+     * ID of the unwritten occurrence of a series on a date. The same on every instance and every call.
+     */
+    public static UUID occurrenceId(UUID recurringGroupId, LocalDate date) {
+        return UUID.nameUUIDFromBytes((recurringGroupId + "/" + date).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Unwritten occurrences of a lab's series overlapping [from, to), ordered by series and start time.
+     */
+    public List<ExpandedOccurrence> expand(Integer labId, OffsetDateTime from, OffsetDateTime to) {
+        return expand(List.of(labId), from, to);
+    }
+
+    /**
+     * Unwritten occurrences of the given labs' series overlapping [from, to), loaded with one query.
+     */
+    public List<ExpandedOccurrence> expand(Collection<Integer> labIds, OffsetDateTime from, OffsetDateTime to) {
+        if (labIds.isEmpty()) {
+            return List.of();
+        }
+        return expandPatterns(recurringPatternRepository.findExpandableForLabs(labIds, EXPANDED_STATUSES), from, to);
+    }
+
+    /**
+     * Unwritten occurrences of a requester's series ending after from and starting before to; null bounds
+     * are open.
+     */
+    public List<ExpandedOccurrence> expandForUser(Integer userId, OffsetDateTime from, OffsetDateTime to) {
+        return expandPatterns(recurringPatternRepository.findExpandableForUser(userId, EXPANDED_STATUSES), from, to);
+    }
+
+    /**
+     * Unwritten occurrences of every series ending after from.
+     */
+    public List<ExpandedOccurrence> expandAll(OffsetDateTime from) {
+        return expandPatterns(recurringPatternRepository.findExpandable(EXPANDED_STATUSES), from, null);
+    }
+
+    /**
+     * Every unwritten occurrence of one series, e.g. to check a change of its template.
+     */
+    public List<ExpandedOccurrence> expand(RecurringPattern pattern) {
+        return expandPatterns(List.of(pattern), null, null);
+    }
+
+    /**
+     * The current state of the given unwritten occurrences of a lab's series. IDs of occurrences that are
+     * written by now, or whose series ended, are left out, like any other ID.
+     */
+    public List<ExpandedOccurrence> findByIds(Integer labId, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<RecurringPattern> patterns = labId != null
+                ? recurringPatternRepository.findExpandableForLabs(List.of(labId), EXPANDED_STATUSES)
+                : recurringPatternRepository.findExpandable(EXPANDED_STATUSES);
+        Set<UUID> wanted = ids instanceof Set<UUID> set ? set : new HashSet<>(ids);
+        return expandPatterns(patterns, null, null).stream()
+                .filter(occurrence -> wanted.contains(occurrence.id()))
+                .toList();
+    }
+
+    /**
+     * IDs of a series' unwritten occurrences, e.g. to announce a change of its template.
+     */
+    public List<UUID> occurrenceIds(RecurringPattern pattern) {
+        if (pattern.getMaterializedUntil() == null || pattern.getFirstOccurrence() == null) {
+            return List.of();
+        }
+        return occurrenceIds(pattern, pattern.getMaterializedUntil(), null);
+    }
+
+    /**
+     * IDs of a series' occurrences after one date and up to another (inclusive, null for the series' end).
+     */
+    public List<UUID> occurrenceIds(RecurringPattern pattern, LocalDate after, LocalDate until) {
+        List<LocalDate> all = dates(pattern);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = firstIndexOnOrAfter(all, after.plusDays(1)); i < all.size(); i++) {
+            LocalDate date = all.get(i);
+            if (until != null && date.isAfter(until)) {
+                break;
+            }
+            ids.add(occurrenceId(pattern.getRecurringGroupId(), date));
+        }
+        return ids;
+    }
+
+    /**
+     * All occurrence dates of a series, derived once per recurrence rule.
+     */
+    public List<LocalDate> dates(RecurringPattern pattern) {
+        Rule rule = Rule.of(pattern);
+        synchronized (dates) {
+            List<LocalDate> cached = dates.get(rule);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<LocalDate> computed = List.copyOf(RecurrenceDates.of(pattern));
+        synchronized (dates) {
+            dates.put(rule, computed);
+        }
+        return computed;
+    }
+
+    private List<ExpandedOccurrence> expandPatterns(List<RecurringPattern> patterns, OffsetDateTime from,
+                                                    OffsetDateTime to) {
+        if (patterns.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Set<LocalDate>> exceptions = exceptionDateRepository
+                .findByRecurringGroupIdIn(patterns.stream().map(RecurringPattern::getRecurringGroupId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(RecurrenceExceptionDate::getRecurringGroupId,
+                        Collectors.mapping(RecurrenceExceptionDate::getOccurrenceDate, Collectors.toSet())));
+
+        // One day of slack on both ends for occurrences at an offset other than the window's
+        LocalDate fromDate = from != null ? from.toLocalDate().minusDays(1) : null;
+        LocalDate toDate = to != null ? to.toLocalDate().plusDays(1) : null;
+
+        List<ExpandedOccurrence> expanded = new ArrayList<>();
+        for (RecurringPattern pattern : patterns) {
+            if (!pattern.hasTemplate() || pattern.getMaterializedUntil() == null) {
+                continue;
+            }
+            Set<LocalDate> skipped = exceptions.getOrDefault(pattern.getRecurringGroupId(), Set.of());
+            List<LocalDate> all = dates(pattern);
+            LocalDate first = pattern.getMaterializedUntil().plusDays(1);
+            if (fromDate != null && fromDate.isAfter(first)) {
+                first = fromDate;
+            }
+            for (int i = firstIndexOnOrAfter(all, first); i < all.size(); i++) {
+                LocalDate date = all.get(i);
+                if (toDate != null && date.isAfter(toDate)) {
+                    break;
+                }
+                if (skipped.contains(date)) {
+                    continue;
+                }
+                OffsetDateTime start = pattern.occurrenceStart(date);
+                OffsetDateTime end = pattern.occurrenceEnd(date);
+                if ((to != null && !start.isBefore(to)) || (from != null && !end.isAfter(from))) {
+                    continue;
+                }
+                expanded.add(toOccurrence(pattern, date, start, end));
+            }
+        }
+        log.debug("Expanded {} unwritten occurrences of {} series", expanded.size(), patterns.size());
+        return expanded;
+    }
+
+    private static ExpandedOccurrence toOccurrence(RecurringPattern pattern, LocalDate date,
+                                                   OffsetDateTime start, OffsetDateTime end) {
+        boolean wholeLab = Boolean.TRUE.equals(pattern.getWholeLab());
+        return new ExpandedOccurrence(
+                occurrenceId(pattern.getRecurringGroupId(), date),
+                pattern.getRecurringGroupId(),
+                pattern.getLab().getId(),
+                pattern.getLab().getName(),
+                start,
+                end,
+                pattern.getStatus(),
+                wholeLab,
+                wholeLab ? List.of() : pattern.getWorkstationIds().stream().sorted().toList(),
+                pattern.getDescription(),
+                pattern.getUser().getId(),
+                pattern.getUser().getFirstName() + " " + pattern.getUser().getLastName());
+    }
+
+    private static int firstIndexOnOrAfter(List<LocalDate> dates, LocalDate date) {
+        int index = Collections.binarySearch(dates, date);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,331 @@
+package com._glab.booking_system.booking.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+import com._glab.booking_system.booking.exception.LabClosedException;
+import com._glab.booking_system.booking.exception.OutsideOperatingHoursException;
+import com._glab.booking_system.booking.model.RecurrenceExceptionDate;
+import com._glab.booking_system.booking.model.RecurrenceExceptionType;
+import com._glab.booking_system.booking.model.RecurringPattern;
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.model.ReservationWorkstation;
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.repository.WorkstationRepository;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
+import com._glab.booking_system.booking.service.ReservationConflictService.TimeRange;
+import com._glab.booking_system.user.model.User;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes occurrences of lazily expanded recurring series (see {@code booking.recurring.lazy-expansion})
+ * as they come within {@code booking.recurring.horizon-days}.
+ *
+ * New occurrences are written from the occurrence template stored on the series' pattern, which group edits
+ * and approvals keep up to date, and take the series' status. Occurrences that would fall on a closure,
+ * outside operating hours or onto another booking are skipped: their dates are recorded as exceptions of the
+ * series and the requester is told about them in one email per series.
+ */
+@Service
+@Slf4j
+public class RecurringSeriesService {
+
+    private final RecurringPatternRepository recurringPatternRepository;
+    private final RecurrenceExceptionDateRepository exceptionDateRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationWorkstationRepository reservationWorkstationRepository;
+    private final WorkstationRepository workstationRepository;
+    private final LabScheduleCache labScheduleCache;
+    private final ReservationConflictService conflictService;
+    private final RecurringOccurrenceExpander occurrenceExpander;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailService emailService;
+    private final BookingProperties bookingProperties;
+    private final ReservationSlotService reservationSlotService;
+    private final LabLockService labLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecurringSeriesService(RecurringPatternRepository recurringPatternRepository,
+                                  RecurrenceExceptionDateRepository exceptionDateRepository,
+                                  ReservationRepository reservationRepository,
+                                  ReservationWorkstationRepository reservationWorkstationRepository,
+                                  WorkstationRepository workstationRepository,
+                                  LabScheduleCache labScheduleCache,
+                                  ReservationConflictService conflictService,
+                                  RecurringOccurrenceExpander occurrenceExpander,
+                                  ApplicationEventPublisher eventPublisher,
+                                  EmailService emailService,
+                                  BookingProperties bookingProperties,
+                                  ReservationSlotService reservationSlotService,
+                                  LabLockService labLockService,
+                                  PlatformTransactionManager transactionManager) {
+        this.recurringPatternRepository = recurringPatternRepository;
+        this.exceptionDateRepository = exceptionDateRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationWorkstationRepository = reservationWorkstationRepository;
+        this.workstationRepository = workstationRepository;
+        this.labScheduleCache = labScheduleCache;
+        this.conflictService = conflictService;
+        this.occurrenceExpander = occurrenceExpander;
+        this.eventPublisher = eventPublisher;
+        this.emailService = emailService;
+        this.bookingProperties = bookingProperties;
+        this.reservationSlotService = reservationSlotService;
+        this.labLockService = labLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Write every occurrence that came within the horizon, one transaction per series.
+     *
+     * Every instance runs this job. Each series is locked and re-read in its transaction, after its lab's
+     * booking lock, so conflicts are checked and occurrences written by one instance at a time; a series
+     * another instance holds or has already extended is skipped.
+     */
+    @Scheduled(cron = "0 30 2 * * *")
+    public void extendSeries() {
+        LocalDate horizon = LocalDate.now().plusDays(bookingProperties.getRecurring().getHorizonDays());
+        List<RecurringPattern> patterns = recurringPatternRepository.findUnmaterializedBefore(horizon);
+        log.debug("Extending {} recurring series up to {}", patterns.size(), horizon);
+        for (RecurringPattern pattern : patterns) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Lab first, then the series, in the same order as every other booking write
+                    labLockService.lock(pattern.getLab().getId());
+                    recurringPatternRepository.lockForExtension(pattern.getId())
+                            .filter(locked -> Objects.equals(locked.getMaterializedUntil(), pattern.getMaterializedUntil()))
+                            .ifPresentOrElse(
+                                    locked -> extend(locked, horizon),
+                                    () -> log.debug("Recurring group {} is being or has been extended elsewhere, skipping",
+                                            pattern.getRecurringGroupId()));
+                });
+            } catch (RuntimeException e) {
+                log.error("Failed to extend recurring group {}: {}", pattern.getRecurringGroupId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write the occurrences of one series up to the horizon. Runs holding the lab's booking lock and the
+     * series' row lock.
+     *
+     * @return IDs of the written reservations
+     */
+    List<UUID> extend(RecurringPattern pattern, LocalDate horizon) {
+        UUID groupId = pattern.getRecurringGroupId();
+        if (!pattern.hasTemplate()) {
+            // Series created before the template existed continue from their latest occurrence
+            Optional<Reservation> latest = reservationRepository.findLatestInRecurringGroups(
+                    List.of(groupId), ReservationConflictService.BLOCKING_STATUSES).stream().findFirst();
+            if (latest.isEmpty()) {
+                endSeries(pattern, "it has no active occurrences");
+                return List.of();
+            }
+            backfillTemplate(pattern, latest.get());
+        }
+        if (!RecurringOccurrenceExpander.EXPANDED_STATUSES.contains(pattern.getStatus())) {
+            endSeries(pattern, "it is " + pattern.getStatus());
+            return List.of();
+        }
+        if (reservationRepository.existsByRecurringGroupIdAndStatus(groupId, ReservationStatus.PENDING_EDIT_APPROVAL)) {
+            log.debug("Recurring group {} has an edit awaiting approval, extending it later", groupId);
+            return List.of();
+        }
+
+        Integer labId = pattern.getLab().getId();
+        boolean wholeLab = Boolean.TRUE.equals(pattern.getWholeLab());
+        List<Integer> workstationIds = wholeLab ? List.of() : List.copyOf(pattern.getWorkstationIds());
+        LabSchedule schedule = labScheduleCache.get(pattern.getLab());
+        LocalDate materializedUntil = pattern.getMaterializedUntil();
+
+        Set<LocalDate> exceptions = exceptionDateRepository.findByRecurringGroupIdIn(List.of(groupId)).stream()
+                .map(RecurrenceExceptionDate::getOccurrenceDate)
+                .collect(Collectors.toSet());
+        List<LocalDate> dates = occurrenceExpander.dates(pattern);
+        List<Reservation> occurrences = new ArrayList<>();
+        List<RecurrenceExceptionDate> skipped = new ArrayList<>();
+        for (LocalDate date : dates) {
+            if (!date.isAfter(materializedUntil) || date.isAfter(horizon) || exceptions.contains(date)) {
+                continue;
+            }
+            OffsetDateTime start = pattern.occurrenceStart(date);
+            OffsetDateTime end = pattern.occurrenceEnd(date);
+            try {
+                schedule.validate(start, end);
+            } catch (LabClosedException | OutsideOperatingHoursException e) {
+                log.info("Skipping occurrence of recurring group {} on {}: {}", groupId, date, e.getMessage());
+                skipped.add(new RecurrenceExceptionDate(groupId, date, RecurrenceExceptionType.SKIPPED,
+                        e.getMessage()));
+                continue;
+            }
+            // The occurrence is expanded from the series until now and must not conflict with itself
+            if (conflictService.findFirstConflict(labId, List.of(new TimeRange(start, end)), wholeLab,
+                    workstationIds, Set.of(RecurringOccurrenceExpander.occurrenceId(groupId, date))).isPresent()) {
+                log.info("Skipping occurrence of recurring group {} on {}: conflicts with another booking",
+                        groupId, date);
+                skipped.add(new RecurrenceExceptionDate(groupId, date, RecurrenceExceptionType.SKIPPED,
+                        "Conflicts with another booking"));
+                continue;
+            }
+            Reservation reservation = newOccurrence(pattern, start, end);
+            reservation.setStatus(pattern.getStatus());
+            occurrences.add(reservation);
+        }
+
+        LocalDate last = dates.get(dates.size() - 1);
+        pattern.setMaterializedUntil(last.isAfter(horizon) ? horizon : null);
+        recurringPatternRepository.save(pattern);
+        if (!skipped.isEmpty()) {
+            exceptionDateRepository.saveAll(skipped);
+            sendOccurrencesSkippedEmail(pattern, skipped);
+        }
+        // Occurrences up to the horizon are no longer expanded, whether written or skipped
+        List<UUID> replaced = occurrenceExpander.occurrenceIds(pattern, materializedUntil, horizon);
+        if (occurrences.isEmpty()) {
+            if (!replaced.isEmpty()) {
+                eventPublisher.publishEvent(new ReservationChangedEvent(labId, replaced));
+            }
+            return List.of();
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(occurrences);
+        if (!wholeLab && !workstationIds.isEmpty()) {
+            List<ReservationWorkstation> assignments = new ArrayList<>(saved.size() * workstationIds.size());
+            for (Reservation reservation : saved) {
+                for (Integer workstationId : workstationIds) {
+                    assignments.add(new ReservationWorkstation(reservation, workstationRepository.getReferenceById(workstationId)));
+                }
+            }
+            reservationWorkstationRepository.saveAll(assignments);
+        }
+
+        List<UUID> ids = saved.stream().map(Reservation::getId).toList();
+        if (pattern.getStatus() == ReservationStatus.APPROVED) {
+            // Occurrences of an approved series are approved and claim their slots like any approval
+            reservationSlotService.hold(ids);
+        }
+        List<UUID> changed = new ArrayList<>(ids);
+        changed.addAll(replaced);
+        eventPublisher.publishEvent(new ReservationChangedEvent(labId, changed));
+        log.info("Wrote {} occurrences of recurring group {} up to {}", ids.size(), groupId, horizon);
+        return ids;
+    }
+
+    /**
+     * Write an unwritten occurrence of a recurring series ahead of the rest, so it can be changed on its own.
+     * Its date is recorded as an exception of the series and no longer expanded from the template.
+     *
+     * @return the written reservation, or empty if the ID is not an unwritten occurrence
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Reservation> writeOccurrence(UUID occurrenceId) {
+        Optional<ExpandedOccurrence> found = occurrenceExpander.findByIds(null, List.of(occurrenceId)).stream()
+                .findFirst();
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        ExpandedOccurrence occurrence = found.get();
+        labLockService.lock(occurrence.labId());
+        LocalDate date = occurrence.startTime().toLocalDate();
+        UUID groupId = occurrence.recurringGroupId();
+        Optional<RecurringPattern> pattern = recurringPatternRepository.findByRecurringGroupId(groupId);
+        if (pattern.isEmpty() || exceptionDateRepository.existsByRecurringGroupIdAndOccurrenceDate(groupId, date)) {
+            // Written by a concurrent request while waiting for the lock
+            return Optional.empty();
+        }
+
+        Reservation reservation = newOccurrence(pattern.get(), occurrence.startTime(), occurrence.endTime());
+        reservation.setStatus(occurrence.status());
+        Reservation saved = reservationRepository.save(reservation);
+        if (!occurrence.wholeLab()) {
+            reservationWorkstationRepository.saveAll(occurrence.workstationIds().stream()
+                    .map(id -> new ReservationWorkstation(saved, workstationRepository.getReferenceById(id)))
+                    .toList());
+        }
+        exceptionDateRepository.save(new RecurrenceExceptionDate(groupId, date,
+                RecurrenceExceptionType.MODIFIED, "Written ahead of the series to be changed on its own"));
+        if (saved.getStatus() == ReservationStatus.APPROVED) {
+            reservationSlotService.hold(List.of(saved.getId()));
+        }
+        eventPublisher.publishEvent(new ReservationChangedEvent(occurrence.labId(),
+                List.of(occurrenceId, saved.getId())));
+        log.info("Wrote occurrence {} of recurring group {} on {} ahead of the series as {}",
+                occurrenceId, groupId, date, saved.getId());
+        return Optional.of(saved);
+    }
+
+    private void endSeries(RecurringPattern pattern, String reason) {
+        log.info("Recurring group {} has ended, not extending it: {}", pattern.getRecurringGroupId(), reason);
+        pattern.setMaterializedUntil(null);
+        recurringPatternRepository.save(pattern);
+    }
+
+    /**
+     * Tell the requester which occurrences of their series were skipped. Queued in the outbox, so it is only
+     * sent if the series' extension commits.
+     */
+    private void sendOccurrencesSkippedEmail(RecurringPattern pattern, List<RecurrenceExceptionDate> skipped) {
+        User requester = pattern.getUser();
+        List<String> lines = skipped.stream()
+                .map(exception -> String.format("%s - %s: %s",
+                        pattern.occurrenceStart(exception.getOccurrenceDate()),
+                        pattern.occurrenceEnd(exception.getOccurrenceDate()),
+                        exception.getReason()))
+                .toList();
+        emailService.sendRecurringOccurrencesSkippedEmail(
+                requester.getEmail(),
+                requester.getFirstName() + " " + requester.getLastName(),
+                pattern.getLab().getName(),
+                lines);
+    }
+
+    private void backfillTemplate(RecurringPattern pattern, Reservation latest) {
+        List<Integer> workstationIds = reservationWorkstationRepository
+                .findWorkstationIdsByReservationId(latest.getId());
+        pattern.setUser(latest.getUser());
+        pattern.applyTemplate(latest.getStartTime(), latest.getEndTime(), latest.getDescription(),
+                latest.getWholeLab(), workstationIds);
+        pattern.setStatus(latest.getStatus() == ReservationStatus.APPROVED
+                ? ReservationStatus.APPROVED
+                : ReservationStatus.PENDING);
+        log.info("Stored the occurrence template of recurring group {} from its latest occurrence",
+                pattern.getRecurringGroupId());
+    }
+
+    private static Reservation newOccurrence(RecurringPattern pattern, OffsetDateTime start, OffsetDateTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setLab(pattern.getLab());
+        reservation.setUser(pattern.getUser());
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setDescription(pattern.getDescription());
+        reservation.setWholeLab(pattern.getWholeLab());
+        reservation.setRecurringGroupId(pattern.getRecurringGroupId());
+        return reservation;
+    }
+}
@@ -0,0 +1,259 @@
+package com._glab.booking_system.booking.service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com._glab.booking_system.booking.exception.ReservationConflictException;
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.ReservationOccupancy;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.schedule.OccupancyBitmap;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.Occupancy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects overlaps between requested reservation times and existing workstation or whole-lab bookings.
+ *
+ * All requested time ranges (e.g. every occurrence of a recurring series) are checked against a
+ * single range query, folded into an {@link OccupancyBitmap}; only bitmap hits are confirmed
+ * against exact times. Occurrences of lazily expanded recurring series that are not written yet
+ * are expanded from their templates for the queried window by {@link RecurringOccurrenceExpander}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationConflictService {
+
+    /**
+     * Statuses that hold their time slot.
+     */
+    public static final List<ReservationStatus> BLOCKING_STATUSES = List.of(
+            ReservationStatus.PENDING,
+            ReservationStatus.APPROVED,
+            ReservationStatus.PENDING_EDIT_APPROVAL);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationWorkstationRepository reservationWorkstationRepository;
+    private final RecurringOccurrenceExpander occurrenceExpander;
+
+    public record TimeRange(OffsetDateTime start, OffsetDateTime end) {
+
+        boolean overlaps(OffsetDateTime otherStart, OffsetDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+
+    /**
+     * An existing booking overlapping one of the requested ranges.
+     *
+     * @param workstationId the contested workstation, or null when the existing booking is for the whole lab
+     */
+    public record Conflict(TimeRange requested, UUID reservationId, Integer workstationId,
+                           OffsetDateTime start, OffsetDateTime end) {
+
+        public String describe() {
+            String what = workstationId != null
+                    ? "Workstation " + workstationId + " is"
+                    : "The whole lab is";
+            return what + " already booked from " + start + " to " + end;
+        }
+    }
+
+    /**
+     * Throw {@link ReservationConflictException} if any requested range overlaps an existing booking.
+     */
+    public void assertNoConflicts(Integer labId, List<TimeRange> ranges, boolean wholeLab,
+                                  Collection<Integer> workstationIds, Collection<UUID> ignoredReservationIds) {
+        Optional<Conflict> conflict = findFirstConflict(labId, ranges, wholeLab, workstationIds, ignoredReservationIds);
+        if (conflict.isPresent()) {
+            log.warn("Reservation conflict in lab {}: {}", labId, conflict.get().describe());
+            throw new ReservationConflictException(conflict.get().describe());
+        }
+    }
+
+    /**
+     * Throw {@link ReservationConflictException} if a written reservation overlaps another booking of its lab,
+     * e.g. one written by a concurrent request after the reservation itself was checked.
+     */
+    public void assertNoConflicts(Reservation reservation) {
+        boolean wholeLab = Boolean.TRUE.equals(reservation.getWholeLab());
+        List<Integer> workstationIds = wholeLab
+                ? List.of()
+                : reservationWorkstationRepository.findWorkstationIdsByReservationId(reservation.getId());
+        assertNoConflicts(reservation.getLab().getId(),
+                List.of(new TimeRange(reservation.getStartTime(), reservation.getEndTime())),
+                wholeLab, workstationIds, List.of(reservation.getId()));
+    }
+
+    /**
+     * IDs of the given written reservations that overlap another booking of their lab, e.g. one written by
+     * a concurrent request since they were created. Each lab's bookings are loaded with one query for the
+     * whole batch, and a reservation is only exempt from conflicting with itself.
+     */
+    public Set<UUID> findConflicting(Collection<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return Set.of();
+        }
+
+        Map<UUID, List<Integer>> workstationIds = reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(
+                reservations.stream()
+                        .filter(r -> !Boolean.TRUE.equals(r.getWholeLab()))
+                        .map(Reservation::getId)
+                        .toList());
+        Map<Integer, List<Reservation>> byLab = reservations.stream()
+                .collect(Collectors.groupingBy(r -> r.getLab().getId()));
+
+        Set<UUID> conflicting = new LinkedHashSet<>();
+        byLab.forEach((labId, labReservations) -> {
+            OffsetDateTime from = labReservations.stream().map(Reservation::getStartTime).min(Comparator.naturalOrder()).get();
+            OffsetDateTime to = labReservations.stream().map(Reservation::getEndTime).max(Comparator.naturalOrder()).get();
+            List<ReservationOccupancy> occupancy = findOccupancy(labId, from, to);
+            for (Reservation reservation : labReservations) {
+                boolean wholeLab = Boolean.TRUE.equals(reservation.getWholeLab());
+                List<Integer> requestedWorkstations = workstationIds.getOrDefault(reservation.getId(), List.of());
+                TimeRange range = new TimeRange(reservation.getStartTime(), reservation.getEndTime());
+                boolean conflicts = occupancy.stream()
+                        .filter(o -> !reservation.getId().equals(o.getReservationId()))
+                        .anyMatch(o -> contests(o, wholeLab, requestedWorkstations)
+                                && range.overlaps(o.getStartTime(), o.getEndTime()));
+                if (conflicts) {
+                    conflicting.add(reservation.getId());
+                }
+            }
+        });
+        if (!conflicting.isEmpty()) {
+            log.warn("{} of {} reservations overlap other bookings: {}", conflicting.size(), reservations.size(), conflicting);
+        }
+        return conflicting;
+    }
+
+    /**
+     * Find the earliest conflict between the requested ranges and existing bookings of the lab.
+     *
+     * @param wholeLab whether the request is for the whole lab (conflicts with any booking)
+     * @param workstationIds requested workstations when not booking the whole lab
+     * @param ignoredReservationIds reservations being edited, which must not conflict with themselves
+     */
+    public Optional<Conflict> findFirstConflict(Integer labId, List<TimeRange> ranges, boolean wholeLab,
+                                                Collection<Integer> workstationIds,
+                                                Collection<UUID> ignoredReservationIds) {
+        if (ranges.isEmpty()) {
+            return Optional.empty();
+        }
+
+        OffsetDateTime from = ranges.stream().map(TimeRange::start).min(Comparator.naturalOrder()).get();
+        OffsetDateTime to = ranges.stream().map(TimeRange::end).max(Comparator.naturalOrder()).get();
+        Set<UUID> ignored = ignoredReservationIds == null ? Set.of() : Set.copyOf(ignoredReservationIds);
+        Collection<Integer> requestedWorkstations = workstationIds == null ? List.of() : workstationIds;
+
+        List<ReservationOccupancy> occupancy = withoutIgnored(findOccupancy(labId, from, to), ignored);
+        log.debug("Checking {} requested ranges in lab {} against {} occupancy rows",
+                ranges.size(), labId, occupancy.size());
+        if (occupancy.isEmpty()) {
+            return Optional.empty();
+        }
+
+        OccupancyBitmap bitmap = toBitmap(from, to, occupancy);
+
+        List<TimeRange> ordered = ranges.stream()
+                .sorted(Comparator.comparing(TimeRange::start))
+                .toList();
+        for (TimeRange range : ordered) {
+            boolean candidate = wholeLab
+                    ? bitmap.mayBeOccupied(range.start(), range.end())
+                    : bitmap.mayBeOccupied(requestedWorkstations, range.start(), range.end());
+            if (!candidate) {
+                continue;
+            }
+
+            // Slots are rounded outwards; confirm against exact times
+            for (ReservationOccupancy o : occupancy) {
+                if (contests(o, wholeLab, requestedWorkstations) && range.overlaps(o.getStartTime(), o.getEndTime())) {
+                    Integer workstationId = Boolean.TRUE.equals(o.getWholeLab()) ? null : o.getWorkstationId();
+                    return Optional.of(new Conflict(range, o.getReservationId(), workstationId,
+                            o.getStartTime(), o.getEndTime()));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Whether an existing booking competes with a request for the whole lab or for the given workstations.
+     */
+    private static boolean contests(ReservationOccupancy o, boolean wholeLab, Collection<Integer> requestedWorkstations) {
+        return wholeLab
+                || Boolean.TRUE.equals(o.getWholeLab())
+                || o.getWorkstationId() == null
+                || requestedWorkstations.contains(o.getWorkstationId());
+    }
+
+    /**
+     * Everything that holds time in the lab between from and to, loaded with one query.
+     */
+    public OccupancyBitmap loadOccupancy(Integer labId, OffsetDateTime from, OffsetDateTime to) {
+        return toBitmap(from, to, findOccupancy(labId, from, to));
+    }
+
+    /**
+     * Written reservations plus occurrences of lazily expanded series that are not written yet.
+     */
+    private List<ReservationOccupancy> findOccupancy(Integer labId, OffsetDateTime from, OffsetDateTime to) {
+        List<ReservationOccupancy> occupancy = reservationRepository.findOccupancyInRange(
+                labId, from, to, BLOCKING_STATUSES);
+        List<ExpandedOccurrence> expanded = occurrenceExpander.expand(labId, from, to);
+        if (expanded.isEmpty()) {
+            return occupancy;
+        }
+        List<ReservationOccupancy> all = new ArrayList<>(occupancy);
+        expanded.forEach(occurrence -> all.addAll(occurrence.occupancy()));
+        return all;
+    }
+
+    /**
+     * Occupancy without the ignored reservations. Ignoring an occurrence of a series also ignores the
+     * series' unwritten occurrences, which an edit of the series moves along with it.
+     */
+    private List<ReservationOccupancy> withoutIgnored(List<ReservationOccupancy> occupancy, Set<UUID> ignored) {
+        if (ignored.isEmpty()) {
+            return occupancy;
+        }
+        boolean anyExpanded = occupancy.stream().anyMatch(o -> o instanceof Occupancy);
+        Set<UUID> ignoredGroups = anyExpanded
+                ? Set.copyOf(reservationRepository.findRecurringGroupIdsByIdIn(ignored))
+                : Set.of();
+        return occupancy.stream()
+                .filter(o -> !ignored.contains(o.getReservationId()))
+                .filter(o -> !(o instanceof Occupancy expanded && ignoredGroups.contains(expanded.getRecurringGroupId())))
+                .toList();
+    }
+
+    private static OccupancyBitmap toBitmap(OffsetDateTime from, OffsetDateTime to,
+                                            List<ReservationOccupancy> occupancy) {
+        OccupancyBitmap bitmap = new OccupancyBitmap(from, to);
+        for (ReservationOccupancy o : occupancy) {
+            if (Boolean.TRUE.equals(o.getWholeLab()) || o.getWorkstationId() == null) {
+                bitmap.occupyWholeLab(o.getStartTime(), o.getEndTime());
+            } else {
+                bitmap.occupyWorkstation(o.getWorkstationId(), o.getStartTime(), o.getEndTime());
+            }
+        }
+        return bitmap;
+    }
+}
@@ -1,32 +1,43 @@
 package com._glab.booking_system.booking.service;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
 import com._glab.booking_system.booking.exception.BookingNotAuthorizedException;
 import com._glab.booking_system.booking.exception.EditProposalNotFoundException;
 import com._glab.booking_system.booking.exception.ReservationNotFoundException;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.RecurringPattern;
 import com._glab.booking_system.booking.model.Reservation;
 import com._glab.booking_system.booking.model.ReservationEditProposal;
 import com._glab.booking_system.booking.model.ReservationStatus;
 import com._glab.booking_system.booking.model.ReservationWorkstation;
 import com._glab.booking_system.booking.model.ResolutionStatus;
 import com._glab.booking_system.booking.model.Workstation;
-import com._glab.booking_system.booking.model.LabOperatingHours;
-import com._glab.booking_system.booking.repository.LabClosedDayRepository;
-import com._glab.booking_system.booking.repository.LabOperatingHoursRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
 import com._glab.booking_system.booking.repository.ReservationEditProposalRepository;
 import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationAssignment;
 import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
 import com._glab.booking_system.booking.repository.WorkstationRepository;
 import com._glab.booking_system.booking.request.EditReservationRequest;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
 import com._glab.booking_system.user.model.User;
 
 import lombok.RequiredArgsConstructor;
@@ -41,11 +52,18 @@ public class ReservationEditService {
     private final ReservationEditProposalRepository editProposalRepository;
     private final ReservationWorkstationRepository reservationWorkstationRepository;
     private final WorkstationRepository workstationRepository;
-    private final LabOperatingHoursRepository labOperatingHoursRepository;
-    private final LabClosedDayRepository labClosedDayRepository;
+    private final LabScheduleCache labScheduleCache;
     private final LabManagerAuthorizationService authorizationService;
     private final com._glab.booking_system.auth.service.EmailService emailService;
     private final com._glab.booking_system.booking.repository.LabManagerRepository labManagerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservationConflictService conflictService;
+    private final ReservationSlotService reservationSlotService;
+    private final LabLockService labLockService;
+    private final BookingMetrics bookingMetrics;
+    private final RecurringSeriesService recurringSeriesService;
+    private final RecurringPatternRepository recurringPatternRepository;
+    private final RecurringOccurrenceExpander occurrenceExpander;
 
     // ==================== Lab Manager/Admin Edit Operations ====================
 
@@ -55,9 +73,14 @@ public class ReservationEditService {
      */
     @Transactional
     public void editReservationByManager(UUID reservationId, EditReservationRequest request, User manager) {
+        bookingMetrics.timeOperation("edit", () -> doEditReservationByManager(reservationId, request, manager));
+    }
+
+    private void doEditReservationByManager(UUID reservationId, EditReservationRequest request, User manager) {
         log.info("Manager {} attempting to edit reservation {}", manager.getEmail(), reservationId);
 
         Reservation reservation = reservationRepository.findById(reservationId)
+                .or(() -> recurringSeriesService.writeOccurrence(reservationId))
                 .orElseThrow(() -> {
                     log.warn("Reservation not found: {}", reservationId);
                     return new ReservationNotFoundException(reservationId);
@@ -70,7 +93,7 @@ public class ReservationEditService {
         }
 
         // Validate edit request (reuse validation from ReservationService)
-        validateEditRequest(reservation.getLab(), request);
+        validateEditRequest(reservation.getLab(), request, List.of(reservationId));
 
         // Check if there's already an active edit proposal
         Optional<ReservationEditProposal> existingProposal = editProposalRepository
@@ -88,6 +111,8 @@ public class ReservationEditService {
         reservation.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL);
         reservationRepository.save(reservation);
 
+        publishReservationsChanged(List.of(reservation));
+
         log.info("Edit proposal created for reservation {} by manager {}", reservationId, manager.getEmail());
 
         // Send email to professor
@@ -99,6 +124,10 @@ public class ReservationEditService {
      */
     @Transactional
     public void approveEditByManager(UUID reservationId, User manager) {
+        bookingMetrics.timeOperation("approve-edit", () -> doApproveEditByManager(reservationId, manager));
+    }
+
+    private void doApproveEditByManager(UUID reservationId, User manager) {
         log.info("Manager {} attempting to approve edit for reservation {}", manager.getEmail(), reservationId);
 
         Reservation reservation = reservationRepository.findById(reservationId)
@@ -118,7 +147,9 @@ public class ReservationEditService {
         }
 
         // Apply the edit
-        applyEditProposal(proposal, manager);
+        applyEditProposals(List.of(proposal), manager);
+
+        publishReservationsChanged(List.of(reservation));
 
         log.info("Edit approved for reservation {} by manager {}", reservationId, manager.getEmail());
 
@@ -131,6 +162,10 @@ public class ReservationEditService {
      */
     @Transactional
     public void rejectEditByManager(UUID reservationId, User manager, String reason) {
+        bookingMetrics.timeOperation("reject-edit", () -> doRejectEditByManager(reservationId, manager, reason));
+    }
+
+    private void doRejectEditByManager(UUID reservationId, User manager, String reason) {
         log.info("Manager {} attempting to reject edit for reservation {}", manager.getEmail(), reservationId);
 
         Reservation reservation = reservationRepository.findById(reservationId)
@@ -150,7 +185,9 @@ public class ReservationEditService {
         }
 
         // Restore original values
-        restoreOriginalValues(proposal, manager, reason);
+        restoreOriginalValues(List.of(proposal), manager, reason);
+
+        publishReservationsChanged(List.of(reservation));
 
         log.info("Edit rejected for reservation {} by manager {}", reservationId, manager.getEmail());
 
@@ -164,9 +201,15 @@ public class ReservationEditService {
      */
     @Transactional
     public void editRecurringGroupOccurrenceByManager(UUID occurrenceId, EditReservationRequest request, User manager) {
+        bookingMetrics.timeOperation("edit-occurrence",
+                () -> doEditRecurringGroupOccurrenceByManager(occurrenceId, request, manager));
+    }
+
+    private void doEditRecurringGroupOccurrenceByManager(UUID occurrenceId, EditReservationRequest request, User manager) {
         log.info("Manager {} attempting to edit single occurrence {} from recurring group", manager.getEmail(), occurrenceId);
 
         Reservation occurrence = reservationRepository.findById(occurrenceId)
+                .or(() -> recurringSeriesService.writeOccurrence(occurrenceId))
                 .orElseThrow(() -> {
                     log.warn("Reservation not found: {}", occurrenceId);
                     return new ReservationNotFoundException(occurrenceId);
@@ -185,7 +228,7 @@ public class ReservationEditService {
         }
 
         // Validate edit request
-        validateEditRequest(occurrence.getLab(), request);
+        validateEditRequest(occurrence.getLab(), request, List.of(occurrenceId));
 
         // Check if there's already an active edit proposal
         Optional<ReservationEditProposal> existingProposal = editProposalRepository
@@ -203,6 +246,8 @@ public class ReservationEditService {
         occurrence.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL);
         reservationRepository.save(occurrence);
 
+        publishReservationsChanged(List.of(occurrence));
+
         log.info("Edit proposal created for occurrence {} (from recurring group {}) by manager {}", 
                 occurrenceId, occurrence.getRecurringGroupId(), manager.getEmail());
 
@@ -215,6 +260,11 @@ public class ReservationEditService {
      */
     @Transactional
     public void editRecurringGroupByManager(UUID recurringGroupId, EditReservationRequest request, User manager) {
+        bookingMetrics.timeOperation("edit-group",
+                () -> doEditRecurringGroupByManager(recurringGroupId, request, manager));
+    }
+
+    private void doEditRecurringGroupByManager(UUID recurringGroupId, EditReservationRequest request, User manager) {
         log.info("Manager {} attempting to edit recurring group {}", manager.getEmail(), recurringGroupId);
 
         List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
@@ -230,32 +280,22 @@ public class ReservationEditService {
         }
 
         // Validate edit request
-        validateEditRequest(firstReservation.getLab(), request);
+        validateEditRequest(firstReservation.getLab(), request,
+                reservations.stream().map(Reservation::getId).toList());
 
         // Create edit proposals for all reservations in the group
-        for (Reservation reservation : reservations) {
-            // Check if there's already an active edit proposal
-            Optional<ReservationEditProposal> existingProposal = editProposalRepository
-                    .findByReservationIdAndResolution(reservation.getId(), ResolutionStatus.PENDING);
-            if (existingProposal.isPresent()) {
-                log.warn("Reservation {} already has a pending edit proposal, skipping", reservation.getId());
-                continue;
-            }
-
-            ReservationEditProposal proposal = createEditProposal(reservation, request, manager, reservation.getStatus());
-            editProposalRepository.save(proposal);
+        List<ReservationEditProposal> proposals = proposeEdits(
+                withoutPendingProposal(recurringGroupId, reservations), request, manager);
 
-            reservation.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL);
-            reservationRepository.save(reservation);
-        }
+        publishReservationsChanged(reservations);
 
         log.info("Edit proposals created for {} reservations in recurring group {} by manager {}", 
-                reservations.size(), recurringGroupId, manager.getEmail());
+                proposals.size(), recurringGroupId, manager.getEmail());
 
-        // Send email to professor (using first reservation for details)
-        sendEditProposalEmailToProfessor(firstReservation, 
-                editProposalRepository.findByReservationIdAndResolution(
-                        firstReservation.getId(), ResolutionStatus.PENDING).orElse(null));
+        // Send email to professor (using first proposal for details)
+        if (!proposals.isEmpty()) {
+            sendEditProposalEmailToProfessor(proposals.get(0).getReservation(), proposals.get(0));
+        }
     }
 
     /**
@@ -263,6 +303,11 @@ public class ReservationEditService {
      */
     @Transactional
     public void approveRecurringGroupEditByManager(UUID recurringGroupId, User manager) {
+        bookingMetrics.timeOperation("approve-group-edit",
+                () -> doApproveRecurringGroupEditByManager(recurringGroupId, manager));
+    }
+
+    private void doApproveRecurringGroupEditByManager(UUID recurringGroupId, User manager) {
         log.info("Manager {} attempting to approve edit for recurring group {}", manager.getEmail(), recurringGroupId);
 
         List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
@@ -286,9 +331,10 @@ public class ReservationEditService {
         }
 
         // Approve all proposals
-        for (ReservationEditProposal proposal : proposals) {
-            applyEditProposal(proposal, manager);
-        }
+        applyEditProposals(proposals, manager);
+        List<UUID> unwrittenIds = applyProposalsToTemplate(recurringGroupId, reservations, proposals);
+
+        publishReservationsChanged(reservations, unwrittenIds);
 
         log.info("Approved {} edit proposals in recurring group {} by manager {}", 
                 proposals.size(), recurringGroupId, manager.getEmail());
@@ -302,6 +348,11 @@ public class ReservationEditService {
      */
     @Transactional
     public void rejectRecurringGroupEditByManager(UUID recurringGroupId, User manager, String reason) {
+        bookingMetrics.timeOperation("reject-group-edit",
+                () -> doRejectRecurringGroupEditByManager(recurringGroupId, manager, reason));
+    }
+
+    private void doRejectRecurringGroupEditByManager(UUID recurringGroupId, User manager, String reason) {
         log.info("Manager {} attempting to reject edit for recurring group {}", manager.getEmail(), recurringGroupId);
 
         List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
@@ -325,9 +376,9 @@ public class ReservationEditService {
         }
 
         // Reject all proposals
-        for (ReservationEditProposal proposal : proposals) {
-            restoreOriginalValues(proposal, manager, reason);
-        }
+        restoreOriginalValues(proposals, manager, reason);
+
+        publishReservationsChanged(reservations);
 
         log.info("Rejected {} edit proposals in recurring group {} by manager {}", 
                 proposals.size(), recurringGroupId, manager.getEmail());
@@ -345,9 +396,14 @@ public class ReservationEditService {
      */
     @Transactional
     public void editReservationByProfessor(UUID reservationId, EditReservationRequest request, User professor) {
+        bookingMetrics.timeOperation("edit", () -> doEditReservationByProfessor(reservationId, request, professor));
+    }
+
+    private void doEditReservationByProfessor(UUID reservationId, EditReservationRequest request, User professor) {
         log.info("Professor {} attempting to edit reservation {}", professor.getEmail(), reservationId);
 
         Reservation reservation = reservationRepository.findById(reservationId)
+                .or(() -> recurringSeriesService.writeOccurrence(reservationId))
                 .orElseThrow(() -> new ReservationNotFoundException(reservationId));
 
         // Check authorization - must be the owner
@@ -357,13 +413,15 @@ public class ReservationEditService {
         }
 
         // Validate edit request
-        validateEditRequest(reservation.getLab(), request);
+        validateEditRequest(reservation.getLab(), request, List.of(reservationId));
 
         if (reservation.getStatus() == ReservationStatus.PENDING) {
             // PENDING: Apply changes directly
-            applyEditDirectly(reservation, request);
+            applyEditDirectly(List.of(reservation), request);
             reservationRepository.save(reservation);
 
+            publishReservationsChanged(List.of(reservation));
+
             log.info("Reservation {} edited directly by professor (PENDING status)", reservationId);
 
             // Send notification email to lab manager
@@ -383,6 +441,8 @@ public class ReservationEditService {
             reservation.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL);
             reservationRepository.save(reservation);
 
+            publishReservationsChanged(List.of(reservation));
+
             log.info("Edit proposal created for reservation {} by professor (APPROVED -> PENDING_EDIT_APPROVAL)", reservationId);
 
             // Send email to lab manager
@@ -398,6 +458,10 @@ public class ReservationEditService {
      */
     @Transactional
     public void approveEditByProfessor(UUID reservationId, User professor) {
+        bookingMetrics.timeOperation("approve-edit", () -> doApproveEditByProfessor(reservationId, professor));
+    }
+
+    private void doApproveEditByProfessor(UUID reservationId, User professor) {
         log.info("Professor {} attempting to approve edit for reservation {}", professor.getEmail(), reservationId);
 
         Reservation reservation = reservationRepository.findById(reservationId)
@@ -417,7 +481,9 @@ public class ReservationEditService {
         }
 
         // Apply the edit
-        applyEditProposal(proposal, professor);
+        applyEditProposals(List.of(proposal), professor);
+
+        publishReservationsChanged(List.of(reservation));
 
         log.info("Edit approved for reservation {} by professor {}", reservationId, professor.getEmail());
 
@@ -430,6 +496,10 @@ public class ReservationEditService {
      */
     @Transactional
     public void rejectEditByProfessor(UUID reservationId, User professor, String reason) {
+        bookingMetrics.timeOperation("reject-edit", () -> doRejectEditByProfessor(reservationId, professor, reason));
+    }
+
+    private void doRejectEditByProfessor(UUID reservationId, User professor, String reason) {
         log.info("Professor {} attempting to reject edit for reservation {}", professor.getEmail(), reservationId);
 
         Reservation reservation = reservationRepository.findById(reservationId)
@@ -449,7 +519,9 @@ public class ReservationEditService {
         }
 
         // Restore original values
-        restoreOriginalValues(proposal, professor, reason);
+        restoreOriginalValues(List.of(proposal), professor, reason);
+
+        publishReservationsChanged(List.of(reservation));
 
         log.info("Edit rejected for reservation {} by professor {}", reservationId, professor.getEmail());
 
@@ -464,6 +536,11 @@ public class ReservationEditService {
      */
     @Transactional
     public void editRecurringGroupByProfessor(UUID recurringGroupId, EditReservationRequest request, User professor) {
+        bookingMetrics.timeOperation("edit-group",
+                () -> doEditRecurringGroupByProfessor(recurringGroupId, request, professor));
+    }
+
+    private void doEditRecurringGroupByProfessor(UUID recurringGroupId, EditReservationRequest request, User professor) {
         log.info("Professor {} attempting to edit recurring group {}", professor.getEmail(), recurringGroupId);
 
         List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
@@ -480,7 +557,8 @@ public class ReservationEditService {
         }
 
         // Validate edit request
-        validateEditRequest(reservations.get(0).getLab(), request);
+        validateEditRequest(reservations.get(0).getLab(), request,
+                reservations.stream().map(Reservation::getId).toList());
 
         // Separate PENDING and APPROVED reservations
         List<Reservation> pendingReservations = reservations.stream()
@@ -492,26 +570,23 @@ public class ReservationEditService {
                 .collect(Collectors.toList());
 
         // Apply changes directly to PENDING reservations
-        for (Reservation reservation : pendingReservations) {
-            applyEditDirectly(reservation, request);
-            reservationRepository.save(reservation);
+        if (!pendingReservations.isEmpty()) {
+            applyEditDirectly(pendingReservations, request);
+            reservationRepository.saveAll(pendingReservations);
         }
 
-        // Create edit proposals for APPROVED reservations
-        for (Reservation reservation : approvedReservations) {
-            Optional<ReservationEditProposal> existingProposal = editProposalRepository
-                    .findByReservationIdAndResolution(reservation.getId(), ResolutionStatus.PENDING);
-            if (existingProposal.isPresent()) {
-                log.warn("Reservation {} already has a pending edit proposal, skipping", reservation.getId());
-                continue;
-            }
+        // Unwritten occurrences of a pending series change with it; those of an approved one once the edit is approved
+        List<UUID> unwrittenIds = List.of();
+        if (findPattern(recurringGroupId).filter(p -> p.getStatus() == ReservationStatus.PENDING).isPresent()) {
+            unwrittenIds = applyToTemplate(recurringGroupId, reservations, request.getStartTime(), request.getEndTime(),
+                    request.getDescription(), request.getWholeLab(), request.getWorkstationIds(), null);
+        }
 
-            ReservationEditProposal proposal = createEditProposal(reservation, request, professor, ReservationStatus.APPROVED);
-            editProposalRepository.save(proposal);
+        // Create edit proposals for APPROVED reservations
+        List<ReservationEditProposal> proposals = proposeEdits(
+                withoutPendingProposal(recurringGroupId, approvedReservations), request, professor);
 
-            reservation.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL);
-            reservationRepository.save(reservation);
-        }
+        publishReservationsChanged(reservations, unwrittenIds);
 
         log.info("Edited recurring group {}: {} PENDING (direct), {} APPROVED (needs re-approval)", 
                 recurringGroupId, pendingReservations.size(), approvedReservations.size());
@@ -520,11 +595,8 @@ public class ReservationEditService {
         if (!pendingReservations.isEmpty()) {
             sendReservationUpdatedEmailToManager(pendingReservations.get(0));
         }
-        if (!approvedReservations.isEmpty()) {
-            ReservationEditProposal firstProposal = editProposalRepository
-                    .findByReservationIdAndResolution(approvedReservations.get(0).getId(), ResolutionStatus.PENDING)
-                    .orElse(null);
-            sendEditProposalEmailToManager(approvedReservations.get(0), firstProposal);
+        if (!proposals.isEmpty()) {
+            sendEditProposalEmailToManager(proposals.get(0).getReservation(), proposals.get(0));
         }
     }
 
@@ -533,6 +605,11 @@ public class ReservationEditService {
      */
     @Transactional
     public void approveRecurringGroupEditByProfessor(UUID recurringGroupId, User professor) {
+        bookingMetrics.timeOperation("approve-group-edit",
+                () -> doApproveRecurringGroupEditByProfessor(recurringGroupId, professor));
+    }
+
+    private void doApproveRecurringGroupEditByProfessor(UUID recurringGroupId, User professor) {
         log.info("Professor {} attempting to approve edit for recurring group {}", professor.getEmail(), recurringGroupId);
 
         List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
@@ -557,9 +634,10 @@ public class ReservationEditService {
         }
 
         // Approve all proposals
-        for (ReservationEditProposal proposal : proposals) {
-            applyEditProposal(proposal, professor);
-        }
+        applyEditProposals(proposals, professor);
+        List<UUID> unwrittenIds = applyProposalsToTemplate(recurringGroupId, reservations, proposals);
+
+        publishReservationsChanged(reservations, unwrittenIds);
 
         log.info("Approved {} edit proposals in recurring group {} by professor {}", 
                 proposals.size(), recurringGroupId, professor.getEmail());
@@ -573,6 +651,11 @@ public class ReservationEditService {
      */
     @Transactional
     public void rejectRecurringGroupEditByProfessor(UUID recurringGroupId, User professor, String reason) {
+        bookingMetrics.timeOperation("reject-group-edit",
+                () -> doRejectRecurringGroupEditByProfessor(recurringGroupId, professor, reason));
+    }
+
+    private void doRejectRecurringGroupEditByProfessor(UUID recurringGroupId, User professor, String reason) {
         log.info("Professor {} attempting to reject edit for recurring group {}", professor.getEmail(), recurringGroupId);
 
         List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
@@ -597,9 +680,9 @@ public class ReservationEditService {
         }
 
         // Reject all proposals
-        for (ReservationEditProposal proposal : proposals) {
-            restoreOriginalValues(proposal, professor, reason);
-        }
+        restoreOriginalValues(proposals, professor, reason);
+
+        publishReservationsChanged(reservations);
 
         log.info("Rejected {} edit proposals in recurring group {} by professor {}", 
                 proposals.size(), recurringGroupId, professor.getEmail());
@@ -610,15 +693,90 @@ public class ReservationEditService {
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Notify listeners (e.g. the availability index) that reservations of one lab changed.
+     */
+    private void publishReservationsChanged(List<Reservation> reservations) {
+        publishReservationsChanged(reservations, List.of());
+    }
+
+    /**
+     * Notify listeners that reservations of one lab and unwritten occurrences of their series changed.
+     */
+    private void publishReservationsChanged(List<Reservation> reservations, List<UUID> unwrittenIds) {
+        List<UUID> ids = new ArrayList<>(reservations.size() + unwrittenIds.size());
+        reservations.forEach(reservation -> ids.add(reservation.getId()));
+        ids.addAll(unwrittenIds);
+        eventPublisher.publishEvent(new ReservationChangedEvent(reservations.get(0).getLab().getId(), ids));
+    }
+
+    private Optional<RecurringPattern> findPattern(UUID recurringGroupId) {
+        return recurringPatternRepository.findByRecurringGroupId(recurringGroupId)
+                .filter(RecurringPattern::hasTemplate);
+    }
+
+    /**
+     * Move a series' template to an approved group edit, so its unwritten occurrences follow the written ones.
+     */
+    private List<UUID> applyProposalsToTemplate(UUID recurringGroupId, List<Reservation> reservations,
+                                                List<ReservationEditProposal> proposals) {
+        ReservationEditProposal proposal = proposals.get(0);
+        return applyToTemplate(recurringGroupId, reservations, proposal.getProposedStartTime(),
+                proposal.getProposedEndTime(), proposal.getProposedDescription(), proposal.getProposedWholeLab(),
+                proposal.getProposedWorkstationIds(), ReservationStatus.APPROVED);
+    }
+
+    /**
+     * Apply a group edit to the series' template, which its unwritten occurrences are expanded from, after
+     * checking those occurrences against the lab's other bookings. Only the pattern row is written.
+     *
+     * @param written the series' written occurrences, which the unwritten ones must not conflict with
+     * @param status new status of the unwritten occurrences, or null to keep it
+     * @return IDs of the series' unwritten occurrences
+     */
+    private List<UUID> applyToTemplate(UUID recurringGroupId, List<Reservation> written, OffsetDateTime start,
+                                       OffsetDateTime end, String description, Boolean wholeLab,
+                                       List<Integer> workstationIds, ReservationStatus status) {
+        Optional<RecurringPattern> found = findPattern(recurringGroupId);
+        if (found.isEmpty()) {
+            return List.of();
+        }
+        RecurringPattern pattern = found.get();
+        List<Integer> assigned = assignedWorkstationIds(wholeLab, workstationIds);
+        pattern.applyTemplate(start, end, description, wholeLab, assigned);
+        if (status != null) {
+            pattern.setStatus(status);
+        }
+        List<ExpandedOccurrence> unwritten = occurrenceExpander.expand(pattern);
+        if (!unwritten.isEmpty()) {
+            conflictService.assertNoConflicts(pattern.getLab().getId(),
+                    unwritten.stream()
+                            .map(o -> new ReservationConflictService.TimeRange(o.startTime(), o.endTime()))
+                            .toList(),
+                    Boolean.TRUE.equals(wholeLab), assigned,
+                    written.stream().map(Reservation::getId).toList());
+        }
+        recurringPatternRepository.save(pattern);
+        log.debug("Applied edit of recurring group {} to its {} unwritten occurrences", recurringGroupId,
+                unwritten.size());
+        return unwritten.stream().map(ExpandedOccurrence::id).toList();
+    }
+
     /**
      * Create an edit proposal from a reservation and edit request.
      */
     private ReservationEditProposal createEditProposal(Reservation reservation, EditReservationRequest request, 
                                                        User editor, ReservationStatus originalStatus) {
-        // Get current workstation IDs
-        List<Integer> currentWorkstationIds = reservationWorkstationRepository
-                .findWorkstationIdsByReservationId(reservation.getId());
+        return createEditProposal(reservation, request, editor, originalStatus,
+                reservationWorkstationRepository.findWorkstationIdsByReservationId(reservation.getId()));
+    }
 
+    /**
+     * Create an edit proposal from a reservation, its current workstation IDs and an edit request.
+     */
+    private ReservationEditProposal createEditProposal(Reservation reservation, EditReservationRequest request,
+                                                       User editor, ReservationStatus originalStatus,
+                                                       List<Integer> currentWorkstationIds) {
         ReservationEditProposal proposal = new ReservationEditProposal();
         proposal.setReservation(reservation);
         proposal.setEditedBy(editor);
@@ -644,203 +802,244 @@ public class ReservationEditService {
     }
 
     /**
-     * Apply an approved edit proposal to the reservation.
+     * Create edit proposals for several reservations and move them to PENDING_EDIT_APPROVAL.
+     * Current workstations are read with one query, proposals are inserted as a JDBC batch
+     * and the status change is a single UPDATE.
+     *
+     * @return the stored proposals, in the order of the given reservations
      */
-    @Transactional
-    private void applyEditProposal(ReservationEditProposal proposal, User approver) {
-        Reservation reservation = proposal.getReservation();
+    private List<ReservationEditProposal> proposeEdits(List<Reservation> reservations,
+                                                       EditReservationRequest request, User editor) {
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> reservationIds = reservations.stream().map(Reservation::getId).toList();
+        Map<UUID, List<Integer>> currentWorkstationIds = reservationWorkstationRepository
+                .findWorkstationIdsGroupedByReservationId(reservationIds);
+
+        List<ReservationEditProposal> proposals = reservations.stream()
+                .map(reservation -> createEditProposal(reservation, request, editor, reservation.getStatus(),
+                        currentWorkstationIds.getOrDefault(reservation.getId(), List.of())))
+                .toList();
+        editProposalRepository.saveAll(proposals);
+
+        reservationRepository.updateStatus(reservationIds, ReservationStatus.PENDING_EDIT_APPROVAL);
+        // The update detached the reservations; keep them in step for the caller
+        reservations.forEach(reservation -> reservation.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL));
+        return proposals;
+    }
 
-        // Update reservation with proposed values
-        reservation.setStartTime(proposal.getProposedStartTime());
-        reservation.setEndTime(proposal.getProposedEndTime());
-        reservation.setDescription(proposal.getProposedDescription());
-        reservation.setWholeLab(proposal.getProposedWholeLab());
+    /**
+     * Drop the reservations of a recurring group that already have a pending edit proposal.
+     */
+    private List<Reservation> withoutPendingProposal(UUID recurringGroupId, List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return reservations;
+        }
+        Set<UUID> alreadyProposed = editProposalRepository
+                .findByRecurringGroupIdAndResolution(recurringGroupId, ResolutionStatus.PENDING).stream()
+                .map(proposal -> proposal.getReservation().getId())
+                .collect(Collectors.toSet());
 
-        // Update workstation assignments
-        reservationWorkstationRepository.deleteByReservationId(reservation.getId());
-        if (!proposal.getProposedWholeLab() && proposal.getProposedWorkstationIds() != null 
-                && !proposal.getProposedWorkstationIds().isEmpty()) {
-            for (Integer workstationId : proposal.getProposedWorkstationIds()) {
-                Workstation workstation = workstationRepository.findById(workstationId)
-                        .orElseThrow(() -> new RuntimeException("Workstation not found: " + workstationId));
-                ReservationWorkstation rw = new ReservationWorkstation(reservation, workstation);
-                reservationWorkstationRepository.save(rw);
+        List<Reservation> result = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            if (alreadyProposed.contains(reservation.getId())) {
+                log.warn("Reservation {} already has a pending edit proposal, skipping", reservation.getId());
+            } else {
+                result.add(reservation);
             }
         }
+        return result;
+    }
 
-        // Set status based on original status
-        // If original was APPROVED and professor edited, it goes back to APPROVED
-        // If original was PENDING and lab manager edited, it becomes APPROVED
-        if (proposal.getOriginalStatus() == ReservationStatus.APPROVED) {
-            reservation.setStatus(ReservationStatus.APPROVED);
-        } else {
+    /**
+     * Apply approved edit proposals to their reservations.
+     * The proposed times were checked when the edit was proposed; they are checked again under the lab's lock,
+     * since other bookings may have been written while the proposal waited for approval.
+     */
+    private void applyEditProposals(List<ReservationEditProposal> proposals, User approver) {
+        assertProposalsStillFree(proposals);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Reservation> reservations = new ArrayList<>(proposals.size());
+        Map<Reservation, List<Integer>> workstationIds = new LinkedHashMap<>();
+
+        for (ReservationEditProposal proposal : proposals) {
+            Reservation reservation = proposal.getReservation();
+
+            // Update reservation with proposed values
+            reservation.setStartTime(proposal.getProposedStartTime());
+            reservation.setEndTime(proposal.getProposedEndTime());
+            reservation.setDescription(proposal.getProposedDescription());
+            reservation.setWholeLab(proposal.getProposedWholeLab());
+            workstationIds.put(reservation,
+                    assignedWorkstationIds(proposal.getProposedWholeLab(), proposal.getProposedWorkstationIds()));
+
+            // An approved edit leaves the reservation APPROVED, whoever proposed it
             reservation.setStatus(ReservationStatus.APPROVED);
+            reservations.add(reservation);
+
+            // Mark proposal as approved
+            proposal.setResolution(ResolutionStatus.APPROVED);
+            proposal.setResolvedAt(now);
+            proposal.setResolvedBy(approver);
         }
 
-        reservationRepository.save(reservation);
+        // Update workstation assignments
+        updateWorkstationAssignments(workstationIds);
 
-        // Mark proposal as approved
-        proposal.setResolution(ResolutionStatus.APPROVED);
-        proposal.setResolvedAt(OffsetDateTime.now());
-        proposal.setResolvedBy(approver);
-        editProposalRepository.save(proposal);
+        reservationRepository.saveAll(reservations);
+        editProposalRepository.saveAll(proposals);
+
+        // Claim the new times and workstations; fails if another approval took them meanwhile
+        reservationSlotService.rehold(reservations.stream().map(Reservation::getId).toList());
 
-        log.debug("Applied edit proposal {} to reservation {}", proposal.getId(), reservation.getId());
+        log.debug("Applied {} edit proposals", proposals.size());
     }
 
     /**
-     * Restore original values from an edit proposal when edit is rejected.
+     * Lock the labs of the proposals and check their proposed times against everything but the edited
+     * reservations. Proposals sharing a workstation selection (e.g. a recurring group edit) are checked together.
      */
-    @Transactional
-    private void restoreOriginalValues(ReservationEditProposal proposal, User rejector, String reason) {
-        Reservation reservation = proposal.getReservation();
+    private void assertProposalsStillFree(List<ReservationEditProposal> proposals) {
+        Map<Integer, Map<List<Integer>, List<ReservationConflictService.TimeRange>>> rangesByLab = new LinkedHashMap<>();
+        for (ReservationEditProposal proposal : proposals) {
+            List<Integer> selection = assignedWorkstationIds(proposal.getProposedWholeLab(),
+                    proposal.getProposedWorkstationIds());
+            rangesByLab.computeIfAbsent(proposal.getReservation().getLab().getId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(selection, key -> new ArrayList<>())
+                    .add(new ReservationConflictService.TimeRange(
+                            proposal.getProposedStartTime(), proposal.getProposedEndTime()));
+        }
+        List<UUID> editedIds = proposals.stream().map(proposal -> proposal.getReservation().getId()).toList();
 
-        // Restore original values
-        reservation.setStartTime(proposal.getOriginalStartTime());
-        reservation.setEndTime(proposal.getOriginalEndTime());
-        reservation.setDescription(proposal.getOriginalDescription());
-        reservation.setWholeLab(proposal.getOriginalWholeLab());
+        labLockService.lockAll(rangesByLab.keySet());
+        // An empty selection is a whole-lab booking
+        rangesByLab.forEach((labId, rangesBySelection) -> rangesBySelection.forEach((selection, ranges) ->
+                conflictService.assertNoConflicts(labId, ranges, selection.isEmpty(), selection, editedIds)));
+    }
 
-        // Restore workstation assignments
-        reservationWorkstationRepository.deleteByReservationId(reservation.getId());
-        if (!proposal.getOriginalWholeLab() && proposal.getOriginalWorkstationIds() != null 
-                && !proposal.getOriginalWorkstationIds().isEmpty()) {
-            for (Integer workstationId : proposal.getOriginalWorkstationIds()) {
-                Workstation workstation = workstationRepository.findById(workstationId)
-                        .orElseThrow(() -> new RuntimeException("Workstation not found: " + workstationId));
-                ReservationWorkstation rw = new ReservationWorkstation(reservation, workstation);
-                reservationWorkstationRepository.save(rw);
-            }
+    /**
+     * Restore original values from edit proposals when the edits are rejected.
+     */
+    private void restoreOriginalValues(List<ReservationEditProposal> proposals, User rejector, String reason) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Reservation> reservations = new ArrayList<>(proposals.size());
+        Map<Reservation, List<Integer>> workstationIds = new LinkedHashMap<>();
+
+        for (ReservationEditProposal proposal : proposals) {
+            Reservation reservation = proposal.getReservation();
+
+            // Restore original values and status
+            reservation.setStartTime(proposal.getOriginalStartTime());
+            reservation.setEndTime(proposal.getOriginalEndTime());
+            reservation.setDescription(proposal.getOriginalDescription());
+            reservation.setWholeLab(proposal.getOriginalWholeLab());
+            reservation.setStatus(proposal.getOriginalStatus());
+            workstationIds.put(reservation,
+                    assignedWorkstationIds(proposal.getOriginalWholeLab(), proposal.getOriginalWorkstationIds()));
+            reservations.add(reservation);
+
+            // Mark proposal as rejected
+            proposal.setResolution(ResolutionStatus.REJECTED);
+            proposal.setResolvedAt(now);
+            proposal.setResolvedBy(rejector);
         }
 
-        // Restore original status
-        reservation.setStatus(proposal.getOriginalStatus());
-        reservationRepository.save(reservation);
+        // Restore workstation assignments
+        updateWorkstationAssignments(workstationIds);
 
-        // Mark proposal as rejected
-        proposal.setResolution(ResolutionStatus.REJECTED);
-        proposal.setResolvedAt(OffsetDateTime.now());
-        proposal.setResolvedBy(rejector);
-        editProposalRepository.save(proposal);
+        reservationRepository.saveAll(reservations);
+        editProposalRepository.saveAll(proposals);
 
-        log.debug("Restored original values for reservation {} from edit proposal {}", 
-                reservation.getId(), proposal.getId());
+        log.debug("Restored original values for {} reservations from rejected edit proposals", proposals.size());
     }
 
     /**
-     * Apply edit directly to a reservation (for PENDING reservations edited by professor).
+     * Apply edit directly to reservations (for PENDING reservations edited by professor).
      */
-    private void applyEditDirectly(Reservation reservation, EditReservationRequest request) {
-        reservation.setStartTime(request.getStartTime());
-        reservation.setEndTime(request.getEndTime());
-        reservation.setDescription(request.getDescription());
-        reservation.setWholeLab(request.getWholeLab());
+    private void applyEditDirectly(List<Reservation> reservations, EditReservationRequest request) {
+        List<Integer> requestedWorkstationIds = assignedWorkstationIds(request.getWholeLab(), request.getWorkstationIds());
+        Map<Reservation, List<Integer>> workstationIds = new LinkedHashMap<>();
 
-        // Update workstation assignments
-        reservationWorkstationRepository.deleteByReservationId(reservation.getId());
-        if (!request.getWholeLab() && request.getWorkstationIds() != null 
-                && !request.getWorkstationIds().isEmpty()) {
-            for (Integer workstationId : request.getWorkstationIds()) {
-                Workstation workstation = workstationRepository.findById(workstationId)
-                        .orElseThrow(() -> new RuntimeException("Workstation not found: " + workstationId));
-                ReservationWorkstation rw = new ReservationWorkstation(reservation, workstation);
-                reservationWorkstationRepository.save(rw);
-            }
+        for (Reservation reservation : reservations) {
+            reservation.setStartTime(request.getStartTime());
+            reservation.setEndTime(request.getEndTime());
+            reservation.setDescription(request.getDescription());
+            reservation.setWholeLab(request.getWholeLab());
+            workstationIds.put(reservation, requestedWorkstationIds);
         }
+
+        // Update workstation assignments
+        updateWorkstationAssignments(workstationIds);
     }
 
     /**
-     * Get active (PENDING) edit proposal for a reservation.
+     * Workstations a reservation holds: none for whole-lab bookings, otherwise the given IDs.
      */
-    private ReservationEditProposal getActiveEditProposal(UUID reservationId) {
-        return editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING)
-                .orElseThrow(() -> {
-                    log.warn("No active edit proposal found for reservation {}", reservationId);
-                    return new EditProposalNotFoundException("No active edit proposal found for reservation: " + reservationId);
-                });
+    private static List<Integer> assignedWorkstationIds(Boolean wholeLab, List<Integer> workstationIds) {
+        if (Boolean.TRUE.equals(wholeLab) || workstationIds == null) {
+            return List.of();
+        }
+        return workstationIds;
     }
 
     /**
-     * Validate operating hours for a lab.
+     * Bring the workstation assignments of several reservations to the given sets, writing only the difference.
+     * Current assignments are read with one query. Removed ones are deleted with one statement and added ones
+     * inserted as one batch, with workstations referenced by ID without being loaded.
+     * Edits that keep the workstations (e.g. description or time only) write nothing.
      */
-    private void validateOperatingHours(Lab lab, OffsetDateTime startTime, OffsetDateTime endTime) {
-        // Convert Java DayOfWeek (1=Mon to 7=Sun) to our format (0=Sun to 6=Sat)
-        int javaDayValue = startTime.getDayOfWeek().getValue();
-        int dayOfWeek = (javaDayValue == 7) ? 0 : javaDayValue;
-        
-        log.debug("Validating operating hours for lab {} on day {} ({})", 
-                lab.getId(), dayOfWeek, startTime.getDayOfWeek());
-
-        Optional<LabOperatingHours> operatingHoursOpt = labOperatingHoursRepository
-                .findByLabIdAndDayOfWeek(lab.getId(), dayOfWeek);
-
-        if (operatingHoursOpt.isPresent()) {
-            LabOperatingHours operatingHours = operatingHoursOpt.get();
-            log.debug("Found specific operating hours: {} - {}, closed: {}", 
-                    operatingHours.getOpenTime(), operatingHours.getCloseTime(), operatingHours.getIsClosed());
-
-            if (operatingHours.getIsClosed()) {
-                log.warn("Lab {} is closed on day {}", lab.getId(), dayOfWeek);
-                throw new com._glab.booking_system.booking.exception.LabClosedException("Lab is closed on this day");
+    private void updateWorkstationAssignments(Map<Reservation, List<Integer>> workstationIds) {
+        if (workstationIds.isEmpty()) {
+            return;
+        }
+        Map<UUID, Set<Integer>> missing = new HashMap<>();
+        workstationIds.forEach((reservation, ids) -> missing.put(reservation.getId(), new LinkedHashSet<>(ids)));
+
+        // Assignments still wanted are crossed off; what is left in missing has to be inserted
+        List<Integer> removedAssignmentIds = new ArrayList<>();
+        for (ReservationWorkstationAssignment assignment
+                : reservationWorkstationRepository.findAssignmentsByReservationIdIn(missing.keySet())) {
+            if (!missing.get(assignment.getReservationId()).remove(assignment.getWorkstationId())) {
+                removedAssignmentIds.add(assignment.getId());
             }
+        }
 
-            java.time.LocalTime startLocalTime = startTime.toLocalTime();
-            java.time.LocalTime endLocalTime = endTime.toLocalTime();
-
-            if (startLocalTime.isBefore(operatingHours.getOpenTime()) || 
-                endLocalTime.isAfter(operatingHours.getCloseTime())) {
-                log.warn("Reservation {} - {} is outside operating hours {} - {}", 
-                        startLocalTime, endLocalTime, operatingHours.getOpenTime(), operatingHours.getCloseTime());
-                throw new com._glab.booking_system.booking.exception.OutsideOperatingHoursException("Reservation time must be within operating hours (" 
-                        + operatingHours.getOpenTime() + " - " + operatingHours.getCloseTime() + ")");
-            }
-        } else {
-            log.debug("No specific operating hours found, using lab defaults");
-            // No specific hours defined - use lab defaults if available
-            if (lab.getDefaultOpenTime() != null && lab.getDefaultCloseTime() != null) {
-                java.time.LocalTime startLocalTime = startTime.toLocalTime();
-                java.time.LocalTime endLocalTime = endTime.toLocalTime();
-
-                if (startLocalTime.isBefore(lab.getDefaultOpenTime()) || 
-                    endLocalTime.isAfter(lab.getDefaultCloseTime())) {
-                    log.warn("Reservation {} - {} is outside default operating hours {} - {}", 
-                            startLocalTime, endLocalTime, lab.getDefaultOpenTime(), lab.getDefaultCloseTime());
-                    throw new com._glab.booking_system.booking.exception.OutsideOperatingHoursException("Reservation time must be within operating hours (" 
-                            + lab.getDefaultOpenTime() + " - " + lab.getDefaultCloseTime() + ")");
-                }
-            }
-            
-            // Check if it's Sunday (default closed)
-            if (dayOfWeek == 0) {
-                log.warn("Lab {} is closed on Sundays by default", lab.getId());
-                throw new com._glab.booking_system.booking.exception.LabClosedException("Lab is closed on Sundays by default");
+        List<ReservationWorkstation> addedAssignments = new ArrayList<>();
+        workstationIds.keySet().forEach(reservation -> {
+            for (Integer workstationId : missing.get(reservation.getId())) {
+                addedAssignments.add(new ReservationWorkstation(reservation, workstationRepository.getReferenceById(workstationId)));
             }
+        });
+
+        if (!removedAssignmentIds.isEmpty()) {
+            reservationWorkstationRepository.deleteAllByIdInBatch(removedAssignmentIds);
         }
-        
-        log.debug("Operating hours validation passed");
+        if (!addedAssignments.isEmpty()) {
+            reservationWorkstationRepository.saveAll(addedAssignments);
+        }
+        log.debug("Workstation assignments of {} reservations: {} removed, {} added",
+                workstationIds.size(), removedAssignmentIds.size(), addedAssignments.size());
     }
 
     /**
-     * Validate that lab is not closed on the specified date.
+     * Get active (PENDING) edit proposal for a reservation.
      */
-    private void validateLabNotClosed(Integer labId, java.time.LocalDate date) {
-        int javaDayValue = date.getDayOfWeek().getValue();
-        int dayOfWeek = (javaDayValue == 7) ? 0 : javaDayValue;
-        
-        log.debug("Checking if lab {} is closed on {} (day {})", labId, date, dayOfWeek);
-
-        if (labClosedDayRepository.isLabClosedOnDate(labId, date, dayOfWeek)) {
-            log.warn("Lab {} is closed on {}", labId, date);
-            throw new com._glab.booking_system.booking.exception.LabClosedException("Lab is closed on " + date);
-        }
-        
-        log.debug("Lab {} is open on {}", labId, date);
+    private ReservationEditProposal getActiveEditProposal(UUID reservationId) {
+        return editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING)
+                .orElseThrow(() -> {
+                    log.warn("No active edit proposal found for reservation {}", reservationId);
+                    return new EditProposalNotFoundException("No active edit proposal found for reservation: " + reservationId);
+                });
     }
 
     /**
      * Validate edit request.
+     *
+     * @param editedReservationIds reservations being edited; their current slots do not count as conflicts
      */
-    private void validateEditRequest(Lab lab, EditReservationRequest request) {
+    private void validateEditRequest(Lab lab, EditReservationRequest request, List<UUID> editedReservationIds) {
         // Validate times
         if (request.getStartTime().isAfter(request.getEndTime())) {
             throw new com._glab.booking_system.booking.exception.InvalidReservationTimeException("Start time must be before end time");
@@ -855,11 +1054,8 @@ public class ReservationEditService {
             throw new com._glab.booking_system.booking.exception.InvalidReservationTimeException("Reservation duration must be at least 15 minutes");
         }
 
-        // Validate operating hours
-        validateOperatingHours(lab, request.getStartTime(), request.getEndTime());
-        
-        // Validate lab is not closed on this date
-        validateLabNotClosed(lab.getId(), request.getStartTime().toLocalDate());
+        // Validate operating hours and that the lab is not closed on this date
+        labScheduleCache.get(lab).validate(request.getStartTime(), request.getEndTime());
 
         // Validate workstations if not whole lab
         if (!request.getWholeLab() && (request.getWorkstationIds() == null || request.getWorkstationIds().isEmpty())) {
@@ -880,6 +1076,12 @@ public class ReservationEditService {
                 }
             }
         }
+
+        // Validate the new time is not already booked by someone else, holding the lab until the edit is written
+        labLockService.lock(lab.getId());
+        conflictService.assertNoConflicts(lab.getId(),
+                List.of(new ReservationConflictService.TimeRange(request.getStartTime(), request.getEndTime())),
+                Boolean.TRUE.equals(request.getWholeLab()), request.getWorkstationIds(), editedReservationIds);
     }
 
     // ==================== Email Notifications ====================
@@ -1,18 +1,42 @@
 package com._glab.booking_system.booking.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
 import com._glab.booking_system.booking.exception.BookingNotAuthorizedException;
+import com._glab.booking_system.booking.exception.NotLabManagerException;
 import com._glab.booking_system.booking.exception.ReservationNotFoundException;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
+import com._glab.booking_system.booking.model.RecurringPattern;
 import com._glab.booking_system.booking.model.Reservation;
 import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.PendingReservationFilter;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationCursor;
 import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.request.BulkReservationActionRequest;
+import com._glab.booking_system.booking.request.PendingReservationQueueRequest;
+import com._glab.booking_system.booking.response.BulkReservationActionResponse;
+import com._glab.booking_system.booking.response.RecurringGroupActionResponse;
+import com._glab.booking_system.booking.response.ReservationPageResponse;
 import com._glab.booking_system.booking.response.ReservationResponse;
 import com._glab.booking_system.user.model.User;
 
@@ -28,6 +52,15 @@ public class ReservationManagementService {
     private final ReservationService reservationService;
     private final LabManagerAuthorizationService authorizationService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingProperties bookingProperties;
+    private final ReservationSlotService reservationSlotService;
+    private final ReservationConflictService conflictService;
+    private final LabLockService labLockService;
+    private final BookingMetrics bookingMetrics;
+    private final RecurringPatternRepository recurringPatternRepository;
+    private final RecurringOccurrenceExpander occurrenceExpander;
+    private final RecurringSeriesService recurringSeriesService;
 
     /**
      * Get pending reservations for a lab manager or admin.
@@ -37,22 +70,67 @@ public class ReservationManagementService {
     public List<ReservationResponse> getPendingReservationsForManager(User user) {
         log.debug("Fetching pending reservations for manager: {}", user.getEmail());
         List<Reservation> reservations = authorizationService.getPendingReservationsForUser(user);
-        List<ReservationResponse> responses = reservations.stream()
-                .map(reservation -> reservationService.toReservationResponse(reservation))
-                .collect(Collectors.toList());
+        List<ReservationResponse> responses = reservationService.toReservationResponses(reservations);
         log.debug("Found {} pending reservations for manager {}", responses.size(), user.getEmail());
         return responses;
     }
 
+    /**
+     * Get one page of the pending-reservation queue for a lab manager or admin, oldest first.
+     * For lab managers: only reservations for labs they manage; asking for another lab is rejected.
+     * For admins: pending reservations of every lab.
+     */
+    @Transactional(readOnly = true)
+    public ReservationPageResponse getPendingReservationQueue(User user, PendingReservationQueueRequest request) {
+        Collection<Integer> labScope = null;
+        if (!authorizationService.isAdmin(user)) {
+            labScope = authorizationService.getAssignedLabIds(user);
+            if (request.getLabId() != null && !labScope.contains(request.getLabId())) {
+                log.warn("User {} requested pending queue of unmanaged lab {}", user.getEmail(), request.getLabId());
+                throw new NotLabManagerException(request.getLabId());
+            }
+        }
+
+        int limit = request.getLimit() != null
+                ? request.getLimit()
+                : bookingProperties.getPagination().getDefaultPageSize();
+        ReservationCursor after = request.getCursor() != null ? ReservationCursor.decode(request.getCursor()) : null;
+
+        // Fetch one extra row to know whether another page follows
+        List<Reservation> reservations = reservationRepository.findPendingPage(new PendingReservationFilter(
+                labScope, request.getLabId(), request.getFrom(), request.getTo(),
+                request.getRecurringGroupId(), after, limit + 1));
+        boolean hasMore = reservations.size() > limit;
+        List<Reservation> page = hasMore ? reservations.subList(0, limit) : reservations;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Reservation last = page.get(page.size() - 1);
+            nextCursor = new ReservationCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        log.debug("Returning {} pending reservations for manager {} (more: {})", page.size(), user.getEmail(), hasMore);
+
+        return ReservationPageResponse.builder()
+                .reservations(reservationService.toReservationResponses(page))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     /**
      * Approve a single reservation.
      * Requires: User must be a lab manager for the reservation's lab or an admin.
      */
     @Transactional
     public void approveReservation(UUID reservationId, User manager, String reason) {
+        bookingMetrics.timeOperation("approve", () -> doApproveReservation(reservationId, manager, reason));
+    }
+
+    private void doApproveReservation(UUID reservationId, User manager, String reason) {
         log.info("Manager {} attempting to approve reservation {}", manager.getEmail(), reservationId);
         
         Reservation reservation = reservationRepository.findById(reservationId)
+                .or(() -> recurringSeriesService.writeOccurrence(reservationId))
                 .orElseThrow(() -> {
                     log.warn("Reservation not found: {}", reservationId);
                     return new ReservationNotFoundException(reservationId);
@@ -70,8 +148,14 @@ public class ReservationManagementService {
             throw new IllegalStateException("Only PENDING reservations can be approved");
         }
 
+        // Re-check under the lab's lock, so a booking written concurrently since creation cannot be double-approved
+        labLockService.lock(reservation.getLab().getId());
+        conflictService.assertNoConflicts(reservation);
+
         reservation.setStatus(ReservationStatus.APPROVED);
         reservationRepository.save(reservation);
+        reservationSlotService.hold(List.of(reservationId));
+        eventPublisher.publishEvent(ReservationChangedEvent.of(reservation.getLab().getId(), reservationId));
 
         log.info("Reservation {} approved by manager {}", reservationId, manager.getEmail());
 
@@ -85,9 +169,14 @@ public class ReservationManagementService {
      */
     @Transactional
     public void declineReservation(UUID reservationId, User manager, String reason) {
+        bookingMetrics.timeOperation("decline", () -> doDeclineReservation(reservationId, manager, reason));
+    }
+
+    private void doDeclineReservation(UUID reservationId, User manager, String reason) {
         log.info("Manager {} attempting to decline reservation {}", manager.getEmail(), reservationId);
         
         Reservation reservation = reservationRepository.findById(reservationId)
+                .or(() -> recurringSeriesService.writeOccurrence(reservationId))
                 .orElseThrow(() -> {
                     log.warn("Reservation not found: {}", reservationId);
                     return new ReservationNotFoundException(reservationId);
@@ -107,6 +196,7 @@ public class ReservationManagementService {
 
         reservation.setStatus(ReservationStatus.REJECTED);
         reservationRepository.save(reservation);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(reservation.getLab().getId(), reservationId));
 
         log.info("Reservation {} declined by manager {}", reservationId, manager.getEmail());
 
@@ -115,81 +205,218 @@ public class ReservationManagementService {
     }
 
     /**
-     * Approve all reservations in a recurring group.
+     * Approve all pending reservations in a recurring group with a single update.
+     * Occurrences that overlap other bookings of the lab stay PENDING and are listed in the response.
      * Requires: User must be a lab manager for the reservations' lab or an admin.
      */
     @Transactional
-    public void approveRecurringGroup(UUID recurringGroupId, User manager, String reason) {
-        log.info("Manager {} attempting to approve recurring group {}", manager.getEmail(), recurringGroupId);
-        
-        List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
-        
-        if (reservations.isEmpty()) {
-            log.warn("No reservations found for recurring group {}", recurringGroupId);
-            throw new ReservationNotFoundException("No reservations found for recurring group: " + recurringGroupId);
-        }
+    public RecurringGroupActionResponse approveRecurringGroup(UUID recurringGroupId, User manager, String reason) {
+        return bookingMetrics.timeOperation("approve-group",
+                () -> doApproveRecurringGroup(recurringGroupId, manager, reason));
+    }
 
-        // Check authorization for all reservations (they should all be in the same lab)
-        Reservation firstReservation = reservations.get(0);
-        if (!authorizationService.canManageReservation(manager, firstReservation)) {
-            log.warn("User {} is not authorized to manage recurring group {}", manager.getEmail(), recurringGroupId);
-            throw new BookingNotAuthorizedException("You are not authorized to manage this recurring group");
-        }
+    private RecurringGroupActionResponse doApproveRecurringGroup(UUID recurringGroupId, User manager, String reason) {
+        log.info("Manager {} attempting to approve recurring group {}", manager.getEmail(), recurringGroupId);
 
-        // Approve all PENDING reservations in the group
-        int approvedCount = 0;
-        for (Reservation reservation : reservations) {
-            if (reservation.getStatus() == ReservationStatus.PENDING) {
-                reservation.setStatus(ReservationStatus.APPROVED);
-                reservationRepository.save(reservation);
-                approvedCount++;
-                
-                // Send email notification for each approved reservation
-                sendStatusChangeEmail(reservation, ReservationStatus.APPROVED, reason);
-            }
-        }
+        RecurringGroupActionResponse response =
+                updatePendingInRecurringGroup(recurringGroupId, manager, ReservationStatus.APPROVED, reason);
 
-        log.info("Approved {} reservations in recurring group {} by manager {}", 
-                approvedCount, recurringGroupId, manager.getEmail());
+        log.info("Approved {} reservations in recurring group {} by manager {}, {} left pending",
+                response.getUpdatedCount(), recurringGroupId, manager.getEmail(),
+                response.getLeftPendingReservationIds().size());
+        return response;
     }
 
     /**
-     * Decline all reservations in a recurring group.
+     * Decline all pending reservations in a recurring group with a single update.
      * Requires: User must be a lab manager for the reservations' lab or an admin.
      */
     @Transactional
-    public void declineRecurringGroup(UUID recurringGroupId, User manager, String reason) {
+    public RecurringGroupActionResponse declineRecurringGroup(UUID recurringGroupId, User manager, String reason) {
+        return bookingMetrics.timeOperation("decline-group",
+                () -> doDeclineRecurringGroup(recurringGroupId, manager, reason));
+    }
+
+    private RecurringGroupActionResponse doDeclineRecurringGroup(UUID recurringGroupId, User manager, String reason) {
         log.info("Manager {} attempting to decline recurring group {}", manager.getEmail(), recurringGroupId);
-        
-        List<Reservation> reservations = reservationRepository.findByRecurringGroupId(recurringGroupId);
-        
-        if (reservations.isEmpty()) {
-            log.warn("No reservations found for recurring group {}", recurringGroupId);
-            throw new ReservationNotFoundException("No reservations found for recurring group: " + recurringGroupId);
+
+        RecurringGroupActionResponse response =
+                updatePendingInRecurringGroup(recurringGroupId, manager, ReservationStatus.REJECTED, reason);
+
+        log.info("Declined {} reservations in recurring group {} by manager {}",
+                response.getUpdatedCount(), recurringGroupId, manager.getEmail());
+        return response;
+    }
+
+    /**
+     * Approve or decline a selection of reservations at once.
+     * The manager's labs are loaded once, all PENDING reservations the manager may manage are updated
+     * in a single statement and every requested ID gets its own outcome instead of failing the whole call.
+     * Reservations to approve that overlap another booking by now are reported as conflicts and stay PENDING.
+     */
+    @Transactional
+    public BulkReservationActionResponse applyBulkAction(List<UUID> reservationIds,
+                                                         BulkReservationActionRequest.Action action,
+                                                         User manager, String reason) {
+        return bookingMetrics.timeOperation("bulk-" + action.name().toLowerCase(),
+                () -> doApplyBulkAction(reservationIds, action, manager, reason));
+    }
+
+    private BulkReservationActionResponse doApplyBulkAction(List<UUID> reservationIds,
+                                                            BulkReservationActionRequest.Action action,
+                                                            User manager, String reason) {
+        ReservationStatus newStatus = action == BulkReservationActionRequest.Action.APPROVE
+                ? ReservationStatus.APPROVED
+                : ReservationStatus.REJECTED;
+        Set<UUID> requestedIds = new LinkedHashSet<>(reservationIds);
+        log.info("Manager {} attempting to {} {} reservations", manager.getEmail(), action, requestedIds.size());
+
+        Map<UUID, Reservation> reservations = reservationRepository.findWithUserAndLabByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        Predicate<Integer> canManageLab = authorizationService.managedLabFilter(manager);
+
+        Map<UUID, BulkReservationActionResponse.Outcome> outcomes = new LinkedHashMap<>();
+        List<UUID> eligibleIds = new ArrayList<>();
+        for (UUID id : requestedIds) {
+            Reservation reservation = reservations.get(id);
+            if (reservation == null) {
+                outcomes.put(id, BulkReservationActionResponse.Outcome.NOT_FOUND);
+            } else if (!canManageLab.test(reservation.getLab().getId())) {
+                outcomes.put(id, BulkReservationActionResponse.Outcome.NOT_AUTHORIZED);
+            } else if (reservation.getStatus() != ReservationStatus.PENDING) {
+                outcomes.put(id, BulkReservationActionResponse.Outcome.NOT_PENDING);
+            } else {
+                outcomes.put(id, null);
+                eligibleIds.add(id);
+            }
+        }
+
+        // Serialize with bookings being created or approved in the same labs
+        labLockService.lockAll(eligibleIds.stream().map(id -> reservations.get(id).getLab().getId()).toList());
+
+        if (newStatus == ReservationStatus.APPROVED) {
+            // Re-check under the locks, so one overlapping reservation cannot fail the whole batch on hold()
+            Set<UUID> conflictingIds = conflictService.findConflicting(
+                    eligibleIds.stream().map(reservations::get).toList());
+            conflictingIds.forEach(id -> outcomes.put(id, BulkReservationActionResponse.Outcome.CONFLICT));
+            eligibleIds.removeAll(conflictingIds);
+        }
+
+        // Reservations decided concurrently since they were loaded are not returned and stay NOT_PENDING
+        Set<UUID> updatedIds = new HashSet<>(reservationRepository.updatePendingStatus(eligibleIds, newStatus));
+        if (newStatus == ReservationStatus.APPROVED) {
+            reservationSlotService.hold(updatedIds);
         }
+        BulkReservationActionResponse.Outcome updatedOutcome = newStatus == ReservationStatus.APPROVED
+                ? BulkReservationActionResponse.Outcome.APPROVED
+                : BulkReservationActionResponse.Outcome.REJECTED;
+        for (UUID id : eligibleIds) {
+            outcomes.put(id, updatedIds.contains(id) ? updatedOutcome : BulkReservationActionResponse.Outcome.NOT_PENDING);
+        }
+
+        if (!updatedIds.isEmpty()) {
+            Map<Integer, List<UUID>> updatedByLab = eligibleIds.stream()
+                    .filter(updatedIds::contains)
+                    .collect(Collectors.groupingBy(id -> reservations.get(id).getLab().getId(),
+                            LinkedHashMap::new, Collectors.toList()));
+            updatedByLab.forEach((labId, ids) -> eventPublisher.publishEvent(new ReservationChangedEvent(labId, ids)));
+            Map<Integer, List<Reservation>> updatedByRequester = eligibleIds.stream()
+                    .filter(updatedIds::contains)
+                    .map(reservations::get)
+                    .collect(Collectors.groupingBy(reservation -> reservation.getUser().getId(),
+                            LinkedHashMap::new, Collectors.toList()));
+            updatedByRequester.values().forEach(updated -> sendBulkStatusChangeEmail(updated, newStatus, reason));
+        }
+
+        log.info("Manager {} applied {} to {} of {} reservations",
+                manager.getEmail(), action, updatedIds.size(), requestedIds.size());
+
+        List<BulkReservationActionResponse.Result> results = outcomes.entrySet().stream()
+                .map(entry -> BulkReservationActionResponse.Result.builder()
+                        .reservationId(entry.getKey())
+                        .outcome(entry.getValue())
+                        .build())
+                .toList();
+        return BulkReservationActionResponse.builder()
+                .results(results)
+                .updatedCount(updatedIds.size())
+                .build();
+    }
+
+    /**
+     * Authorize against the group's first occurrence (all occurrences share a lab), move every PENDING
+     * occurrence to the new status in one statement and send the requester a single summary email.
+     * When approving, the statement itself leaves occurrences that overlap another booking of the lab
+     * PENDING; the summary lists them.
+     */
+    private RecurringGroupActionResponse updatePendingInRecurringGroup(UUID recurringGroupId, User manager,
+                                                                       ReservationStatus newStatus, String reason) {
+        Reservation firstReservation = reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId)
+                .orElseThrow(() -> {
+                    log.warn("No reservations found for recurring group {}", recurringGroupId);
+                    return new ReservationNotFoundException("No reservations found for recurring group: " + recurringGroupId);
+                });
 
-        // Check authorization for all reservations (they should all be in the same lab)
-        Reservation firstReservation = reservations.get(0);
         if (!authorizationService.canManageReservation(manager, firstReservation)) {
             log.warn("User {} is not authorized to manage recurring group {}", manager.getEmail(), recurringGroupId);
             throw new BookingNotAuthorizedException("You are not authorized to manage this recurring group");
         }
 
-        // Decline all PENDING reservations in the group
-        int declinedCount = 0;
-        for (Reservation reservation : reservations) {
-            if (reservation.getStatus() == ReservationStatus.PENDING) {
-                reservation.setStatus(ReservationStatus.REJECTED);
-                reservationRepository.save(reservation);
-                declinedCount++;
-                
-                // Send email notification for each declined reservation
-                sendStatusChangeEmail(reservation, ReservationStatus.REJECTED, reason);
+        // The overlap check runs inside the update; the lab's lock keeps concurrent approvals from
+        // passing it at the same time
+        labLockService.lock(firstReservation.getLab().getId());
+        List<UUID> changedIds;
+        List<Reservation> leftPending;
+        if (newStatus == ReservationStatus.APPROVED) {
+            changedIds = reservationRepository.approvePendingInRecurringGroup(recurringGroupId);
+            leftPending = reservationRepository.findByRecurringGroupIdAndStatus(
+                    recurringGroupId, ReservationStatus.PENDING);
+            if (!leftPending.isEmpty()) {
+                log.warn("Leaving {} occurrences of recurring group {} pending, they overlap other bookings",
+                        leftPending.size(), recurringGroupId);
             }
+        } else {
+            changedIds = reservationRepository.updatePendingStatusInRecurringGroup(recurringGroupId, newStatus);
+            leftPending = List.of();
+        }
+        List<UUID> unwrittenIds = updatePendingPattern(recurringGroupId, newStatus);
+        int updatedCount = changedIds.size() + unwrittenIds.size();
+        RecurringGroupActionResponse response = RecurringGroupActionResponse.builder()
+                .recurringGroupId(recurringGroupId)
+                .updatedCount(updatedCount)
+                .leftPendingReservationIds(leftPending.stream().map(Reservation::getId).toList())
+                .build();
+        if (updatedCount == 0 && leftPending.isEmpty()) {
+            log.info("Recurring group {} has no pending reservations", recurringGroupId);
+            return response;
+        }
+        if (!changedIds.isEmpty() && newStatus == ReservationStatus.APPROVED) {
+            reservationSlotService.hold(changedIds);
         }
+        if (updatedCount > 0) {
+            List<UUID> changed = new ArrayList<>(changedIds);
+            changed.addAll(unwrittenIds);
+            eventPublisher.publishEvent(new ReservationChangedEvent(firstReservation.getLab().getId(), changed));
+        }
+        sendRecurringGroupStatusChangeEmail(firstReservation, updatedCount, newStatus, reason, leftPending);
+        return response;
+    }
 
-        log.info("Declined {} reservations in recurring group {} by manager {}", 
-                declinedCount, recurringGroupId, manager.getEmail());
+    /**
+     * Move a pending series' template to the new status, which its unwritten occurrences take.
+     *
+     * @return IDs of the series' unwritten occurrences, or an empty list if the series was not pending
+     */
+    private List<UUID> updatePendingPattern(UUID recurringGroupId, ReservationStatus newStatus) {
+        Optional<RecurringPattern> pattern = recurringPatternRepository.findByRecurringGroupId(recurringGroupId)
+                .filter(p -> p.getStatus() == ReservationStatus.PENDING);
+        if (pattern.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> unwrittenIds = occurrenceExpander.occurrenceIds(pattern.get());
+        pattern.get().setStatus(newStatus);
+        recurringPatternRepository.save(pattern.get());
+        return unwrittenIds;
     }
 
     /**
@@ -222,9 +449,75 @@ public class ReservationManagementService {
         }
     }
 
+    /**
+     * Send a requester one email for all of their reservations a bulk action changed.
+     */
+    private void sendBulkStatusChangeEmail(List<Reservation> reservations, ReservationStatus newStatus, String reason) {
+        if (reservations.size() == 1) {
+            sendStatusChangeEmail(reservations.getFirst(), newStatus, reason);
+            return;
+        }
+        User requester = reservations.getFirst().getUser();
+        try {
+            String userName = requester.getFirstName() + " " + requester.getLastName();
+            List<String> lines = reservations.stream()
+                    .map(reservation -> String.format("%s: %s - %s", reservation.getLab().getName(),
+                            reservation.getStartTime(), reservation.getEndTime()))
+                    .toList();
+
+            emailService.sendReservationsStatusChangeEmail(
+                    requester.getEmail(),
+                    userName,
+                    lines,
+                    newStatus.name(),
+                    reason
+            );
+
+            log.debug("Status change email sent for {} reservations to {}", reservations.size(), requester.getEmail());
+        } catch (Exception e) {
+            // Log but don't fail the operation if email fails
+            log.error("Failed to send status change email for {} reservations of user {}: {}",
+                    reservations.size(), requester.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Send one summary email for a status change applied to several occurrences of a recurring group.
+     */
+    private void sendRecurringGroupStatusChangeEmail(Reservation firstReservation, int occurrenceCount,
+                                                     ReservationStatus newStatus, String reason,
+                                                     List<Reservation> leftPending) {
+        try {
+            User requester = firstReservation.getUser();
+            String userName = requester.getFirstName() + " " + requester.getLastName();
+            List<String> leftPendingLines = leftPending.stream()
+                    .map(reservation -> reservation.getStartTime() + " - " + reservation.getEndTime())
+                    .toList();
+
+            emailService.sendRecurringGroupStatusChangeEmail(
+                    requester.getEmail(),
+                    userName,
+                    firstReservation.getLab().getName(),
+                    firstReservation.getStartTime().toString(),
+                    occurrenceCount,
+                    newStatus.name(),
+                    reason,
+                    leftPendingLines
+            );
+
+            log.debug("Status change email sent for recurring group {} to {}",
+                    firstReservation.getRecurringGroupId(), requester.getEmail());
+        } catch (Exception e) {
+            // Log but don't fail the operation if email fails
+            log.error("Failed to send status change email for recurring group {}: {}",
+                    firstReservation.getRecurringGroupId(), e.getMessage());
+        }
+    }
+
     public ReservationResponse getReservation(UUID reservationId) {
-        Reservation reservation = reservationRepository.findById(reservationId)
+        return reservationRepository.findById(reservationId)
+                .map(reservationService::toReservationResponse)
+                .or(() -> reservationService.findUnwrittenOccurrence(reservationId))
                 .orElseThrow(() -> new ReservationNotFoundException(reservationId));
-        return reservationService.toReservationResponse(reservation);
     }
 }
@@ -7,36 +7,51 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
 import com._glab.booking_system.booking.exception.*;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.Lab;
 import com._glab.booking_system.booking.model.LabManager;
-import com._glab.booking_system.booking.model.LabOperatingHours;
 import com._glab.booking_system.booking.model.RecurrenceType;
 import com._glab.booking_system.booking.model.RecurringPattern;
 import com._glab.booking_system.booking.model.Reservation;
 import com._glab.booking_system.booking.model.ReservationStatus;
 import com._glab.booking_system.booking.model.ReservationWorkstation;
 import com._glab.booking_system.booking.model.Workstation;
-import com._glab.booking_system.booking.repository.LabClosedDayRepository;
 import com._glab.booking_system.booking.repository.LabManagerRepository;
-import com._glab.booking_system.booking.repository.LabOperatingHoursRepository;
 import com._glab.booking_system.booking.repository.LabRepository;
 import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationCursor;
 import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationRow;
 import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.repository.UserReservationFilter;
 import com._glab.booking_system.booking.repository.WorkstationRepository;
 import com._glab.booking_system.booking.request.CreateReservationRequest;
+import com._glab.booking_system.booking.request.MyReservationsRequest;
 import com._glab.booking_system.booking.response.RecurringReservationResponse;
+import com._glab.booking_system.booking.response.ReservationPageResponse;
 import com._glab.booking_system.booking.response.ReservationResponse;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import com._glab.booking_system.booking.schedule.RecurrenceDates;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
+import com._glab.booking_system.booking.service.ReservationConflictService.TimeRange;
 import com._glab.booking_system.user.model.User;
 
 import lombok.RequiredArgsConstructor;
@@ -49,13 +64,18 @@ public class ReservationService {
 
     private final ReservationRepository reservationRepository;
     private final LabRepository labRepository;
-    private final LabOperatingHoursRepository labOperatingHoursRepository;
-    private final LabClosedDayRepository labClosedDayRepository;
+    private final LabScheduleCache labScheduleCache;
     private final WorkstationRepository workstationRepository;
     private final ReservationWorkstationRepository reservationWorkstationRepository;
     private final RecurringPatternRepository recurringPatternRepository;
     private final LabManagerRepository labManagerRepository;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservationConflictService conflictService;
+    private final BookingProperties bookingProperties;
+    private final LabLockService labLockService;
+    private final BookingMetrics bookingMetrics;
+    private final RecurringOccurrenceExpander occurrenceExpander;
 
     /**
      * Get all reservations for a lab.
@@ -73,7 +93,8 @@ public class ReservationService {
     public Optional<ReservationResponse> getReservationById(UUID reservationId) {
         log.debug("Fetching reservation by ID: {}", reservationId);
         Optional<ReservationResponse> response = reservationRepository.findById(reservationId)
-                .map(this::toReservationResponse);
+                .map(this::toReservationResponse)
+                .or(() -> findUnwrittenOccurrence(reservationId));
         if (response.isPresent()) {
             log.debug("Reservation {} found", reservationId);
         } else {
@@ -83,27 +104,74 @@ public class ReservationService {
     }
 
     /**
-     * Get all reservations for a user.
+     * The unwritten occurrence of a recurring series with the given ID, if it is one.
      */
-    public List<ReservationResponse> getUserReservations(Integer userId) {
-        log.debug("Fetching all reservations for user {}", userId);
-        List<ReservationResponse> reservations = reservationRepository.findByUserId(userId).stream()
-                .map(this::toReservationResponse)
-                .collect(Collectors.toList());
-        log.debug("Found {} reservations for user {}", reservations.size(), userId);
-        return reservations;
+    public Optional<ReservationResponse> findUnwrittenOccurrence(UUID occurrenceId) {
+        return occurrenceExpander.findByIds(null, List.of(occurrenceId)).stream()
+                .findFirst()
+                .map(occurrence -> toReservationResponse(toReservationRow(occurrence), occurrence.workstationIds()));
     }
 
     /**
-     * Get user's reservations filtered by status.
+     * Get one page of a user's reservations.
+     * Reads flat rows plus one batched workstation lookup per page instead of loading every reservation.
      */
-    public List<ReservationResponse> getUserReservationsByStatus(Integer userId, ReservationStatus status) {
-        log.debug("Fetching reservations for user {} with status {}", userId, status);
-        List<ReservationResponse> reservations = reservationRepository.findByUserIdAndStatus(userId, status).stream()
-                .map(this::toReservationResponse)
-                .collect(Collectors.toList());
-        log.debug("Found {} {} reservations for user {}", reservations.size(), status, userId);
-        return reservations;
+    @Transactional(readOnly = true)
+    public ReservationPageResponse getUserReservationPage(Integer userId, MyReservationsRequest request) {
+        boolean past = request.getOrder() == MyReservationsRequest.Order.PAST;
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime from = request.getFrom() == null && !past ? now : request.getFrom();
+        OffsetDateTime to = request.getTo() == null && past ? now : request.getTo();
+        int limit = request.getLimit() != null
+                ? request.getLimit()
+                : bookingProperties.getPagination().getDefaultPageSize();
+        ReservationCursor after = request.getCursor() != null ? ReservationCursor.decode(request.getCursor()) : null;
+        log.debug("Fetching {} reservations for user {} between {} and {}", request.getOrder(), userId, from, to);
+
+        // Fetch one extra row to know whether another page follows
+        List<ReservationRow> rows = reservationRepository.findUserPage(new UserReservationFilter(
+                userId, from, to, request.getStatus(), past, after, limit + 1));
+
+        // Unwritten occurrences of the user's recurring series are merged in the same order
+        Map<UUID, List<Integer>> expandedWorkstationIds = new HashMap<>();
+        List<ReservationRow> merged = new ArrayList<>(rows);
+        for (ExpandedOccurrence occurrence : occurrenceExpander.expandForUser(userId, from, to)) {
+            ReservationRow row = toReservationRow(occurrence);
+            if ((request.getStatus() == null || row.status() == request.getStatus())
+                    && (after == null || isAfter(row, after, past))) {
+                merged.add(row);
+                expandedWorkstationIds.put(row.id(), occurrence.workstationIds());
+            }
+        }
+        if (!expandedWorkstationIds.isEmpty()) {
+            Comparator<ReservationRow> order = Comparator
+                    .comparing(ReservationRow::startTime, OffsetDateTime.timeLineOrder())
+                    .thenComparing(ReservationRow::id, ReservationService::compareIds);
+            merged.sort(past ? order.reversed() : order);
+            rows = merged.subList(0, Math.min(merged.size(), limit + 1));
+        }
+        boolean hasMore = rows.size() > limit;
+        List<ReservationRow> page = hasMore ? rows.subList(0, limit) : rows;
+
+        Map<UUID, List<Integer>> workstationIds = new HashMap<>(reservationWorkstationRepository
+                .findWorkstationIdsGroupedByReservationId(page.stream().map(ReservationRow::id).toList()));
+        workstationIds.putAll(expandedWorkstationIds);
+        List<ReservationResponse> reservations = page.stream()
+                .map(row -> toReservationResponse(row, workstationIds.getOrDefault(row.id(), List.of())))
+                .toList();
+
+        String nextCursor = null;
+        if (hasMore) {
+            ReservationRow last = page.get(page.size() - 1);
+            nextCursor = new ReservationCursor(last.startTime(), last.id()).encode();
+        }
+        log.debug("Returning {} reservations for user {} (more: {})", reservations.size(), userId, hasMore);
+
+        return ReservationPageResponse.builder()
+                .reservations(reservations)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     /**
@@ -118,7 +186,10 @@ public class ReservationService {
             return recurringResponse.getReservations().get(0);
         }
 
-        return createSingleReservation(request, user, null);
+        ReservationResponse response = bookingMetrics.timeCreation("single", request.getLabId(),
+                () -> createSingleReservation(request, user));
+        eventPublisher.publishEvent(ReservationChangedEvent.of(response.getLabId(), response.getId()));
+        return response;
     }
 
     /**
@@ -126,6 +197,11 @@ public class ReservationService {
      */
     @Transactional
     public RecurringReservationResponse createRecurringReservation(CreateReservationRequest request, User user) {
+        return bookingMetrics.timeCreation("recurring", request.getLabId(),
+                () -> doCreateRecurringReservation(request, user));
+    }
+
+    private RecurringReservationResponse doCreateRecurringReservation(CreateReservationRequest request, User user) {
         log.info("Creating recurring reservation for user {} in lab {}", user.getEmail(), request.getLabId());
 
         CreateReservationRequest.RecurringConfig recurringConfig = request.getRecurring();
@@ -145,7 +221,7 @@ public class ReservationService {
         UUID recurringGroupId = UUID.randomUUID();
 
         // Calculate occurrence dates
-        List<LocalDate> occurrenceDates = calculateOccurrenceDates(
+        List<LocalDate> occurrenceDates = RecurrenceDates.of(
                 request.getStartTime().toLocalDate(),
                 patternType,
                 recurringConfig.getIntervalDays(),
@@ -158,66 +234,102 @@ public class ReservationService {
         }
 
         log.info("Generating {} occurrences for recurring reservation", occurrenceDates.size());
+        bookingMetrics.recordOccurrences(request.getLabId(), occurrenceDates.size());
+
+        Lab lab = labRepository.findById(request.getLabId())
+                .orElseThrow(() -> new LabNotFoundException(request.getLabId()));
+        boolean wholeLab = Boolean.TRUE.equals(request.getWholeLab());
 
-        // Create reservations for each occurrence
-        List<ReservationResponse> reservationResponses = new ArrayList<>();
         LocalTime startTime = request.getStartTime().toLocalTime();
         LocalTime endTime = request.getEndTime().toLocalTime();
         ZoneOffset offset = request.getStartTime().getOffset();
+        List<TimeRange> occurrenceRanges = occurrenceDates.stream()
+                .map(date -> new TimeRange(
+                        OffsetDateTime.of(date, startTime, offset),
+                        OffsetDateTime.of(date, endTime, offset)))
+                .toList();
+
+        // Validate every occurrence against one snapshot of the lab's hours and closures
+        LabSchedule schedule = labScheduleCache.get(lab);
+        for (TimeRange range : occurrenceRanges) {
+            validateTimes(range.start(), range.end());
+            schedule.validate(range.start(), range.end());
+        }
 
-        for (LocalDate date : occurrenceDates) {
-            OffsetDateTime occurrenceStart = OffsetDateTime.of(date, startTime, offset);
-            OffsetDateTime occurrenceEnd = OffsetDateTime.of(date, endTime, offset);
-
-            // Create a modified request for this occurrence
-            CreateReservationRequest occurrenceRequest = CreateReservationRequest.builder()
-                    .labId(request.getLabId())
-                    .startTime(occurrenceStart)
-                    .endTime(occurrenceEnd)
-                    .description(request.getDescription())
-                    .wholeLab(request.getWholeLab())
-                    .workstationIds(request.getWorkstationIds())
-                    .build();
-
-            try {
-                ReservationResponse response = createSingleReservation(occurrenceRequest, user, recurringGroupId);
-                reservationResponses.add(response);
-            } catch (IllegalArgumentException e) {
-                // Log and skip invalid dates (e.g., lab closed)
-                log.warn("Skipping occurrence on {}: {}", date, e.getMessage());
+        List<Workstation> workstations = wholeLab
+                ? List.of()
+                : validateAndGetWorkstations(lab.getId(), request.getWorkstationIds());
+
+        // Check every occurrence against existing bookings in one pass, holding the lab until the series is written
+        labLockService.lock(lab.getId());
+        conflictService.assertNoConflicts(lab.getId(), occurrenceRanges, wholeLab, request.getWorkstationIds(), List.of());
+
+        // With lazy expansion only occurrences within the horizon are written now;
+        // RecurringSeriesService writes the rest as their dates approach
+        List<TimeRange> materializedRanges = occurrenceRanges;
+        LocalDate materializedUntil = null;
+        BookingProperties.Recurring recurring = bookingProperties.getRecurring();
+        if (recurring.isLazyExpansion()) {
+            LocalDate horizon = LocalDate.now().plusDays(recurring.getHorizonDays());
+            int count = (int) Math.max(1, occurrenceDates.stream().filter(date -> !date.isAfter(horizon)).count());
+            if (count < occurrenceRanges.size()) {
+                materializedRanges = occurrenceRanges.subList(0, count);
+                materializedUntil = occurrenceDates.get(count - 1);
             }
         }
 
-        if (reservationResponses.isEmpty()) {
-            throw new NoValidOccurrencesException();
+        // Persist the series at once; inserts are sent as JDBC batches
+        List<Reservation> reservations = new ArrayList<>(materializedRanges.size());
+        for (TimeRange range : materializedRanges) {
+            reservations.add(newReservation(lab, user, range.start(), range.end(),
+                    request.getDescription(), wholeLab, recurringGroupId));
+        }
+        List<Reservation> savedReservations = reservationRepository.saveAll(reservations);
+
+        if (!workstations.isEmpty()) {
+            List<ReservationWorkstation> assignments = new ArrayList<>(savedReservations.size() * workstations.size());
+            for (Reservation reservation : savedReservations) {
+                for (Workstation workstation : workstations) {
+                    assignments.add(new ReservationWorkstation(reservation, workstation));
+                }
+            }
+            reservationWorkstationRepository.saveAll(assignments);
         }
 
+        List<Integer> workstationIds = workstations.stream().map(Workstation::getId).toList();
+        List<ReservationResponse> reservationResponses = savedReservations.stream()
+                .map(r -> toReservationResponse(r, workstationIds))
+                .collect(Collectors.toList());
+
         // Save the recurring pattern
         RecurringPattern pattern = new RecurringPattern();
         pattern.setRecurringGroupId(recurringGroupId);
         pattern.setPatternType(patternType);
-        pattern.setIntervalDays(getIntervalDays(patternType, recurringConfig.getIntervalDays()));
+        pattern.setIntervalDays(RecurrenceDates.intervalDays(patternType, recurringConfig.getIntervalDays()));
         pattern.setEndDate(recurringConfig.getEndDate() != null ? LocalDate.parse(recurringConfig.getEndDate()) : null);
         pattern.setOccurrences(recurringConfig.getOccurrences());
+        pattern.setLab(lab);
+        pattern.setFirstOccurrence(occurrenceDates.get(0));
+        pattern.setMaterializedUntil(materializedUntil);
+        pattern.setUser(user);
+        pattern.applyTemplate(occurrenceRanges.get(0).start(), occurrenceRanges.get(0).end(),
+                request.getDescription(), wholeLab, workstationIds);
+        pattern.setStatus(ReservationStatus.PENDING);
         recurringPatternRepository.save(pattern);
 
-        log.info("Created recurring reservation group {} with {} occurrences", 
-                recurringGroupId, reservationResponses.size());
+        eventPublisher.publishEvent(new ReservationChangedEvent(request.getLabId(),
+                reservationResponses.stream().map(ReservationResponse::getId).toList()));
+
+        log.info("Created recurring reservation group {} with {} occurrences ({} written)",
+                recurringGroupId, occurrenceRanges.size(), reservationResponses.size());
 
         // Send email notifications for the recurring series
-        Lab lab = labRepository.findById(request.getLabId()).orElse(null);
-        if (lab != null && !reservationResponses.isEmpty()) {
-            ReservationResponse firstRes = reservationResponses.get(0);
-            Reservation firstReservation = reservationRepository.findById(firstRes.getId()).orElse(null);
-            if (firstReservation != null) {
-                sendReservationEmails(firstReservation, user, lab, true, reservationResponses.size());
-            }
-        }
+        sendReservationEmails(savedReservations.get(0), user, lab, true, occurrenceRanges.size());
 
         return RecurringReservationResponse.builder()
                 .recurringGroupId(recurringGroupId)
                 .patternType(patternType)
-                .totalOccurrences(reservationResponses.size())
+                .totalOccurrences(occurrenceRanges.size())
                 .reservations(reservationResponses)
                 .build();
     }
@@ -225,7 +337,7 @@ public class ReservationService {
     /**
      * Create a single reservation (internal method).
      */
-    private ReservationResponse createSingleReservation(CreateReservationRequest request, User user, UUID recurringGroupId) {
+    private ReservationResponse createSingleReservation(CreateReservationRequest request, User user) {
         log.info("Creating reservation for user {} in lab {}", user.getEmail(), request.getLabId());
 
         // Validate lab exists
@@ -233,13 +345,10 @@ public class ReservationService {
                 .orElseThrow(() -> new LabNotFoundException(request.getLabId()));
 
         // Validate times
-        validateTimes(request);
-
-        // Validate operating hours
-        validateOperatingHours(lab, request.getStartTime(), request.getEndTime());
+        validateTimes(request.getStartTime(), request.getEndTime());
 
-        // Validate lab is not closed on this date
-        validateLabNotClosed(lab.getId(), request.getStartTime().toLocalDate());
+        // Validate operating hours and that the lab is not closed on this date
+        labScheduleCache.get(lab).validate(request.getStartTime(), request.getEndTime());
 
         // Validate workstations if not whole lab
         List<Workstation> workstations = new ArrayList<>();
@@ -247,16 +356,15 @@ public class ReservationService {
             workstations = validateAndGetWorkstations(lab.getId(), request.getWorkstationIds());
         }
 
+        // Validate the time is not already booked, holding the lab until the reservation is written
+        labLockService.lock(lab.getId());
+        conflictService.assertNoConflicts(lab.getId(),
+                List.of(new TimeRange(request.getStartTime(), request.getEndTime())),
+                Boolean.TRUE.equals(request.getWholeLab()), request.getWorkstationIds(), List.of());
+
         // Create reservation with PENDING status
-        Reservation reservation = new Reservation();
-        reservation.setLab(lab);
-        reservation.setUser(user);
-        reservation.setStartTime(request.getStartTime());
-        reservation.setEndTime(request.getEndTime());
-        reservation.setDescription(request.getDescription());
-        reservation.setStatus(ReservationStatus.PENDING);
-        reservation.setWholeLab(Boolean.TRUE.equals(request.getWholeLab()));
-        reservation.setRecurringGroupId(recurringGroupId);
+        Reservation reservation = newReservation(lab, user, request.getStartTime(), request.getEndTime(),
+                request.getDescription(), Boolean.TRUE.equals(request.getWholeLab()), null);
 
         Reservation savedReservation = reservationRepository.save(reservation);
 
@@ -271,74 +379,44 @@ public class ReservationService {
         log.info("Created reservation {} for user {} in lab {}", 
                 savedReservation.getId(), user.getEmail(), lab.getName());
 
-        // Send email notifications (only for non-recurring or first occurrence)
-        if (recurringGroupId == null) {
-            sendReservationEmails(savedReservation, user, lab, false, 1);
-        }
+        // Send email notifications
+        sendReservationEmails(savedReservation, user, lab, false, 1);
 
         return toReservationResponse(savedReservation, 
                 workstations.stream().map(Workstation::getId).collect(Collectors.toList()));
     }
 
-    // === Recurring Helper Methods ===
-
-    private List<LocalDate> calculateOccurrenceDates(
-            LocalDate startDate,
-            RecurrenceType patternType,
-            Integer customIntervalDays,
-            LocalDate endDate,
-            Integer occurrences) {
-
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate current = startDate;
-        int intervalDays = getIntervalDays(patternType, customIntervalDays);
-        int maxOccurrences = occurrences != null ? occurrences : 52; // Default max 1 year of weekly
-
-        while (dates.size() < maxOccurrences) {
-            // Check end date constraint
-            if (endDate != null && current.isAfter(endDate)) {
-                break;
-            }
-
-            dates.add(current);
-
-            // Calculate next occurrence
-            if (patternType == RecurrenceType.MONTHLY) {
-                current = current.plusMonths(1);
-            } else {
-                current = current.plusDays(intervalDays);
-            }
-        }
-
-        return dates;
-    }
-
-    private int getIntervalDays(RecurrenceType patternType, Integer customIntervalDays) {
-        return switch (patternType) {
-            case WEEKLY -> 7;
-            case BIWEEKLY -> 14;
-            case MONTHLY -> 30; // Approximate, actual calculation uses plusMonths
-            case CUSTOM -> customIntervalDays != null ? customIntervalDays : 7;
-        };
+    private Reservation newReservation(Lab lab, User user, OffsetDateTime startTime, OffsetDateTime endTime,
+                                       String description, boolean wholeLab, UUID recurringGroupId) {
+        Reservation reservation = new Reservation();
+        reservation.setLab(lab);
+        reservation.setUser(user);
+        reservation.setStartTime(startTime);
+        reservation.setEndTime(endTime);
+        reservation.setDescription(description);
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setWholeLab(wholeLab);
+        reservation.setRecurringGroupId(recurringGroupId);
+        return reservation;
     }
 
     // === Validation Methods ===
 
-    private void validateTimes(CreateReservationRequest request) {
+    private void validateTimes(OffsetDateTime startTime, OffsetDateTime endTime) {
         OffsetDateTime now = OffsetDateTime.now();
-        log.debug("Validating reservation times: start={}, end={}", request.getStartTime(), request.getEndTime());
+        log.debug("Validating reservation times: start={}, end={}", startTime, endTime);
 
-        if (request.getStartTime().isAfter(request.getEndTime())) {
-            log.warn("Invalid time range: start {} is after end {}", request.getStartTime(), request.getEndTime());
+        if (startTime.isAfter(endTime)) {
+            log.warn("Invalid time range: start {} is after end {}", startTime, endTime);
             throw new InvalidReservationTimeException("Start time must be before end time");
         }
 
-        if (request.getStartTime().isBefore(now)) {
-            log.warn("Invalid time: start {} is in the past (now: {})", request.getStartTime(), now);
+        if (startTime.isBefore(now)) {
+            log.warn("Invalid time: start {} is in the past (now: {})", startTime, now);
             throw new InvalidReservationTimeException("Start time must be in the future");
         }
 
-        long durationMinutes = Duration.between(request.getStartTime(), request.getEndTime()).toMinutes();
+        long durationMinutes = Duration.between(startTime, endTime).toMinutes();
         if (durationMinutes < 15) {
             log.warn("Invalid duration: {} minutes (minimum 15)", durationMinutes);
             throw new InvalidReservationTimeException("Reservation duration must be at least 15 minutes");
@@ -347,77 +425,6 @@ public class ReservationService {
         log.debug("Time validation passed: duration {} minutes", durationMinutes);
     }
 
-    private void validateOperatingHours(Lab lab, OffsetDateTime startTime, OffsetDateTime endTime) {
-        // Convert Java DayOfWeek (1=Mon to 7=Sun) to our format (0=Sun to 6=Sat)
-        int javaDayValue = startTime.getDayOfWeek().getValue();
-        int dayOfWeek = (javaDayValue == 7) ? 0 : javaDayValue;
-        
-        log.debug("Validating operating hours for lab {} on day {} ({})", 
-                lab.getId(), dayOfWeek, startTime.getDayOfWeek());
-
-        Optional<LabOperatingHours> operatingHoursOpt = labOperatingHoursRepository
-                .findByLabIdAndDayOfWeek(lab.getId(), dayOfWeek);
-
-        if (operatingHoursOpt.isPresent()) {
-            LabOperatingHours operatingHours = operatingHoursOpt.get();
-            log.debug("Found specific operating hours: {} - {}, closed: {}", 
-                    operatingHours.getOpenTime(), operatingHours.getCloseTime(), operatingHours.getIsClosed());
-
-            if (operatingHours.getIsClosed()) {
-                log.warn("Lab {} is closed on day {}", lab.getId(), dayOfWeek);
-                throw new LabClosedException("Lab is closed on this day");
-            }
-
-            LocalTime startLocalTime = startTime.toLocalTime();
-            LocalTime endLocalTime = endTime.toLocalTime();
-
-            if (startLocalTime.isBefore(operatingHours.getOpenTime()) || 
-                endLocalTime.isAfter(operatingHours.getCloseTime())) {
-                log.warn("Reservation {} - {} is outside operating hours {} - {}", 
-                        startLocalTime, endLocalTime, operatingHours.getOpenTime(), operatingHours.getCloseTime());
-                throw new OutsideOperatingHoursException("Reservation time must be within operating hours (" 
-                        + operatingHours.getOpenTime() + " - " + operatingHours.getCloseTime() + ")");
-            }
-        } else {
-            log.debug("No specific operating hours found, using lab defaults");
-            // No specific hours defined - use lab defaults if available
-            if (lab.getDefaultOpenTime() != null && lab.getDefaultCloseTime() != null) {
-                LocalTime startLocalTime = startTime.toLocalTime();
-                LocalTime endLocalTime = endTime.toLocalTime();
-
-                if (startLocalTime.isBefore(lab.getDefaultOpenTime()) || 
-                    endLocalTime.isAfter(lab.getDefaultCloseTime())) {
-                    log.warn("Reservation {} - {} is outside default operating hours {} - {}", 
-                            startLocalTime, endLocalTime, lab.getDefaultOpenTime(), lab.getDefaultCloseTime());
-                    throw new OutsideOperatingHoursException("Reservation time must be within operating hours (" 
-                            + lab.getDefaultOpenTime() + " - " + lab.getDefaultCloseTime() + ")");
-                }
-            }
-            
-            // Check if it's Sunday (default closed)
-            if (dayOfWeek == 0) {
-                log.warn("Lab {} is closed on Sundays by default", lab.getId());
-                throw new LabClosedException("Lab is closed on Sundays by default");
-            }
-        }
-        
-        log.debug("Operating hours validation passed");
-    }
-
-    private void validateLabNotClosed(Integer labId, LocalDate date) {
-        int javaDayValue = date.getDayOfWeek().getValue();
-        int dayOfWeek = (javaDayValue == 7) ? 0 : javaDayValue;
-        
-        log.debug("Checking if lab {} is closed on {} (day {})", labId, date, dayOfWeek);
-
-        if (labClosedDayRepository.isLabClosedOnDate(labId, date, dayOfWeek)) {
-            log.warn("Lab {} is closed on {}", labId, date);
-            throw new LabClosedException("Lab is closed on " + date);
-        }
-        
-        log.debug("Lab {} is open on {}", labId, date);
-    }
-
     private List<Workstation> validateAndGetWorkstations(Integer labId, List<Integer> workstationIds) {
         log.debug("Validating workstations {} for lab {}", workstationIds, labId);
         
@@ -426,13 +433,16 @@ public class ReservationService {
             throw new NoWorkstationsSelectedException();
         }
 
+        Map<Integer, Workstation> found = workstationRepository.findAllById(workstationIds).stream()
+                .collect(Collectors.toMap(Workstation::getId, ws -> ws));
+
         List<Workstation> workstations = new ArrayList<>();
-        for (Integer wsId : workstationIds) {
-            Workstation ws = workstationRepository.findById(wsId)
-                    .orElseThrow(() -> {
-                        log.warn("Workstation not found: {}", wsId);
-                        return new WorkstationNotFoundException(wsId);
-                    });
+        for (Integer wsId : new LinkedHashSet<>(workstationIds)) {
+            Workstation ws = found.get(wsId);
+            if (ws == null) {
+                log.warn("Workstation not found: {}", wsId);
+                throw new WorkstationNotFoundException(wsId);
+            }
             
             if (!ws.getLab().getId().equals(labId)) {
                 log.warn("Workstation {} belongs to lab {} but was requested for lab {}", 
@@ -512,6 +522,61 @@ public class ReservationService {
         return toReservationResponse(reservation, workstationIds);
     }
 
+    /**
+     * Map a list of reservations, loading the workstation assignments of all of them in one query.
+     * Callers should fetch the reservations with their lab to avoid a lazy load per row.
+     */
+    public List<ReservationResponse> toReservationResponses(List<Reservation> reservations) {
+        Map<UUID, List<Integer>> workstationIds = reservationWorkstationRepository
+                .findWorkstationIdsGroupedByReservationId(reservations.stream().map(Reservation::getId).toList());
+        return reservations.stream()
+                .map(r -> toReservationResponse(r, workstationIds.getOrDefault(r.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private static ReservationRow toReservationRow(ExpandedOccurrence occurrence) {
+        return new ReservationRow(occurrence.id(), occurrence.labId(), occurrence.labName(),
+                occurrence.startTime(), occurrence.endTime(), occurrence.description(), occurrence.status(),
+                occurrence.wholeLab(), occurrence.recurringGroupId(), null);
+    }
+
+    /**
+     * Whether a row comes after the cursor in the page order, comparing like the database does.
+     */
+    private static boolean isAfter(ReservationRow row, ReservationCursor after, boolean descending) {
+        int compared = row.startTime().toInstant().compareTo(after.time().toInstant());
+        if (compared == 0) {
+            compared = compareIds(row.id(), after.id());
+        }
+        return descending ? compared < 0 : compared > 0;
+    }
+
+    /**
+     * Orders UUIDs like PostgreSQL, byte by byte as unsigned values, unlike {@link UUID#compareTo}.
+     */
+    private static int compareIds(UUID a, UUID b) {
+        int compared = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return compared != 0
+                ? compared
+                : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private ReservationResponse toReservationResponse(ReservationRow row, List<Integer> workstationIds) {
+        return ReservationResponse.builder()
+                .id(row.id())
+                .labId(row.labId())
+                .labName(row.labName())
+                .startTime(row.startTime())
+                .endTime(row.endTime())
+                .description(row.description())
+                .status(row.status())
+                .wholeLab(row.wholeLab())
+                .workstationIds(workstationIds)
+                .recurringGroupId(row.recurringGroupId())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
     public ReservationResponse toReservationResponse(Reservation reservation, List<Integer> workstationIds) {
         return ReservationResponse.builder()
                 .id(reservation.getId())
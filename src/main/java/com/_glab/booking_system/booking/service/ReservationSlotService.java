@@ -0,0 +1,128 @@
+package com._glab.booking_system.booking.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationSlotRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the slots claimed by approved reservations (see {@link ReservationSlotRepository}) in step with
+ * approvals and edits, so the database rejects double bookings that the application-level conflict check
+ * cannot see when two instances approve at the same time.
+ *
+ * The table, its exclusion constraint and the btree_gist extension it needs are created at startup, after
+ * Hibernate has set up its own schema, and upcoming approved reservations are backfilled. If the table
+ * cannot be created (e.g. the database user may not create the extension), startup fails rather than
+ * running without the guard; set {@code booking.reservation-slots.enabled=false} to rely on the
+ * application-level check alone.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationSlotService {
+
+    private static final String CREATE_EXTENSION = "CREATE EXTENSION IF NOT EXISTS btree_gist";
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS reservation_slot (" +
+            "reservation_id UUID NOT NULL REFERENCES reservation (id) ON DELETE CASCADE, " +
+            "workstation_id INTEGER NOT NULL REFERENCES workstation (id) ON DELETE CASCADE, " +
+            "during TSTZRANGE NOT NULL, " +
+            "PRIMARY KEY (reservation_id, workstation_id), " +
+            "CONSTRAINT " + ReservationSlotRepository.NO_OVERLAP_CONSTRAINT +
+            " EXCLUDE USING gist (workstation_id WITH =, during WITH &&))";
+
+    /**
+     * Claims the slots of upcoming approved reservations that hold none yet. Slots overlapping one already
+     * held (e.g. two approvals that raced before the table existed) are skipped rather than failing the
+     * whole backfill, and counted.
+     */
+    private static final String BACKFILL =
+            "WITH candidate AS (" +
+            "SELECT r.id AS reservation_id, COALESCE(rw.workstation_id, w.id) AS workstation_id, " +
+            "tstzrange(r.start_time, r.end_time) AS during " +
+            "FROM reservation r " +
+            "LEFT JOIN reservation_workstation rw ON rw.reservation_id = r.id AND r.whole_lab IS NOT TRUE " +
+            "LEFT JOIN workstation w ON w.lab_id = r.lab_id AND r.whole_lab IS TRUE " +
+            "WHERE r.status = 'APPROVED' AND r.end_time > now() " +
+            "AND COALESCE(rw.workstation_id, w.id) IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM reservation_slot s WHERE s.reservation_id = r.id)), " +
+            "inserted AS (" +
+            "INSERT INTO reservation_slot (reservation_id, workstation_id, during) " +
+            "SELECT reservation_id, workstation_id, during FROM candidate " +
+            "ON CONFLICT DO NOTHING RETURNING reservation_id) " +
+            "SELECT (SELECT count(*) FROM candidate) AS candidates, (SELECT count(*) FROM inserted) AS inserted";
+
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingProperties bookingProperties;
+
+    private volatile boolean available;
+
+    @PostConstruct
+    void createSchema() {
+        if (!bookingProperties.getReservationSlots().isEnabled()) {
+            log.info("Reservation slot tracking is disabled");
+            return;
+        }
+        try {
+            jdbcTemplate.execute(CREATE_EXTENSION);
+            jdbcTemplate.execute(CREATE_TABLE);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Could not create the reservation_slot table; grant the database user "
+                    + "the right to create the btree_gist extension or disable booking.reservation-slots", e);
+        }
+        available = true;
+
+        try {
+            Map<String, Object> counts = jdbcTemplate.queryForMap(BACKFILL);
+            long candidates = ((Number) counts.get("candidates")).longValue();
+            long backfilled = ((Number) counts.get("inserted")).longValue();
+            log.info("Reservation slot tracking enabled, {} slots backfilled", backfilled);
+            if (backfilled < candidates) {
+                // Approved reservations that already overlap cannot all be held; new approvals are still guarded
+                log.warn("{} slots of approved reservations overlap slots already held and were not backfilled",
+                        candidates - backfilled);
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not backfill reservation slots: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim the slots of reservations that were just approved.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException when another approved reservation
+     *         already holds an overlapping slot on one of the workstations
+     */
+    public void hold(Collection<UUID> reservationIds) {
+        if (available) {
+            reservationRepository.holdSlots(reservationIds);
+        }
+    }
+
+    /**
+     * Move the slots of approved reservations whose times or workstations changed.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException like {@link #hold}
+     */
+    public void rehold(Collection<UUID> reservationIds) {
+        if (available) {
+            reservationRepository.releaseSlots(reservationIds);
+            reservationRepository.holdSlots(reservationIds);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com._glab.booking_system.user.model;
 
+import com._glab.booking_system.auth.cache.PrincipalCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -12,6 +13,7 @@ import java.time.OffsetDateTime;
 @EnableJpaAuditing
 @Entity
 @Table(name = "account")
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Getter
 @Setter
 public class User {
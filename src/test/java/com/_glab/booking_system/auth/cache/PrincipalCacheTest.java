@@ -0,0 +1,145 @@
+package com._glab.booking_system.auth.cache;
+
+import com._glab.booking_system.auth.config.JwtProperties;
+import com._glab.booking_system.auth.model.AuthenticatedUser;
+import com._glab.booking_system.auth.service.CustomUserDetailsService;
+import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "professor@example.com";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+    @Mock
+    private ObjectProvider<PrincipalCache> cacheProvider;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private JwtProperties jwtProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PrincipalCache(userDetailsService, jwtProperties, meterRegistry);
+    }
+
+    private static AuthenticatedUser principal(Integer userId, String email) {
+        return new AuthenticatedUser(userId, email, "$2a$10$hash", true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_PROFESSOR")));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("auth.principal.cache").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should load a principal once, without its password, and count hits and misses")
+    void shouldLoadOnceWithoutPassword() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1, EMAIL));
+
+        AuthenticatedUser first = cache.get(EMAIL);
+        AuthenticatedUser second = cache.get(EMAIL);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getUserId()).isEqualTo(1);
+        assertThat(first.getPassword()).isNull();
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict a principal when its account is written")
+    void shouldEvictOnAccountChange() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1, EMAIL));
+        when(userDetailsService.loadUserByUsername("other@example.com")).thenReturn(principal(2, "other@example.com"));
+        when(cacheProvider.getIfAvailable()).thenReturn(cache);
+        cache.get(EMAIL);
+        cache.get("other@example.com");
+
+        User user = new User();
+        user.setId(1);
+        user.setEmail("renamed@example.com");
+        new PrincipalCacheInvalidationListener(cacheProvider, eventPublisher).onChange(user);
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get(EMAIL);
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1));
+    }
+
+    @Test
+    @DisplayName("Should evict principals of accounts written on other instances")
+    void shouldEvictOnRemoteAccountChange() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1, EMAIL));
+        when(userDetailsService.loadUserByUsername("other@example.com")).thenReturn(principal(2, "other@example.com"));
+        cache.get(EMAIL);
+        cache.get("other@example.com");
+
+        cache.onUserChanged(new UserChangedEvent(1));
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.onUserChanged(new UserChangedEvent(1, true));
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.onUserChanged(new UserChangedEvent(null, true));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not keep principals when disabled")
+    void shouldNotCacheWhenDisabled() {
+        jwtProperties.getPrincipalCache().setEnabled(false);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1, EMAIL));
+
+        cache.get(EMAIL);
+        cache.get(EMAIL);
+
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used principal once full")
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+        jwtProperties.getPrincipalCache().setMaxSize(2);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1, EMAIL));
+        when(userDetailsService.loadUserByUsername("other@example.com")).thenReturn(principal(2, "other@example.com"));
+        when(userDetailsService.loadUserByUsername("third@example.com")).thenReturn(principal(3, "third@example.com"));
+
+        cache.get(EMAIL);
+        cache.get("other@example.com");
+        cache.get(EMAIL);
+        cache.get("third@example.com");
+        cache.get(EMAIL);
+        cache.get("third@example.com");
+        cache.get("other@example.com");
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        verify(userDetailsService, times(1)).loadUserByUsername("third@example.com");
+        verify(userDetailsService, times(2)).loadUserByUsername("other@example.com");
+    }
+}
@@ -0,0 +1,72 @@
+package com._glab.booking_system.auth.cache;
+
+import com._glab.booking_system.auth.config.JwtProperties;
+import com._glab.booking_system.auth.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private JwtProperties jwtProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.getVerifiedTokenCache().setMaxSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtProperties, meterRegistry);
+    }
+
+    private static JwtService.TokenClaims claims(String tokenId, Instant expiresAt) {
+        return new JwtService.TokenClaims("professor@example.com", 1, "PROFESSOR", tokenId, expiresAt);
+    }
+
+    private static JwtService.TokenClaims valid(String tokenId) {
+        return claims(tokenId, Instant.now().plus(15, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used token once full instead of refusing new ones")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.put("a", valid("a"));
+        cache.put("b", valid("b"));
+        cache.get("a");
+
+        cache.put("c", valid("c"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(meterRegistry.get("auth.jwt.verification.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop expired tokens on lookup")
+    void shouldDropExpiredTokens() {
+        cache.put("expired", claims("expired", Instant.now().minusSeconds(1)));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should neither store nor answer while disabled")
+    void shouldBypassWhenDisabled() {
+        jwtProperties.getVerifiedTokenCache().setEnabled(false);
+
+        cache.put("a", valid("a"));
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
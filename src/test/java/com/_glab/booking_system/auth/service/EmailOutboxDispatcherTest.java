@@ -0,0 +1,184 @@
+package com._glab.booking_system.auth.service;
+
+import com._glab.booking_system.auth.config.AppProperties;
+import com._glab.booking_system.auth.model.EmailOutboxMessage;
+import com._glab.booking_system.auth.model.EmailOutboxStatus;
+import com._glab.booking_system.auth.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SmtpStub smtp;
+    private AppProperties appProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private JavaMailSenderImpl mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+
+        appProperties = new AppProperties();
+        appProperties.getMail().setFrom("noreply@5glab.edu.pl");
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender, appProperties, transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    private void givenDue(EmailOutboxMessage... messages) {
+        when(outboxRepository.lockDueMessages(any(OffsetDateTime.class), eq(50))).thenReturn(List.of(messages));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("mail.outbox.messages").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should send a batch over one SMTP connection and mark it sent")
+    void shouldSendBatchOverOneConnection() {
+        EmailOutboxMessage first = new EmailOutboxMessage("a@example.com", "Subject A", "Body A");
+        EmailOutboxMessage second = new EmailOutboxMessage("b@example.com", "Subject B", "Body B");
+        EmailOutboxMessage third = new EmailOutboxMessage("c@example.com", "Subject C", "Body C");
+        List.of(first, second, third).forEach(message -> message.setCreatedAt(OffsetDateTime.now().minusMinutes(1)));
+        givenDue(first, second, third);
+
+        int processed = dispatcher.dispatchBatch();
+
+        assertThat(processed).isEqualTo(3);
+        assertThat(smtp.getConnectionCount()).isEqualTo(1);
+        assertThat(smtp.getMessages()).extracting(SmtpStub.ReceivedMessage::recipient)
+                .containsExactly("a@example.com", "b@example.com", "c@example.com");
+        assertThat(smtp.getMessages().get(0).data()).contains("Subject: Subject A", "Body A");
+        assertThat(List.of(first, second, third)).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getSentAt()).isNotNull();
+        });
+        verify(outboxRepository).saveAll(List.of(first, second, third));
+        assertThat(count("sent")).isEqualTo(3);
+        assertThat(meterRegistry.get("mail.outbox.send").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.outbox.delivery").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("mail.outbox.delivery").timer().max(TimeUnit.SECONDS)).isGreaterThanOrEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Should retry only rejected messages with backoff")
+    void shouldRetryRejectedMessages() {
+        smtp.rejectRecipient("bounce@example.com");
+        EmailOutboxMessage ok = new EmailOutboxMessage("a@example.com", "Subject", "Body");
+        EmailOutboxMessage rejected = new EmailOutboxMessage("bounce@example.com", "Subject", "Body");
+        givenDue(ok, rejected);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(ok.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getLastError()).isNotBlank();
+        assertThat(rejected.getNextAttemptAt())
+                .isCloseTo(OffsetDateTime.now().plusSeconds(30), within(Duration.ofSeconds(5)));
+        assertThat(count("sent")).isEqualTo(1);
+        assertThat(count("retry")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry only the failed one of two identical messages")
+    void shouldTellIdenticalMessagesApart() {
+        smtp.rejectDelivery(1);
+        EmailOutboxMessage first = new EmailOutboxMessage("a@example.com", "Reservation approved", "Body");
+        EmailOutboxMessage repeated = new EmailOutboxMessage("a@example.com", "Reservation approved", "Body");
+        givenDue(first, repeated);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(first.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(repeated.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(repeated.getAttempts()).isEqualTo(1);
+        assertThat(count("sent")).isEqualTo(1);
+        assertThat(count("retry")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give up once the last attempt fails")
+    void shouldFailAfterMaxAttempts() throws IOException {
+        smtp.close();
+        EmailOutboxMessage message = new EmailOutboxMessage("a@example.com", "Subject", "Body");
+        message.setAttempts(appProperties.getMail().getOutbox().getMaxAttempts() - 1);
+        givenDue(message);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the maximum")
+    void shouldCapExponentialBackoff() {
+        AppProperties.Outbox config = appProperties.getMail().getOutbox();
+
+        assertThat(EmailOutboxDispatcher.backoff(1, config)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(EmailOutboxDispatcher.backoff(3, config)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(EmailOutboxDispatcher.backoff(20, config)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should report the outbox depth of the last dispatch cycle without querying on scrape")
+    void shouldReportPendingCountOfLastCycle() {
+        givenDue();
+        when(outboxRepository.countByStatus(EmailOutboxStatus.PENDING)).thenReturn(7L);
+
+        dispatcher.dispatch();
+        double pending = meterRegistry.get("mail.outbox.pending").gauge().value();
+        meterRegistry.get("mail.outbox.pending").gauge().value();
+
+        assertThat(pending).isEqualTo(7);
+        verify(outboxRepository).countByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should not touch the outbox when dispatching is disabled")
+    void shouldSkipWhenDisabled() {
+        appProperties.getMail().getOutbox().setEnabled(false);
+
+        dispatcher.dispatch();
+
+        verifyNoInteractions(outboxRepository);
+    }
+}
@@ -1,7 +1,11 @@
 package com._glab.booking_system.auth.service;
 
 import com._glab.booking_system.auth.config.AppProperties;
+import com._glab.booking_system.auth.model.EmailOutboxMessage;
+import com._glab.booking_system.auth.model.EmailOutboxStatus;
+import com._glab.booking_system.auth.repository.EmailOutboxRepository;
 import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,21 +14,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
 
     private AppProperties appProperties;
     private EmailService emailService;
@@ -35,7 +33,7 @@ class EmailServiceTest {
         appProperties.getMail().setFrom("test@5glab.edu.pl");
         appProperties.getFrontend().setUrl("http://localhost:3000");
 
-        emailService = new EmailService(mailSender, appProperties);
+        emailService = new EmailService(outboxRepository, appProperties, new SimpleMeterRegistry());
     }
 
     @Nested
@@ -57,16 +55,15 @@ class EmailServiceTest {
             emailService.sendAccountSetupEmail(user, token);
 
             // Then
-            ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-            verify(mailSender).send(messageCaptor.capture());
+            ArgumentCaptor<EmailOutboxMessage> messageCaptor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+            verify(outboxRepository).save(messageCaptor.capture());
 
-            SimpleMailMessage sentMessage = messageCaptor.getValue();
-            assertThat(sentMessage.getFrom()).isEqualTo("test@5glab.edu.pl");
-            assertThat(sentMessage.getTo()).containsExactly("newuser@example.com");
+            EmailOutboxMessage sentMessage = messageCaptor.getValue();
+            assertThat(sentMessage.getRecipient()).isEqualTo("newuser@example.com");
             assertThat(sentMessage.getSubject()).contains("Complete Your Account Setup");
-            assertThat(sentMessage.getText()).contains("John Doe");
-            assertThat(sentMessage.getText()).contains("http://localhost:3000/setup-password?token=test-setup-token-123");
-            assertThat(sentMessage.getText()).contains("48 hours");
+            assertThat(sentMessage.getBody()).contains("John Doe");
+            assertThat(sentMessage.getBody()).contains("http://localhost:3000/setup-password?token=test-setup-token-123");
+            assertThat(sentMessage.getBody()).contains("48 hours");
         }
     }
 
@@ -86,15 +83,14 @@ class EmailServiceTest {
             emailService.sendOtpEmail(email, otp, expiryMinutes);
 
             // Then
-            ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-            verify(mailSender).send(messageCaptor.capture());
+            ArgumentCaptor<EmailOutboxMessage> messageCaptor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+            verify(outboxRepository).save(messageCaptor.capture());
 
-            SimpleMailMessage sentMessage = messageCaptor.getValue();
-            assertThat(sentMessage.getFrom()).isEqualTo("test@5glab.edu.pl");
-            assertThat(sentMessage.getTo()).containsExactly("user@example.com");
+            EmailOutboxMessage sentMessage = messageCaptor.getValue();
+            assertThat(sentMessage.getRecipient()).isEqualTo("user@example.com");
             assertThat(sentMessage.getSubject()).contains("Verification Code");
-            assertThat(sentMessage.getText()).contains("123456");
-            assertThat(sentMessage.getText()).contains("10 minutes");
+            assertThat(sentMessage.getBody()).contains("123456");
+            assertThat(sentMessage.getBody()).contains("10 minutes");
         }
     }
 
@@ -114,26 +110,29 @@ class EmailServiceTest {
             emailService.sendEmail(to, subject, body);
 
             // Then
-            ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-            verify(mailSender).send(messageCaptor.capture());
+            ArgumentCaptor<EmailOutboxMessage> messageCaptor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+            verify(outboxRepository).save(messageCaptor.capture());
 
-            SimpleMailMessage sentMessage = messageCaptor.getValue();
-            assertThat(sentMessage.getFrom()).isEqualTo("test@5glab.edu.pl");
-            assertThat(sentMessage.getTo()).containsExactly("recipient@example.com");
+            EmailOutboxMessage sentMessage = messageCaptor.getValue();
+            assertThat(sentMessage.getRecipient()).isEqualTo("recipient@example.com");
             assertThat(sentMessage.getSubject()).isEqualTo("Test Subject");
-            assertThat(sentMessage.getText()).isEqualTo("Test body content");
+            assertThat(sentMessage.getBody()).isEqualTo("Test body content");
         }
 
         @Test
-        @DisplayName("Should throw exception when mail sending fails")
-        void shouldThrowExceptionWhenMailFails() {
-            // Given
-            doThrow(new MailSendException("SMTP connection failed"))
-                    .when(mailSender).send(any(SimpleMailMessage.class));
+        @DisplayName("Should queue email as pending and due immediately")
+        void shouldQueuePendingEmail() {
+            // When
+            emailService.sendEmail("to@example.com", "Subject", "Body");
+
+            // Then
+            ArgumentCaptor<EmailOutboxMessage> messageCaptor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+            verify(outboxRepository).save(messageCaptor.capture());
 
-            // When/Then
-            assertThatThrownBy(() -> emailService.sendEmail("to@example.com", "Subject", "Body"))
-                    .isInstanceOf(MailSendException.class);
+            EmailOutboxMessage queued = messageCaptor.getValue();
+            assertThat(queued.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+            assertThat(queued.getAttempts()).isZero();
+            assertThat(queued.getNextAttemptAt()).isNotNull();
         }
     }
 }
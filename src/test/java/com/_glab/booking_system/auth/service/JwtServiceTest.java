@@ -0,0 +1,126 @@
+package com._glab.booking_system.auth.service;
+
+import com._glab.booking_system.auth.cache.VerifiedTokenCache;
+import com._glab.booking_system.auth.config.JwtKeyProvider;
+import com._glab.booking_system.auth.config.JwtProperties;
+import com._glab.booking_system.auth.exception.ExpiredJwtTokenException;
+import com._glab.booking_system.auth.exception.InvalidJwtException;
+import com._glab.booking_system.user.model.Role;
+import com._glab.booking_system.user.model.RoleName;
+import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtServiceTest {
+
+    @Mock
+    private JwtKeyProvider keyProvider;
+
+    private KeyPair keyPair;
+    private JwtProperties jwtProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        jwtProperties = new JwtProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtProperties, meterRegistry);
+        jwtService = new JwtService(keyProvider, jwtProperties, verifiedTokenCache);
+
+        Role role = new Role();
+        role.setName(RoleName.PROFESSOR);
+        user = new User();
+        user.setId(7);
+        user.setEmail("professor@example.com");
+        user.setRole(role);
+
+        when(keyProvider.getPrivateKey()).thenReturn(keyPair.getPrivate());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("auth.jwt.verification.cache").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should return all access token claims from a single parse")
+    void shouldParseAllClaimsOnce() {
+        when(keyProvider.getPublicKey()).thenReturn(keyPair.getPublic());
+        String token = jwtService.generateAccessToken(user);
+
+        JwtService.TokenClaims claims = jwtService.parseOnce(token);
+
+        assertThat(claims.email()).isEqualTo("professor@example.com");
+        assertThat(claims.userId()).isEqualTo(7);
+        assertThat(claims.role()).isEqualTo("PROFESSOR");
+        assertThat(claims.tokenId()).isNull();
+        assertThat(claims.expiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should verify a repeated token only once and reuse the parser")
+    void shouldSkipVerificationForRepeatedToken() {
+        when(keyProvider.getPublicKey()).thenReturn(keyPair.getPublic());
+        String accessToken = jwtService.generateAccessToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user).token();
+
+        JwtService.TokenClaims first = jwtService.parseOnce(accessToken);
+        JwtService.TokenClaims second = jwtService.parseOnce(accessToken);
+        String jti = jwtService.extractTokenId(refreshToken);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jti).isNotNull();
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(2);
+        verify(keyProvider, times(1)).getPublicKey();
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token even when the original is cached")
+    void shouldRejectTamperedToken() {
+        when(keyProvider.getPublicKey()).thenReturn(keyPair.getPublic());
+        String token = jwtService.generateAccessToken(user);
+        jwtService.parseOnce(token);
+
+        String tampered = token.substring(0, token.length() - 5) + "xxxxx";
+
+        assertThatThrownBy(() -> jwtService.parseOnce(tampered))
+                .isInstanceOf(InvalidJwtException.class);
+        assertThat(verifiedTokenCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens and not cache them")
+    void shouldRejectExpiredToken() {
+        when(keyProvider.getPublicKey()).thenReturn(keyPair.getPublic());
+        jwtProperties.setAccessTokenExpiry(Duration.ofSeconds(-1));
+        String token = jwtService.generateAccessToken(user);
+
+        assertThatThrownBy(() -> jwtService.parseOnce(token))
+                .isInstanceOf(ExpiredJwtTokenException.class);
+        assertThat(verifiedTokenCache.size()).isZero();
+    }
+}
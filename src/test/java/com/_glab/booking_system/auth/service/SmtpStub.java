@@ -0,0 +1,125 @@
+package com._glab.booking_system.auth.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests. Accepts every message except those addressed to
+ * recipients registered with {@link #rejectRecipient(String)} or rejected by position with
+ * {@link #rejectDelivery(int)}, and records connections and delivered messages.
+ */
+class SmtpStub implements AutoCloseable {
+
+    record ReceivedMessage(String recipient, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptThread;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> rejectedDeliveries = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger deliveries = new AtomicInteger();
+
+    SmtpStub() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptThread = new Thread(this::acceptLoop, "smtp-stub");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    List<ReceivedMessage> getMessages() {
+        return messages;
+    }
+
+    void rejectRecipient(String address) {
+        rejectedRecipients.add(address);
+    }
+
+    /**
+     * Reject the recipient of the given delivery attempt, counting from 0 across all connections.
+     */
+    void rejectDelivery(int index) {
+        rejectedDeliveries.add(index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                handle(socket);
+            } catch (IOException e) {
+                // Socket closed or client went away
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+        reply(out, "220 localhost SMTP stub");
+
+        String recipient = null;
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("MAIL FROM:")) {
+                recipient = null;
+                reply(out, "250 OK");
+            } else if (command.startsWith("RCPT TO:")) {
+                String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                int delivery = deliveries.getAndIncrement();
+                if (rejectedRecipients.contains(address) || rejectedDeliveries.contains(delivery)) {
+                    reply(out, "550 Mailbox unavailable");
+                } else {
+                    recipient = address;
+                    reply(out, "250 OK");
+                }
+            } else if (command.equals("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder data = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+                }
+                messages.add(new ReceivedMessage(recipient, data.toString()));
+                reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                // EHLO, HELO, RSET, NOOP
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response + "\r\n");
+        out.flush();
+    }
+}
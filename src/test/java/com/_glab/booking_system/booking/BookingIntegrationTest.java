@@ -28,11 +28,15 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 
+import static com._glab.booking_system.booking.metrics.SqlStatementMatchers.sqlStatementsAtMost;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -231,6 +235,31 @@ class BookingIntegrationTest {
                     .andExpect(jsonPath("$.reservations").isArray());
         }
 
+        @Test
+        @DisplayName("Should load weekly availability with a fixed number of SQL statements")
+        void shouldLoadWeeklyAvailabilityWithFixedStatementCount() throws Exception {
+            LocalDate monday = LocalDate.now(ZoneOffset.UTC).plusWeeks(1)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            for (int hour = 9; hour < 14; hour++) {
+                Reservation reservation = new Reservation();
+                reservation.setLab(testLab);
+                reservation.setUser(testUser);
+                reservation.setStartTime(monday.atTime(hour, 0).atOffset(ZoneOffset.UTC));
+                reservation.setEndTime(monday.atTime(hour + 1, 0).atOffset(ZoneOffset.UTC));
+                reservation.setStatus(ReservationStatus.APPROVED);
+                reservation = reservationRepository.save(reservation);
+                reservationWorkstationRepository.save(new ReservationWorkstation(reservation, workstation1));
+            }
+            reservationRepository.flush();
+
+            // Schedule (3), reservations (1) and their workstations (1), however many reservations there are
+            mockMvc.perform(get("/api/v1/labs/{labId}/availability", testLab.getId())
+                            .param("week", monday.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reservations", hasSize(5)))
+                    .andExpect(sqlStatementsAtMost(8));
+        }
+
         @Test
         @DisplayName("Should get current availability (public endpoint)")
         void shouldGetCurrentAvailability() throws Exception {
@@ -276,6 +305,42 @@ class BookingIntegrationTest {
                     .andExpect(jsonPath("$.workstationIds", hasSize(1)));
         }
 
+        @Test
+        @DisplayName("Should return 409 when workstation is already booked")
+        void shouldReturn409WhenWorkstationAlreadyBooked() throws Exception {
+            OffsetDateTime tomorrow = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1)
+                    .withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+            CreateReservationRequest first = CreateReservationRequest.builder()
+                    .labId(testLab.getId())
+                    .startTime(tomorrow)
+                    .endTime(tomorrow.plusHours(2))
+                    .wholeLab(false)
+                    .workstationIds(List.of(workstation1.getId()))
+                    .build();
+
+            mockMvc.perform(post("/api/v1/reservations")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(first)))
+                    .andExpect(status().isCreated());
+
+            CreateReservationRequest overlapping = CreateReservationRequest.builder()
+                    .labId(testLab.getId())
+                    .startTime(tomorrow.plusHours(1))
+                    .endTime(tomorrow.plusHours(3))
+                    .wholeLab(false)
+                    .workstationIds(List.of(workstation1.getId(), workstation2.getId()))
+                    .build();
+
+            mockMvc.perform(post("/api/v1/reservations")
+                            .header("Authorization", "Bearer " + accessToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(overlapping)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.status").value("BOOKING_RESERVATION_CONFLICT"));
+        }
+
         @Test
         @DisplayName("Should create whole lab reservation")
         void shouldCreateWholeLabReservation() throws Exception {
@@ -400,9 +465,10 @@ class BookingIntegrationTest {
             mockMvc.perform(get("/api/v1/reservations/me")
                             .header("Authorization", "Bearer " + accessToken))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$").isArray())
-                    .andExpect(jsonPath("$", hasSize(1)))
-                    .andExpect(jsonPath("$[0].labName").value("Test Lab"));
+                    .andExpect(jsonPath("$.reservations").isArray())
+                    .andExpect(jsonPath("$.reservations", hasSize(1)))
+                    .andExpect(jsonPath("$.reservations[0].labName").value("Test Lab"))
+                    .andExpect(jsonPath("$.hasMore").value(false));
         }
 
         @Test
@@ -615,7 +615,9 @@ class LabManagerReservationIntegrationTest {
             mockMvc.perform(post("/api/v1/manager/reservations/recurring/{groupId}/approve", recurringGroupId)
                             .header("Authorization", "Bearer " + labManagerToken)
                             .contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(status().isNoContent());
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updatedCount").value(2))
+                    .andExpect(jsonPath("$.leftPendingReservationIds", hasSize(0)));
 
             // Verify both reservations are approved
             Reservation updated1 = reservationRepository.findById(recurring1.getId()).orElseThrow();
@@ -624,6 +626,32 @@ class LabManagerReservationIntegrationTest {
             Assertions.assertEquals(ReservationStatus.APPROVED, updated2.getStatus());
         }
 
+        @Test
+        @DisplayName("Should leave occurrences that overlap other bookings pending")
+        void shouldLeaveOverlappingOccurrencesPending() throws Exception {
+            Reservation other = new Reservation();
+            other.setLab(testLab);
+            other.setUser(professorUser);
+            other.setStartTime(recurring2.getStartTime().plusHours(1));
+            other.setEndTime(recurring2.getEndTime().plusHours(1));
+            other.setDescription("Overlapping booking");
+            other.setStatus(ReservationStatus.APPROVED);
+            other.setWholeLab(true);
+            reservationRepository.save(other);
+
+            mockMvc.perform(post("/api/v1/manager/reservations/recurring/{groupId}/approve", recurringGroupId)
+                            .header("Authorization", "Bearer " + labManagerToken)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updatedCount").value(1))
+                    .andExpect(jsonPath("$.leftPendingReservationIds", contains(recurring2.getId().toString())));
+
+            Reservation updated1 = reservationRepository.findById(recurring1.getId()).orElseThrow();
+            Reservation updated2 = reservationRepository.findById(recurring2.getId()).orElseThrow();
+            Assertions.assertEquals(ReservationStatus.APPROVED, updated1.getStatus());
+            Assertions.assertEquals(ReservationStatus.PENDING, updated2.getStatus());
+        }
+
         @Test
         @DisplayName("Should decline all reservations in recurring group")
         void shouldDeclineRecurringGroup() throws Exception {
@@ -635,7 +663,8 @@ class LabManagerReservationIntegrationTest {
                             .header("Authorization", "Bearer " + labManagerToken)
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(request)))
-                    .andExpect(status().isNoContent());
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updatedCount").value(2));
 
             // Verify both reservations are rejected
             Reservation updated1 = reservationRepository.findById(recurring1.getId()).orElseThrow();
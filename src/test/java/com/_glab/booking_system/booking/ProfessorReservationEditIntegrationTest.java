@@ -472,8 +472,9 @@ class ProfessorReservationEditIntegrationTest {
         @BeforeEach
         void setUpRecurringGroup() {
             recurringGroupId = UUID.randomUUID();
+            // Afternoon slot so the group does not overlap the whole-lab reservations from setUp
             OffsetDateTime tomorrow = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1)
-                    .withHour(10).withMinute(0).withSecond(0).withNano(0);
+                    .withHour(14).withMinute(0).withSecond(0).withNano(0);
 
             pendingRecurring1 = new Reservation();
             pendingRecurring1.setLab(testLab);
@@ -0,0 +1,220 @@
+package com._glab.booking_system.booking;
+
+import com._glab.booking_system.auth.config.TestJwtConfig;
+import com._glab.booking_system.auth.config.TestMailConfig;
+import com._glab.booking_system.booking.event.LabChangesResyncEvent;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+import com._glab.booking_system.booking.model.*;
+import com._glab.booking_system.booking.repository.*;
+import com._glab.booking_system.user.model.Role;
+import com._glab.booking_system.user.model.RoleName;
+import com._glab.booking_system.user.model.User;
+import com._glab.booking_system.user.repository.RoleRepository;
+import com._glab.booking_system.user.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Weekly availability served from the reservation interval index, which the test profile otherwise disables.
+ *
+ * Reservations are saved directly and committed, so the index only learns about them the way it would in
+ * production: from a change event, a notification of another instance or a reload. Until then the
+ * availability response leaves them out, which shows it was answered from memory.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+@TestPropertySource(properties = {
+        "booking.reservation-index.enabled=true",
+        "booking.lab-changes.enabled=true"
+})
+@DirtiesContext
+@Import({TestJwtConfig.class, TestMailConfig.class})
+class ReservationIndexIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private LabRepository labRepository;
+
+    @Autowired
+    private WorkstationRepository workstationRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationWorkstationRepository reservationWorkstationRepository;
+
+    private final LocalDate monday = LocalDate.now(ZoneOffset.UTC).plusWeeks(1)
+            .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    private Lab lab;
+    private Workstation workstation;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reservationWorkstationRepository.deleteAll();
+        reservationRepository.deleteAll();
+        workstationRepository.deleteAll();
+        labRepository.deleteAll();
+        buildingRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        Role professorRole = new Role();
+        professorRole.setName(RoleName.PROFESSOR);
+        professorRole = roleRepository.save(professorRole);
+
+        user = new User();
+        user.setEmail("professor@test.com");
+        user.setUsername("professortest");
+        user.setPassword("unused");
+        user.setFirstName("Test");
+        user.setLastName("Professor");
+        user.setEnabled(true);
+        user.setRole(professorRole);
+        user = userRepository.save(user);
+
+        Building building = new Building();
+        building.setName("Test Building");
+        building.setAddress("123 Test St");
+        building = buildingRepository.save(building);
+
+        lab = new Lab();
+        lab.setName("Test Lab");
+        lab.setBuilding(building);
+        lab.setDefaultOpenTime(LocalTime.of(8, 0));
+        lab.setDefaultCloseTime(LocalTime.of(20, 0));
+        lab = labRepository.save(lab);
+
+        workstation = new Workstation();
+        workstation.setLab(lab);
+        workstation.setIdentifier("WS-001");
+        workstation.setDescription("Workstation 1");
+        workstation.setActive(true);
+        workstation = workstationRepository.save(workstation);
+    }
+
+    /**
+     * Saves an approved reservation without telling the index about it.
+     */
+    private Reservation saveApprovedReservation() {
+        Reservation reservation = new Reservation();
+        reservation.setLab(lab);
+        reservation.setUser(user);
+        reservation.setStartTime(monday.atTime(10, 0).atOffset(ZoneOffset.UTC));
+        reservation.setEndTime(monday.atTime(12, 0).atOffset(ZoneOffset.UTC));
+        reservation.setDescription("Indexed reservation");
+        reservation.setStatus(ReservationStatus.APPROVED);
+        reservation.setWholeLab(false);
+        reservation = reservationRepository.save(reservation);
+        reservationWorkstationRepository.save(new ReservationWorkstation(reservation, workstation));
+        return reservation;
+    }
+
+    private List<String> availableReservationIds() throws Exception {
+        String json = mockMvc.perform(get("/api/v1/labs/{labId}/availability", lab.getId())
+                        .param("week", monday.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(json, "$.reservations[*].id");
+    }
+
+    @Test
+    @DisplayName("Should serve availability from the index and refresh it after a committed change")
+    void shouldServeAvailabilityFromIndex() throws Exception {
+        Reservation reservation = saveApprovedReservation();
+        assertEquals(List.of(), availableReservationIds());
+
+        eventPublisher.publishEvent(ReservationChangedEvent.of(lab.getId(), reservation.getId()));
+
+        assertEquals(List.of(reservation.getId().toString()), availableReservationIds());
+    }
+
+    @Test
+    @DisplayName("Should pick up reservations another instance announces")
+    void shouldApplyChangesOfOtherInstances() throws Exception {
+        Reservation reservation = saveApprovedReservation();
+        assertEquals(List.of(), availableReservationIds());
+
+        jdbcTemplate.queryForList("SELECT pg_notify('lab_changes', ?)",
+                "other-instance " + lab.getId() + " " + reservation.getId());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (availableReservationIds().isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "The index never picked up the other instance's change");
+            Thread.sleep(100);
+        }
+        assertEquals(List.of(reservation.getId().toString()), availableReservationIds());
+    }
+
+    @Test
+    @DisplayName("Should reload the index when changes of other instances may have been missed")
+    void shouldReloadOnResync() throws Exception {
+        Reservation reservation = saveApprovedReservation();
+        assertEquals(List.of(), availableReservationIds());
+
+        eventPublisher.publishEvent(new LabChangesResyncEvent());
+
+        assertEquals(List.of(reservation.getId().toString()), availableReservationIds());
+    }
+}
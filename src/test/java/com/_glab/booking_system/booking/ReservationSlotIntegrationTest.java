@@ -0,0 +1,196 @@
+package com._glab.booking_system.booking;
+
+import com._glab.booking_system.auth.config.TestJwtConfig;
+import com._glab.booking_system.auth.config.TestMailConfig;
+import com._glab.booking_system.auth.service.JwtService;
+import com._glab.booking_system.booking.model.*;
+import com._glab.booking_system.booking.repository.*;
+import com._glab.booking_system.booking.service.ReservationConflictService;
+import com._glab.booking_system.user.model.Role;
+import com._glab.booking_system.user.model.RoleName;
+import com._glab.booking_system.user.model.User;
+import com._glab.booking_system.user.repository.RoleRepository;
+import com._glab.booking_system.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The reservation_slot exclusion constraint against a real database: the table and constraint created at startup,
+ * slots claimed on approval and the overlap mapped to a booking conflict.
+ *
+ * The application-level conflict check is mocked out, standing in for two instances whose checks both passed
+ * before either approval was committed, so only the constraint stands between the two approvals.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+@Transactional
+@Import({TestJwtConfig.class, TestMailConfig.class})
+class ReservationSlotIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @MockitoBean
+    private ReservationConflictService conflictService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private LabRepository labRepository;
+
+    @Autowired
+    private WorkstationRepository workstationRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationWorkstationRepository reservationWorkstationRepository;
+
+    @Autowired
+    private LabManagerRepository labManagerRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Reservation first;
+    private Reservation overlapping;
+    private String labManagerToken;
+
+    @BeforeEach
+    void setUp() {
+        reservationWorkstationRepository.deleteAll();
+        reservationRepository.deleteAll();
+        labManagerRepository.deleteAll();
+        workstationRepository.deleteAll();
+        labRepository.deleteAll();
+        buildingRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        Role labManagerRole = new Role();
+        labManagerRole.setName(RoleName.LAB_MANAGER);
+        labManagerRole = roleRepository.save(labManagerRole);
+
+        User labManagerUser = new User();
+        labManagerUser.setEmail("manager@test.com");
+        labManagerUser.setUsername("managertest");
+        labManagerUser.setPassword("unused");
+        labManagerUser.setFirstName("Lab");
+        labManagerUser.setLastName("Manager");
+        labManagerUser.setEnabled(true);
+        labManagerUser.setRole(labManagerRole);
+        labManagerUser = userRepository.save(labManagerUser);
+        labManagerToken = jwtService.generateAccessToken(labManagerUser);
+
+        Building building = new Building();
+        building.setName("Test Building");
+        building.setAddress("123 Test St");
+        building = buildingRepository.save(building);
+
+        Lab lab = new Lab();
+        lab.setName("Test Lab");
+        lab.setBuilding(building);
+        lab.setDefaultOpenTime(LocalTime.of(8, 0));
+        lab.setDefaultCloseTime(LocalTime.of(20, 0));
+        lab = labRepository.save(lab);
+
+        LabManager labManager = new LabManager();
+        labManager.setLab(lab);
+        labManager.setUser(labManagerUser);
+        labManagerRepository.save(labManager);
+
+        Workstation workstation = new Workstation();
+        workstation.setLab(lab);
+        workstation.setIdentifier("WS-001");
+        workstation.setDescription("Workstation 1");
+        workstation.setActive(true);
+        workstation = workstationRepository.save(workstation);
+
+        OffsetDateTime tomorrow = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1)
+                .withHour(10).withMinute(0).withSecond(0).withNano(0);
+        first = pendingReservation(lab, workstation, labManagerUser, tomorrow, tomorrow.plusHours(2));
+        overlapping = pendingReservation(lab, workstation, labManagerUser, tomorrow.plusHours(1), tomorrow.plusHours(3));
+        reservationRepository.flush();
+    }
+
+    private Reservation pendingReservation(Lab lab, Workstation workstation, User user,
+                                           OffsetDateTime start, OffsetDateTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setLab(lab);
+        reservation.setUser(user);
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setDescription("Overlapping reservation");
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setWholeLab(false);
+        reservation = reservationRepository.save(reservation);
+        reservationWorkstationRepository.save(new ReservationWorkstation(reservation, workstation));
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Should refuse the second of two overlapping approvals with 409 BOOKING_RESERVATION_CONFLICT")
+    void shouldRejectOverlappingApproval() throws Exception {
+        mockMvc.perform(post("/api/v1/manager/reservations/{id}/approve", first.getId())
+                        .header("Authorization", "Bearer " + labManagerToken)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_slot WHERE reservation_id = ?", Integer.class, first.getId()));
+
+        // The slot insert fails with 23P01 and aborts the transaction, so nothing is queried afterwards
+        mockMvc.perform(post("/api/v1/manager/reservations/{id}/approve", overlapping.getId())
+                        .header("Authorization", "Bearer " + labManagerToken)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("BOOKING_RESERVATION_CONFLICT"));
+    }
+}
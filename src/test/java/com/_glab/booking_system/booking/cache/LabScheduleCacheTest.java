@@ -0,0 +1,178 @@
+package com._glab.booking_system.booking.cache;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.LabChangedEvent;
+import com._glab.booking_system.booking.event.LabChangesResyncEvent;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.repository.LabClosedDayRepository;
+import com._glab.booking_system.booking.repository.LabOperatingHoursRepository;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LabScheduleCacheTest {
+
+    @Mock
+    private LabOperatingHoursRepository operatingHoursRepository;
+    @Mock
+    private LabClosedDayRepository closedDayRepository;
+    @Mock
+    private ObjectProvider<LabScheduleCache> cacheProvider;
+
+    private BookingProperties bookingProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private LabScheduleCache cache;
+    private Lab lab;
+
+    @BeforeEach
+    void setUp() {
+        bookingProperties = new BookingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LabScheduleCache(operatingHoursRepository, closedDayRepository, bookingProperties, meterRegistry);
+
+        lab = new Lab();
+        lab.setId(1);
+        lab.setDefaultOpenTime(LocalTime.of(8, 0));
+        lab.setDefaultCloseTime(LocalTime.of(20, 0));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("booking.schedule.cache").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should load a lab's schedule once and count hits and misses")
+    void shouldLoadOnceAndCountHits() {
+        LabSchedule first = cache.get(lab);
+        LabSchedule second = cache.get(lab);
+
+        assertThat(second).isSameAs(first);
+        verify(operatingHoursRepository, times(1)).findByLabId(1);
+        verify(closedDayRepository, times(1)).findRecurringClosures(1);
+        verify(closedDayRepository, times(1)).findSpecificClosures(1);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.schedule.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load all missing schedules together and reuse cached ones")
+    void shouldLoadMissingSchedulesTogether() {
+        Lab other = new Lab();
+        other.setId(2);
+        Lab third = new Lab();
+        third.setId(3);
+        LocalDate holiday = LocalDate.of(2030, 3, 5);
+        LabClosedDay closure = new LabClosedDay();
+        closure.setLab(other);
+        closure.setSpecificDate(holiday);
+        when(closedDayRepository.findClosuresForLabs(List.of(2, 3))).thenReturn(List.of(closure));
+        LabSchedule cached = cache.get(lab);
+
+        Map<Integer, LabSchedule> schedules = cache.getAll(List.of(lab, other, third));
+
+        assertThat(schedules.get(1)).isSameAs(cached);
+        assertThat(schedules.get(2).isClosedOn(holiday)).isTrue();
+        assertThat(schedules.get(3).isClosedOn(holiday)).isFalse();
+        assertThat(cache.get(third)).isSameAs(schedules.get(3));
+        verify(operatingHoursRepository, times(1)).findByLabIdIn(List.of(2, 3));
+        assertThat(count("miss")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reload after eviction")
+    void shouldReloadAfterEviction() {
+        LocalDate holiday = LocalDate.of(2030, 3, 5);
+        LabClosedDay closure = new LabClosedDay();
+        closure.setSpecificDate(holiday);
+
+        assertThat(cache.get(lab).isClosedOn(holiday)).isFalse();
+        when(closedDayRepository.findSpecificClosures(1)).thenReturn(List.of(closure));
+
+        cache.evict(1);
+
+        assertThat(cache.get(lab).isClosedOn(holiday)).isTrue();
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload once the TTL has passed")
+    void shouldExpireAfterTtl() {
+        bookingProperties.getScheduleCache().setTtl(Duration.ZERO);
+
+        cache.get(lab);
+        cache.get(lab);
+
+        verify(operatingHoursRepository, times(2)).findByLabId(1);
+        assertThat(count("hit")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not keep schedules when disabled")
+    void shouldNotCacheWhenDisabled() {
+        bookingProperties.getScheduleCache().setEnabled(false);
+
+        cache.get(lab);
+        cache.get(lab);
+
+        verify(operatingHoursRepository, times(2)).findByLabId(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict only the owning lab for lab closures and every lab for global closures")
+    void shouldEvictFromEntityChanges() {
+        Lab otherLab = new Lab();
+        otherLab.setId(2);
+        cache.get(lab);
+        cache.get(otherLab);
+        when(cacheProvider.getIfAvailable()).thenReturn(cache);
+        LabScheduleInvalidationListener listener = new LabScheduleInvalidationListener(cacheProvider);
+
+        LabClosedDay labClosure = new LabClosedDay();
+        labClosure.setLab(lab);
+        listener.onChange(labClosure);
+        assertThat(cache.size()).isEqualTo(1);
+
+        LabClosedDay globalClosure = new LabClosedDay();
+        listener.onChange(globalClosure);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict labs changed on other instances, and everything after missed changes")
+    void shouldEvictForRemoteChanges() {
+        Lab otherLab = new Lab();
+        otherLab.setId(2);
+        cache.get(lab);
+        cache.get(otherLab);
+
+        cache.onLabChanged(new LabChangedEvent(1));
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.onLabChanged(new LabChangedEvent(1, true));
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.onResync(new LabChangesResyncEvent());
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com._glab.booking_system.booking.cache;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.LabChangedEvent;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.Workstation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LabVersionsTest {
+
+    @Mock
+    private ObjectProvider<LabVersions> versionsProvider;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LabVersions labVersions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        labVersions = new LabVersions(new BookingProperties(), meterRegistry);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("booking.availability.conditional").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should keep a lab's ETag until one of its reservations changes")
+    void shouldChangeEtagOnlyForChangedLab() {
+        String lab1 = labVersions.etag(1, "ws");
+        String lab2 = labVersions.etag(2, "ws");
+
+        labVersions.onReservationChanged(ReservationChangedEvent.of(1, UUID.randomUUID()));
+
+        assertThat(labVersions.etag(1, "ws")).isNotEqualTo(lab1);
+        assertThat(labVersions.etag(2, "ws")).isEqualTo(lab2);
+        assertThat(labVersions.etag(1, "ws")).isNotEqualTo(labVersions.etag(1, "w2026-01-19"));
+    }
+
+    @Test
+    @DisplayName("Should match strong, weak, listed and wildcard If-None-Match values")
+    void shouldMatchIfNoneMatch() {
+        String etag = labVersions.etag(1, null);
+
+        assertThat(labVersions.matches(etag, etag)).isTrue();
+        assertThat(labVersions.matches("W/" + etag, etag)).isTrue();
+        assertThat(labVersions.matches("\"other\", " + etag, etag)).isTrue();
+        assertThat(labVersions.matches("*", etag)).isTrue();
+        assertThat(labVersions.matches("\"other\"", etag)).isFalse();
+        assertThat(labVersions.matches(null, etag)).isFalse();
+        assertThat(count("not_modified")).isEqualTo(4);
+        assertThat(count("modified")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bump the owning lab for workstation changes and every lab for global closures")
+    void shouldBumpFromEntityChanges() {
+        when(versionsProvider.getIfAvailable()).thenReturn(labVersions);
+        LabVersionInvalidationListener listener = new LabVersionInvalidationListener(versionsProvider, eventPublisher);
+        Lab lab = new Lab();
+        lab.setId(1);
+        Workstation workstation = new Workstation();
+        workstation.setLab(lab);
+        String lab2 = labVersions.etag(2, null);
+
+        listener.onChange(workstation);
+
+        assertThat(labVersions.version(1)).isEqualTo(1);
+        assertThat(labVersions.etag(2, null)).isEqualTo(lab2);
+
+        listener.onChange(new LabClosedDay());
+
+        assertThat(labVersions.etag(2, null)).isNotEqualTo(lab2);
+        verify(eventPublisher).publishEvent(new LabChangedEvent(1));
+        verify(eventPublisher).publishEvent(new LabChangedEvent(null));
+    }
+
+    @Test
+    @DisplayName("Should bump labs changed on other instances")
+    void shouldBumpForRemoteLabChanges() {
+        String lab2 = labVersions.etag(2, null);
+
+        labVersions.onLabChanged(new LabChangedEvent(1));
+        assertThat(labVersions.version(1)).isZero();
+
+        labVersions.onLabChanged(new LabChangedEvent(1, true));
+        assertThat(labVersions.version(1)).isEqualTo(1);
+        assertThat(labVersions.etag(2, null)).isEqualTo(lab2);
+
+        labVersions.onLabChanged(new LabChangedEvent(null, true));
+        assertThat(labVersions.etag(2, null)).isNotEqualTo(lab2);
+    }
+}
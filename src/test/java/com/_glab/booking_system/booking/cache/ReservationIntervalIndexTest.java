@@ -0,0 +1,386 @@
+package com._glab.booking_system.booking.cache;
+
+import com._glab.booking_system.booking.cache.ReservationIntervalIndex.IndexedReservation;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.LabChangesResyncEvent;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander;
+import com._glab.booking_system.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationIntervalIndexTest {
+
+    private static final OffsetDateTime MONDAY = OffsetDateTime.of(2030, 3, 4, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ReservationWorkstationRepository reservationWorkstationRepository;
+    @Mock
+    private RecurringOccurrenceExpander occurrenceExpander;
+
+    private BookingProperties bookingProperties;
+    private ReservationIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingProperties = new BookingProperties();
+        index = new ReservationIntervalIndex(reservationRepository, reservationWorkstationRepository, bookingProperties,
+                occurrenceExpander);
+        index.markLoaded(MONDAY.minusDays(30).toInstant());
+    }
+
+    private IndexedReservation entry(Integer labId, OffsetDateTime start, OffsetDateTime end, ReservationStatus status) {
+        return new IndexedReservation(UUID.randomUUID(), labId, start, end, status, false, List.of(1), "John Doe");
+    }
+
+    @Nested
+    @DisplayName("findOverlapping")
+    class FindOverlappingTests {
+
+        @Test
+        @DisplayName("Should return reservations overlapping the window in start order")
+        void shouldReturnOverlappingInStartOrder() {
+            // Given
+            IndexedReservation late = entry(1, MONDAY.plusHours(14), MONDAY.plusHours(16), ReservationStatus.PENDING);
+            IndexedReservation early = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.APPROVED);
+            IndexedReservation nextWeek = entry(1, MONDAY.plusDays(8), MONDAY.plusDays(8).plusHours(2), ReservationStatus.APPROVED);
+            IndexedReservation otherLab = entry(2, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.APPROVED);
+            index.put(late);
+            index.put(early);
+            index.put(nextWeek);
+            index.put(otherLab);
+
+            // When
+            Optional<List<IndexedReservation>> result = index.findOverlapping(1, MONDAY, MONDAY.plusDays(7));
+
+            // Then
+            assertThat(result).isPresent();
+            assertThat(result.get()).containsExactly(early, late);
+        }
+
+        @Test
+        @DisplayName("Should include long reservations that started before the window")
+        void shouldIncludeReservationsStartingBeforeWindow() {
+            // Given
+            IndexedReservation multiDay = entry(1, MONDAY.minusDays(2), MONDAY.plusHours(10), ReservationStatus.APPROVED);
+            IndexedReservation endedBefore = entry(1, MONDAY.minusDays(1), MONDAY.minusDays(1).plusHours(1), ReservationStatus.APPROVED);
+            index.put(multiDay);
+            index.put(endedBefore);
+
+            // When
+            Optional<List<IndexedReservation>> result = index.findOverlapping(1, MONDAY, MONDAY.plusDays(1));
+
+            // Then
+            assertThat(result.get()).containsExactly(multiDay);
+        }
+
+        @Test
+        @DisplayName("Should return empty list for a lab without reservations")
+        void shouldReturnEmptyListForUnknownLab() {
+            assertThat(index.findOverlapping(99, MONDAY, MONDAY.plusDays(7))).contains(List.of());
+        }
+
+        @Test
+        @DisplayName("Should miss when the window starts before the loaded range")
+        void shouldMissBeforeLoadedRange() {
+            assertThat(index.findOverlapping(1, MONDAY.minusDays(60), MONDAY)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should miss when the index is disabled")
+        void shouldMissWhenDisabled() {
+            bookingProperties.getReservationIndex().setEnabled(false);
+
+            assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(7))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should miss before the index has been loaded")
+        void shouldMissBeforeLoad() {
+            ReservationIntervalIndex notLoaded = new ReservationIntervalIndex(
+                    reservationRepository, reservationWorkstationRepository, bookingProperties, occurrenceExpander);
+
+            assertThat(notLoaded.findOverlapping(1, MONDAY, MONDAY.plusDays(7))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("findActiveAt")
+    class FindActiveAtTests {
+
+        @Test
+        @DisplayName("Should return only reservations in progress with the requested status")
+        void shouldReturnActiveWithStatus() {
+            // Given
+            OffsetDateTime now = MONDAY.plusHours(10);
+            IndexedReservation approved = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.APPROVED);
+            IndexedReservation pending = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.PENDING);
+            IndexedReservation endsNow = entry(1, MONDAY.plusHours(8), now, ReservationStatus.APPROVED);
+            index.put(approved);
+            index.put(pending);
+            index.put(endsNow);
+
+            // When
+            Optional<List<IndexedReservation>> result = index.findActiveAt(1, now, ReservationStatus.APPROVED);
+
+            // Then
+            assertThat(result.get()).containsExactly(approved);
+        }
+
+        @Test
+        @DisplayName("Should miss for statuses the index does not hold")
+        void shouldMissForUnindexedStatus() {
+            assertThat(index.findActiveAt(1, MONDAY, ReservationStatus.REJECTED)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace an entry when the same reservation is put again")
+        void shouldReplaceExistingEntry() {
+            // Given
+            IndexedReservation original = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.PENDING);
+            index.put(original);
+            IndexedReservation moved = new IndexedReservation(original.id(), 1, MONDAY.plusHours(13),
+                    MONDAY.plusHours(15), ReservationStatus.APPROVED, false, List.of(2), "John Doe");
+
+            // When
+            index.put(moved);
+
+            // Then
+            assertThat(index.size()).isEqualTo(1);
+            assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(1)).get()).containsExactly(moved);
+        }
+
+        @Test
+        @DisplayName("Should drop reservations that are no longer pending or approved after a change event")
+        void shouldDropDeclinedReservationOnChange() {
+            // Given
+            IndexedReservation indexed = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.PENDING);
+            index.put(indexed);
+
+            Lab lab = new Lab();
+            lab.setId(1);
+            User user = new User();
+            user.setFirstName("John");
+            user.setLastName("Doe");
+            Reservation declined = new Reservation();
+            declined.setId(indexed.id());
+            declined.setLab(lab);
+            declined.setUser(user);
+            declined.setStartTime(indexed.startTime());
+            declined.setEndTime(indexed.endTime());
+            declined.setStatus(ReservationStatus.REJECTED);
+
+            when(reservationRepository.findWithUserByIdIn(any())).thenReturn(List.of(declined));
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any())).thenReturn(Map.of());
+
+            // When
+            index.onReservationChanged(ReservationChangedEvent.of(1, indexed.id()));
+
+            // Then
+            assertThat(index.size()).isZero();
+            assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(1)).get()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should add newly created reservations after a change event")
+        void shouldAddCreatedReservationOnChange() {
+            // Given
+            Lab lab = new Lab();
+            lab.setId(1);
+            User user = new User();
+            user.setFirstName("Jane");
+            user.setLastName("Roe");
+            Reservation created = new Reservation();
+            created.setId(UUID.randomUUID());
+            created.setLab(lab);
+            created.setUser(user);
+            created.setStartTime(MONDAY.plusHours(9));
+            created.setEndTime(MONDAY.plusHours(10));
+            created.setStatus(ReservationStatus.PENDING);
+            created.setWholeLab(true);
+
+            when(reservationRepository.findWithUserByIdIn(any())).thenReturn(List.of(created));
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any())).thenReturn(Map.of());
+
+            // When
+            index.onReservationChanged(ReservationChangedEvent.of(1, created.getId()));
+
+            // Then
+            List<IndexedReservation> found = index.findOverlapping(1, MONDAY, MONDAY.plusDays(1)).get();
+            assertThat(found).hasSize(1);
+            assertThat(found.get(0).id()).isEqualTo(created.getId());
+            assertThat(found.get(0).wholeLab()).isTrue();
+            assertThat(found.get(0).userName()).isEqualTo("Jane Roe");
+        }
+
+        @Test
+        @DisplayName("Should stop answering from memory when a refresh fails")
+        void shouldFallBackWhenRefreshFails() {
+            // Given
+            when(reservationRepository.findWithUserByIdIn(any())).thenThrow(new IllegalStateException("db down"));
+
+            // When
+            index.onReservationChanged(ReservationChangedEvent.of(1, UUID.randomUUID()));
+
+            // Then
+            assertThat(index.covers(OffsetDateTime.now())).isFalse();
+            assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(1))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reload from the database when changes of other instances may have been missed")
+        void shouldReloadOnResync() {
+            // Given
+            IndexedReservation stale = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.APPROVED);
+            index.put(stale);
+            when(reservationRepository.findWithUserEndingAfter(any(), any())).thenReturn(List.of());
+            when(reservationWorkstationRepository.findLinksForReservationsEndingAfter(any(), any())).thenReturn(List.of());
+
+            // When
+            index.onResync(new LabChangesResyncEvent());
+
+            // Then
+            assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(1))).hasValue(List.of());
+            assertThat(index.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep answering from the previous snapshot while reloading and apply changes made meanwhile")
+        void shouldServeDuringReload() {
+            // Given
+            IndexedReservation stale = entry(1, MONDAY.plusHours(9), MONDAY.plusHours(11), ReservationStatus.APPROVED);
+            index.put(stale);
+            Reservation created = reservation(MONDAY.plusHours(13), ReservationStatus.PENDING);
+            when(reservationRepository.findWithUserByIdIn(any())).thenReturn(List.of(created));
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any())).thenReturn(Map.of());
+            when(reservationWorkstationRepository.findLinksForReservationsEndingAfter(any(), any())).thenReturn(List.of());
+            when(reservationRepository.findWithUserEndingAfter(any(), any())).thenAnswer(invocation -> {
+                assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(1)).get()).containsExactly(stale);
+                // Committed after the load read the database
+                index.onReservationChanged(ReservationChangedEvent.of(1, created.getId()));
+                return List.of();
+            });
+
+            // When
+            index.reload();
+
+            // Then
+            assertThat(index.findOverlapping(1, MONDAY, MONDAY.plusDays(1)).get())
+                    .extracting(IndexedReservation::id)
+                    .containsExactly(created.getId());
+        }
+
+        @Test
+        @DisplayName("Should stay start-ordered and complete through many inserts, moves and removals")
+        void shouldMatchBruteForceAfterUpdates() {
+            Random random = new Random(42);
+            Map<UUID, IndexedReservation> expected = new HashMap<>();
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                int action = random.nextInt(10);
+                if (action < 2 && !ids.isEmpty()) {
+                    UUID id = ids.remove(random.nextInt(ids.size()));
+                    index.remove(id);
+                    expected.remove(id);
+                    continue;
+                }
+                UUID id = action < 4 && !ids.isEmpty() ? ids.get(random.nextInt(ids.size())) : UUID.randomUUID();
+                OffsetDateTime start = MONDAY.plusMinutes(30L * random.nextInt(48));
+                OffsetDateTime end = start.plusMinutes(30L * (1 + random.nextInt(8)));
+                IndexedReservation entry = new IndexedReservation(id, 1 + random.nextInt(2), start, end,
+                        ReservationStatus.APPROVED, false, List.of(1), "John Doe");
+                if (!expected.containsKey(id)) {
+                    ids.add(id);
+                }
+                index.put(entry);
+                expected.put(id, entry);
+            }
+
+            for (int hour = 0; hour < 24; hour++) {
+                OffsetDateTime from = MONDAY.plusHours(hour);
+                OffsetDateTime to = from.plusHours(2);
+                for (Integer labId : List.of(1, 2)) {
+                    List<IndexedReservation> found = index.findOverlapping(labId, from, to).get();
+                    assertThat(found).isSortedAccordingTo(Comparator.comparing(IndexedReservation::startTime));
+                    assertThat(found).containsExactlyInAnyOrderElementsOf(expected.values().stream()
+                            .filter(r -> r.labId().equals(labId))
+                            .filter(r -> r.startTime().isBefore(to) && r.endTime().isAfter(from))
+                            .toList());
+                }
+            }
+            assertThat(index.size()).isEqualTo(expected.size());
+        }
+
+        @Test
+        @DisplayName("Should not reload while disabled")
+        void shouldNotReloadWhenDisabled() {
+            bookingProperties.getReservationIndex().setEnabled(false);
+
+            index.reload();
+
+            verifyNoInteractions(reservationRepository, reservationWorkstationRepository);
+        }
+    }
+
+    private static Reservation reservation(OffsetDateTime start, ReservationStatus status) {
+        Lab lab = new Lab();
+        lab.setId(1);
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Roe");
+        Reservation reservation = new Reservation();
+        reservation.setId(UUID.randomUUID());
+        reservation.setLab(lab);
+        reservation.setUser(user);
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Should not cover anything until marked as loaded")
+    void shouldNotCoverBeforeLoad() {
+        ReservationIntervalIndex fresh = new ReservationIntervalIndex(
+                reservationRepository, reservationWorkstationRepository, bookingProperties, occurrenceExpander);
+        assertThat(fresh.covers(OffsetDateTime.now())).isFalse();
+
+        fresh.markLoaded(Instant.EPOCH);
+        assertThat(fresh.covers(OffsetDateTime.now())).isTrue();
+    }
+}
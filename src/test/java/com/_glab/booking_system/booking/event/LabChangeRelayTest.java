@@ -0,0 +1,131 @@
+package com._glab.booking_system.booking.event;
+
+import com._glab.booking_system.auth.cache.UserChangedEvent;
+import com._glab.booking_system.booking.config.BookingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class LabChangeRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BookingProperties bookingProperties;
+    private LabChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        bookingProperties = new BookingProperties();
+        relay = new LabChangeRelay(jdbcTemplate, dataSource, eventPublisher, bookingProperties);
+    }
+
+    private List<String> sentPayloads(int notifications) {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(notifications))
+                .queryForList(anyString(), eq(LabChangeRelay.CHANNEL), payload.capture());
+        return payload.getAllValues();
+    }
+
+    @Test
+    @DisplayName("Should notify other instances of local changes in chunks that fit a notification")
+    void shouldNotifyLocalChangesInChunks() {
+        List<UUID> ids = IntStream.range(0, LabChangeRelay.MAX_IDS_PER_NOTIFICATION + 1)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+
+        relay.onReservationChanged(new ReservationChangedEvent(7, ids));
+
+        List<String> payloads = sentPayloads(2);
+        assertThat(payloads.get(0)).contains(" 7 " + ids.get(0)).doesNotContain(ids.getLast().toString());
+        assertThat(payloads.get(1)).endsWith(" 7 " + ids.getLast());
+        assertThat(payloads).allSatisfy(payload -> assertThat(payload.length()).isLessThan(8000));
+    }
+
+    @Test
+    @DisplayName("Should not forward relayed changes, or any change when disabled")
+    void shouldNotNotifyRemoteChanges() {
+        relay.onReservationChanged(new ReservationChangedEvent(7, List.of(UUID.randomUUID()), true));
+        bookingProperties.getLabChanges().setEnabled(false);
+        relay.onReservationChanged(ReservationChangedEvent.of(7, UUID.randomUUID()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should republish other instances' changes as remote events")
+    void shouldRepublishRemoteChanges() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        relay.relay(LabChangeRelay.payload("other-instance", 7, List.of(first, second)));
+
+        verify(eventPublisher).publishEvent(new ReservationChangedEvent(7, List.of(first, second), true));
+    }
+
+    @Test
+    @DisplayName("Should relay lab changes, including changes affecting every lab")
+    void shouldRelayLabChanges() {
+        relay.onLabChanged(new LabChangedEvent(7));
+        relay.onLabChanged(new LabChangedEvent(null));
+        relay.onLabChanged(new LabChangedEvent(8, true));
+
+        List<String> payloads = sentPayloads(2);
+        relay.relay(payloads.get(0).replaceFirst("^\\S+", "other-instance"));
+        relay.relay(payloads.get(1).replaceFirst("^\\S+", "other-instance"));
+
+        verify(eventPublisher).publishEvent(new LabChangedEvent(7, true));
+        verify(eventPublisher).publishEvent(new LabChangedEvent(null, true));
+    }
+
+    @Test
+    @DisplayName("Should relay account changes")
+    void shouldRelayUserChanges() {
+        relay.onUserChanged(new UserChangedEvent(3));
+        relay.onUserChanged(new UserChangedEvent(4, true));
+
+        relay.relay(sentPayloads(1).getFirst().replaceFirst("^\\S+", "other-instance"));
+
+        verify(eventPublisher).publishEvent(new UserChangedEvent(3, true));
+    }
+
+    @Test
+    @DisplayName("Should ignore its own and malformed notifications")
+    void shouldIgnoreOwnAndMalformedNotifications() {
+        relay.onReservationChanged(ReservationChangedEvent.of(7, UUID.randomUUID()));
+        String own = sentPayloads(1).getFirst();
+
+        relay.relay(own);
+        relay.relay("other-instance 7 not-a-uuid");
+        relay.relay("other-instance lab seven");
+        relay.relay("other-instance user someone");
+        relay.relay("garbage");
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,153 @@
+package com._glab.booking_system.booking.event;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.response.LabReservationChangesResponse;
+import com._glab.booking_system.booking.response.ReservationSummaryResponse;
+import com._glab.booking_system.booking.service.AvailabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LabEventBroadcasterTest {
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LabEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new LabEventBroadcaster(availabilityService, new BookingProperties(), Runnable::run, meterRegistry);
+    }
+
+    /**
+     * Emitter that records the payloads sent to it instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream().map(ResponseBodyEmitter.DataWithMediaType::getData).forEach(payloads::add);
+        }
+
+        List<String> events() {
+            return payloads.stream()
+                    .map(String::valueOf)
+                    .flatMap(String::lines)
+                    .filter(line -> line.startsWith("event:"))
+                    .map(line -> line.substring("event:".length()))
+                    .toList();
+        }
+
+        List<LabReservationChangesResponse> changes() {
+            return payloads.stream()
+                    .filter(LabReservationChangesResponse.class::isInstance)
+                    .map(LabReservationChangesResponse.class::cast)
+                    .toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should push changed and removed reservations only to subscribers of the changed lab")
+    void shouldPushChangesToLabSubscribers() {
+        RecordingEmitter lab1 = new RecordingEmitter();
+        RecordingEmitter building = new RecordingEmitter();
+        RecordingEmitter lab2 = new RecordingEmitter();
+        broadcaster.subscribe(List.of(1), lab1, false);
+        broadcaster.subscribe(List.of(1, 2), building, false);
+        broadcaster.subscribe(List.of(2), lab2, false);
+
+        UUID approved = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        ReservationSummaryResponse summary = ReservationSummaryResponse.builder().id(approved).build();
+        when(availabilityService.getReservationSummaries(1, List.of(approved, cancelled))).thenReturn(List.of(summary));
+
+        broadcaster.onReservationChanged(new ReservationChangedEvent(1, List.of(approved, cancelled)));
+
+        assertThat(lab1.changes()).singleElement().satisfies(changes -> {
+            assertThat(changes.getLabId()).isEqualTo(1);
+            assertThat(changes.getReservations()).containsExactly(summary);
+            assertThat(changes.getRemovedReservationIds()).containsExactly(cancelled);
+        });
+        assertThat(building.changes()).hasSize(1);
+        assertThat(lab2.changes()).isEmpty();
+        verify(availabilityService).getReservationSummaries(1, List.of(approved, cancelled));
+    }
+
+    @Test
+    @DisplayName("Should not load reservations for labs nobody is watching")
+    void shouldSkipLabsWithoutSubscribers() {
+        broadcaster.subscribe(List.of(2), new RecordingEmitter(), false);
+
+        broadcaster.onReservationChanged(ReservationChangedEvent.of(1, UUID.randomUUID()));
+
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    @DisplayName("Should drop subscribers whose connection fails")
+    void shouldDropBrokenSubscribers() {
+        RecordingEmitter healthy = new RecordingEmitter();
+        RecordingEmitter broken = new RecordingEmitter();
+        broadcaster.subscribe(List.of(1), healthy, false);
+        broadcaster.subscribe(List.of(1), broken, false);
+        assertThat(meterRegistry.get("booking.live.subscribers").gauge().value()).isEqualTo(2);
+
+        broken.failing = true;
+        broadcaster.heartbeat();
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.live.subscribers").gauge().value()).isEqualTo(1);
+        assertThat(healthy.payloads).containsExactly(":subscribed\n\n", ":heartbeat\n\n");
+    }
+
+    @Test
+    @DisplayName("Should ask every subscriber to reload when changes of other instances may have been missed")
+    void shouldSendResyncToAllSubscribers() {
+        RecordingEmitter lab1 = new RecordingEmitter();
+        RecordingEmitter lab2 = new RecordingEmitter();
+        broadcaster.subscribe(List.of(1), lab1, false);
+        broadcaster.subscribe(List.of(2), lab2, false);
+
+        broadcaster.onResync(new LabChangesResyncEvent());
+
+        assertThat(lab1.events()).containsExactly(LabEventBroadcaster.RESYNC_EVENT);
+        assertThat(lab2.events()).containsExactly(LabEventBroadcaster.RESYNC_EVENT);
+        verifyNoInteractions(availabilityService);
+    }
+
+    @Test
+    @DisplayName("Should ask a resumed stream to reload instead of confirming the subscription")
+    void shouldSendResyncToResumedSubscriber() {
+        RecordingEmitter resumed = new RecordingEmitter();
+
+        broadcaster.subscribe(List.of(1), resumed, true);
+
+        assertThat(resumed.events()).containsExactly(LabEventBroadcaster.RESYNC_EVENT);
+        assertThat(resumed.payloads).doesNotContain(":subscribed\n\n");
+    }
+}
@@ -0,0 +1,73 @@
+package com._glab.booking_system.booking.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerialExecutorTest {
+
+    @Test
+    @DisplayName("Should run queued tasks in submission order from a single drain task")
+    void shouldDrainInOrderFromOneTask() {
+        Queue<Runnable> scheduled = new ArrayDeque<>();
+        SerialExecutor serial = new SerialExecutor(scheduled::add);
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+
+        serial.execute(() -> ran.add(1));
+        serial.execute(() -> ran.add(2));
+        serial.execute(() -> {
+            throw new IllegalStateException("Broken task");
+        });
+        serial.execute(() -> ran.add(3));
+        assertThat(scheduled).hasSize(1);
+
+        scheduled.poll().run();
+
+        assertThat(ran).containsExactly(1, 2, 3);
+        serial.execute(() -> ran.add(4));
+        assertThat(scheduled).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should never run two tasks at once on a multi-threaded executor")
+    void shouldRunOneTaskAtATime() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            SerialExecutor serial = new SerialExecutor(pool);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            List<Integer> ran = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(1_000);
+
+            for (int i = 0; i < 1_000; i++) {
+                int task = i;
+                serial.execute(() -> {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    ran.add(task);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(overlaps).hasValue(0);
+            assertThat(ran).containsExactlyElementsOf(IntStream.range(0, 1_000).boxed().toList());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com._glab.booking_system.booking.metrics;
+
+import com._glab.booking_system.booking.exception.LabClosedException;
+import com._glab.booking_system.booking.exception.ReservationNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingMetrics bookingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingMetrics = new BookingMetrics(meterRegistry);
+    }
+
+    private long operations(String operation, String exception) {
+        return meterRegistry.get("booking.reservation.operation")
+                .tags("operation", operation, "exception", exception).timer().count();
+    }
+
+    @Test
+    @DisplayName("Should time successful operations and return their result")
+    void shouldTimeSuccessfulOperation() {
+        String result = bookingMetrics.timeOperation("approve", () -> "done");
+
+        assertThat(result).isEqualTo("done");
+        assertThat(operations("approve", "none")).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.reservation.operation").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should tag failures with the exception and count rule violations by rule")
+    void shouldCountRuleViolations() {
+        assertThatThrownBy(() -> bookingMetrics.timeOperation("edit", () -> {
+            throw new LabClosedException("Test Lab", LocalDate.of(2030, 1, 1));
+        })).isInstanceOf(LabClosedException.class);
+
+        assertThat(operations("edit", "LabClosedException")).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.validation.failures")
+                .tags("operation", "edit", "rule", "LabClosedException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count failures that are not booking rule violations")
+    void shouldNotCountOtherFailuresAsViolations() {
+        assertThatThrownBy(() -> bookingMetrics.timeOperation("approve", () -> {
+            throw new ReservationNotFoundException(UUID.randomUUID());
+        })).isInstanceOf(ReservationNotFoundException.class);
+
+        assertThat(operations("approve", "ReservationNotFoundException")).isEqualTo(1);
+        assertThat(meterRegistry.find("booking.validation.failures").counter()).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com._glab.booking_system.booking.metrics;
+
+import com._glab.booking_system.booking.config.BookingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingProperties bookingProperties;
+    private SqlStatementInspector inspector;
+    private SqlStatementFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingProperties = new BookingProperties();
+        inspector = new SqlStatementInspector();
+        filter = new SqlStatementFilter(bookingProperties, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/v1/labs/1/availability");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/labs/{labId}/availability");
+        response = new MockHttpServletResponse();
+    }
+
+    private FilterChain runningStatements(String... sql) {
+        return (req, res) -> {
+            for (String statement : sql) {
+                inspector.inspect(statement);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should count the request's statements per endpoint")
+    void shouldRecordStatementsPerEndpoint() throws Exception {
+        filter.doFilter(request, response, runningStatements("select 1", "select 2", "select 2"));
+
+        assertThat(meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/api/v1/labs/{labId}/availability")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("http.server.requests.sql.time").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("http.server.requests.sql.over.budget").counter()).isNull();
+        assertThat(SqlStatementStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count requests over the budget")
+    void shouldCountRequestsOverBudget() throws Exception {
+        bookingProperties.getSqlStatements().setBudget(2);
+
+        filter.doFilter(request, response, runningStatements("select 1", "select 2", "select 2"));
+
+        assertThat(meterRegistry.get("http.server.requests.sql.over.budget").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should add response headers only when enabled")
+    void shouldAddHeadersWhenEnabled() throws Exception {
+        filter.doFilter(request, response, runningStatements("select 1"));
+        assertThat(response.getHeader(SqlStatementFilter.STATEMENTS_HEADER)).isNull();
+
+        bookingProperties.getSqlStatements().setResponseHeaders(true);
+        MockHttpServletResponse withHeaders = new MockHttpServletResponse();
+        filter.doFilter(request, withHeaders, runningStatements("select 1", "select 2"));
+
+        assertThat(withHeaders.getHeader(SqlStatementFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(withHeaders.getHeader(SqlStatementFilter.TIME_HEADER)).endsWith("ms");
+    }
+
+    @Test
+    @DisplayName("Should ignore statements outside a request")
+    void shouldIgnoreStatementsOutsideRequest() {
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        assertThat(SqlStatementStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report the most repeated statement")
+    void shouldReportMostRepeatedStatement() {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            inspector.inspect("select lab");
+            inspector.inspect("select user where id=?");
+            inspector.inspect("select user where id=?");
+
+            assertThat(stats.getStatements()).isEqualTo(3);
+            assertThat(stats.mostRepeated()).hasValueSatisfying(entry -> {
+                assertThat(entry.getKey()).isEqualTo("select user where id=?");
+                assertThat(entry.getValue()).isEqualTo(2);
+            });
+        } finally {
+            SqlStatementStats.stop();
+        }
+    }
+}
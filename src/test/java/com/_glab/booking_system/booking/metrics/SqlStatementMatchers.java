@@ -0,0 +1,35 @@
+package com._glab.booking_system.booking.metrics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers on the SQL statement counts {@link SqlStatementFilter} reports in its response headers,
+ * which the test profile switches on.
+ *
+ * Integration tests run each request inside the test's transaction, so entities the test saved are served
+ * from the persistence context, and inserts still pending are flushed by the request's first query.
+ * Flush before the request and keep budgets for endpoints that do not depend on those effects.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * Fails if the request ran more than {@code max} SQL statements.
+     */
+    public static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementFilter.STATEMENTS_HEADER);
+            assertNotNull(header, "No " + SqlStatementFilter.STATEMENTS_HEADER
+                    + " header; is booking.sql-statements.response-headers enabled?");
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= max, () -> result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " ran " + statements
+                    + " SQL statements, expected at most " + max);
+        };
+    }
+}
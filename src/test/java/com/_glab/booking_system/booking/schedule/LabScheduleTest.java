@@ -0,0 +1,132 @@
+package com._glab.booking_system.booking.schedule;
+
+import com._glab.booking_system.booking.exception.LabClosedException;
+import com._glab.booking_system.booking.exception.OutsideOperatingHoursException;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.LabOperatingHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LabScheduleTest {
+
+    // Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 3, 4);
+
+    private Lab lab;
+
+    @BeforeEach
+    void setUp() {
+        lab = new Lab();
+        lab.setId(1);
+        lab.setDefaultOpenTime(LocalTime.of(8, 0));
+        lab.setDefaultCloseTime(LocalTime.of(20, 0));
+    }
+
+    private static OffsetDateTime at(LocalDate date, int hour) {
+        return OffsetDateTime.of(date, LocalTime.of(hour, 0), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Should use lab default hours and close on Sundays when no specific hours exist")
+    void shouldUseDefaultsWithoutSpecificHours() {
+        LabSchedule schedule = new LabSchedule(lab, List.of(), List.of(), List.of());
+
+        assertThatCode(() -> schedule.validate(at(MONDAY, 10), at(MONDAY, 12))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> schedule.validate(at(MONDAY, 6), at(MONDAY, 9)))
+                .isInstanceOf(OutsideOperatingHoursException.class);
+        LocalDate sunday = MONDAY.plusDays(6);
+        assertThatThrownBy(() -> schedule.validate(at(sunday, 10), at(sunday, 12)))
+                .isInstanceOf(LabClosedException.class);
+    }
+
+    @Test
+    @DisplayName("Should prefer per-day operating hours over lab defaults")
+    void shouldUsePerDayHours() {
+        LabOperatingHours mondayHours = new LabOperatingHours();
+        mondayHours.setDayOfWeek(1);
+        mondayHours.setOpenTime(LocalTime.of(12, 0));
+        mondayHours.setCloseTime(LocalTime.of(16, 0));
+        LabOperatingHours tuesdayClosed = new LabOperatingHours();
+        tuesdayClosed.setDayOfWeek(2);
+        tuesdayClosed.setIsClosed(true);
+
+        LabSchedule schedule = new LabSchedule(lab,
+                List.of(mondayHours, tuesdayClosed), List.of(), List.of());
+
+        assertThatThrownBy(() -> schedule.validate(at(MONDAY, 10), at(MONDAY, 12)))
+                .isInstanceOf(OutsideOperatingHoursException.class)
+                .hasMessageContaining("12:00 - 16:00");
+        assertThatCode(() -> schedule.validate(at(MONDAY, 13), at(MONDAY, 15))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> schedule.validate(at(MONDAY.plusDays(1), 13), at(MONDAY.plusDays(1), 15)))
+                .isInstanceOf(LabClosedException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject specific and recurring closure days")
+    void shouldRejectClosures() {
+        LabClosedDay holiday = new LabClosedDay();
+        holiday.setSpecificDate(MONDAY.plusWeeks(1));
+        LabClosedDay everyWednesday = new LabClosedDay();
+        everyWednesday.setRecurringDayOfWeek(3);
+
+        LabSchedule schedule = new LabSchedule(lab,
+                List.of(), List.of(everyWednesday), List.of(holiday));
+
+        assertThatCode(() -> schedule.validate(at(MONDAY, 10), at(MONDAY, 12))).doesNotThrowAnyException();
+        assertThatThrownBy(() -> schedule.validate(at(MONDAY.plusWeeks(1), 10), at(MONDAY.plusWeeks(1), 12)))
+                .isInstanceOf(LabClosedException.class)
+                .hasMessageContaining(MONDAY.plusWeeks(1).toString());
+        assertThatThrownBy(() -> schedule.validate(at(MONDAY.plusDays(2), 10), at(MONDAY.plusDays(2), 12)))
+                .isInstanceOf(LabClosedException.class);
+    }
+
+    @Test
+    @DisplayName("Should list specific closures in date order followed by expanded recurring closures")
+    void shouldListClosuresInRange() {
+        LabClosedDay before = new LabClosedDay();
+        before.setSpecificDate(MONDAY.minusDays(1));
+        before.setReason("Before");
+        LabClosedDay friday = new LabClosedDay();
+        friday.setSpecificDate(MONDAY.plusDays(4));
+        friday.setReason("Holiday");
+        LabClosedDay tuesday = new LabClosedDay();
+        tuesday.setSpecificDate(MONDAY.plusDays(1));
+        tuesday.setReason("Maintenance");
+        LabClosedDay everySaturday = new LabClosedDay();
+        everySaturday.setRecurringDayOfWeek(6);
+        everySaturday.setReason("Weekend");
+
+        LabSchedule schedule = new LabSchedule(lab, List.of(), List.of(everySaturday), List.of(before, friday, tuesday));
+
+        assertThat(schedule.getClosedDaysBetween(MONDAY, MONDAY.plusDays(6))).containsExactly(
+                new LabSchedule.ClosedDay(MONDAY.plusDays(1), "Maintenance"),
+                new LabSchedule.ClosedDay(MONDAY.plusDays(4), "Holiday"),
+                new LabSchedule.ClosedDay(MONDAY.plusDays(5), "Weekend"));
+    }
+
+    @Test
+    @DisplayName("Should report whether the lab is open at a given moment")
+    void shouldReportOpenAt() {
+        LabClosedDay holiday = new LabClosedDay();
+        holiday.setSpecificDate(MONDAY.plusDays(1));
+
+        LabSchedule schedule = new LabSchedule(lab, List.of(), List.of(), List.of(holiday));
+
+        assertThat(schedule.isOpenAt(at(MONDAY, 10))).isTrue();
+        assertThat(schedule.isOpenAt(at(MONDAY, 20))).isFalse();
+        assertThat(schedule.isOpenAt(at(MONDAY.plusDays(1), 10))).isFalse();
+        assertThat(schedule.isOpenAt(at(MONDAY.plusDays(6), 10))).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package com._glab.booking_system.booking.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OccupancyBitmapTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2030, 3, 4, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should size the bitmap in 15-minute slots, rounding the window outwards")
+    void shouldRoundWindowToSlots() {
+        OccupancyBitmap bitmap = new OccupancyBitmap(DAY.withHour(9).withMinute(10), DAY.withHour(10).withMinute(5));
+
+        // 09:00 .. 10:15
+        assertThat(bitmap.getSlotCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should track workstations independently")
+    void shouldTrackWorkstationsIndependently() {
+        OccupancyBitmap bitmap = new OccupancyBitmap(DAY, DAY.plusDays(1));
+        bitmap.occupyWorkstation(1, DAY.withHour(10), DAY.withHour(11));
+
+        assertThat(bitmap.mayBeOccupied(List.of(1), DAY.withHour(10).withMinute(30), DAY.withHour(12))).isTrue();
+        assertThat(bitmap.mayBeOccupied(List.of(2), DAY.withHour(10), DAY.withHour(11))).isFalse();
+        assertThat(bitmap.mayBeOccupied(List.of(1), DAY.withHour(11), DAY.withHour(12))).isFalse();
+        assertThat(bitmap.mayBeOccupied(DAY.withHour(10), DAY.withHour(11))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat whole-lab bookings as occupying every workstation")
+    void shouldApplyWholeLabToEveryWorkstation() {
+        OccupancyBitmap bitmap = new OccupancyBitmap(DAY, DAY.plusDays(1));
+        bitmap.occupyWholeLab(DAY.withHour(14), DAY.withHour(15));
+
+        assertThat(bitmap.mayBeOccupied(List.of(42), DAY.withHour(14).withMinute(45), DAY.withHour(16))).isTrue();
+        assertThat(bitmap.mayBeOccupied(List.of(42), DAY.withHour(15), DAY.withHour(16))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should list free workstations, and none while the whole lab is booked")
+    void shouldListFreeWorkstations() {
+        OccupancyBitmap bitmap = new OccupancyBitmap(DAY, DAY.plusDays(1));
+        bitmap.occupyWorkstation(2, DAY.withHour(10), DAY.withHour(10).withMinute(5));
+        bitmap.occupyWholeLab(DAY.withHour(14), DAY.withHour(15));
+
+        // The 10:00 - 10:05 booking rounds out to the whole 10:00 - 10:15 slot
+        assertThat(bitmap.freeWorkstations(List.of(1, 2, 3), DAY.withHour(10).withMinute(10), DAY.withHour(11)))
+                .containsExactly(1, 3);
+        assertThat(bitmap.freeWorkstations(List.of(1, 2, 3), DAY.withHour(10).withMinute(15), DAY.withHour(11)))
+                .containsExactly(1, 2, 3);
+        assertThat(bitmap.freeWorkstations(List.of(1, 2, 3), DAY.withHour(13), DAY.withHour(14).withMinute(15)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should handle ranges spanning several 64-slot words and clip to the window")
+    void shouldHandleMultiWordRanges() {
+        OccupancyBitmap bitmap = new OccupancyBitmap(DAY, DAY.plusWeeks(2));
+        bitmap.occupyWorkstation(1, DAY.minusDays(1), DAY.plusDays(3));
+
+        assertThat(bitmap.mayBeOccupied(List.of(1), DAY.plusDays(2).withHour(23), DAY.plusDays(3))).isTrue();
+        assertThat(bitmap.mayBeOccupied(List.of(1), DAY.plusDays(3), DAY.plusDays(4))).isFalse();
+        assertThat(bitmap.mayBeOccupied(List.of(1), DAY.plusDays(13), DAY.plusWeeks(3))).isFalse();
+    }
+}
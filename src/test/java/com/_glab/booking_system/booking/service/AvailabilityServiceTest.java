@@ -1,11 +1,16 @@
 package com._glab.booking_system.booking.service;
 
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.cache.ReservationIntervalIndex;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.*;
 import com._glab.booking_system.booking.repository.*;
 import com._glab.booking_system.booking.response.*;
 import com._glab.booking_system.user.model.Role;
 import com._glab.booking_system.user.model.RoleName;
 import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,6 +27,7 @@ import java.time.ZoneOffset;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -47,6 +53,10 @@ class AvailabilityServiceTest {
     private ReservationWorkstationRepository reservationWorkstationRepository;
     @Mock
     private WorkstationRepository workstationRepository;
+    @Mock
+    private ReservationIntervalIndex reservationIndex;
+    @Mock
+    private RecurringOccurrenceExpander occurrenceExpander;
 
     private AvailabilityService availabilityService;
 
@@ -54,15 +64,21 @@ class AvailabilityServiceTest {
     private Building testBuilding;
     private User testUser;
 
+    private LabScheduleCache labScheduleCache;
+
     @BeforeEach
     void setUp() {
+        labScheduleCache = new LabScheduleCache(operatingHoursRepository, closedDayRepository,
+                new BookingProperties(), new SimpleMeterRegistry());
         availabilityService = new AvailabilityService(
                 labRepository,
-                operatingHoursRepository,
-                closedDayRepository,
+                labScheduleCache,
                 reservationRepository,
                 reservationWorkstationRepository,
-                workstationRepository
+                workstationRepository,
+                reservationIndex,
+                new BookingMetrics(new SimpleMeterRegistry()),
+                occurrenceExpander
         );
 
         // Set up test building
@@ -103,7 +119,7 @@ class AvailabilityServiceTest {
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
             when(operatingHoursRepository.findByLabId(1)).thenReturn(new ArrayList<>());
-            when(closedDayRepository.findSpecificClosuresInRange(anyInt(), any(), any()))
+            when(closedDayRepository.findSpecificClosures(1))
                     .thenReturn(new ArrayList<>());
             when(closedDayRepository.findRecurringClosures(1)).thenReturn(new ArrayList<>());
             when(reservationRepository.findByLabIdAndTimeRangeAndStatusIn(anyInt(), any(), any(), any()))
@@ -132,7 +148,7 @@ class AvailabilityServiceTest {
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
             when(operatingHoursRepository.findByLabId(1)).thenReturn(new ArrayList<>());
-            when(closedDayRepository.findSpecificClosuresInRange(anyInt(), any(), any()))
+            when(closedDayRepository.findSpecificClosures(1))
                     .thenReturn(new ArrayList<>());
             when(closedDayRepository.findRecurringClosures(1)).thenReturn(new ArrayList<>());
             when(reservationRepository.findByLabIdAndTimeRangeAndStatusIn(anyInt(), any(), any(), any()))
@@ -153,7 +169,7 @@ class AvailabilityServiceTest {
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
             when(operatingHoursRepository.findByLabId(1)).thenReturn(new ArrayList<>());
-            when(closedDayRepository.findSpecificClosuresInRange(anyInt(), any(), any()))
+            when(closedDayRepository.findSpecificClosures(1))
                     .thenReturn(new ArrayList<>());
             when(closedDayRepository.findRecurringClosures(1)).thenReturn(new ArrayList<>());
             when(reservationRepository.findByLabIdAndTimeRangeAndStatusIn(anyInt(), any(), any(), any()))
@@ -179,7 +195,7 @@ class AvailabilityServiceTest {
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
             when(operatingHoursRepository.findByLabId(1)).thenReturn(List.of(mondayHours));
-            when(closedDayRepository.findSpecificClosuresInRange(anyInt(), any(), any()))
+            when(closedDayRepository.findSpecificClosures(1))
                     .thenReturn(new ArrayList<>());
             when(closedDayRepository.findRecurringClosures(1)).thenReturn(new ArrayList<>());
             when(reservationRepository.findByLabIdAndTimeRangeAndStatusIn(anyInt(), any(), any(), any()))
@@ -211,7 +227,7 @@ class AvailabilityServiceTest {
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
             when(operatingHoursRepository.findByLabId(1)).thenReturn(new ArrayList<>());
-            when(closedDayRepository.findSpecificClosuresInRange(eq(1), eq(monday), eq(monday.plusDays(6))))
+            when(closedDayRepository.findSpecificClosures(1))
                     .thenReturn(List.of(closedDay));
             when(closedDayRepository.findRecurringClosures(1)).thenReturn(new ArrayList<>());
             when(reservationRepository.findByLabIdAndTimeRangeAndStatusIn(anyInt(), any(), any(), any()))
@@ -245,13 +261,13 @@ class AvailabilityServiceTest {
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
             when(operatingHoursRepository.findByLabId(1)).thenReturn(new ArrayList<>());
-            when(closedDayRepository.findSpecificClosuresInRange(anyInt(), any(), any()))
+            when(closedDayRepository.findSpecificClosures(1))
                     .thenReturn(new ArrayList<>());
             when(closedDayRepository.findRecurringClosures(1)).thenReturn(new ArrayList<>());
             when(reservationRepository.findByLabIdAndTimeRangeAndStatusIn(anyInt(), any(), any(), any()))
                     .thenReturn(List.of(reservation));
-            when(reservationWorkstationRepository.findWorkstationIdsByReservationId(any()))
-                    .thenReturn(List.of(1, 2));
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any()))
+                    .thenReturn(Map.of(reservation.getId(), List.of(1, 2)));
 
             // When
             LabAvailabilityResponse response = availabilityService.getWeeklyAvailability(1, monday);
@@ -286,9 +302,6 @@ class AvailabilityServiceTest {
         void shouldGetCurrentAvailabilityWhenOpen() {
             // Given - Use a time during lab hours
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(closedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-            when(operatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty()); // Use defaults
             when(reservationRepository.findCurrentReservations(anyInt(), any(), eq(ReservationStatus.APPROVED)))
                     .thenReturn(new ArrayList<>());
 
@@ -317,13 +330,10 @@ class AvailabilityServiceTest {
             currentReservation.setWholeLab(true);
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(closedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-            when(operatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
             when(reservationRepository.findCurrentReservations(anyInt(), any(), eq(ReservationStatus.APPROVED)))
                     .thenReturn(List.of(currentReservation));
-            when(reservationWorkstationRepository.findWorkstationIdsByReservationId(any()))
-                    .thenReturn(new ArrayList<>());
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any()))
+                    .thenReturn(Map.of());
 
             // When
             CurrentAvailabilityResponse response = availabilityService.getCurrentAvailability(1);
@@ -416,4 +426,73 @@ class AvailabilityServiceTest {
                     .hasMessageContaining("Lab not found");
         }
     }
+
+    @Nested
+    @DisplayName("Get Building Availability Tests")
+    class GetBuildingAvailabilityTests {
+
+        private LabReservationOccupancy occupancy(Integer labId, OffsetDateTime start, OffsetDateTime end,
+                                                  boolean wholeLab, Integer workstationId) {
+            UUID id = UUID.randomUUID();
+            return new LabReservationOccupancy() {
+                public Integer getLabId() { return labId; }
+                public UUID getReservationId() { return id; }
+                public OffsetDateTime getStartTime() { return start; }
+                public OffsetDateTime getEndTime() { return end; }
+                public Boolean getWholeLab() { return wholeLab; }
+                public Integer getWorkstationId() { return workstationId; }
+            };
+        }
+
+        @Test
+        @DisplayName("Should summarize every lab of a building from one query per kind of data")
+        void shouldSummarizeAllLabsWithSetBasedQueries() {
+            // Given
+            LocalDate monday = LocalDate.of(2030, 3, 4);
+            OffsetDateTime mondayStart = monday.atStartOfDay().atOffset(ZoneOffset.UTC);
+            Lab secondLab = new Lab();
+            secondLab.setId(2);
+            secondLab.setName("Second Lab");
+            secondLab.setBuilding(testBuilding);
+
+            LabOperatingHours shortMonday = new LabOperatingHours();
+            shortMonday.setLab(secondLab);
+            shortMonday.setDayOfWeek(1);
+            shortMonday.setOpenTime(LocalTime.of(10, 0));
+            shortMonday.setCloseTime(LocalTime.of(12, 0));
+            LabClosedDay globalClosure = new LabClosedDay();
+            globalClosure.setSpecificDate(monday.plusDays(2));
+
+            when(labRepository.findByBuildingId(1)).thenReturn(List.of(testLab, secondLab));
+            when(operatingHoursRepository.findByLabIdIn(List.of(1, 2))).thenReturn(List.of(shortMonday));
+            when(closedDayRepository.findClosuresForLabs(List.of(1, 2))).thenReturn(List.of(globalClosure));
+            when(workstationRepository.countActiveByLabIdIn(List.of(1, 2))).thenReturn(Map.of(1, 4, 2, 2));
+            when(reservationRepository.findOccupancyInRangeForLabs(eq(List.of(1, 2)), any(), any(), any()))
+                    .thenReturn(List.of(
+                            occupancy(1, mondayStart.withHour(8), mondayStart.withHour(14), true, null),
+                            occupancy(2, mondayStart.withHour(9), mondayStart.withHour(11), false, 5)));
+
+            // When
+            BuildingAvailabilityResponse response = availabilityService.getBuildingAvailability(1, monday.plusDays(3));
+
+            // Then
+            assertThat(response.getWeekStart()).isEqualTo(monday);
+            assertThat(response.getLabs()).extracting(LabOccupancyResponse::getLabId).containsExactly(1, 2);
+
+            LabOccupancyResponse first = response.getLabs().get(0);
+            assertThat(first.getActiveWorkstations()).isEqualTo(4);
+            assertThat(first.getDays()).hasSize(7);
+            // Whole lab booked for 6 of 12 open hours
+            assertThat(first.getDays().get(0).getOccupancyPercent()).isEqualTo(50);
+            assertThat(first.getDays().get(0).getReservations()).isEqualTo(1);
+            assertThat(first.getDays().get(2).getOpen()).isFalse();
+            assertThat(first.getDays().get(6).getOpen()).isFalse();
+
+            DayOccupancyResponse secondMonday = response.getLabs().get(1).getDays().get(0);
+            // One of two workstations booked for 1 of 2 open hours (09:00 - 10:00 is before opening)
+            assertThat(secondMonday.getOpenTime()).isEqualTo(LocalTime.of(10, 0));
+            assertThat(secondMonday.getOccupancyPercent()).isEqualTo(25);
+            assertThat(response.getLabs().get(1).getDays().get(2).getOpen()).isFalse();
+        }
+    }
 }
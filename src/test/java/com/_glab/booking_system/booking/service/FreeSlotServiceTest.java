@@ -0,0 +1,160 @@
+package com._glab.booking_system.booking.service;
+
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.exception.InvalidReservationTimeException;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.LabClosedDay;
+import com._glab.booking_system.booking.model.Workstation;
+import com._glab.booking_system.booking.repository.LabRepository;
+import com._glab.booking_system.booking.repository.ReservationOccupancy;
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.repository.WorkstationRepository;
+import com._glab.booking_system.booking.request.FreeSlotRequest;
+import com._glab.booking_system.booking.response.FreeSlotResponse;
+import com._glab.booking_system.booking.response.FreeSlotsResponse;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FreeSlotServiceTest {
+
+    // Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 3, 4);
+
+    @Mock
+    private LabRepository labRepository;
+    @Mock
+    private LabScheduleCache labScheduleCache;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ReservationWorkstationRepository reservationWorkstationRepository;
+    @Mock
+    private RecurringPatternRepository recurringPatternRepository;
+    @Mock
+    private RecurrenceExceptionDateRepository exceptionDateRepository;
+    @Mock
+    private WorkstationRepository workstationRepository;
+
+    private FreeSlotService freeSlotService;
+    private Lab lab;
+
+    @BeforeEach
+    void setUp() {
+        freeSlotService = new FreeSlotService(labRepository, labScheduleCache,
+                new ReservationConflictService(reservationRepository, reservationWorkstationRepository,
+                        new RecurringOccurrenceExpander(recurringPatternRepository, exceptionDateRepository)),
+                workstationRepository);
+
+        lab = new Lab();
+        lab.setId(1);
+        lab.setDefaultOpenTime(LocalTime.of(9, 0));
+        lab.setDefaultCloseTime(LocalTime.of(12, 0));
+    }
+
+    private void givenLab(LabClosedDay... closures) {
+        when(labRepository.findById(1)).thenReturn(Optional.of(lab));
+        when(labScheduleCache.get(lab)).thenReturn(new LabSchedule(lab, List.of(), List.of(), List.of(closures)));
+        when(workstationRepository.findByLabIdAndActiveTrue(1)).thenReturn(List.of(workstation(1), workstation(2)));
+    }
+
+    private void givenOccupancy(ReservationOccupancy... rows) {
+        when(reservationRepository.findOccupancyInRange(eq(1), any(), any(), any())).thenReturn(List.of(rows));
+    }
+
+    private static Workstation workstation(Integer id) {
+        Workstation workstation = new Workstation();
+        workstation.setId(id);
+        return workstation;
+    }
+
+    private static OffsetDateTime at(LocalDate date, int hour, int minute) {
+        return OffsetDateTime.of(date, LocalTime.of(hour, minute), ZoneOffset.UTC);
+    }
+
+    private static ReservationOccupancy booked(OffsetDateTime start, OffsetDateTime end, boolean wholeLab,
+                                               Integer workstationId) {
+        UUID id = UUID.randomUUID();
+        return new ReservationOccupancy() {
+            public UUID getReservationId() { return id; }
+            public OffsetDateTime getStartTime() { return start; }
+            public OffsetDateTime getEndTime() { return end; }
+            public Boolean getWholeLab() { return wholeLab; }
+            public Integer getWorkstationId() { return workstationId; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should return the first slots with enough free workstations from a single occupancy query")
+    void shouldFindSlotsWithEnoughWorkstations() {
+        givenLab();
+        givenOccupancy(
+                booked(at(MONDAY, 9, 0), at(MONDAY, 10, 0), false, 1),
+                booked(at(MONDAY, 9, 0), at(MONDAY, 11, 0), false, 2));
+
+        FreeSlotsResponse single = freeSlotService.findFreeSlots(1, FreeSlotRequest.builder()
+                .from(MONDAY).to(MONDAY.plusDays(1)).durationMinutes(60).limit(2).build());
+        FreeSlotsResponse both = freeSlotService.findFreeSlots(1, FreeSlotRequest.builder()
+                .from(MONDAY).to(MONDAY.plusDays(1)).durationMinutes(60).workstations(2).limit(3).build());
+
+        assertThat(single.getSlots()).extracting(FreeSlotResponse::getStartTime)
+                .containsExactly(at(MONDAY, 10, 0), at(MONDAY, 10, 15));
+        assertThat(single.getSlots().get(0).getFreeWorkstationIds()).containsExactly(1);
+        assertThat(both.getSlots()).extracting(FreeSlotResponse::getStartTime)
+                .containsExactly(at(MONDAY, 11, 0), at(MONDAY.plusDays(1), 9, 0), at(MONDAY.plusDays(1), 9, 15));
+        assertThat(both.getSlots().get(0).getFreeWorkstationIds()).containsExactly(1, 2);
+        verify(reservationRepository, times(2)).findOccupancyInRange(eq(1), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip closed days and any booking when the whole lab is needed")
+    void shouldFindWholeLabSlotsOnOpenDays() {
+        LabClosedDay closure = new LabClosedDay();
+        closure.setSpecificDate(MONDAY.plusDays(1));
+        givenLab(closure);
+        givenOccupancy(booked(at(MONDAY, 9, 0), at(MONDAY, 11, 30), false, 2));
+
+        FreeSlotsResponse response = freeSlotService.findFreeSlots(1, FreeSlotRequest.builder()
+                .from(MONDAY.minusDays(1)).to(MONDAY.plusDays(2)).durationMinutes(180).wholeLab(true).build());
+
+        // Sunday is closed by default, Monday is partly booked, Tuesday is a closure
+        assertThat(response.getSlots()).singleElement().satisfies(slot -> {
+            assertThat(slot.getStartTime()).isEqualTo(at(MONDAY.plusDays(2), 9, 0));
+            assertThat(slot.getEndTime()).isEqualTo(at(MONDAY.plusDays(2), 12, 0));
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject search windows longer than the maximum")
+    void shouldRejectLongWindow() {
+        when(labRepository.findById(1)).thenReturn(Optional.of(lab));
+
+        assertThatThrownBy(() -> freeSlotService.findFreeSlots(1, FreeSlotRequest.builder()
+                .from(MONDAY).to(MONDAY.plusDays(FreeSlotService.MAX_WINDOW_DAYS)).durationMinutes(60).build()))
+                .isInstanceOf(InvalidReservationTimeException.class);
+    }
+}
@@ -17,9 +17,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -340,6 +345,39 @@ class LabManagerAuthorizationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("managedLabFilter Tests")
+    class ManagedLabFilterTests {
+
+        @Test
+        @DisplayName("Should allow every lab for admin without querying lab managers")
+        void shouldAllowEveryLabForAdmin() {
+            Predicate<Integer> filter = authorizationService.managedLabFilter(adminUser);
+
+            assertThat(filter.test(testLab.getId())).isTrue();
+            assertThat(filter.test(otherLab.getId())).isTrue();
+            verifyNoInteractions(labManagerRepository);
+        }
+
+        @Test
+        @DisplayName("Should load managed labs once and allow only those")
+        void shouldAllowOnlyManagedLabsForLabManager() {
+            when(labManagerRepository.findLabIdsByUserId(labManagerUser.getId())).thenReturn(Set.of(testLab.getId()));
+
+            Predicate<Integer> filter = authorizationService.managedLabFilter(labManagerUser);
+
+            assertThat(filter.test(testLab.getId())).isTrue();
+            assertThat(filter.test(otherLab.getId())).isFalse();
+            verify(labManagerRepository, times(1)).findLabIdsByUserId(labManagerUser.getId());
+        }
+
+        @Test
+        @DisplayName("Should allow no lab for null user")
+        void shouldAllowNoLabForNullUser() {
+            assertThat(authorizationService.managedLabFilter(null).test(testLab.getId())).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("getPendingReservationsForUser Tests")
     class GetPendingReservationsForUserTests {
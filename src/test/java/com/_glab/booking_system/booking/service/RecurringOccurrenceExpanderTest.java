@@ -0,0 +1,136 @@
+package com._glab.booking_system.booking.service;
+
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.RecurrenceExceptionDate;
+import com._glab.booking_system.booking.model.RecurrenceExceptionType;
+import com._glab.booking_system.booking.model.RecurrenceType;
+import com._glab.booking_system.booking.model.RecurringPattern;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.service.RecurringOccurrenceExpander.ExpandedOccurrence;
+import com._glab.booking_system.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringOccurrenceExpanderTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2030, 3, 4, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private RecurringPatternRepository recurringPatternRepository;
+    @Mock
+    private RecurrenceExceptionDateRepository exceptionDateRepository;
+
+    private RecurringOccurrenceExpander expander;
+    private RecurringPattern pattern;
+
+    @BeforeEach
+    void setUp() {
+        expander = new RecurringOccurrenceExpander(recurringPatternRepository, exceptionDateRepository);
+
+        // Weekly series of 6 on workstations 7 and 3, written up to its second occurrence
+        Lab lab = new Lab();
+        lab.setId(1);
+        lab.setName("Lab 1");
+        User user = new User();
+        user.setId(5);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        pattern = new RecurringPattern();
+        pattern.setRecurringGroupId(UUID.randomUUID());
+        pattern.setPatternType(RecurrenceType.WEEKLY);
+        pattern.setOccurrences(6);
+        pattern.setLab(lab);
+        pattern.setUser(user);
+        pattern.setFirstOccurrence(DAY.toLocalDate());
+        pattern.setMaterializedUntil(DAY.plusWeeks(1).toLocalDate());
+        pattern.applyTemplate(DAY.withHour(10), DAY.withHour(12), "Weekly", false, List.of(7, 3));
+        pattern.setStatus(ReservationStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should expand unwritten occurrences overlapping the window from the template")
+    void shouldExpandWithinWindow() {
+        when(recurringPatternRepository.findExpandableForLabs(List.of(1), RecurringOccurrenceExpander.EXPANDED_STATUSES))
+                .thenReturn(List.of(pattern));
+
+        // The window ends within the fourth occurrence and starts before the written ones
+        List<ExpandedOccurrence> expanded = expander.expand(1, DAY, DAY.plusWeeks(3).withHour(11));
+
+        assertThat(expanded).extracting(ExpandedOccurrence::startTime)
+                .containsExactly(DAY.plusWeeks(2).withHour(10), DAY.plusWeeks(3).withHour(10));
+        assertThat(expanded.get(0)).satisfies(occurrence -> {
+            assertThat(occurrence.id()).isEqualTo(RecurringOccurrenceExpander.occurrenceId(
+                    pattern.getRecurringGroupId(), DAY.plusWeeks(2).toLocalDate()));
+            assertThat(occurrence.endTime()).isEqualTo(DAY.plusWeeks(2).withHour(12));
+            assertThat(occurrence.status()).isEqualTo(ReservationStatus.PENDING);
+            assertThat(occurrence.workstationIds()).containsExactly(3, 7);
+            assertThat(occurrence.userName()).isEqualTo("John Doe");
+            assertThat(occurrence.labName()).isEqualTo("Lab 1");
+        });
+        assertThat(expanded.get(0).occupancy()).extracting(RecurringOccurrenceExpander.Occupancy::getWorkstationId)
+                .containsExactly(3, 7);
+    }
+
+    @Test
+    @DisplayName("Should not expand exception dates, series without a template, or ended series")
+    void shouldSkipExceptionsAndUnexpandableSeries() {
+        RecurringPattern legacy = new RecurringPattern();
+        legacy.setRecurringGroupId(UUID.randomUUID());
+        legacy.setMaterializedUntil(DAY.toLocalDate());
+        RecurringPattern ended = new RecurringPattern();
+        ended.setRecurringGroupId(UUID.randomUUID());
+        ended.applyTemplate(DAY.withHour(10), DAY.withHour(12), null, true, List.of());
+        when(recurringPatternRepository.findExpandable(RecurringOccurrenceExpander.EXPANDED_STATUSES))
+                .thenReturn(List.of(pattern, legacy, ended));
+        when(exceptionDateRepository.findByRecurringGroupIdIn(List.of(pattern.getRecurringGroupId(),
+                legacy.getRecurringGroupId(), ended.getRecurringGroupId())))
+                .thenReturn(List.of(new RecurrenceExceptionDate(pattern.getRecurringGroupId(),
+                        DAY.plusWeeks(3).toLocalDate(), RecurrenceExceptionType.SKIPPED, "Lab closed")));
+
+        List<ExpandedOccurrence> expanded = expander.expandAll(DAY);
+
+        assertThat(expanded).extracting(ExpandedOccurrence::startTime).containsExactly(
+                DAY.plusWeeks(2).withHour(10), DAY.plusWeeks(4).withHour(10), DAY.plusWeeks(5).withHour(10));
+    }
+
+    @Test
+    @DisplayName("Should find unwritten occurrences by ID and leave out written ones")
+    void shouldFindByIds() {
+        when(recurringPatternRepository.findExpandableForLabs(List.of(1), RecurringOccurrenceExpander.EXPANDED_STATUSES))
+                .thenReturn(List.of(pattern));
+        UUID written = RecurringOccurrenceExpander.occurrenceId(pattern.getRecurringGroupId(), DAY.toLocalDate());
+        UUID unwritten = RecurringOccurrenceExpander.occurrenceId(
+                pattern.getRecurringGroupId(), DAY.plusWeeks(4).toLocalDate());
+
+        List<ExpandedOccurrence> found = expander.findByIds(1, List.of(written, unwritten, UUID.randomUUID()));
+
+        assertThat(found).extracting(ExpandedOccurrence::id).containsExactly(unwritten);
+        assertThat(expander.occurrenceIds(pattern)).hasSize(4).contains(unwritten).doesNotContain(written);
+    }
+
+    @Test
+    @DisplayName("Should derive the dates of a rule once")
+    void shouldCacheDates() {
+        RecurringPattern sameRule = new RecurringPattern();
+        sameRule.setPatternType(RecurrenceType.WEEKLY);
+        sameRule.setOccurrences(6);
+        sameRule.setFirstOccurrence(DAY.toLocalDate());
+
+        assertThat(expander.dates(pattern)).hasSize(6).isSameAs(expander.dates(sameRule));
+    }
+}
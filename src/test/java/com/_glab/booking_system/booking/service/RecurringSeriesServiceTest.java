@@ -0,0 +1,320 @@
+package com._glab.booking_system.booking.service;
+
+import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.RecurrenceExceptionDate;
+import com._glab.booking_system.booking.model.RecurrenceExceptionType;
+import com._glab.booking_system.booking.model.RecurrenceType;
+import com._glab.booking_system.booking.model.RecurringPattern;
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.model.ReservationWorkstation;
+import com._glab.booking_system.booking.model.Workstation;
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.repository.WorkstationRepository;
+import com._glab.booking_system.booking.schedule.LabSchedule;
+import com._glab.booking_system.booking.service.ReservationConflictService.Conflict;
+import com._glab.booking_system.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringSeriesServiceTest {
+
+    @Mock
+    private RecurringPatternRepository recurringPatternRepository;
+    @Mock
+    private RecurrenceExceptionDateRepository exceptionDateRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ReservationWorkstationRepository reservationWorkstationRepository;
+    @Mock
+    private WorkstationRepository workstationRepository;
+    @Mock
+    private LabScheduleCache labScheduleCache;
+    @Mock
+    private ReservationConflictService conflictService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private ReservationSlotService reservationSlotService;
+    @Mock
+    private LabLockService labLockService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecurringSeriesService recurringSeriesService;
+    private Lab lab;
+    private User user;
+    private RecurringPattern pattern;
+    private LocalDate monday;
+    private LocalDate horizon;
+
+    @BeforeEach
+    void setUp() {
+        BookingProperties bookingProperties = new BookingProperties();
+        bookingProperties.getRecurring().setHorizonDays(21);
+        recurringSeriesService = new RecurringSeriesService(recurringPatternRepository, exceptionDateRepository,
+                reservationRepository, reservationWorkstationRepository, workstationRepository, labScheduleCache,
+                conflictService, new RecurringOccurrenceExpander(recurringPatternRepository, exceptionDateRepository),
+                eventPublisher, emailService, bookingProperties, reservationSlotService, labLockService,
+                transactionManager);
+
+        lab = new Lab();
+        lab.setId(1);
+        lab.setName("Lab 1");
+        user = new User();
+        user.setId(5);
+        user.setEmail("john@example.com");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+
+        // Weekly series of 6 written up to its first occurrence; the next two fall within the horizon
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        horizon = LocalDate.now().plusDays(21);
+        pattern = new RecurringPattern();
+        pattern.setId(UUID.randomUUID());
+        pattern.setRecurringGroupId(UUID.randomUUID());
+        pattern.setPatternType(RecurrenceType.WEEKLY);
+        pattern.setOccurrences(6);
+        pattern.setLab(lab);
+        pattern.setFirstOccurrence(monday);
+        pattern.setMaterializedUntil(monday);
+        when(recurringPatternRepository.findUnmaterializedBefore(horizon)).thenReturn(List.of(pattern));
+    }
+
+    private void givenSeriesLocked() {
+        when(recurringPatternRepository.lockForExtension(pattern.getId())).thenReturn(Optional.of(pattern));
+    }
+
+    private Reservation givenLatestOccurrence(ReservationStatus status) {
+        Reservation latest = new Reservation();
+        latest.setId(UUID.randomUUID());
+        latest.setLab(lab);
+        latest.setUser(user);
+        latest.setRecurringGroupId(pattern.getRecurringGroupId());
+        latest.setStartTime(OffsetDateTime.of(monday, LocalTime.of(10, 0), ZoneOffset.UTC));
+        latest.setEndTime(OffsetDateTime.of(monday, LocalTime.of(12, 0), ZoneOffset.UTC));
+        latest.setDescription("Weekly lab");
+        latest.setStatus(status);
+        latest.setWholeLab(false);
+        when(reservationRepository.findLatestInRecurringGroups(List.of(pattern.getRecurringGroupId()),
+                ReservationConflictService.BLOCKING_STATUSES)).thenReturn(List.of(latest));
+        return latest;
+    }
+
+    private void givenTemplate(ReservationStatus status) {
+        pattern.setUser(user);
+        pattern.applyTemplate(OffsetDateTime.of(monday, LocalTime.of(14, 0), ZoneOffset.UTC),
+                OffsetDateTime.of(monday, LocalTime.of(15, 30), ZoneOffset.UTC), "Moved", true, List.of());
+        pattern.setStatus(status);
+    }
+
+    @Test
+    @DisplayName("Should write occurrences within the horizon and skip those that conflict")
+    @SuppressWarnings("unchecked")
+    void shouldWriteOccurrencesWithinHorizon() {
+        // Given
+        givenSeriesLocked();
+        Reservation latest = givenLatestOccurrence(ReservationStatus.APPROVED);
+        Workstation workstation = new Workstation();
+        workstation.setId(7);
+        when(reservationWorkstationRepository.findWorkstationIdsByReservationId(latest.getId())).thenReturn(List.of(7));
+        when(labScheduleCache.get(lab)).thenReturn(new LabSchedule(lab, List.of(), List.of(), List.of()));
+        when(conflictService.findFirstConflict(eq(1), any(), eq(false), eq(List.of(7)), any()))
+                .thenReturn(Optional.of(new Conflict(null, UUID.randomUUID(), 7, null, null)), Optional.empty());
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEach(reservation -> reservation.setId(UUID.randomUUID()));
+            return reservations;
+        });
+        when(workstationRepository.getReferenceById(7)).thenReturn(workstation);
+
+        // When
+        recurringSeriesService.extendSeries();
+
+        // Then - the second week conflicts, the third is written, the rest lie beyond the horizon
+        ArgumentCaptor<List<Reservation>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(occurrence -> {
+            assertThat(occurrence.getStartTime()).isEqualTo(latest.getStartTime().plusWeeks(2));
+            assertThat(occurrence.getEndTime()).isEqualTo(latest.getEndTime().plusWeeks(2));
+            assertThat(occurrence.getStatus()).isEqualTo(ReservationStatus.APPROVED);
+            assertThat(occurrence.getDescription()).isEqualTo("Weekly lab");
+            assertThat(occurrence.getRecurringGroupId()).isEqualTo(pattern.getRecurringGroupId());
+        });
+        ArgumentCaptor<List<ReservationWorkstation>> assignments = ArgumentCaptor.forClass(List.class);
+        verify(reservationWorkstationRepository).saveAll(assignments.capture());
+        assertThat(assignments.getValue()).extracting(ReservationWorkstation::getWorkstation).containsExactly(workstation);
+        assertThat(pattern.getMaterializedUntil()).isEqualTo(horizon);
+        // The series' template was stored from its latest occurrence
+        assertThat(pattern.getStartTime()).isEqualTo(LocalTime.of(10, 0));
+        assertThat(pattern.getWorkstationIds()).containsExactly(7);
+        assertThat(pattern.getStatus()).isEqualTo(ReservationStatus.APPROVED);
+        // The conflicting week is recorded as skipped and the requester is told about it
+        ArgumentCaptor<List<RecurrenceExceptionDate>> skipped = ArgumentCaptor.forClass(List.class);
+        verify(exceptionDateRepository).saveAll(skipped.capture());
+        assertThat(skipped.getValue()).singleElement().satisfies(exception -> {
+            assertThat(exception.getOccurrenceDate()).isEqualTo(monday.plusWeeks(1));
+            assertThat(exception.getType()).isEqualTo(RecurrenceExceptionType.SKIPPED);
+        });
+        ArgumentCaptor<List<String>> lines = ArgumentCaptor.forClass(List.class);
+        verify(emailService).sendRecurringOccurrencesSkippedEmail(eq("john@example.com"), eq("John Doe"),
+                eq("Lab 1"), lines.capture());
+        assertThat(lines.getValue()).singleElement().satisfies(line -> assertThat(line)
+                .startsWith(latest.getStartTime().plusWeeks(1).toString())
+                .endsWith("Conflicts with another booking"));
+        verify(eventPublisher).publishEvent(any(ReservationChangedEvent.class));
+        InOrder inOrder = inOrder(labLockService, recurringPatternRepository, conflictService, reservationRepository);
+        inOrder.verify(labLockService).lock(1);
+        inOrder.verify(recurringPatternRepository).lockForExtension(pattern.getId());
+        inOrder.verify(conflictService, atLeastOnce()).findFirstConflict(eq(1), any(), eq(false), eq(List.of(7)), any());
+        inOrder.verify(reservationRepository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should write occurrences from the series' template, not its latest occurrence")
+    @SuppressWarnings("unchecked")
+    void shouldWriteOccurrencesFromTemplate() {
+        // Given - the series was moved to the afternoon and the whole lab after its first occurrence was written
+        givenSeriesLocked();
+        givenTemplate(ReservationStatus.PENDING);
+        LocalDate skipped = monday.plusWeeks(1);
+        when(exceptionDateRepository.findByRecurringGroupIdIn(List.of(pattern.getRecurringGroupId())))
+                .thenReturn(List.of(new RecurrenceExceptionDate(pattern.getRecurringGroupId(), skipped,
+                        RecurrenceExceptionType.MODIFIED, null)));
+        when(labScheduleCache.get(lab)).thenReturn(new LabSchedule(lab, List.of(), List.of(), List.of()));
+        when(conflictService.findFirstConflict(eq(1), any(), eq(true), eq(List.of()), any()))
+                .thenReturn(Optional.empty());
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEach(reservation -> reservation.setId(UUID.randomUUID()));
+            return reservations;
+        });
+
+        // When
+        recurringSeriesService.extendSeries();
+
+        // Then - the second week was written ahead of the series, the third follows the template
+        ArgumentCaptor<List<Reservation>> saved = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(occurrence -> {
+            OffsetDateTime thirdWeek = OffsetDateTime.of(monday.plusWeeks(2), LocalTime.of(14, 0), ZoneOffset.UTC);
+            assertThat(occurrence.getStartTime()).isEqualTo(thirdWeek);
+            assertThat(occurrence.getEndTime()).isEqualTo(thirdWeek.plusMinutes(90));
+            assertThat(occurrence.getDescription()).isEqualTo("Moved");
+            assertThat(occurrence.getWholeLab()).isTrue();
+            assertThat(occurrence.getStatus()).isEqualTo(ReservationStatus.PENDING);
+            assertThat(occurrence.getUser()).isEqualTo(user);
+        });
+        verify(reservationRepository, never()).findLatestInRecurringGroups(anyList(), any());
+        verify(reservationWorkstationRepository, never()).saveAll(anyList());
+        verify(reservationSlotService, never()).hold(anyList());
+        verify(emailService, never()).sendRecurringOccurrencesSkippedEmail(any(), any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should skip a series another instance is extending")
+    void shouldSkipSeriesLockedElsewhere() {
+        when(recurringPatternRepository.lockForExtension(pattern.getId())).thenReturn(Optional.empty());
+
+        recurringSeriesService.extendSeries();
+
+        verify(reservationRepository, never()).findLatestInRecurringGroups(anyList(), any());
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should skip a series another instance has already extended")
+    void shouldSkipSeriesExtendedElsewhere() {
+        RecurringPattern current = new RecurringPattern();
+        current.setId(pattern.getId());
+        current.setLab(lab);
+        current.setMaterializedUntil(horizon);
+        when(recurringPatternRepository.lockForExtension(pattern.getId())).thenReturn(Optional.of(current));
+
+        recurringSeriesService.extendSeries();
+
+        verify(reservationRepository, never()).findLatestInRecurringGroups(anyList(), any());
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop extending a series without active occurrences")
+    void shouldEndSeriesWithoutActiveOccurrences() {
+        givenSeriesLocked();
+        when(reservationRepository.findLatestInRecurringGroups(List.of(pattern.getRecurringGroupId()),
+                ReservationConflictService.BLOCKING_STATUSES)).thenReturn(List.of());
+
+        recurringSeriesService.extendSeries();
+
+        assertThat(pattern.getMaterializedUntil()).isNull();
+        verify(recurringPatternRepository).save(pattern);
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop extending a series that was declined")
+    void shouldEndDeclinedSeries() {
+        givenSeriesLocked();
+        givenTemplate(ReservationStatus.REJECTED);
+
+        recurringSeriesService.extendSeries();
+
+        assertThat(pattern.getMaterializedUntil()).isNull();
+        verify(recurringPatternRepository).save(pattern);
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should not extend a series while an edit of it awaits approval")
+    void shouldWaitForPendingEdit() {
+        givenSeriesLocked();
+        givenTemplate(ReservationStatus.APPROVED);
+        when(reservationRepository.existsByRecurringGroupIdAndStatus(pattern.getRecurringGroupId(),
+                ReservationStatus.PENDING_EDIT_APPROVAL)).thenReturn(true);
+
+        recurringSeriesService.extendSeries();
+
+        assertThat(pattern.getMaterializedUntil()).isEqualTo(monday);
+        verify(recurringPatternRepository, never()).save(pattern);
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+}
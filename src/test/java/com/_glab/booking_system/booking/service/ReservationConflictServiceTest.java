@@ -0,0 +1,350 @@
+package com._glab.booking_system.booking.service;
+
+import com._glab.booking_system.booking.exception.ReservationConflictException;
+import com._glab.booking_system.booking.model.Lab;
+import com._glab.booking_system.booking.model.RecurrenceExceptionDate;
+import com._glab.booking_system.booking.model.RecurrenceExceptionType;
+import com._glab.booking_system.booking.model.RecurrenceType;
+import com._glab.booking_system.booking.model.RecurringPattern;
+import com._glab.booking_system.booking.model.Reservation;
+import com._glab.booking_system.booking.model.ReservationStatus;
+import com._glab.booking_system.booking.repository.RecurrenceExceptionDateRepository;
+import com._glab.booking_system.booking.repository.ReservationOccupancy;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.repository.ReservationWorkstationRepository;
+import com._glab.booking_system.booking.service.ReservationConflictService.Conflict;
+import com._glab.booking_system.booking.service.ReservationConflictService.TimeRange;
+import com._glab.booking_system.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationConflictServiceTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2030, 3, 4, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ReservationWorkstationRepository reservationWorkstationRepository;
+    @Mock
+    private RecurringPatternRepository recurringPatternRepository;
+    @Mock
+    private RecurrenceExceptionDateRepository exceptionDateRepository;
+
+    private ReservationConflictService conflictService;
+
+    @BeforeEach
+    void setUp() {
+        conflictService = new ReservationConflictService(reservationRepository, reservationWorkstationRepository,
+                new RecurringOccurrenceExpander(recurringPatternRepository, exceptionDateRepository));
+    }
+
+    private static ReservationOccupancy occupancy(UUID id, OffsetDateTime start, OffsetDateTime end,
+                                                  boolean wholeLab, Integer workstationId) {
+        return new ReservationOccupancy() {
+            public UUID getReservationId() { return id; }
+            public OffsetDateTime getStartTime() { return start; }
+            public OffsetDateTime getEndTime() { return end; }
+            public Boolean getWholeLab() { return wholeLab; }
+            public Integer getWorkstationId() { return workstationId; }
+        };
+    }
+
+    private static TimeRange range(int fromHour, int fromMinute, int toHour, int toMinute) {
+        return new TimeRange(DAY.withHour(fromHour).withMinute(fromMinute), DAY.withHour(toHour).withMinute(toMinute));
+    }
+
+    private void givenOccupancy(ReservationOccupancy... rows) {
+        when(reservationRepository.findOccupancyInRange(eq(1), any(), any(), any())).thenReturn(List.of(rows));
+    }
+
+    @Nested
+    @DisplayName("Workstation requests")
+    class WorkstationRequestTests {
+
+        @Test
+        @DisplayName("Should report conflict when the same workstation is booked at an overlapping time")
+        void shouldConflictOnSameWorkstation() {
+            // Given
+            UUID existing = UUID.randomUUID();
+            givenOccupancy(occupancy(existing, DAY.withHour(10), DAY.withHour(12), false, 7));
+
+            // When
+            Optional<Conflict> conflict = conflictService.findFirstConflict(
+                    1, List.of(range(11, 0, 13, 0)), false, List.of(7), List.of());
+
+            // Then
+            assertThat(conflict).isPresent();
+            assertThat(conflict.get().reservationId()).isEqualTo(existing);
+            assertThat(conflict.get().workstationId()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("Should allow a different workstation at the same time")
+        void shouldAllowDifferentWorkstation() {
+            givenOccupancy(occupancy(UUID.randomUUID(), DAY.withHour(10), DAY.withHour(12), false, 7));
+
+            assertThat(conflictService.findFirstConflict(
+                    1, List.of(range(10, 0, 12, 0)), false, List.of(8), List.of())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should allow back-to-back bookings that share a 15-minute slot")
+        void shouldAllowAdjacentBookingsWithinSameSlot() {
+            // Given - existing ends at 10:10, request starts at 10:10 (both touch the 10:00-10:15 slot)
+            givenOccupancy(occupancy(UUID.randomUUID(), DAY.withHour(9), DAY.withHour(10).withMinute(10), false, 7));
+
+            // When/Then
+            assertThat(conflictService.findFirstConflict(
+                    1, List.of(range(10, 10, 11, 0)), false, List.of(7), List.of())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should report conflict with a whole-lab booking")
+        void shouldConflictWithWholeLabBooking() {
+            givenOccupancy(occupancy(UUID.randomUUID(), DAY.withHour(10), DAY.withHour(12), true, null));
+
+            Optional<Conflict> conflict = conflictService.findFirstConflict(
+                    1, List.of(range(9, 0, 10, 30)), false, List.of(3), List.of());
+
+            assertThat(conflict).isPresent();
+            assertThat(conflict.get().workstationId()).isNull();
+            assertThat(conflict.get().describe()).startsWith("The whole lab is already booked");
+        }
+
+        @Test
+        @DisplayName("Should ignore the reservations being edited")
+        void shouldIgnoreEditedReservations() {
+            UUID edited = UUID.randomUUID();
+            givenOccupancy(occupancy(edited, DAY.withHour(10), DAY.withHour(12), false, 7));
+
+            assertThat(conflictService.findFirstConflict(
+                    1, List.of(range(11, 0, 13, 0)), false, List.of(7), List.of(edited))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Whole-lab requests")
+    class WholeLabRequestTests {
+
+        @Test
+        @DisplayName("Should report conflict with any workstation booking")
+        void shouldConflictWithAnyWorkstation() {
+            givenOccupancy(occupancy(UUID.randomUUID(), DAY.withHour(10), DAY.withHour(12), false, 5));
+
+            assertThat(conflictService.findFirstConflict(
+                    1, List.of(range(11, 0, 12, 0)), true, null, List.of())).isPresent();
+        }
+
+        @Test
+        @DisplayName("Should allow a whole-lab request outside existing bookings")
+        void shouldAllowFreeTime() {
+            givenOccupancy(occupancy(UUID.randomUUID(), DAY.withHour(10), DAY.withHour(12), false, 5));
+
+            assertThat(conflictService.findFirstConflict(
+                    1, List.of(range(12, 0, 14, 0)), true, null, List.of())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recurring requests")
+    class RecurringRequestTests {
+
+        @Test
+        @DisplayName("Should check all occurrences with a single range query and report the earliest conflict")
+        void shouldCheckAllOccurrencesInOnePass() {
+            // Given - 52 weekly occurrences, occurrence 30 collides with an existing booking
+            List<TimeRange> occurrences = new ArrayList<>();
+            for (int week = 0; week < 52; week++) {
+                OffsetDateTime start = DAY.plusWeeks(week).withHour(10);
+                occurrences.add(new TimeRange(start, start.plusHours(2)));
+            }
+            OffsetDateTime clashStart = DAY.plusWeeks(30).withHour(11);
+            givenOccupancy(
+                    occupancy(UUID.randomUUID(), DAY.plusDays(1).withHour(10), DAY.plusDays(1).withHour(12), false, 7),
+                    occupancy(UUID.randomUUID(), clashStart, clashStart.plusHours(1), false, 7));
+
+            // When
+            Optional<Conflict> conflict = conflictService.findFirstConflict(
+                    1, occurrences, false, List.of(7), List.of());
+
+            // Then
+            assertThat(conflict).isPresent();
+            assertThat(conflict.get().requested()).isEqualTo(occurrences.get(30));
+            verify(reservationRepository, times(1)).findOccupancyInRange(
+                    eq(1), eq(occurrences.get(0).start()), eq(occurrences.get(51).end()), any());
+        }
+
+        @Test
+        @DisplayName("Should not query the database when nothing is requested")
+        void shouldSkipEmptyRequest() {
+            assertThat(conflictService.findFirstConflict(1, List.of(), false, List.of(7), List.of())).isEmpty();
+            verify(reservationRepository, never()).findOccupancyInRange(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lazily expanded series")
+    class LazySeriesTests {
+
+        private RecurringPattern pattern;
+
+        @BeforeEach
+        void givenWeeklySeries() {
+            // Weekly series on workstation 7, written up to its second occurrence
+            Lab lab = new Lab();
+            lab.setId(1);
+            User user = new User();
+            user.setId(5);
+            pattern = new RecurringPattern();
+            pattern.setRecurringGroupId(UUID.randomUUID());
+            pattern.setPatternType(RecurrenceType.WEEKLY);
+            pattern.setIntervalDays(7);
+            pattern.setOccurrences(10);
+            pattern.setLab(lab);
+            pattern.setUser(user);
+            pattern.setFirstOccurrence(DAY.toLocalDate());
+            pattern.setMaterializedUntil(DAY.plusWeeks(1).toLocalDate());
+            pattern.applyTemplate(DAY.withHour(10), DAY.withHour(12), "Weekly", false, List.of(7));
+            pattern.setStatus(ReservationStatus.APPROVED);
+
+            givenOccupancy();
+            when(recurringPatternRepository.findExpandableForLabs(List.of(1),
+                    RecurringOccurrenceExpander.EXPANDED_STATUSES)).thenReturn(List.of(pattern));
+        }
+
+        @Test
+        @DisplayName("Should report conflict with an occurrence that is not written yet")
+        void shouldConflictWithUnwrittenOccurrence() {
+            // When - request overlaps the fourth occurrence
+            OffsetDateTime start = DAY.plusWeeks(3).withHour(11);
+            Optional<Conflict> conflict = conflictService.findFirstConflict(
+                    1, List.of(new TimeRange(start, start.plusHours(2))), false, List.of(7), List.of());
+            Optional<Conflict> otherWorkstation = conflictService.findFirstConflict(
+                    1, List.of(new TimeRange(start, start.plusHours(2))), false, List.of(8), List.of());
+
+            // Then
+            assertThat(conflict).isPresent();
+            assertThat(conflict.get().reservationId()).isEqualTo(RecurringOccurrenceExpander.occurrenceId(
+                    pattern.getRecurringGroupId(), DAY.plusWeeks(3).toLocalDate()));
+            assertThat(conflict.get().start()).isEqualTo(DAY.plusWeeks(3).withHour(10));
+            assertThat(otherWorkstation).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not expand skipped dates or conflict with the series being edited")
+        void shouldIgnoreSkippedDatesAndEditedSeries() {
+            // Given - the fourth occurrence was skipped
+            when(exceptionDateRepository.findByRecurringGroupIdIn(List.of(pattern.getRecurringGroupId())))
+                    .thenReturn(List.of(new RecurrenceExceptionDate(pattern.getRecurringGroupId(),
+                            DAY.plusWeeks(3).toLocalDate(), RecurrenceExceptionType.SKIPPED, "Lab closed")));
+            UUID writtenOccurrence = UUID.randomUUID();
+            when(reservationRepository.findRecurringGroupIdsByIdIn(Set.of(writtenOccurrence)))
+                    .thenReturn(List.of(pattern.getRecurringGroupId()));
+
+            // When
+            OffsetDateTime skipped = DAY.plusWeeks(3).withHour(11);
+            OffsetDateTime fifth = DAY.plusWeeks(4).withHour(11);
+            Optional<Conflict> onSkipped = conflictService.findFirstConflict(
+                    1, List.of(new TimeRange(skipped, skipped.plusHours(2))), false, List.of(7), List.of());
+            Optional<Conflict> whileEditing = conflictService.findFirstConflict(
+                    1, List.of(new TimeRange(fifth, fifth.plusHours(2))), false, List.of(7), List.of(writtenOccurrence));
+
+            // Then
+            assertThat(onSkipped).isEmpty();
+            assertThat(whileEditing).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw ReservationConflictException from assertNoConflicts")
+    void shouldThrowOnConflict() {
+        givenOccupancy(occupancy(UUID.randomUUID(), DAY.withHour(10), DAY.withHour(12), false, 7));
+
+        assertThatThrownBy(() -> conflictService.assertNoConflicts(
+                1, List.of(range(10, 0, 11, 0)), false, List.of(7), List.of()))
+                .isInstanceOf(ReservationConflictException.class)
+                .hasMessageContaining("Workstation 7 is already booked");
+    }
+
+    @Test
+    @DisplayName("Should re-check a written reservation against everything but itself")
+    void shouldRecheckWrittenReservation() {
+        // Given - a concurrent booking took workstation 7 after the reservation was checked
+        Lab lab = new Lab();
+        lab.setId(1);
+        Reservation reservation = new Reservation();
+        reservation.setId(UUID.randomUUID());
+        reservation.setLab(lab);
+        reservation.setStartTime(DAY.withHour(10));
+        reservation.setEndTime(DAY.withHour(12));
+        reservation.setWholeLab(false);
+        when(reservationWorkstationRepository.findWorkstationIdsByReservationId(reservation.getId()))
+                .thenReturn(List.of(7));
+        givenOccupancy(
+                occupancy(reservation.getId(), DAY.withHour(10), DAY.withHour(12), false, 7),
+                occupancy(UUID.randomUUID(), DAY.withHour(11), DAY.withHour(13), false, 7));
+
+        // When/Then
+        assertThatThrownBy(() -> conflictService.assertNoConflicts(reservation))
+                .isInstanceOf(ReservationConflictException.class)
+                .hasMessageContaining("Workstation 7 is already booked from " + DAY.withHour(11));
+    }
+
+    @Test
+    @DisplayName("Should find the written reservations of a batch that overlap other bookings with one query")
+    void shouldFindConflictingReservationsInBatch() {
+        // Given - two occurrences on workstation 7, the second taken by a concurrent booking
+        Lab lab = new Lab();
+        lab.setId(1);
+        List<Reservation> batch = new ArrayList<>();
+        for (int week = 0; week < 2; week++) {
+            Reservation occurrence = new Reservation();
+            occurrence.setId(UUID.randomUUID());
+            occurrence.setLab(lab);
+            occurrence.setStartTime(DAY.plusWeeks(week).withHour(10));
+            occurrence.setEndTime(DAY.plusWeeks(week).withHour(12));
+            occurrence.setWholeLab(false);
+            batch.add(occurrence);
+        }
+        when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any()))
+                .thenReturn(Map.of(batch.get(0).getId(), List.of(7), batch.get(1).getId(), List.of(7)));
+        givenOccupancy(
+                occupancy(batch.get(0).getId(), DAY.withHour(10), DAY.withHour(12), false, 7),
+                occupancy(batch.get(1).getId(), DAY.plusWeeks(1).withHour(10), DAY.plusWeeks(1).withHour(12), false, 7),
+                occupancy(UUID.randomUUID(), DAY.plusWeeks(1).withHour(11), DAY.plusWeeks(1).withHour(13), false, 7));
+
+        // When
+        Set<UUID> conflicting = conflictService.findConflicting(batch);
+
+        // Then
+        assertThat(conflicting).containsExactly(batch.get(1).getId());
+        verify(reservationRepository, times(1)).findOccupancyInRange(
+                eq(1), eq(DAY.withHour(10)), eq(DAY.plusWeeks(1).withHour(12)), any());
+    }
+}
@@ -1,15 +1,20 @@
 package com._glab.booking_system.booking.service;
 
 import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.config.BookingProperties;
 import com._glab.booking_system.booking.exception.BookingNotAuthorizedException;
 import com._glab.booking_system.booking.exception.EditProposalNotFoundException;
+import com._glab.booking_system.booking.exception.ReservationConflictException;
 import com._glab.booking_system.booking.exception.ReservationNotFoundException;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.*;
 import com._glab.booking_system.booking.repository.*;
 import com._glab.booking_system.booking.request.EditReservationRequest;
 import com._glab.booking_system.user.model.Role;
 import com._glab.booking_system.user.model.RoleName;
 import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,18 +23,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
@@ -55,6 +66,20 @@ class ReservationEditServiceTest {
     private EmailService emailService;
     @Mock
     private LabManagerRepository labManagerRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ReservationConflictService conflictService;
+    @Mock
+    private ReservationSlotService reservationSlotService;
+    @Mock
+    private LabLockService labLockService;
+    @Mock
+    private RecurringSeriesService recurringSeriesService;
+    @Mock
+    private RecurringPatternRepository recurringPatternRepository;
+    @Mock
+    private RecurringOccurrenceExpander occurrenceExpander;
 
     private ReservationEditService editService;
 
@@ -68,18 +93,29 @@ class ReservationEditServiceTest {
     private EditReservationRequest validEditRequest;
     private UUID reservationId;
 
+    private LabScheduleCache labScheduleCache;
+
     @BeforeEach
     void setUp() {
+        labScheduleCache = new LabScheduleCache(labOperatingHoursRepository, labClosedDayRepository,
+                new BookingProperties(), new SimpleMeterRegistry());
         editService = new ReservationEditService(
                 reservationRepository,
                 editProposalRepository,
                 reservationWorkstationRepository,
                 workstationRepository,
-                labOperatingHoursRepository,
-                labClosedDayRepository,
+                labScheduleCache,
                 authorizationService,
                 emailService,
-                labManagerRepository
+                labManagerRepository,
+                eventPublisher,
+                conflictService,
+                reservationSlotService,
+                labLockService,
+                new BookingMetrics(new SimpleMeterRegistry()),
+                recurringSeriesService,
+                recurringPatternRepository,
+                occurrenceExpander
         );
 
         // Create users
@@ -171,16 +207,9 @@ class ReservationEditServiceTest {
     @DisplayName("editReservationByManager Tests")
     class EditReservationByManagerTests {
 
-        private void setUpValidationMocks() {
-            lenient().when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            lenient().when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-        }
-
         @Test
         @DisplayName("Should create edit proposal for pending reservation")
         void shouldCreateEditProposalForPendingReservation() {
-            setUpValidationMocks();
             when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
             when(authorizationService.canManageReservation(labManagerUser, pendingReservation)).thenReturn(true);
             when(editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING))
@@ -230,7 +259,6 @@ class ReservationEditServiceTest {
         @Test
         @DisplayName("Should throw IllegalStateException when edit proposal already exists")
         void shouldThrowWhenEditProposalExists() {
-            setUpValidationMocks();
             when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
             when(authorizationService.canManageReservation(labManagerUser, pendingReservation)).thenReturn(true);
             when(editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING))
@@ -258,8 +286,6 @@ class ReservationEditServiceTest {
             when(editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING))
                     .thenReturn(Optional.of(editProposal));
             when(authorizationService.isReservationOwner(professorUser, pendingReservation)).thenReturn(true);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
-            when(editProposalRepository.save(any(ReservationEditProposal.class))).thenAnswer(i -> i.getArgument(0));
 
             editService.approveEditByManager(reservationId, labManagerUser);
 
@@ -292,6 +318,31 @@ class ReservationEditServiceTest {
                     .hasMessageContaining("not created by the reservation owner");
         }
 
+        @Test
+        @DisplayName("Should not apply the edit when its new time was booked while it awaited approval")
+        void shouldNotApplyEditWhenTimeTakenMeanwhile() {
+            editProposal.setEditedBy(professorUser);
+            pendingReservation.setStatus(ReservationStatus.PENDING_EDIT_APPROVAL);
+
+            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
+            when(authorizationService.canManageReservation(labManagerUser, pendingReservation)).thenReturn(true);
+            when(editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING))
+                    .thenReturn(Optional.of(editProposal));
+            when(authorizationService.isReservationOwner(professorUser, pendingReservation)).thenReturn(true);
+            doThrow(new ReservationConflictException("Workstation 1 is already booked"))
+                    .when(conflictService).assertNoConflicts(eq(testLab.getId()), any(), anyBoolean(), any(),
+                            eq(List.of(reservationId)));
+
+            assertThatThrownBy(() -> editService.approveEditByManager(reservationId, labManagerUser))
+                    .isInstanceOf(ReservationConflictException.class);
+
+            verify(labLockService).lockAll(Set.of(testLab.getId()));
+            assertThat(pendingReservation.getStatus()).isEqualTo(ReservationStatus.PENDING_EDIT_APPROVAL);
+            assertThat(editProposal.getResolution()).isEqualTo(ResolutionStatus.PENDING);
+            verify(reservationRepository, never()).saveAll(any());
+            verify(reservationSlotService, never()).rehold(any());
+        }
+
         @Test
         @DisplayName("Should throw EditProposalNotFoundException when no active edit proposal")
         void shouldThrowWhenNoActiveEditProposal() {
@@ -326,11 +377,12 @@ class ReservationEditServiceTest {
             when(editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING))
                     .thenReturn(Optional.of(editProposal));
             when(authorizationService.isReservationOwner(professorUser, pendingReservation)).thenReturn(true);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
-            when(editProposalRepository.save(any(ReservationEditProposal.class))).thenAnswer(i -> i.getArgument(0));
 
             editService.rejectEditByManager(reservationId, labManagerUser, "Not acceptable");
 
+            // The original slot was never given up, so nothing is claimed again
+            verify(reservationSlotService, never()).rehold(any());
+
             // Verify reservation was restored to original values
             assertThat(pendingReservation.getStartTime()).isEqualTo(editProposal.getOriginalStartTime());
             assertThat(pendingReservation.getEndTime()).isEqualTo(editProposal.getOriginalEndTime());
@@ -348,16 +400,9 @@ class ReservationEditServiceTest {
     @DisplayName("editReservationByProfessor Tests")
     class EditReservationByProfessorTests {
 
-        private void setUpValidationMocks() {
-            lenient().when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            lenient().when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-        }
-
         @Test
         @DisplayName("Should apply edit directly for PENDING reservation")
         void shouldApplyEditDirectlyForPendingReservation() {
-            setUpValidationMocks();
             when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
             when(authorizationService.isReservationOwner(professorUser, pendingReservation)).thenReturn(true);
             when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
@@ -379,7 +424,6 @@ class ReservationEditServiceTest {
         @Test
         @DisplayName("Should create edit proposal for APPROVED reservation")
         void shouldCreateEditProposalForApprovedReservation() {
-            setUpValidationMocks();
             when(reservationRepository.findById(approvedReservation.getId())).thenReturn(Optional.of(approvedReservation));
             when(authorizationService.isReservationOwner(professorUser, approvedReservation)).thenReturn(true);
             when(editProposalRepository.findByReservationIdAndResolution(approvedReservation.getId(), ResolutionStatus.PENDING))
@@ -419,7 +463,6 @@ class ReservationEditServiceTest {
         @Test
         @DisplayName("Should throw IllegalStateException for non-editable status")
         void shouldThrowForNonEditableStatus() {
-            setUpValidationMocks();
             Reservation rejectedReservation = new Reservation();
             rejectedReservation.setId(UUID.randomUUID());
             rejectedReservation.setLab(testLab);
@@ -452,8 +495,6 @@ class ReservationEditServiceTest {
                     .thenReturn(Optional.of(editProposal));
             // Lab manager is NOT the owner
             when(authorizationService.isReservationOwner(labManagerUser, pendingReservation)).thenReturn(false);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
-            when(editProposalRepository.save(any(ReservationEditProposal.class))).thenAnswer(i -> i.getArgument(0));
 
             editService.approveEditByProfessor(reservationId, professorUser);
 
@@ -504,8 +545,6 @@ class ReservationEditServiceTest {
             when(editProposalRepository.findByReservationIdAndResolution(reservationId, ResolutionStatus.PENDING))
                     .thenReturn(Optional.of(editProposal));
             when(authorizationService.isReservationOwner(labManagerUser, pendingReservation)).thenReturn(false);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
-            when(editProposalRepository.save(any(ReservationEditProposal.class))).thenAnswer(i -> i.getArgument(0));
 
             editService.rejectEditByProfessor(reservationId, professorUser, "Don't like the changes");
 
@@ -522,16 +561,9 @@ class ReservationEditServiceTest {
     @DisplayName("editRecurringGroupByManager Tests")
     class EditRecurringGroupByManagerTests {
 
-        private void setUpValidationMocks() {
-            lenient().when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            lenient().when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-        }
-
         @Test
         @DisplayName("Should create edit proposals for all reservations in group")
         void shouldCreateEditProposalsForGroup() {
-            setUpValidationMocks();
             UUID recurringGroupId = UUID.randomUUID();
             Reservation recurring1 = createRecurringReservation(recurringGroupId);
             Reservation recurring2 = createRecurringReservation(recurringGroupId);
@@ -539,25 +571,54 @@ class ReservationEditServiceTest {
             when(reservationRepository.findByRecurringGroupId(recurringGroupId))
                     .thenReturn(List.of(recurring1, recurring2));
             when(authorizationService.canManageReservation(labManagerUser, recurring1)).thenReturn(true);
-            when(editProposalRepository.findByReservationIdAndResolution(any(), eq(ResolutionStatus.PENDING)))
-                    .thenReturn(Optional.empty());
-            when(reservationWorkstationRepository.findWorkstationIdsByReservationId(any()))
+            when(editProposalRepository.findByRecurringGroupIdAndResolution(recurringGroupId, ResolutionStatus.PENDING))
                     .thenReturn(List.of());
-            when(editProposalRepository.save(any(ReservationEditProposal.class)))
-                    .thenAnswer(i -> i.getArgument(0));
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(any()))
+                    .thenReturn(Map.of(recurring1.getId(), List.of(7)));
 
             editService.editRecurringGroupByManager(recurringGroupId, validEditRequest, labManagerUser);
 
-            // Verify edit proposals were created for both reservations
-            verify(editProposalRepository, times(2)).save(any(ReservationEditProposal.class));
-            verify(reservationRepository, times(2)).save(any(Reservation.class));
+            // Verify edit proposals were created for both reservations in one batch
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ReservationEditProposal>> proposalsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(editProposalRepository).saveAll(proposalsCaptor.capture());
+            assertThat(proposalsCaptor.getValue()).hasSize(2);
+            assertThat(proposalsCaptor.getValue().get(0).getOriginalWorkstationIds()).containsExactly(7);
+            assertThat(proposalsCaptor.getValue().get(1).getOriginalWorkstationIds()).isEmpty();
+            verify(editProposalRepository, never()).save(any(ReservationEditProposal.class));
+
+            // Verify status changed with a single update
+            verify(reservationRepository).updateStatus(
+                    List.of(recurring1.getId(), recurring2.getId()), ReservationStatus.PENDING_EDIT_APPROVAL);
+            verify(reservationRepository, never()).save(any(Reservation.class));
 
             // Verify status changed for both
             assertThat(recurring1.getStatus()).isEqualTo(ReservationStatus.PENDING_EDIT_APPROVAL);
             assertThat(recurring2.getStatus()).isEqualTo(ReservationStatus.PENDING_EDIT_APPROVAL);
         }
 
+        @Test
+        @DisplayName("Should skip reservations that already have a pending edit proposal")
+        void shouldSkipReservationsWithPendingProposal() {
+            UUID recurringGroupId = UUID.randomUUID();
+            Reservation recurring1 = createRecurringReservation(recurringGroupId);
+            Reservation recurring2 = createRecurringReservation(recurringGroupId);
+            ReservationEditProposal existing = new ReservationEditProposal();
+            existing.setReservation(recurring1);
+
+            when(reservationRepository.findByRecurringGroupId(recurringGroupId))
+                    .thenReturn(List.of(recurring1, recurring2));
+            when(authorizationService.canManageReservation(labManagerUser, recurring1)).thenReturn(true);
+            when(editProposalRepository.findByRecurringGroupIdAndResolution(recurringGroupId, ResolutionStatus.PENDING))
+                    .thenReturn(List.of(existing));
+
+            editService.editRecurringGroupByManager(recurringGroupId, validEditRequest, labManagerUser);
+
+            verify(reservationRepository).updateStatus(List.of(recurring2.getId()), ReservationStatus.PENDING_EDIT_APPROVAL);
+            assertThat(recurring1.getStatus()).isEqualTo(ReservationStatus.PENDING);
+            assertThat(recurring2.getStatus()).isEqualTo(ReservationStatus.PENDING_EDIT_APPROVAL);
+        }
+
         @Test
         @DisplayName("Should throw ReservationNotFoundException when no reservations in group")
         void shouldThrowWhenNoReservationsInGroup() {
@@ -574,16 +635,9 @@ class ReservationEditServiceTest {
     @DisplayName("editRecurringGroupByProfessor Tests")
     class EditRecurringGroupByProfessorTests {
 
-        private void setUpValidationMocks() {
-            lenient().when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            lenient().when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-        }
-
         @Test
         @DisplayName("Should apply edit directly for all PENDING reservations in group")
         void shouldApplyEditDirectlyForPendingGroup() {
-            setUpValidationMocks();
             UUID recurringGroupId = UUID.randomUUID();
             Reservation recurring1 = createRecurringReservation(recurringGroupId);
             recurring1.setStatus(ReservationStatus.PENDING);
@@ -594,7 +648,6 @@ class ReservationEditServiceTest {
                     .thenReturn(List.of(recurring1, recurring2));
             when(authorizationService.isReservationOwner(professorUser, recurring1)).thenReturn(true);
             when(authorizationService.isReservationOwner(professorUser, recurring2)).thenReturn(true);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
             when(labManagerRepository.findByLab(testLab)).thenReturn(List.of());
 
             editService.editRecurringGroupByProfessor(recurringGroupId, validEditRequest, professorUser);
@@ -608,13 +661,13 @@ class ReservationEditServiceTest {
             assertThat(recurring2.getStatus()).isEqualTo(ReservationStatus.PENDING);
 
             // Should NOT create edit proposals
-            verify(editProposalRepository, never()).save(any(ReservationEditProposal.class));
+            verify(editProposalRepository, never()).saveAll(any());
+            verify(reservationRepository, never()).updateStatus(any(), any());
         }
 
         @Test
         @DisplayName("Should create edit proposals for APPROVED reservations in mixed group")
         void shouldCreateEditProposalsForApprovedInMixedGroup() {
-            setUpValidationMocks();
             UUID recurringGroupId = UUID.randomUUID();
             Reservation pendingRecurring = createRecurringReservation(recurringGroupId);
             pendingRecurring.setStatus(ReservationStatus.PENDING);
@@ -625,13 +678,8 @@ class ReservationEditServiceTest {
                     .thenReturn(List.of(pendingRecurring, approvedRecurring));
             when(authorizationService.isReservationOwner(professorUser, pendingRecurring)).thenReturn(true);
             when(authorizationService.isReservationOwner(professorUser, approvedRecurring)).thenReturn(true);
-            when(editProposalRepository.findByReservationIdAndResolution(approvedRecurring.getId(), ResolutionStatus.PENDING))
-                    .thenReturn(Optional.empty());
-            when(reservationWorkstationRepository.findWorkstationIdsByReservationId(approvedRecurring.getId()))
+            when(editProposalRepository.findByRecurringGroupIdAndResolution(recurringGroupId, ResolutionStatus.PENDING))
                     .thenReturn(List.of());
-            when(editProposalRepository.save(any(ReservationEditProposal.class)))
-                    .thenAnswer(i -> i.getArgument(0));
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
             when(labManagerRepository.findByLab(testLab)).thenReturn(List.of());
 
             editService.editRecurringGroupByProfessor(recurringGroupId, validEditRequest, professorUser);
@@ -642,11 +690,165 @@ class ReservationEditServiceTest {
 
             // APPROVED reservation should have edit proposal created
             assertThat(approvedRecurring.getStatus()).isEqualTo(ReservationStatus.PENDING_EDIT_APPROVAL);
-            verify(editProposalRepository, times(1)).save(any(ReservationEditProposal.class));
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ReservationEditProposal>> proposalsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(editProposalRepository).saveAll(proposalsCaptor.capture());
+            assertThat(proposalsCaptor.getValue()).extracting(ReservationEditProposal::getReservation)
+                    .containsExactly(approvedRecurring);
+            verify(reservationRepository).updateStatus(
+                    List.of(approvedRecurring.getId()), ReservationStatus.PENDING_EDIT_APPROVAL);
+        }
+    }
+
+    @Nested
+    @DisplayName("approveRecurringGroupEditByProfessor Tests")
+    class ApproveRecurringGroupEditByProfessorTests {
+
+        @Test
+        @DisplayName("Should update workstations of the whole group with one delete and one batch insert of the difference")
+        void shouldUpdateWorkstationsSetBased() {
+            UUID recurringGroupId = UUID.randomUUID();
+            List<Reservation> reservations = List.of(
+                    createRecurringReservation(recurringGroupId), createRecurringReservation(recurringGroupId));
+            List<ReservationEditProposal> proposals = reservations.stream().map(reservation -> {
+                ReservationEditProposal proposal = new ReservationEditProposal();
+                proposal.setReservation(reservation);
+                proposal.setEditedBy(labManagerUser);
+                proposal.setOriginalStatus(ReservationStatus.APPROVED);
+                proposal.setProposedStartTime(reservation.getStartTime().plusHours(1));
+                proposal.setProposedEndTime(reservation.getEndTime().plusHours(1));
+                proposal.setProposedWholeLab(false);
+                proposal.setProposedWorkstationIds(List.of(1, 2));
+                return proposal;
+            }).toList();
+
+            when(reservationRepository.findByRecurringGroupId(recurringGroupId)).thenReturn(reservations);
+            when(authorizationService.isReservationOwner(eq(professorUser), any(Reservation.class))).thenReturn(true);
+            when(editProposalRepository.findByRecurringGroupIdAndResolution(recurringGroupId, ResolutionStatus.PENDING))
+                    .thenReturn(proposals);
+            // First occurrence holds workstations 1 and 3, the second none
+            when(reservationWorkstationRepository.findAssignmentsByReservationIdIn(any())).thenReturn(List.of(
+                    assignment(10, reservations.get(0).getId(), 1),
+                    assignment(11, reservations.get(0).getId(), 3)));
+            when(workstationRepository.getReferenceById(anyInt())).thenAnswer(i -> {
+                Workstation workstation = new Workstation();
+                workstation.setId(i.getArgument(0));
+                return workstation;
+            });
+
+            editService.approveRecurringGroupEditByProfessor(recurringGroupId, professorUser);
+
+            verify(reservationWorkstationRepository).deleteAllByIdInBatch(List.of(11));
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ReservationWorkstation>> assignmentsCaptor = ArgumentCaptor.forClass(List.class);
+            verify(reservationWorkstationRepository).saveAll(assignmentsCaptor.capture());
+            assertThat(assignmentsCaptor.getValue())
+                    .extracting(rw -> rw.getReservation().getId(), rw -> rw.getWorkstation().getId())
+                    .containsExactly(
+                            tuple(reservations.get(0).getId(), 2),
+                            tuple(reservations.get(1).getId(), 1),
+                            tuple(reservations.get(1).getId(), 2));
+            verify(reservationRepository).saveAll(reservations);
+            verify(editProposalRepository).saveAll(proposals);
+            verify(reservationSlotService).rehold(List.of(reservations.get(0).getId(), reservations.get(1).getId()));
+            // Both proposals share a selection and are re-checked together under the lab's lock
+            verify(labLockService).lockAll(Set.of(testLab.getId()));
+            verify(conflictService).assertNoConflicts(eq(testLab.getId()), argThat(ranges -> ranges.size() == 2),
+                    eq(false), eq(List.of(1, 2)),
+                    eq(List.of(reservations.get(0).getId(), reservations.get(1).getId())));
+            verify(workstationRepository, never()).findById(any());
+            verify(reservationWorkstationRepository, never()).deleteByReservationId(any());
+
+            assertThat(reservations).allSatisfy(reservation -> {
+                assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.APPROVED);
+                assertThat(reservation.getWholeLab()).isFalse();
+            });
+            assertThat(proposals).allSatisfy(proposal -> {
+                assertThat(proposal.getResolution()).isEqualTo(ResolutionStatus.APPROVED);
+                assertThat(proposal.getResolvedBy()).isEqualTo(professorUser);
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Workstation assignment diff Tests")
+    class WorkstationAssignmentDiffTests {
+
+        @Test
+        @DisplayName("Should not touch workstation assignments when only the description changes")
+        void shouldKeepAssignmentsWhenWorkstationsUnchanged() {
+            pendingReservation.setWholeLab(false);
+            stubActiveWorkstations(1, 2);
+            EditReservationRequest request = EditReservationRequest.builder()
+                    .startTime(pendingReservation.getStartTime())
+                    .endTime(pendingReservation.getEndTime())
+                    .description("Only the description changed")
+                    .wholeLab(false)
+                    .workstationIds(List.of(2, 1))
+                    .build();
+
+            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
+            when(authorizationService.isReservationOwner(professorUser, pendingReservation)).thenReturn(true);
+            when(reservationWorkstationRepository.findAssignmentsByReservationIdIn(List.of(reservationId)))
+                    .thenReturn(List.of(assignment(10, reservationId, 1), assignment(11, reservationId, 2)));
+            when(labManagerRepository.findByLab(testLab)).thenReturn(List.of());
+
+            editService.editReservationByProfessor(reservationId, request, professorUser);
+
+            assertThat(pendingReservation.getDescription()).isEqualTo("Only the description changed");
+            verify(reservationWorkstationRepository, never()).deleteAllByIdInBatch(any());
+            verify(reservationWorkstationRepository, never()).saveAll(any());
+            verify(workstationRepository, never()).getReferenceById(any());
         }
+
+        @Test
+        @DisplayName("Should remove all assignments when an edit switches to whole lab")
+        void shouldRemoveAssignmentsWhenSwitchingToWholeLab() {
+            pendingReservation.setWholeLab(false);
+
+            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
+            when(authorizationService.isReservationOwner(professorUser, pendingReservation)).thenReturn(true);
+            when(reservationWorkstationRepository.findAssignmentsByReservationIdIn(List.of(reservationId)))
+                    .thenReturn(List.of(assignment(10, reservationId, 1), assignment(11, reservationId, 2)));
+            when(labManagerRepository.findByLab(testLab)).thenReturn(List.of());
+
+            editService.editReservationByProfessor(reservationId, validEditRequest, professorUser);
+
+            verify(reservationWorkstationRepository).deleteAllByIdInBatch(List.of(10, 11));
+            verify(reservationWorkstationRepository, never()).saveAll(any());
+        }
+
+        private void stubActiveWorkstations(Integer... ids) {
+            for (Integer id : ids) {
+                Workstation workstation = new Workstation();
+                workstation.setId(id);
+                workstation.setLab(testLab);
+                workstation.setActive(true);
+                when(workstationRepository.findById(id)).thenReturn(Optional.of(workstation));
+            }
+        }
+    }
+
+    // Helper methods
+    private static ReservationWorkstationAssignment assignment(Integer id, UUID reservationId, Integer workstationId) {
+        return new ReservationWorkstationAssignment() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getReservationId() {
+                return reservationId;
+            }
+
+            @Override
+            public Integer getWorkstationId() {
+                return workstationId;
+            }
+        };
     }
 
-    // Helper method
     private Reservation createRecurringReservation(UUID groupId) {
         OffsetDateTime tomorrow = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1)
                 .withHour(10).withMinute(0).withSecond(0).withNano(0);
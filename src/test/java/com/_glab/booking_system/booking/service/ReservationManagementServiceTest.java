@@ -1,31 +1,53 @@
 package com._glab.booking_system.booking.service;
 
 import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.config.BookingProperties;
+import com._glab.booking_system.booking.event.ReservationChangedEvent;
 import com._glab.booking_system.booking.exception.BookingNotAuthorizedException;
+import com._glab.booking_system.booking.exception.InvalidCursorException;
+import com._glab.booking_system.booking.exception.NotLabManagerException;
+import com._glab.booking_system.booking.exception.ReservationConflictException;
 import com._glab.booking_system.booking.exception.ReservationNotFoundException;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.*;
+import com._glab.booking_system.booking.repository.PendingReservationFilter;
+import com._glab.booking_system.booking.repository.RecurringPatternRepository;
+import com._glab.booking_system.booking.repository.ReservationCursor;
 import com._glab.booking_system.booking.repository.ReservationRepository;
+import com._glab.booking_system.booking.request.BulkReservationActionRequest;
+import com._glab.booking_system.booking.request.PendingReservationQueueRequest;
+import com._glab.booking_system.booking.response.BulkReservationActionResponse;
+import com._glab.booking_system.booking.response.RecurringGroupActionResponse;
+import com._glab.booking_system.booking.response.ReservationPageResponse;
 import com._glab.booking_system.booking.response.ReservationResponse;
 import com._glab.booking_system.user.model.Role;
 import com._glab.booking_system.user.model.RoleName;
 import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +61,20 @@ class ReservationManagementServiceTest {
     private LabManagerAuthorizationService authorizationService;
     @Mock
     private EmailService emailService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ReservationSlotService reservationSlotService;
+    @Mock
+    private ReservationConflictService conflictService;
+    @Mock
+    private LabLockService labLockService;
+    @Mock
+    private RecurringPatternRepository recurringPatternRepository;
+    @Mock
+    private RecurringOccurrenceExpander occurrenceExpander;
+    @Mock
+    private RecurringSeriesService recurringSeriesService;
 
     private ReservationManagementService managementService;
 
@@ -57,7 +93,16 @@ class ReservationManagementServiceTest {
                 reservationRepository,
                 reservationService,
                 authorizationService,
-                emailService
+                emailService,
+                eventPublisher,
+                new BookingProperties(),
+                reservationSlotService,
+                conflictService,
+                labLockService,
+                new BookingMetrics(new SimpleMeterRegistry()),
+                recurringPatternRepository,
+                occurrenceExpander,
+                recurringSeriesService
         );
 
         // Create admin
@@ -131,7 +176,7 @@ class ReservationManagementServiceTest {
 
             when(authorizationService.getPendingReservationsForUser(labManagerUser))
                     .thenReturn(List.of(pendingReservation));
-            when(reservationService.toReservationResponse(pendingReservation)).thenReturn(response);
+            when(reservationService.toReservationResponses(List.of(pendingReservation))).thenReturn(List.of(response));
 
             List<ReservationResponse> result = managementService.getPendingReservationsForManager(labManagerUser);
 
@@ -151,6 +196,95 @@ class ReservationManagementServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getPendingReservationQueue Tests")
+    class GetPendingReservationQueueTests {
+
+        private Reservation pendingCreatedAt(OffsetDateTime createdAt) {
+            Reservation reservation = new Reservation();
+            reservation.setId(UUID.randomUUID());
+            reservation.setLab(testLab);
+            reservation.setUser(professorUser);
+            reservation.setStatus(ReservationStatus.PENDING);
+            reservation.setCreatedAt(createdAt);
+            return reservation;
+        }
+
+        @Test
+        @DisplayName("Should scope lab managers to their labs and return a cursor after the last row")
+        void shouldReturnFirstPageWithCursor() {
+            OffsetDateTime created = OffsetDateTime.parse("2025-03-01T10:15:30.123456Z");
+            Reservation first = pendingCreatedAt(created);
+            Reservation second = pendingCreatedAt(created.plusMinutes(1));
+            Reservation extra = pendingCreatedAt(created.plusMinutes(2));
+            PendingReservationQueueRequest request = PendingReservationQueueRequest.builder().limit(2).build();
+
+            when(authorizationService.isAdmin(labManagerUser)).thenReturn(false);
+            when(authorizationService.getAssignedLabIds(labManagerUser)).thenReturn(Set.of(testLab.getId()));
+            when(reservationRepository.findPendingPage(any())).thenReturn(List.of(first, second, extra));
+            when(reservationService.toReservationResponses(List.of(first, second))).thenReturn(List.of(
+                    ReservationResponse.builder().id(first.getId()).build(),
+                    ReservationResponse.builder().id(second.getId()).build()));
+
+            ReservationPageResponse page = managementService.getPendingReservationQueue(labManagerUser, request);
+
+            ArgumentCaptor<PendingReservationFilter> filter = ArgumentCaptor.forClass(PendingReservationFilter.class);
+            verify(reservationRepository).findPendingPage(filter.capture());
+            assertThat(filter.getValue().labIds()).containsExactly(testLab.getId());
+            assertThat(filter.getValue().after()).isNull();
+            assertThat(filter.getValue().limit()).isEqualTo(3);
+            assertThat(page.getReservations()).hasSize(2);
+            assertThat(page.isHasMore()).isTrue();
+            assertThat(ReservationCursor.decode(page.getNextCursor()))
+                    .isEqualTo(new ReservationCursor(second.getCreatedAt(), second.getId()));
+        }
+
+        @Test
+        @DisplayName("Should pass filters and decoded cursor for admins without a lab scope")
+        void shouldContinueFromCursorForAdmin() {
+            ReservationCursor cursor = new ReservationCursor(OffsetDateTime.parse("2025-03-01T10:15:30Z"), reservationId);
+            PendingReservationQueueRequest request = PendingReservationQueueRequest.builder()
+                    .labId(testLab.getId())
+                    .recurringGroupId(recurringGroupId)
+                    .cursor(cursor.encode())
+                    .build();
+
+            when(authorizationService.isAdmin(adminUser)).thenReturn(true);
+            when(reservationRepository.findPendingPage(any())).thenReturn(List.of());
+            when(reservationService.toReservationResponses(List.of())).thenReturn(List.of());
+
+            ReservationPageResponse page = managementService.getPendingReservationQueue(adminUser, request);
+
+            verify(reservationRepository).findPendingPage(new PendingReservationFilter(
+                    null, testLab.getId(), null, null, recurringGroupId, cursor, 51));
+            verify(authorizationService, never()).getAssignedLabIds(any());
+            assertThat(page.isHasMore()).isFalse();
+            assertThat(page.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject a lab the manager does not manage")
+        void shouldRejectUnmanagedLab() {
+            PendingReservationQueueRequest request = PendingReservationQueueRequest.builder().labId(99).build();
+            when(authorizationService.isAdmin(labManagerUser)).thenReturn(false);
+            when(authorizationService.getAssignedLabIds(labManagerUser)).thenReturn(Set.of(testLab.getId()));
+
+            assertThatThrownBy(() -> managementService.getPendingReservationQueue(labManagerUser, request))
+                    .isInstanceOf(NotLabManagerException.class);
+            verify(reservationRepository, never()).findPendingPage(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            PendingReservationQueueRequest request = PendingReservationQueueRequest.builder().cursor("not-a-cursor").build();
+            when(authorizationService.isAdmin(adminUser)).thenReturn(true);
+
+            assertThatThrownBy(() -> managementService.getPendingReservationQueue(adminUser, request))
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
     @Nested
     @DisplayName("approveReservation Tests")
     class ApproveReservationTests {
@@ -166,6 +300,11 @@ class ReservationManagementServiceTest {
 
             assertThat(pendingReservation.getStatus()).isEqualTo(ReservationStatus.APPROVED);
             verify(reservationRepository).save(pendingReservation);
+            verify(reservationSlotService).hold(List.of(reservationId));
+            InOrder inOrder = inOrder(labLockService, conflictService, reservationRepository);
+            inOrder.verify(labLockService).lock(testLab.getId());
+            inOrder.verify(conflictService).assertNoConflicts(pendingReservation);
+            inOrder.verify(reservationRepository).save(pendingReservation);
             verify(emailService).sendReservationStatusChangeEmail(
                     eq(professorUser.getEmail()),
                     anyString(),
@@ -221,6 +360,22 @@ class ReservationManagementServiceTest {
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessageContaining("PENDING");
         }
+
+        @Test
+        @DisplayName("Should not approve when a conflicting booking was written concurrently")
+        void shouldNotApproveWhenConflictAppeared() {
+            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(pendingReservation));
+            when(authorizationService.canManageReservation(labManagerUser, pendingReservation)).thenReturn(true);
+            doThrow(new ReservationConflictException("Workstation 1 is already booked"))
+                    .when(conflictService).assertNoConflicts(pendingReservation);
+
+            assertThatThrownBy(() -> managementService.approveReservation(reservationId, labManagerUser, null))
+                    .isInstanceOf(ReservationConflictException.class);
+
+            assertThat(pendingReservation.getStatus()).isEqualTo(ReservationStatus.PENDING);
+            verify(reservationRepository, never()).save(any());
+            verify(reservationSlotService, never()).hold(any());
+        }
     }
 
     @Nested
@@ -238,6 +393,7 @@ class ReservationManagementServiceTest {
 
             assertThat(pendingReservation.getStatus()).isEqualTo(ReservationStatus.REJECTED);
             verify(reservationRepository).save(pendingReservation);
+            verify(reservationSlotService, never()).hold(any());
             verify(emailService).sendReservationStatusChangeEmail(
                     eq(professorUser.getEmail()),
                     anyString(),
@@ -299,32 +455,104 @@ class ReservationManagementServiceTest {
     class ApproveRecurringGroupTests {
 
         @Test
-        @DisplayName("Should approve all pending reservations in recurring group")
+        @DisplayName("Should approve all pending reservations in recurring group with one update and one email")
         void shouldApproveAllPendingInRecurringGroup() {
-            Reservation recurring1 = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
-            Reservation recurring2 = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
-            Reservation recurring3 = createRecurringReservation(recurringGroupId, ReservationStatus.APPROVED); // Already approved
+            Reservation first = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
+            List<UUID> updatedIds = List.of(first.getId(), UUID.randomUUID());
+
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.of(first));
+            when(authorizationService.canManageReservation(labManagerUser, first)).thenReturn(true);
+            when(reservationRepository.approvePendingInRecurringGroup(recurringGroupId)).thenReturn(updatedIds);
+
+            RecurringGroupActionResponse response =
+                    managementService.approveRecurringGroup(recurringGroupId, labManagerUser, "Approved group");
+
+            assertThat(response.getUpdatedCount()).isEqualTo(2);
+            assertThat(response.getLeftPendingReservationIds()).isEmpty();
+            InOrder inOrder = inOrder(labLockService, reservationRepository);
+            inOrder.verify(labLockService).lock(testLab.getId());
+            inOrder.verify(reservationRepository).approvePendingInRecurringGroup(recurringGroupId);
+            verify(reservationRepository, never()).findByRecurringGroupId(any());
+            verify(reservationRepository, never()).save(any(Reservation.class));
+            verifyNoInteractions(conflictService);
+            verify(reservationSlotService).hold(updatedIds);
+            verify(eventPublisher).publishEvent(new ReservationChangedEvent(testLab.getId(), updatedIds));
+            verify(emailService).sendRecurringGroupStatusChangeEmail(
+                    eq(professorUser.getEmail()), anyString(), eq("Test Lab"), anyString(),
+                    eq(2), eq("APPROVED"), eq("Approved group"), eq(List.of()));
+            verify(emailService, never()).sendReservationStatusChangeEmail(
+                    any(), any(), any(), any(), any(), any(), any());
+        }
 
-            when(reservationRepository.findByRecurringGroupId(recurringGroupId))
-                    .thenReturn(List.of(recurring1, recurring2, recurring3));
-            when(authorizationService.canManageReservation(labManagerUser, recurring1)).thenReturn(true);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
+        @Test
+        @DisplayName("Should not notify when no reservation in the group is pending")
+        void shouldNotNotifyWhenNothingPending() {
+            Reservation first = createRecurringReservation(recurringGroupId, ReservationStatus.APPROVED);
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.of(first));
+            when(authorizationService.canManageReservation(labManagerUser, first)).thenReturn(true);
+
+            RecurringGroupActionResponse response =
+                    managementService.approveRecurringGroup(recurringGroupId, labManagerUser, null);
+
+            assertThat(response.getUpdatedCount()).isZero();
+            verifyNoInteractions(emailService, eventPublisher, reservationSlotService);
+        }
 
-            managementService.approveRecurringGroup(recurringGroupId, labManagerUser, "Approved group");
+        @Test
+        @DisplayName("Should report and notify occurrences left pending because they overlap other bookings")
+        void shouldLeaveConflictingOccurrencesPending() {
+            Reservation first = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
+            Reservation conflicting = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
+
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.of(first));
+            when(authorizationService.canManageReservation(labManagerUser, first)).thenReturn(true);
+            when(reservationRepository.approvePendingInRecurringGroup(recurringGroupId))
+                    .thenReturn(List.of(first.getId()));
+            when(reservationRepository.findByRecurringGroupIdAndStatus(recurringGroupId, ReservationStatus.PENDING))
+                    .thenReturn(List.of(conflicting));
+
+            RecurringGroupActionResponse response =
+                    managementService.approveRecurringGroup(recurringGroupId, labManagerUser, null);
+
+            assertThat(response.getUpdatedCount()).isEqualTo(1);
+            assertThat(response.getLeftPendingReservationIds()).containsExactly(conflicting.getId());
+            verify(reservationSlotService).hold(List.of(first.getId()));
+            verify(eventPublisher).publishEvent(new ReservationChangedEvent(testLab.getId(), List.of(first.getId())));
+            verify(emailService).sendRecurringGroupStatusChangeEmail(
+                    eq(professorUser.getEmail()), anyString(), eq("Test Lab"), anyString(),
+                    eq(1), eq("APPROVED"), any(),
+                    eq(List.of(conflicting.getStartTime() + " - " + conflicting.getEndTime())));
+        }
 
-            assertThat(recurring1.getStatus()).isEqualTo(ReservationStatus.APPROVED);
-            assertThat(recurring2.getStatus()).isEqualTo(ReservationStatus.APPROVED);
-            // recurring3 was already approved, should remain approved
-            assertThat(recurring3.getStatus()).isEqualTo(ReservationStatus.APPROVED);
-            
-            // Should save only 2 (the ones that were PENDING)
-            verify(reservationRepository, times(2)).save(any(Reservation.class));
+        @Test
+        @DisplayName("Should notify the requester when every occurrence overlaps other bookings")
+        void shouldNotifyWhenAllOccurrencesLeftPending() {
+            Reservation first = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
+
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.of(first));
+            when(authorizationService.canManageReservation(labManagerUser, first)).thenReturn(true);
+            when(reservationRepository.findByRecurringGroupIdAndStatus(recurringGroupId, ReservationStatus.PENDING))
+                    .thenReturn(List.of(first));
+
+            RecurringGroupActionResponse response =
+                    managementService.approveRecurringGroup(recurringGroupId, labManagerUser, null);
+
+            assertThat(response.getLeftPendingReservationIds()).containsExactly(first.getId());
+            verifyNoInteractions(eventPublisher, reservationSlotService);
+            verify(emailService).sendRecurringGroupStatusChangeEmail(
+                    eq(professorUser.getEmail()), anyString(), eq("Test Lab"), anyString(),
+                    eq(0), eq("APPROVED"), any(), argThat(lines -> lines.size() == 1));
         }
 
         @Test
         @DisplayName("Should throw ReservationNotFoundException when no reservations in group")
         void shouldThrowWhenNoReservationsInGroup() {
-            when(reservationRepository.findByRecurringGroupId(recurringGroupId)).thenReturn(List.of());
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> managementService.approveRecurringGroup(recurringGroupId, labManagerUser, null))
                     .isInstanceOf(ReservationNotFoundException.class)
@@ -335,11 +563,13 @@ class ReservationManagementServiceTest {
         @DisplayName("Should throw BookingNotAuthorizedException when user not authorized")
         void shouldThrowWhenNotAuthorized() {
             Reservation recurring = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
-            when(reservationRepository.findByRecurringGroupId(recurringGroupId)).thenReturn(List.of(recurring));
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.of(recurring));
             when(authorizationService.canManageReservation(professorUser, recurring)).thenReturn(false);
 
             assertThatThrownBy(() -> managementService.approveRecurringGroup(recurringGroupId, professorUser, null))
                     .isInstanceOf(BookingNotAuthorizedException.class);
+            verify(reservationRepository, never()).approvePendingInRecurringGroup(any());
         }
     }
 
@@ -348,27 +578,31 @@ class ReservationManagementServiceTest {
     class DeclineRecurringGroupTests {
 
         @Test
-        @DisplayName("Should decline all pending reservations in recurring group")
+        @DisplayName("Should decline all pending reservations in recurring group with one update and one email")
         void shouldDeclineAllPendingInRecurringGroup() {
-            Reservation recurring1 = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
-            Reservation recurring2 = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
+            Reservation first = createRecurringReservation(recurringGroupId, ReservationStatus.PENDING);
+            List<UUID> updatedIds = List.of(first.getId(), UUID.randomUUID());
 
-            when(reservationRepository.findByRecurringGroupId(recurringGroupId))
-                    .thenReturn(List.of(recurring1, recurring2));
-            when(authorizationService.canManageReservation(labManagerUser, recurring1)).thenReturn(true);
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> i.getArgument(0));
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.of(first));
+            when(authorizationService.canManageReservation(labManagerUser, first)).thenReturn(true);
+            when(reservationRepository.updatePendingStatusInRecurringGroup(recurringGroupId, ReservationStatus.REJECTED))
+                    .thenReturn(updatedIds);
 
             managementService.declineRecurringGroup(recurringGroupId, labManagerUser, "Declined group");
 
-            assertThat(recurring1.getStatus()).isEqualTo(ReservationStatus.REJECTED);
-            assertThat(recurring2.getStatus()).isEqualTo(ReservationStatus.REJECTED);
-            verify(reservationRepository, times(2)).save(any(Reservation.class));
+            verify(reservationRepository, never()).save(any(Reservation.class));
+            verify(emailService).sendRecurringGroupStatusChangeEmail(
+                    eq(professorUser.getEmail()), anyString(), eq("Test Lab"), anyString(),
+                    eq(2), eq("REJECTED"), eq("Declined group"), eq(List.of()));
+            verify(reservationRepository, never()).findByRecurringGroupIdAndStatus(any(), any());
         }
 
         @Test
         @DisplayName("Should throw ReservationNotFoundException when no reservations in group")
         void shouldThrowWhenNoReservationsInGroup() {
-            when(reservationRepository.findByRecurringGroupId(recurringGroupId)).thenReturn(List.of());
+            when(reservationRepository.findFirstByRecurringGroupIdOrderByStartTimeAsc(recurringGroupId))
+                    .thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> managementService.declineRecurringGroup(recurringGroupId, labManagerUser, null))
                     .isInstanceOf(ReservationNotFoundException.class)
@@ -376,6 +610,131 @@ class ReservationManagementServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("applyBulkAction Tests")
+    class ApplyBulkActionTests {
+
+        @Test
+        @DisplayName("Should update eligible reservations in one statement and report an outcome per ID")
+        void shouldReportOutcomePerReservation() {
+            Lab otherLab = new Lab();
+            otherLab.setId(2);
+            otherLab.setName("Other Lab");
+            Reservation otherLabReservation = new Reservation();
+            otherLabReservation.setId(UUID.randomUUID());
+            otherLabReservation.setLab(otherLab);
+            otherLabReservation.setUser(professorUser);
+            otherLabReservation.setStatus(ReservationStatus.PENDING);
+            UUID missingId = UUID.randomUUID();
+            List<UUID> ids = List.of(reservationId, approvedReservation.getId(), otherLabReservation.getId(), missingId);
+
+            when(reservationRepository.findWithUserAndLabByIdIn(any()))
+                    .thenReturn(List.of(pendingReservation, approvedReservation, otherLabReservation));
+            when(authorizationService.managedLabFilter(labManagerUser)).thenReturn(labId -> labId.equals(testLab.getId()));
+            when(reservationRepository.updatePendingStatus(List.of(reservationId), ReservationStatus.APPROVED))
+                    .thenReturn(List.of(reservationId));
+
+            BulkReservationActionResponse response = managementService.applyBulkAction(
+                    ids, BulkReservationActionRequest.Action.APPROVE, labManagerUser, "OK");
+
+            assertThat(response.getUpdatedCount()).isEqualTo(1);
+            assertThat(response.getResults())
+                    .extracting(BulkReservationActionResponse.Result::getReservationId,
+                            BulkReservationActionResponse.Result::getOutcome)
+                    .containsExactly(
+                            tuple(reservationId, BulkReservationActionResponse.Outcome.APPROVED),
+                            tuple(approvedReservation.getId(), BulkReservationActionResponse.Outcome.NOT_PENDING),
+                            tuple(otherLabReservation.getId(), BulkReservationActionResponse.Outcome.NOT_AUTHORIZED),
+                            tuple(missingId, BulkReservationActionResponse.Outcome.NOT_FOUND));
+            verify(labLockService).lockAll(List.of(testLab.getId()));
+            verify(reservationRepository, never()).save(any(Reservation.class));
+            verify(eventPublisher).publishEvent(new ReservationChangedEvent(testLab.getId(), List.of(reservationId)));
+            verify(emailService).sendReservationStatusChangeEmail(
+                    eq(professorUser.getEmail()), anyString(), eq("Test Lab"), anyString(), anyString(),
+                    eq("APPROVED"), eq("OK"));
+        }
+
+        @Test
+        @DisplayName("Should leave reservations that overlap other bookings out of the update and report a conflict")
+        void shouldReportConflictsWithoutFailingTheBatch() {
+            Reservation conflicting = createRecurringReservation(null, ReservationStatus.PENDING);
+            when(reservationRepository.findWithUserAndLabByIdIn(any()))
+                    .thenReturn(List.of(pendingReservation, conflicting));
+            when(authorizationService.managedLabFilter(adminUser)).thenReturn(labId -> true);
+            when(conflictService.findConflicting(List.of(pendingReservation, conflicting)))
+                    .thenReturn(Set.of(conflicting.getId()));
+            when(reservationRepository.updatePendingStatus(List.of(reservationId), ReservationStatus.APPROVED))
+                    .thenReturn(List.of(reservationId));
+
+            BulkReservationActionResponse response = managementService.applyBulkAction(
+                    List.of(reservationId, conflicting.getId()), BulkReservationActionRequest.Action.APPROVE, adminUser, null);
+
+            assertThat(response.getUpdatedCount()).isEqualTo(1);
+            assertThat(response.getResults())
+                    .extracting(BulkReservationActionResponse.Result::getReservationId,
+                            BulkReservationActionResponse.Result::getOutcome)
+                    .containsExactly(
+                            tuple(reservationId, BulkReservationActionResponse.Outcome.APPROVED),
+                            tuple(conflicting.getId(), BulkReservationActionResponse.Outcome.CONFLICT));
+            InOrder inOrder = inOrder(labLockService, conflictService, reservationRepository, reservationSlotService);
+            inOrder.verify(labLockService).lockAll(List.of(testLab.getId(), testLab.getId()));
+            inOrder.verify(conflictService).findConflicting(List.of(pendingReservation, conflicting));
+            inOrder.verify(reservationRepository).updatePendingStatus(List.of(reservationId), ReservationStatus.APPROVED);
+            inOrder.verify(reservationSlotService).hold(Set.of(reservationId));
+        }
+
+        @Test
+        @DisplayName("Should send each requester one email for all of their changed reservations")
+        void shouldSendOneEmailPerRequester() {
+            Reservation second = createRecurringReservation(null, ReservationStatus.PENDING);
+            when(reservationRepository.findWithUserAndLabByIdIn(any())).thenReturn(List.of(pendingReservation, second));
+            when(authorizationService.managedLabFilter(adminUser)).thenReturn(labId -> true);
+            when(reservationRepository.updatePendingStatus(List.of(reservationId, second.getId()), ReservationStatus.REJECTED))
+                    .thenReturn(List.of(reservationId, second.getId()));
+
+            managementService.applyBulkAction(
+                    List.of(reservationId, second.getId()), BulkReservationActionRequest.Action.DECLINE, adminUser, "Full");
+
+            verify(emailService).sendReservationsStatusChangeEmail(
+                    eq(professorUser.getEmail()), eq("Test Professor"), argThat(lines -> lines.size() == 2),
+                    eq("REJECTED"), eq("Full"));
+            verify(emailService, never()).sendReservationStatusChangeEmail(
+                    anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should not check conflicts when declining")
+        void shouldNotCheckConflictsWhenDeclining() {
+            when(reservationRepository.findWithUserAndLabByIdIn(any())).thenReturn(List.of(pendingReservation));
+            when(authorizationService.managedLabFilter(adminUser)).thenReturn(labId -> true);
+            when(reservationRepository.updatePendingStatus(List.of(reservationId), ReservationStatus.REJECTED))
+                    .thenReturn(List.of(reservationId));
+
+            managementService.applyBulkAction(
+                    List.of(reservationId), BulkReservationActionRequest.Action.DECLINE, adminUser, null);
+
+            verifyNoInteractions(conflictService, reservationSlotService);
+        }
+
+        @Test
+        @DisplayName("Should report reservations decided concurrently as not pending")
+        void shouldReportConcurrentlyDecidedAsNotPending() {
+            when(reservationRepository.findWithUserAndLabByIdIn(any())).thenReturn(List.of(pendingReservation));
+            when(authorizationService.managedLabFilter(adminUser)).thenReturn(labId -> true);
+            when(reservationRepository.updatePendingStatus(List.of(reservationId), ReservationStatus.REJECTED))
+                    .thenReturn(List.of());
+
+            BulkReservationActionResponse response = managementService.applyBulkAction(
+                    List.of(reservationId, reservationId), BulkReservationActionRequest.Action.DECLINE, adminUser, null);
+
+            assertThat(response.getUpdatedCount()).isZero();
+            assertThat(response.getResults())
+                    .extracting(BulkReservationActionResponse.Result::getOutcome)
+                    .containsExactly(BulkReservationActionResponse.Outcome.NOT_PENDING);
+            verifyNoInteractions(emailService, eventPublisher);
+        }
+    }
+
     @Nested
     @DisplayName("getReservation Tests")
     class GetReservationTests {
@@ -1,36 +1,49 @@
 package com._glab.booking_system.booking.service;
 
 import com._glab.booking_system.auth.service.EmailService;
+import com._glab.booking_system.booking.cache.LabScheduleCache;
+import com._glab.booking_system.booking.config.BookingProperties;
 import com._glab.booking_system.booking.exception.*;
+import com._glab.booking_system.booking.metrics.BookingMetrics;
 import com._glab.booking_system.booking.model.*;
 import com._glab.booking_system.booking.repository.*;
 import com._glab.booking_system.booking.request.CreateReservationRequest;
+import com._glab.booking_system.booking.request.MyReservationsRequest;
 import com._glab.booking_system.booking.response.RecurringReservationResponse;
+import com._glab.booking_system.booking.response.ReservationPageResponse;
 import com._glab.booking_system.booking.response.ReservationResponse;
 import com._glab.booking_system.user.model.Role;
 import com._glab.booking_system.user.model.RoleName;
 import com._glab.booking_system.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +67,14 @@ class ReservationServiceTest {
     private LabManagerRepository labManagerRepository;
     @Mock
     private EmailService emailService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ReservationConflictService conflictService;
+    @Mock
+    private LabLockService labLockService;
+    @Mock
+    private RecurringOccurrenceExpander occurrenceExpander;
 
     private ReservationService reservationService;
 
@@ -62,18 +83,31 @@ class ReservationServiceTest {
     private Building testBuilding;
     private Workstation testWorkstation;
 
+    private LabScheduleCache labScheduleCache;
+    private SimpleMeterRegistry meterRegistry;
+    private BookingMetrics bookingMetrics;
+
     @BeforeEach
     void setUp() {
+        labScheduleCache = new LabScheduleCache(labOperatingHoursRepository, labClosedDayRepository,
+                new BookingProperties(), new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        bookingMetrics = new BookingMetrics(meterRegistry);
         reservationService = new ReservationService(
                 reservationRepository,
                 labRepository,
-                labOperatingHoursRepository,
-                labClosedDayRepository,
+                labScheduleCache,
                 workstationRepository,
                 reservationWorkstationRepository,
                 recurringPatternRepository,
                 labManagerRepository,
-                emailService
+                emailService,
+                eventPublisher,
+                conflictService,
+                new BookingProperties(),
+                labLockService,
+                bookingMetrics,
+                occurrenceExpander
         );
 
         // Set up test user
@@ -132,10 +166,7 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty()); // Use lab defaults
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-            when(workstationRepository.findById(1)).thenReturn(Optional.of(testWorkstation));
+            when(workstationRepository.findAllById(List.of(1))).thenReturn(List.of(testWorkstation));
             when(labManagerRepository.findByLab(testLab)).thenReturn(new ArrayList<>());
 
             Reservation savedReservation = new Reservation();
@@ -168,6 +199,12 @@ class ReservationServiceTest {
 
             // Verify workstation assignment was saved
             verify(reservationWorkstationRepository).save(any(ReservationWorkstation.class));
+
+            // Verify the conflict check and the write ran while holding the lab's lock
+            InOrder inOrder = inOrder(labLockService, conflictService, reservationRepository);
+            inOrder.verify(labLockService).lock(1);
+            inOrder.verify(conflictService).assertNoConflicts(eq(1), any(), eq(false), eq(List.of(1)), any());
+            inOrder.verify(reservationRepository).save(any(Reservation.class));
         }
 
         @Test
@@ -188,9 +225,6 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
             when(labManagerRepository.findByLab(testLab)).thenReturn(new ArrayList<>());
 
             Reservation savedReservation = new Reservation();
@@ -308,8 +342,6 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty()); // Use lab defaults (8-20)
 
             // When/Then
             assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
@@ -332,9 +364,11 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(true);
+            LabClosedDay closure = new LabClosedDay();
+            closure.setSpecificDate(tomorrow.toLocalDate());
+            closure.setReason("Maintenance");
+            when(labClosedDayRepository.findSpecificClosures(1))
+                    .thenReturn(List.of(closure));
 
             // When/Then
             assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
@@ -357,9 +391,6 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
 
             // When/Then
             assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
@@ -382,10 +413,7 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-            when(workstationRepository.findById(999)).thenReturn(Optional.empty());
+            when(workstationRepository.findAllById(List.of(999))).thenReturn(List.of());
 
             // When/Then
             assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
@@ -419,10 +447,7 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-            when(workstationRepository.findById(2)).thenReturn(Optional.of(otherWorkstation));
+            when(workstationRepository.findAllById(List.of(2))).thenReturn(List.of(otherWorkstation));
 
             // When/Then
             assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
@@ -451,16 +476,48 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
-            when(workstationRepository.findById(3)).thenReturn(Optional.of(inactiveWorkstation));
+            when(workstationRepository.findAllById(List.of(3))).thenReturn(List.of(inactiveWorkstation));
 
             // When/Then
             assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
                     .isInstanceOf(WorkstationInactiveException.class)
                     .hasMessageContaining("WS-INACTIVE");
         }
+
+        @Test
+        @DisplayName("Should throw ReservationConflictException when workstation is already booked")
+        void shouldThrowWhenWorkstationAlreadyBooked() {
+            // Given
+            OffsetDateTime tomorrow = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1)
+                    .withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+            CreateReservationRequest request = CreateReservationRequest.builder()
+                    .labId(1)
+                    .startTime(tomorrow)
+                    .endTime(tomorrow.plusHours(2))
+                    .wholeLab(false)
+                    .workstationIds(List.of(1))
+                    .build();
+
+            when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
+            when(workstationRepository.findAllById(List.of(1))).thenReturn(List.of(testWorkstation));
+            doThrow(new ReservationConflictException("Workstation 1 is already booked"))
+                    .when(conflictService).assertNoConflicts(eq(1), any(), eq(false), eq(List.of(1)), any());
+
+            // When/Then
+            assertThatThrownBy(() -> reservationService.createReservation(request, testUser))
+                    .isInstanceOf(ReservationConflictException.class)
+                    .hasMessageContaining("already booked");
+            verify(reservationRepository, never()).save(any(Reservation.class));
+
+            // Verify the rejection was counted by rule and timed as a failed creation
+            assertThat(meterRegistry.get("booking.validation.failures")
+                    .tags("operation", "create", "rule", "ReservationConflictException").counter().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("booking.reservation.create")
+                    .tags("type", "single", "lab", "1", "outcome", "error").timer().count())
+                    .isEqualTo(1);
+        }
     }
 
     @Nested
@@ -489,30 +546,13 @@ class ReservationServiceTest {
                     .build();
 
             when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
-            when(labOperatingHoursRepository.findByLabIdAndDayOfWeek(anyInt(), anyInt()))
-                    .thenReturn(Optional.empty());
-            when(labClosedDayRepository.isLabClosedOnDate(anyInt(), any(), anyInt())).thenReturn(false);
             when(labManagerRepository.findByLab(any(Lab.class))).thenReturn(new ArrayList<>());
 
-            // Mock saving each reservation - store and return for findById
-            when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
-                Reservation r = invocation.getArgument(0);
-                r.setId(UUID.randomUUID());
-                r.setLab(testLab);
-                r.setUser(testUser);
-                return r;
-            });
-            
-            // Mock findById for email sending
-            when(reservationRepository.findById(any(UUID.class))).thenAnswer(invocation -> {
-                Reservation r = new Reservation();
-                r.setId(invocation.getArgument(0));
-                r.setLab(testLab);
-                r.setUser(testUser);
-                r.setStartTime(tomorrow);
-                r.setEndTime(tomorrow.plusHours(2));
-                r.setStatus(ReservationStatus.PENDING);
-                return Optional.of(r);
+            // Mock saving the whole series
+            when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Reservation> reservations = invocation.getArgument(0);
+                reservations.forEach(r -> r.setId(UUID.randomUUID()));
+                return reservations;
             });
 
             // When
@@ -527,6 +567,105 @@ class ReservationServiceTest {
 
             // Verify pattern was saved
             verify(recurringPatternRepository).save(any(RecurringPattern.class));
+
+            // Verify all occurrences were checked for conflicts in a single call
+            verify(conflictService, times(1)).assertNoConflicts(
+                    eq(1), argThat(ranges -> ranges.size() == 4), eq(true), any(), any());
+
+            // Verify the series was validated against one schedule snapshot and saved in one batch
+            verify(labRepository, times(1)).findById(1);
+            verify(labOperatingHoursRepository, times(1)).findByLabId(1);
+            verify(labClosedDayRepository, times(1)).findSpecificClosures(1);
+            verify(reservationRepository, times(1)).saveAll(anyList());
+            verify(reservationRepository, never()).save(any(Reservation.class));
+
+            // Verify the request was timed and its occurrence count recorded
+            assertThat(meterRegistry.get("booking.reservation.create")
+                    .tags("type", "recurring", "outcome", "success").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("booking.reservation.occurrences").summary().totalAmount()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should save workstation assignments of the whole series in one batch")
+        void shouldBatchWorkstationAssignmentsForSeries() {
+            // Given
+            OffsetDateTime nextMonday = OffsetDateTime.now(ZoneOffset.UTC)
+                    .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                    .withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+            Workstation secondWorkstation = new Workstation();
+            secondWorkstation.setId(2);
+            secondWorkstation.setLab(testLab);
+            secondWorkstation.setIdentifier("WS-002");
+            secondWorkstation.setActive(true);
+
+            CreateReservationRequest request = CreateReservationRequest.builder()
+                    .labId(1)
+                    .startTime(nextMonday)
+                    .endTime(nextMonday.plusHours(2))
+                    .wholeLab(false)
+                    .workstationIds(List.of(1, 2))
+                    .recurring(CreateReservationRequest.RecurringConfig.builder()
+                            .patternType("WEEKLY")
+                            .occurrences(3)
+                            .build())
+                    .build();
+
+            when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
+            when(workstationRepository.findAllById(List.of(1, 2)))
+                    .thenReturn(List.of(testWorkstation, secondWorkstation));
+            when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Reservation> reservations = invocation.getArgument(0);
+                reservations.forEach(r -> r.setId(UUID.randomUUID()));
+                return reservations;
+            });
+
+            // When
+            RecurringReservationResponse response = reservationService.createRecurringReservation(request, testUser);
+
+            // Then
+            assertThat(response.getReservations()).hasSize(3)
+                    .allSatisfy(r -> assertThat(r.getWorkstationIds()).containsExactly(1, 2));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ReservationWorkstation>> captor = ArgumentCaptor.forClass(List.class);
+            verify(reservationWorkstationRepository).saveAll(captor.capture());
+            assertThat(captor.getValue()).hasSize(6);
+            verify(reservationWorkstationRepository, never()).save(any(ReservationWorkstation.class));
+            verify(workstationRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should reject the whole series when the lab is closed on one occurrence")
+        void shouldRejectSeriesWhenLabClosedOnOccurrence() {
+            // Given
+            OffsetDateTime nextMonday = OffsetDateTime.now(ZoneOffset.UTC)
+                    .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                    .withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+            CreateReservationRequest request = CreateReservationRequest.builder()
+                    .labId(1)
+                    .startTime(nextMonday)
+                    .endTime(nextMonday.plusHours(2))
+                    .wholeLab(true)
+                    .recurring(CreateReservationRequest.RecurringConfig.builder()
+                            .patternType("WEEKLY")
+                            .occurrences(4)
+                            .build())
+                    .build();
+
+            LabClosedDay holiday = new LabClosedDay();
+            holiday.setSpecificDate(nextMonday.toLocalDate().plusWeeks(2));
+            holiday.setReason("Holiday");
+
+            when(labRepository.findById(1)).thenReturn(Optional.of(testLab));
+            when(labClosedDayRepository.findSpecificClosures(1)).thenReturn(List.of(holiday));
+
+            // When/Then
+            assertThatThrownBy(() -> reservationService.createRecurringReservation(request, testUser))
+                    .isInstanceOf(LabClosedException.class)
+                    .hasMessageContaining(holiday.getSpecificDate().toString());
+            verify(reservationRepository, never()).saveAll(anyList());
         }
 
         @Test
@@ -619,60 +758,73 @@ class ReservationServiceTest {
             assertThat(response).isEmpty();
         }
 
+        private ReservationRow row(OffsetDateTime startTime) {
+            return new ReservationRow(UUID.randomUUID(), testLab.getId(), testLab.getName(), startTime,
+                    startTime.plusHours(2), null, ReservationStatus.APPROVED, false, null, startTime.minusDays(7));
+        }
+
         @Test
-        @DisplayName("Should get user reservations")
-        void shouldGetUserReservations() {
+        @DisplayName("Should page upcoming reservations from now with a cursor after the last row")
+        void shouldPageUpcomingReservations() {
             // Given
-            Reservation reservation1 = new Reservation();
-            reservation1.setId(UUID.randomUUID());
-            reservation1.setLab(testLab);
-            reservation1.setUser(testUser);
-            reservation1.setStartTime(OffsetDateTime.now());
-            reservation1.setEndTime(OffsetDateTime.now().plusHours(2));
-            reservation1.setStatus(ReservationStatus.PENDING);
-
-            Reservation reservation2 = new Reservation();
-            reservation2.setId(UUID.randomUUID());
-            reservation2.setLab(testLab);
-            reservation2.setUser(testUser);
-            reservation2.setStartTime(OffsetDateTime.now().plusDays(1));
-            reservation2.setEndTime(OffsetDateTime.now().plusDays(1).plusHours(2));
-            reservation2.setStatus(ReservationStatus.APPROVED);
-
-            when(reservationRepository.findByUserId(1)).thenReturn(List.of(reservation1, reservation2));
-            when(reservationWorkstationRepository.findWorkstationIdsByReservationId(any()))
-                    .thenReturn(new ArrayList<>());
+            OffsetDateTime start = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1);
+            ReservationRow first = row(start);
+            ReservationRow second = row(start.plusDays(7));
+            ReservationRow extra = row(start.plusDays(14));
+            MyReservationsRequest request = MyReservationsRequest.builder().limit(2).build();
+
+            when(reservationRepository.findUserPage(any())).thenReturn(List.of(first, second, extra));
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(List.of(first.id(), second.id())))
+                    .thenReturn(Map.of(first.id(), List.of(1)));
 
             // When
-            List<ReservationResponse> responses = reservationService.getUserReservations(1);
+            ReservationPageResponse page = reservationService.getUserReservationPage(1, request);
 
             // Then
-            assertThat(responses).hasSize(2);
+            ArgumentCaptor<UserReservationFilter> filter = ArgumentCaptor.forClass(UserReservationFilter.class);
+            verify(reservationRepository).findUserPage(filter.capture());
+            assertThat(filter.getValue().from()).isNotNull();
+            assertThat(filter.getValue().to()).isNull();
+            assertThat(filter.getValue().descending()).isFalse();
+            assertThat(filter.getValue().limit()).isEqualTo(3);
+            assertThat(page.getReservations()).extracting(ReservationResponse::getId)
+                    .containsExactly(first.id(), second.id());
+            assertThat(page.getReservations().get(0).getWorkstationIds()).containsExactly(1);
+            assertThat(page.getReservations().get(0).getLabName()).isEqualTo(testLab.getName());
+            assertThat(page.isHasMore()).isTrue();
+            assertThat(ReservationCursor.decode(page.getNextCursor()))
+                    .isEqualTo(new ReservationCursor(second.startTime(), second.id()));
         }
 
         @Test
-        @DisplayName("Should get user reservations by status")
-        void shouldGetUserReservationsByStatus() {
+        @DisplayName("Should page past reservations most recent first from the cursor")
+        void shouldPagePastReservations() {
             // Given
-            Reservation pendingReservation = new Reservation();
-            pendingReservation.setId(UUID.randomUUID());
-            pendingReservation.setLab(testLab);
-            pendingReservation.setUser(testUser);
-            pendingReservation.setStartTime(OffsetDateTime.now());
-            pendingReservation.setEndTime(OffsetDateTime.now().plusHours(2));
-            pendingReservation.setStatus(ReservationStatus.PENDING);
-
-            when(reservationRepository.findByUserIdAndStatus(1, ReservationStatus.PENDING))
-                    .thenReturn(List.of(pendingReservation));
-            when(reservationWorkstationRepository.findWorkstationIdsByReservationId(any()))
-                    .thenReturn(new ArrayList<>());
+            ReservationCursor cursor = new ReservationCursor(OffsetDateTime.parse("2025-01-10T10:00:00Z"), UUID.randomUUID());
+            MyReservationsRequest request = MyReservationsRequest.builder()
+                    .order(MyReservationsRequest.Order.PAST)
+                    .status(ReservationStatus.APPROVED)
+                    .cursor(cursor.encode())
+                    .build();
+
+            when(reservationRepository.findUserPage(any())).thenReturn(List.of());
+            when(reservationWorkstationRepository.findWorkstationIdsGroupedByReservationId(List.of())).thenReturn(Map.of());
 
             // When
-            List<ReservationResponse> responses = reservationService.getUserReservationsByStatus(1, ReservationStatus.PENDING);
+            ReservationPageResponse page = reservationService.getUserReservationPage(1, request);
 
             // Then
-            assertThat(responses).hasSize(1);
-            assertThat(responses.get(0).getStatus()).isEqualTo(ReservationStatus.PENDING);
+            ArgumentCaptor<UserReservationFilter> filter = ArgumentCaptor.forClass(UserReservationFilter.class);
+            verify(reservationRepository).findUserPage(filter.capture());
+            assertThat(filter.getValue().from()).isNull();
+            assertThat(filter.getValue().to()).isNotNull();
+            assertThat(filter.getValue().descending()).isTrue();
+            assertThat(filter.getValue().status()).isEqualTo(ReservationStatus.APPROVED);
+            assertThat(filter.getValue().after()).isEqualTo(cursor);
+            assertThat(filter.getValue().limit()).isEqualTo(51);
+            assertThat(page.getReservations()).isEmpty();
+            assertThat(page.isHasMore()).isFalse();
+            assertThat(page.getNextCursor()).isNull();
         }
     }
 }